@@ -0,0 +1,285 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.MathUtilities;
+import com.elsewhere_games.lib.math.TrigTable;
+import com.elsewhere_games.lib.math.Vector3d;
+
+/**
+ * <p>Measures the fast approximations of {@link MathUtilities} against the
+ * exact methods they replace. The accuracy of each method over the same input
+ * is printed by {@link #main(String[])}, so speed and accuracy can be weighed
+ * per call site.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ApproximationBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.positives = BenchmarkData.createFloats(this.size, 0.001f, 1000.0f);
+		this.pairs = BenchmarkData.createFloats(this.size * 2, -100.0f, 100.0f);
+		this.radians = BenchmarkData.createFloats(this.size, -100.0f, 100.0f);
+		this.degrees = BenchmarkData.createFloats(this.size, -3600.0f, 3600.0f);
+		this.vectors = BenchmarkData.createVector3ds(this.size);
+	}
+
+	/*
+	 * Inverse Square Root
+	 */
+
+	@Benchmark
+	public float inverseSqrt(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.positives.length; i++) {
+			sum += 1.0f / (float)Math.sqrt(this.positives[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float inverseSqrtFast(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.positives.length; i++) {
+			sum += MathUtilities.inverseSqrtFast(this.positives[i]);
+		}
+		return sum;
+	}
+
+	/*
+	 * Arc Tangent
+	 */
+
+	@Benchmark
+	public float atan2(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.pairs.length; i += 2) {
+			sum += (float)Math.atan2(this.pairs[i], this.pairs[i + 1]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float atan2Fast(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.pairs.length; i += 2) {
+			sum += MathUtilities.atan2Fast(this.pairs[i], this.pairs[i + 1]);
+		}
+		return sum;
+	}
+
+	/*
+	 * Sine
+	 */
+
+	@Benchmark
+	public float sin(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.radians.length; i++) {
+			sum += (float)Math.sin(this.radians[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float sinFast(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.radians.length; i++) {
+			sum += MathUtilities.sinFast(this.radians[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float sinTable(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.radians.length; i++) {
+			sum += MathUtilities.sinTable(this.radians[i]);
+		}
+		return sum;
+	}
+
+	/*
+	 * Sine and Cosine Batches
+	 */
+
+	@Benchmark
+	public float[] sinCosDegrees(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.degrees.length; i++) {
+			float radians = this.degrees[i] * MathUtilities.DEGREES_TO_RADIANS_MULTIPLIER;
+			this.sines[i] = (float)Math.sin(radians);
+			this.cosines[i] = (float)Math.cos(radians);
+		}
+		return this.sines;
+	}
+
+	@Benchmark
+	public float[] trigTableSinCosDegrees(final ElementCounter counter) {
+		counter.elements += this.size;
+		ApproximationBenchmarks.DEGREE_TABLE.sinCos(this.degrees, this.sines, this.cosines);
+		return this.sines;
+	}
+
+	@Benchmark
+	public float[] trigTableSinCosInterpolatedDegrees(final ElementCounter counter) {
+		counter.elements += this.size;
+		ApproximationBenchmarks.DEGREE_TABLE.sinCosInterpolated(this.degrees, this.sines, this.cosines);
+		return this.sines;
+	}
+
+	/*
+	 * Normalization
+	 */
+
+	@Benchmark
+	public float normalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vectors.length; i++) {
+			this.vectors[i].normalize(this.normal);
+			sum += this.normal.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float normalizeFast(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vectors.length; i++) {
+			this.vectors[i].normalizeFast(this.normal);
+			sum += this.normal.getXComponent();
+		}
+		return sum;
+	}
+
+	/*
+	 * Accuracy
+	 */
+
+	/**
+	 * <p>Prints the largest error of every measured method over the benchmark
+	 * input, against a double precision reference.</p>
+	 *
+	 * @param arguments Ignored.
+	 */
+	public static void main(final String[] arguments) {
+		ApproximationBenchmarks benchmarks = new ApproximationBenchmarks();
+		benchmarks.setUp();
+
+		double inverseSqrt = 0.0;
+		double inverseSqrtFast = 0.0;
+
+		for (float value : benchmarks.positives) {
+			inverseSqrt = Math.max(inverseSqrt, Math.abs((1.0f / (float)Math.sqrt(value)) * Math.sqrt(value) - 1.0));
+			inverseSqrtFast = Math.max(inverseSqrtFast, Math.abs(MathUtilities.inverseSqrtFast(value) * Math.sqrt(value) - 1.0));
+		}
+
+		double atan2 = 0.0;
+		double atan2Fast = 0.0;
+
+		for (int i = 0; i < benchmarks.pairs.length; i += 2) {
+			double exact = Math.atan2(benchmarks.pairs[i], benchmarks.pairs[i + 1]);
+			atan2 = Math.max(atan2, Math.abs((float)exact - exact));
+			atan2Fast = Math.max(atan2Fast, Math.abs(MathUtilities.atan2Fast(benchmarks.pairs[i], benchmarks.pairs[i + 1]) - exact));
+		}
+
+		double sin = 0.0;
+		double sinFast = 0.0;
+		double sinTable = 0.0;
+
+		for (float value : benchmarks.radians) {
+			double exact = Math.sin(value);
+			sin = Math.max(sin, Math.abs((float)exact - exact));
+			sinFast = Math.max(sinFast, Math.abs(MathUtilities.sinFast(value) - exact));
+			sinTable = Math.max(sinTable, Math.abs(MathUtilities.sinTable(value) - exact));
+		}
+
+		double sinCos = 0.0;
+		double trigTable = 0.0;
+		double trigTableInterpolated = 0.0;
+
+		for (float value : benchmarks.degrees) {
+			double exact = Math.sin(Math.toRadians(value));
+			sinCos = Math.max(sinCos, Math.abs((float)Math.sin(value * MathUtilities.DEGREES_TO_RADIANS_MULTIPLIER) - exact));
+			trigTable = Math.max(trigTable, Math.abs(ApproximationBenchmarks.DEGREE_TABLE.sin(value) - exact));
+			trigTableInterpolated = Math.max(trigTableInterpolated, Math.abs(ApproximationBenchmarks.DEGREE_TABLE.sinInterpolated(value) - exact));
+		}
+
+		double normalize = 0.0;
+		double normalizeFast = 0.0;
+
+		for (Vector3d vector : benchmarks.vectors) {
+			vector.normalize(benchmarks.normal);
+			normalize = Math.max(normalize, Math.abs(Math.sqrt(benchmarks.normal.calculateLengthSquared()) - 1.0));
+			vector.normalizeFast(benchmarks.normal);
+			normalizeFast = Math.max(normalizeFast, Math.abs(Math.sqrt(benchmarks.normal.calculateLengthSquared()) - 1.0));
+		}
+
+		ApproximationBenchmarks.printError("inverseSqrt", inverseSqrt);
+		ApproximationBenchmarks.printError("inverseSqrtFast", inverseSqrtFast);
+		ApproximationBenchmarks.printError("atan2", atan2);
+		ApproximationBenchmarks.printError("atan2Fast", atan2Fast);
+		ApproximationBenchmarks.printError("sin", sin);
+		ApproximationBenchmarks.printError("sinFast", sinFast);
+		ApproximationBenchmarks.printError("sinTable", sinTable);
+		ApproximationBenchmarks.printError("sinCosDegrees", sinCos);
+		ApproximationBenchmarks.printError("trigTableSinCosDegrees", trigTable);
+		ApproximationBenchmarks.printError("trigTableSinCosInterpolatedDegrees", trigTableInterpolated);
+		ApproximationBenchmarks.printError("normalize", normalize);
+		ApproximationBenchmarks.printError("normalizeFast", normalizeFast);
+	}
+
+	private static void printError(final String name, final double error) {
+		System.out.println(String.format("%-36s max error %.1e", name, error));
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private float[] positives;
+	private float[] pairs;
+	private float[] radians;
+	private float[] degrees;
+	private final float[] sines = new float[this.size];
+	private final float[] cosines = new float[this.size];
+	private Vector3d[] vectors;
+	private final Vector3d normal = new Vector3d();
+
+	/*
+	 * Constants
+	 */
+
+	private static final TrigTable DEGREE_TABLE = new TrigTable(4096, TrigTable.FULL_TURN_DEGREES);
+
+}
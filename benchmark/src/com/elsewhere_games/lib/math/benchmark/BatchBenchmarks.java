@@ -0,0 +1,33 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <p>The base of the benchmarks which process a batch of elements on every
+ * invocation. The number of elements is the <code>size</code> parameter, so
+ * each benchmark runs for batches from a single element up to a million,
+ * and other sizes can be chosen with <code>-p size=...</code>.</p>
+ *
+ * <p>The primary score of these benchmarks is per invocation. Each benchmark
+ * also adds its batch to an {@link ElementCounter}, which JMH reports as the
+ * <code>elements</code> throughput, the cost per element. Allocation figures
+ * such as <code>gc.alloc.rate.norm</code> are per invocation as well, and
+ * are divided by <code>size</code> to get the allocation per element.</p>
+ */
+
+@State(Scope.Thread)
+public abstract class BatchBenchmarks {
+
+	/*
+	 * Parameters
+	 */
+
+	/**
+	 * <p>The number of elements processed by every invocation.</p>
+	 */
+	@Param({ "1", "100", "10000", "1000000" })
+	public int size;
+
+}
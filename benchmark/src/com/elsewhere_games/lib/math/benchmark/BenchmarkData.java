@@ -0,0 +1,168 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>Creates reproducible input data for benchmarks. Every method uses its
+ * own generator with a fixed seed, so repeated runs measure the same
+ * data.</p>
+ */
+
+public final class BenchmarkData {
+
+	/*
+	 * Constructors
+	 */
+
+	private BenchmarkData() {
+		// Only static factory methods are provided.
+	}
+
+	/*
+	 * Factory Methods
+	 */
+
+	/**
+	 * <p>Creates <code>count</code> floats uniformly distributed between
+	 * <code>minimum</code> and <code>maximum</code>.</p>
+	 *
+	 * @param count The number of values to create.
+	 * @param minimum The smallest value that may be created.
+	 * @param maximum The largest value that may be created.
+	 * @return The created values.
+	 */
+	public static float[] createFloats(final int count, final float minimum, final float maximum) {
+		Random random = new Random(BenchmarkData.SEED);
+		float[] values = new float[count];
+
+		for (int i = 0; i < count; i++) {
+			values[i] = minimum + (random.nextFloat() * (maximum - minimum));
+		}
+
+		return values;
+	}
+
+	/**
+	 * <p>Creates <code>count</code> non-negative integers smaller than
+	 * <code>bound</code>.</p>
+	 *
+	 * @param count The number of values to create.
+	 * @param bound The exclusive upper bound of the values.
+	 * @return The created values.
+	 */
+	public static int[] createIntegers(final int count, final int bound) {
+		Random random = new Random(BenchmarkData.SEED);
+		int[] values = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			values[i] = random.nextInt(bound);
+		}
+
+		return values;
+	}
+
+	/**
+	 * <p>Creates <code>count</code> vectors with components between
+	 * <code>-1.0f</code> and <code>1.0f</code>.</p>
+	 *
+	 * @param count The number of vectors to create.
+	 * @return The created vectors.
+	 */
+	public static Vector2d[] createVector2ds(final int count) {
+		float[] components = BenchmarkData.createFloats(count * Vector2d.COMPONENT_COUNT, -1.0f, 1.0f);
+		Vector2d[] vectors = new Vector2d[count];
+
+		for (int i = 0; i < count; i++) {
+			vectors[i] = new Vector2d(components[(i * 2)], components[(i * 2) + 1]);
+		}
+
+		return vectors;
+	}
+
+	/**
+	 * <p>Creates <code>count</code> vectors with components between
+	 * <code>-1.0f</code> and <code>1.0f</code>.</p>
+	 *
+	 * @param count The number of vectors to create.
+	 * @return The created vectors.
+	 */
+	public static Vector3d[] createVector3ds(final int count) {
+		float[] components = BenchmarkData.createFloats(count * Vector3d.COMPONENT_COUNT, -1.0f, 1.0f);
+		Vector3d[] vectors = new Vector3d[count];
+
+		for (int i = 0; i < count; i++) {
+			vectors[i] = new Vector3d(components[(i * 3)], components[(i * 3) + 1], components[(i * 3) + 2]);
+		}
+
+		return vectors;
+	}
+
+	/**
+	 * <p>Creates <code>count</code> vertices with components between
+	 * <code>-extent</code> and <code>extent</code>.</p>
+	 *
+	 * @param count The number of vertices to create.
+	 * @param extent The largest absolute value of any component.
+	 * @return The created vertices.
+	 */
+	public static Vertex2d[] createVertex2ds(final int count, final float extent) {
+		float[] components = BenchmarkData.createFloats(count * Vertex2d.COMPONENT_COUNT, -extent, extent);
+		Vertex2d[] vertices = new Vertex2d[count];
+
+		for (int i = 0; i < count; i++) {
+			vertices[i] = new Vertex2d(components[(i * 2)], components[(i * 2) + 1]);
+		}
+
+		return vertices;
+	}
+
+	/**
+	 * <p>Creates <code>count</code> vertices with components between
+	 * <code>-extent</code> and <code>extent</code>.</p>
+	 *
+	 * @param count The number of vertices to create.
+	 * @param extent The largest absolute value of any component.
+	 * @return The created vertices.
+	 */
+	public static Vertex3d[] createVertex3ds(final int count, final float extent) {
+		float[] components = BenchmarkData.createFloats(count * Vertex3d.COMPONENT_COUNT, -extent, extent);
+		Vertex3d[] vertices = new Vertex3d[count];
+
+		for (int i = 0; i < count; i++) {
+			vertices[i] = new Vertex3d(components[(i * 3)], components[(i * 3) + 1], components[(i * 3) + 2]);
+		}
+
+		return vertices;
+	}
+
+	/**
+	 * <p>Creates a buffer of <code>capacity</code> floats, either on the heap
+	 * or in native memory.</p>
+	 *
+	 * @param capacity The number of floats the buffer holds.
+	 * @param direct Whether a direct buffer is created.
+	 * @return The created buffer.
+	 */
+	public static FloatBuffer createBuffer(final int capacity, final boolean direct) {
+		if (direct) {
+			return ByteBuffer.allocateDirect(capacity * (Float.SIZE / Byte.SIZE)).order(ByteOrder.nativeOrder()).asFloatBuffer();
+		}
+
+		return FloatBuffer.allocate(capacity);
+	}
+
+	/*
+	 * Constants
+	 */
+
+	private static final long SEED = 0x5EEDL;
+
+}
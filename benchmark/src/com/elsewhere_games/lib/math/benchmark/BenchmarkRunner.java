@@ -0,0 +1,68 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the JMH benchmarks of this project. The arguments are those of the
+ * JMH command line, such as a regular expression selecting the benchmarks to
+ * run or <code>-f</code> to change the number of forks. Unless other
+ * profilers are requested with <code>-prof</code>, the allocation rate of
+ * every benchmark is reported by the GC profiler.</p>
+ *
+ * <p>Every benchmark runs in freshly forked virtual machines, so the profile
+ * gathered for one benchmark can not affect the code compiled for
+ * another.</p>
+ */
+
+public final class BenchmarkRunner {
+
+	/*
+	 * Constructors
+	 */
+
+	private BenchmarkRunner() {
+		// Only the entry point is provided.
+	}
+
+	/*
+	 * Entry Point
+	 */
+
+	/**
+	 * <p>Runs the benchmarks selected by the JMH command line
+	 * <code>arguments</code>.</p>
+	 *
+	 * @param arguments The JMH command line.
+	 *
+	 * @throws CommandLineOptionException If the arguments can not be parsed.
+	 * @throws RunnerException If a benchmark fails.
+	 * @throws IOException If the benchmark list can not be read.
+	 */
+	public static void main(final String[] arguments) throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions commandLine = new CommandLineOptions(arguments);
+
+		// Listing and help are handled by the JMH entry point itself:
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+			Main.main(arguments);
+			return;
+		}
+
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+		if (commandLine.getProfilers().isEmpty()) {
+			options.addProfiler(GCProfiler.class);
+		}
+
+		new Runner(options.build()).run();
+	}
+
+}
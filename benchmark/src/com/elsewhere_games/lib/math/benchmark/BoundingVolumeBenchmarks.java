@@ -0,0 +1,78 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.boundingvolume.AxisAlignedBoundingBox;
+import com.elsewhere_games.lib.math.boundingvolume.BoundingVolume;
+import com.elsewhere_games.lib.math.boundingvolume.Circle;
+
+/**
+ * <p>Benchmarks the containment tests of the bounding volumes. Each
+ * invocation tests a set of points, roughly half of which lie inside the
+ * volume.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BoundingVolumeBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.points = BenchmarkData.createVertex2ds(this.size, 100.0f);
+	}
+
+	/*
+	 * Benchmarks
+	 */
+
+	@Benchmark
+	public int circleContains(final ElementCounter counter) {
+		counter.elements += this.size;
+		return BoundingVolumeBenchmarks.countContained(this.circle, this.points);
+	}
+
+	@Benchmark
+	public int axisAlignedBoundingBoxContains(final ElementCounter counter) {
+		counter.elements += this.size;
+		return BoundingVolumeBenchmarks.countContained(this.box, this.points);
+	}
+
+	private static int countContained(final BoundingVolume volume, final Vertex2d[] points) {
+		int contained = 0;
+		for (int i = 0; i < points.length; i++) {
+			if (volume.contains(points[i])) {
+				contained++;
+			}
+		}
+		return contained;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private final Circle circle = new Circle(new Vertex2d(0.0f, 0.0f), 80.0f);
+	private final AxisAlignedBoundingBox box = new AxisAlignedBoundingBox(new Vertex2d(0.0f, 0.0f), 140.0f, 140.0f);
+	private Vertex2d[] points;
+
+}
@@ -0,0 +1,149 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.BufferUtilities;
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>Benchmarks the <code>FloatBuffer</code> based
+ * <code>getComponents</code> and <code>setComponents</code> methods against
+ * the bulk transfers of {@link BufferUtilities}, for both heap and direct
+ * buffers.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BufferBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Param({ "heap", "direct" })
+	public String buffer;
+
+	@Setup
+	public void setUp() {
+		boolean direct = this.buffer.equals("direct");
+
+		this.vector2ds = BenchmarkData.createVector2ds(this.size);
+		this.vector3ds = BenchmarkData.createVector3ds(this.size);
+		this.vertex2ds = BenchmarkData.createVertex2ds(this.size, 100.0f);
+		this.vertex3ds = BenchmarkData.createVertex3ds(this.size, 100.0f);
+		this.components = BenchmarkData.createBuffer(this.size * Vector3d.COMPONENT_COUNT, direct);
+	}
+
+	/*
+	 * Per Element Transfers
+	 */
+
+	@Benchmark
+	public float vector2dGetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vector2ds.length; i++) {
+			this.vector2ds[i].getComponents(this.components);
+		}
+		return this.components.get(0);
+	}
+
+	@Benchmark
+	public float vector2dSetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vector2ds.length; i++) {
+			this.vector2ds[i].setComponents(this.components);
+		}
+		return this.vector2ds[0].getXComponent();
+	}
+
+	@Benchmark
+	public float vector3dGetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vector3ds.length; i++) {
+			this.vector3ds[i].getComponents(this.components);
+		}
+		return this.components.get(0);
+	}
+
+	@Benchmark
+	public float vector3dSetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vector3ds.length; i++) {
+			this.vector3ds[i].setComponents(this.components);
+		}
+		return this.vector3ds[0].getXComponent();
+	}
+
+	@Benchmark
+	public float vertex2dGetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vertex2ds.length; i++) {
+			this.vertex2ds[i].getComponents(this.components);
+		}
+		return this.components.get(0);
+	}
+
+	@Benchmark
+	public float vertex3dGetComponents(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.components.clear();
+		for (int i = 0; i < this.vertex3ds.length; i++) {
+			this.vertex3ds[i].getComponents(this.components);
+		}
+		return this.components.get(0);
+	}
+
+	/*
+	 * Bulk Transfers
+	 */
+
+	@Benchmark
+	public float putVertex3ds(final ElementCounter counter) {
+		counter.elements += this.size;
+		BufferUtilities.putVertex3ds(this.vertex3ds, 0, this.vertex3ds.length, this.components, 0, Vertex3d.COMPONENT_COUNT);
+		return this.components.get(0);
+	}
+
+	@Benchmark
+	public float getVector3ds(final ElementCounter counter) {
+		counter.elements += this.size;
+		BufferUtilities.getVector3ds(this.components, 0, Vector3d.COMPONENT_COUNT, this.vector3ds, 0, this.vector3ds.length);
+		return this.vector3ds[0].getXComponent();
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector2d[] vector2ds;
+	private Vector3d[] vector3ds;
+	private Vertex2d[] vertex2ds;
+	private Vertex3d[] vertex3ds;
+	private FloatBuffer components;
+
+}
@@ -0,0 +1,140 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.io.VectorCodec;
+
+/**
+ * <p>Compares {@link VectorCodec} against Java serialization for writing
+ * and reading arrays of {@link Vector3d}. The <code>elements</code> score is per vector;
+ * the encoded size of each format is printed by {@link #main(String[])}.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CodecBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() throws IOException {
+		this.vectors = BenchmarkData.createVector3ds(this.size);
+		this.serialized = this.serialize();
+		this.encoded = this.encode();
+		this.buffer = ByteBuffer.allocate(4 + (this.vectors.length * Vector3d.COMPONENT_COUNT * 4));
+	}
+
+	/*
+	 * Java Serialization
+	 */
+
+	@Benchmark
+	public byte[] objectOutputStreamWrite(final ElementCounter counter) throws IOException {
+		counter.elements += this.size;
+		return this.serialize();
+	}
+
+	private byte[] serialize() throws IOException {
+		this.output.reset();
+		ObjectOutputStream stream = new ObjectOutputStream(this.output);
+		stream.writeObject(this.vectors);
+		stream.close();
+		return this.output.toByteArray();
+	}
+
+	@Benchmark
+	public Vector3d[] objectInputStreamRead(final ElementCounter counter) throws IOException, ClassNotFoundException {
+		counter.elements += this.size;
+		ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(this.serialized));
+		return (Vector3d[])stream.readObject();
+	}
+
+	/*
+	 * Vector Codec
+	 */
+
+	@Benchmark
+	public byte[] vectorCodecWriteVector3ds(final ElementCounter counter) throws IOException {
+		counter.elements += this.size;
+		return this.encode();
+	}
+
+	private byte[] encode() throws IOException {
+		this.output.reset();
+		DataOutputStream stream = new DataOutputStream(this.output);
+		VectorCodec.writeVector3ds(stream, this.vectors);
+		stream.close();
+		return this.output.toByteArray();
+	}
+
+	@Benchmark
+	public Vector3d[] vectorCodecReadVector3ds(final ElementCounter counter) throws IOException {
+		counter.elements += this.size;
+		DataInputStream stream = new DataInputStream(new ByteArrayInputStream(this.encoded));
+		return VectorCodec.readVector3ds(stream);
+	}
+
+	@Benchmark
+	public ByteBuffer vectorCodecPutVector3ds(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.buffer.clear();
+		VectorCodec.putVector3ds(this.buffer, this.vectors);
+		return this.buffer;
+	}
+
+	/*
+	 * Encoded Size
+	 */
+
+	/**
+	 * <p>Prints the number of bytes per vector of both formats.</p>
+	 *
+	 * @param arguments Ignored.
+	 * @throws IOException If the vectors can not be encoded.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		CodecBenchmarks benchmarks = new CodecBenchmarks();
+		benchmarks.size = 10000;
+		benchmarks.setUp();
+
+		System.out.println(String.format("ObjectOutputStream %.1f bytes/vector", (double)benchmarks.serialized.length / benchmarks.vectors.length));
+		System.out.println(String.format("VectorCodec        %.1f bytes/vector", (double)benchmarks.encoded.length / benchmarks.vectors.length));
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector3d[] vectors;
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+	private byte[] serialized;
+	private byte[] encoded;
+	private ByteBuffer buffer;
+
+}
@@ -0,0 +1,37 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <p>Counts the elements processed by a {@link BatchBenchmarks} benchmark.
+ * JMH reports the count of every iteration as a secondary throughput, so
+ * scores are available per element whatever the batch size is.</p>
+ */
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ElementCounter {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		this.elements = 0L;
+	}
+
+	/*
+	 * Counters
+	 */
+
+	/**
+	 * <p>The number of elements processed during the current iteration.</p>
+	 */
+	public long elements;
+
+}
@@ -0,0 +1,115 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.BufferUtilities;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+import com.elsewhere_games.lib.math.boundingvolume.Circle;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+
+/**
+ * <p>Measures the cost of the {@link Instrumentation} hooks. Each operation
+ * is measured once as shipped, with the instrumentation disabled, and once in
+ * a virtual machine forked with the instrumentation enabled.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class InstrumentationBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.vectors = BenchmarkData.createVector3ds(this.size);
+		this.points = BenchmarkData.createVertex2ds(this.size, 100.0f);
+		this.vertices = BenchmarkData.createVertex3ds(this.size, 100.0f);
+		this.buffer = BenchmarkData.createBuffer(this.size * Vertex3d.COMPONENT_COUNT, false);
+	}
+
+	/*
+	 * Benchmarks
+	 */
+
+	@Benchmark
+	public void vector3dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.vectors.length; i++) {
+			this.vectors[i].normalize();
+		}
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = InstrumentationBenchmarks.ENABLE)
+	public void vector3dNormalizeInstrumented(final ElementCounter counter) {
+		this.vector3dNormalize(counter);
+	}
+
+	@Benchmark
+	public int circleContains(final ElementCounter counter) {
+		counter.elements += this.size;
+		int contained = 0;
+		for (int i = 0; i < this.points.length; i++) {
+			if (this.circle.contains(this.points[i])) {
+				contained++;
+			}
+		}
+		return contained;
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = InstrumentationBenchmarks.ENABLE)
+	public int circleContainsInstrumented(final ElementCounter counter) {
+		return this.circleContains(counter);
+	}
+
+	@Benchmark
+	public FloatBuffer putVertex3ds(final ElementCounter counter) {
+		counter.elements += this.size;
+		BufferUtilities.putVertex3ds(this.vertices, 0, this.vertices.length, this.buffer, 0, Vertex3d.COMPONENT_COUNT);
+		return this.buffer;
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = InstrumentationBenchmarks.ENABLE)
+	public FloatBuffer putVertex3dsInstrumented(final ElementCounter counter) {
+		return this.putVertex3ds(counter);
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector3d[] vectors;
+	private Vertex2d[] points;
+	private final Circle circle = new Circle(new Vertex2d(0.0f, 0.0f), 80.0f);
+	private Vertex3d[] vertices;
+	private FloatBuffer buffer;
+
+	/*
+	 * Constants
+	 */
+
+	private static final String ENABLE = "-Dcom.elsewhere_games.lib.math.instrumentation=true";
+
+}
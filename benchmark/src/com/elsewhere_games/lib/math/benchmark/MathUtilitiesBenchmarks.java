@@ -0,0 +1,125 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.MathUtilities;
+
+/**
+ * <p>Benchmarks the scalar methods of {@link MathUtilities} against their
+ * array versions. Both perform the same number of operations per invocation,
+ * so the throughput can be compared directly.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MathUtilitiesBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.integers = BenchmarkData.createIntegers(this.size, 1 << 30);
+		this.powers = new int[this.size];
+		this.floats = BenchmarkData.createFloats(this.size, -2.0f, 2.0f);
+		this.clamped = new float[this.size];
+		this.nearlyEqual = BenchmarkData.createFloats(this.size + 1, 0.0f, 0.000001f);
+	}
+
+	/*
+	 * Scalar Methods
+	 */
+
+	@Benchmark
+	public int nextPowerOfTwo(final ElementCounter counter) {
+		counter.elements += this.size;
+		int sum = 0;
+		for (int i = 0; i < this.integers.length; i++) {
+			sum += MathUtilities.nextPowerOfTwo(this.integers[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long nextPowerOfTwoLong(final ElementCounter counter) {
+		counter.elements += this.size;
+		long sum = 0L;
+		for (int i = 0; i < this.integers.length; i++) {
+			sum += MathUtilities.nextPowerOfTwo((long)this.integers[i] << 20);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float clamp(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.floats.length; i++) {
+			sum += MathUtilities.clamp(this.floats[i], -1.0f, 1.0f);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int isEqual(final ElementCounter counter) {
+		counter.elements += this.size;
+		int equal = 0;
+		for (int i = 0; i < this.nearlyEqual.length - 1; i++) {
+			if (MathUtilities.isEqual(this.nearlyEqual[i], this.nearlyEqual[i + 1])) {
+				equal++;
+			}
+		}
+		return equal;
+	}
+
+	/*
+	 * Array Methods
+	 */
+
+	@Benchmark
+	public int[] nextPowerOfTwoArray(final ElementCounter counter) {
+		counter.elements += this.size;
+		MathUtilities.nextPowerOfTwo(this.integers, 0, this.powers, 0, this.integers.length);
+		return this.powers;
+	}
+
+	@Benchmark
+	public float[] clampArray(final ElementCounter counter) {
+		counter.elements += this.size;
+		MathUtilities.clamp(this.floats, 0, this.clamped, 0, this.floats.length, -1.0f, 1.0f);
+		return this.clamped;
+	}
+
+	@Benchmark
+	public boolean isEqualArray(final ElementCounter counter) {
+		counter.elements += this.size;
+		return MathUtilities.isEqual(this.nearlyEqual, 0, this.nearlyEqual, 1, this.nearlyEqual.length - 1);
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private int[] integers;
+	private int[] powers;
+	private float[] floats;
+	private float[] clamped;
+	private float[] nearlyEqual;
+
+}
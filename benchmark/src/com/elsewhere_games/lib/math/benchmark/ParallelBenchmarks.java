@@ -0,0 +1,117 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.boundingvolume.AxisAlignedBoundingBox;
+import com.elsewhere_games.lib.math.boundingvolume.BoundingVolume;
+import com.elsewhere_games.lib.math.boundingvolume.Circle;
+import com.elsewhere_games.lib.math.boundingvolume.ParallelBoundingVolumeQueries;
+
+/**
+ * <p>Benchmarks the parallel bounding volume queries against the same queries
+ * run on the calling thread. Every invocation tests <code>size</code> points
+ * against a small set of volumes, or finds all overlaps among
+ * <code>size</code> volumes, so scores are reported per query. The sequential
+ * cutoff is swept around the default, and a single cutoff can be picked with
+ * <code>-p cutoff=...</code>. Only results from a machine with several cores
+ * say anything about the cutoff.</p>
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ParallelBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	@Param({ "512", "2048", "8192", "32768" })
+	public int cutoff;
+
+	@Setup
+	public void setUp() {
+		this.sequential = new ParallelBoundingVolumeQueries(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+		this.parallel = new ParallelBoundingVolumeQueries(ForkJoinPool.commonPool(), this.cutoff);
+
+		this.containers = ParallelBenchmarks.createVolumes(16, 100.0f, 10.0f);
+		this.points = BenchmarkData.createVertex2ds(this.size, 100.0f);
+		this.results = new int[this.size];
+
+		// Keep the density, and so the number of pairs per volume, constant:
+		float extent = (float)Math.sqrt(this.size) * 10.0f;
+		this.volumes = ParallelBenchmarks.createVolumes(this.size, extent, 4.0f);
+	}
+
+	/*
+	 * Benchmarks
+	 */
+
+	@Benchmark
+	public int findContainingVolumesSequential() {
+		return this.sequential.findContainingVolumes(this.containers, this.points, this.results);
+	}
+
+	@Benchmark
+	public int findContainingVolumesParallel() {
+		return this.parallel.findContainingVolumes(this.containers, this.points, this.results);
+	}
+
+	@Benchmark
+	public int[] findOverlapsSequential() {
+		return this.sequential.findOverlaps(this.volumes);
+	}
+
+	@Benchmark
+	public int[] findOverlapsParallel() {
+		return this.parallel.findOverlaps(this.volumes);
+	}
+
+	private static BoundingVolume[] createVolumes(final int count, final float extent, final float size) {
+		Vertex2d[] centers = BenchmarkData.createVertex2ds(count, extent);
+		float[] sizes = BenchmarkData.createFloats(count, size * 0.5f, size);
+		BoundingVolume[] volumes = new BoundingVolume[count];
+
+		for (int i = 0; i < count; i++) {
+			if ((i & 1) == 0) {
+				volumes[i] = new Circle(centers[i], sizes[i]);
+			} else {
+				volumes[i] = new AxisAlignedBoundingBox(centers[i], sizes[i] * 2.0f, sizes[i] * 2.0f);
+			}
+		}
+
+		return volumes;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private ParallelBoundingVolumeQueries sequential;
+	private ParallelBoundingVolumeQueries parallel;
+	private BoundingVolume[] containers;
+	private Vertex2d[] points;
+	private int[] results;
+	private BoundingVolume[] volumes;
+
+}
@@ -0,0 +1,93 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.pool.FrameArena;
+import com.elsewhere_games.lib.math.pool.Pools;
+
+/**
+ * <p>Compares allocating a temporary cross product per element with taking
+ * it from a {@link FrameArena} or from the shared pool. The temporaries do not
+ * escape, as in typical game code, so the allocation may be eliminated.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PoolBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.a = BenchmarkData.createVector3ds(this.size);
+		this.b = BenchmarkData.createVector3ds(this.size);
+	}
+
+	/*
+	 * Benchmarks
+	 */
+
+	@Benchmark
+	public float allocate(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			Vector3d product = this.a[i].calculateCrossProduct(this.b[i]);
+			sum += product.getZComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float frameArena(final ElementCounter counter) {
+		counter.elements += this.size;
+		FrameArena arena = FrameArena.forCurrentThread();
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			Vector3d product = arena.vector3d();
+			this.a[i].calculateCrossProduct(this.b[i], product);
+			sum += product.getZComponent();
+		}
+		arena.reset();
+		return sum;
+	}
+
+	@Benchmark
+	public float pool(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			Vector3d product = Pools.VECTOR_3D.borrow();
+			this.a[i].calculateCrossProduct(this.b[i], product);
+			sum += product.getZComponent();
+			Pools.VECTOR_3D.release(product);
+		}
+		return sum;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector3d[] a;
+	private Vector3d[] b;
+
+}
@@ -0,0 +1,208 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.DoubleConversions;
+import com.elsewhere_games.lib.math.DoubleVector3d;
+import com.elsewhere_games.lib.math.DoubleVertex2d;
+import com.elsewhere_games.lib.math.DoubleVertex3d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+import com.elsewhere_games.lib.math.boundingvolume.Circle;
+import com.elsewhere_games.lib.math.boundingvolume.DoubleCircle;
+
+/**
+ * <p>Compares the single and double precision types, so the cost of
+ * switching to doubles can be judged. Each double precision benchmark
+ * performs exactly the same work as the single precision benchmark with the
+ * same name, on the same input widened to doubles.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PrecisionBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.a = BenchmarkData.createVector3ds(this.size);
+		this.b = BenchmarkData.createVector3ds(this.size);
+		this.doubleA = new DoubleVector3d[this.size];
+		this.doubleB = new DoubleVector3d[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			this.doubleA[i] = new DoubleVector3d(this.a[i]);
+			this.doubleB[i] = new DoubleVector3d(this.b[i]);
+		}
+
+		this.points = BenchmarkData.createVertex2ds(this.size, 100.0f);
+		this.doublePoints = new DoubleVertex2d[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			this.doublePoints[i] = new DoubleVertex2d(this.points[i]);
+		}
+
+		// Far away vertices, which have to be made camera relative to render:
+		Vertex3d[] vertices = BenchmarkData.createVertex3ds(this.size, 100.0f);
+		this.farVertices = new DoubleVertex3d[this.size];
+		this.narrowed = new float[this.size * Vertex3d.COMPONENT_COUNT];
+
+		for (int i = 0; i < this.size; i++) {
+			this.farVertices[i] = new DoubleVertex3d(vertices[i]);
+			this.farVertices[i].add(this.origin);
+		}
+	}
+
+	/*
+	 * Vectors
+	 */
+
+	@Benchmark
+	public float floatVector3dAdd(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].add(this.b[i], this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double doubleVector3dAdd(final ElementCounter counter) {
+		counter.elements += this.size;
+		double sum = 0.0;
+		for (int i = 0; i < this.doubleA.length; i++) {
+			this.doubleA[i].add(this.doubleB[i], this.doubleDestination);
+			sum += this.doubleDestination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float floatVector3dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].normalize(this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double doubleVector3dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		double sum = 0.0;
+		for (int i = 0; i < this.doubleA.length; i++) {
+			this.doubleA[i].normalize(this.doubleDestination);
+			sum += this.doubleDestination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float floatVector3dCalculateDotProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			sum += this.a[i].calculateDotProduct(this.b[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double doubleVector3dCalculateDotProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		double sum = 0.0;
+		for (int i = 0; i < this.doubleA.length; i++) {
+			sum += this.doubleA[i].calculateDotProduct(this.doubleB[i]);
+		}
+		return sum;
+	}
+
+	/*
+	 * Bounding Volumes
+	 */
+
+	@Benchmark
+	public int floatCircleContains(final ElementCounter counter) {
+		counter.elements += this.size;
+		int contained = 0;
+		for (int i = 0; i < this.points.length; i++) {
+			if (this.circle.contains(this.points[i])) {
+				contained++;
+			}
+		}
+		return contained;
+	}
+
+	@Benchmark
+	public int doubleCircleContains(final ElementCounter counter) {
+		counter.elements += this.size;
+		int contained = 0;
+		for (int i = 0; i < this.doublePoints.length; i++) {
+			if (this.doubleCircle.contains(this.doublePoints[i])) {
+				contained++;
+			}
+		}
+		return contained;
+	}
+
+	/*
+	 * Conversions
+	 */
+
+	/**
+	 * <p>Measures the conversion of far away double precision vertices to
+	 * camera relative floats, the step needed to render them.</p>
+	 */
+	@Benchmark
+	public float[] narrowVertex3ds(final ElementCounter counter) {
+		counter.elements += this.size;
+		DoubleConversions.narrowVertex3ds(this.farVertices, 0, this.farVertices.length, this.origin, this.narrowed, 0);
+		return this.narrowed;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector3d[] a;
+	private Vector3d[] b;
+	private final Vector3d destination = new Vector3d();
+
+	private DoubleVector3d[] doubleA;
+	private DoubleVector3d[] doubleB;
+	private final DoubleVector3d doubleDestination = new DoubleVector3d();
+
+	private Vertex2d[] points;
+	private final Circle circle = new Circle(new Vertex2d(0.0f, 0.0f), 80.0f);
+
+	private DoubleVertex2d[] doublePoints;
+	private final DoubleCircle doubleCircle = new DoubleCircle(new DoubleVertex2d(0.0, 0.0), 80.0);
+
+	private final DoubleVertex3d origin = new DoubleVertex3d(1.0e9, -2.0e9, 5.0e8);
+	private DoubleVertex3d[] farVertices;
+	private float[] narrowed;
+
+}
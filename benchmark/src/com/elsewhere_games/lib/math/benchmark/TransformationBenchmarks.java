@@ -0,0 +1,241 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Matrix4;
+import com.elsewhere_games.lib.math.Quaternion;
+import com.elsewhere_games.lib.math.Transformation2d;
+import com.elsewhere_games.lib.math.TransformationHierarchy2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>Benchmarks applying a {@link Transformation2d} to vertex objects one at
+ * a time, against the batch methods on arrays and buffers, and the update of
+ * a {@link TransformationHierarchy2d} in which one node in a hundred moves,
+ * against composing every transformation of the same hierarchy. The
+ * {@link Matrix4} benchmarks compare single points with an interleaved
+ * vertex stream. The <code>elements</code> scores are per vertex or per
+ * node.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TransformationBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.setUpVertices();
+		this.setUpHierarchy();
+		this.setUpStream();
+	}
+
+	private void setUpVertices() {
+		this.vertices = BenchmarkData.createVertex2ds(this.size, 100.0f);
+		this.source = new float[this.size * Vertex2d.COMPONENT_COUNT];
+		this.components = new float[this.size * Vertex2d.COMPONENT_COUNT];
+
+		for (int i = 0; i < this.size; i++) {
+			this.source[i * Vertex2d.COMPONENT_COUNT] = this.vertices[i].getX();
+			this.source[(i * Vertex2d.COMPONENT_COUNT) + 1] = this.vertices[i].getY();
+		}
+
+		this.heapBuffer = FloatBuffer.wrap(this.source.clone());
+		this.directBuffer = BenchmarkData.createBuffer(this.source.length, true);
+		this.directBuffer.put(this.source);
+		this.directBuffer.clear();
+
+		// Close to the identity, so repeated in place transforms stay finite:
+		this.transformation.setTransformation(0.0f, 0.0f, 0.001f, 1.0f, 1.0f);
+	}
+
+	/**
+	 * <p>Builds a hierarchy of random depth, in which every node is the child
+	 * of an earlier one, except for one root in sixteen.</p>
+	 */
+	private void setUpHierarchy() {
+		int[] choices = BenchmarkData.createIntegers(this.size, Integer.MAX_VALUE);
+		float[] angles = BenchmarkData.createFloats(this.size, -3.0f, 3.0f);
+
+		this.hierarchy = new TransformationHierarchy2d();
+		this.parents = new int[this.size];
+		this.local = new Transformation2d[this.size];
+		this.world = new Transformation2d[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			boolean root = (i == 0) || ((choices[i] % 16) == 0);
+
+			this.parents[i] = root ? TransformationHierarchy2d.NO_PARENT : (choices[i] % i);
+			this.local[i] = new Transformation2d();
+			this.local[i].setTransformation(1.0f, 0.0f, angles[i], 1.0f, 1.0f);
+			this.world[i] = new Transformation2d();
+
+			this.hierarchy.addNode(this.parents[i]);
+			this.hierarchy.setLocalTransformation(i, this.local[i]);
+		}
+
+		this.hierarchy.update();
+	}
+
+	/**
+	 * <p>Interleaves positions with normals and texture coordinates, eight
+	 * floats per vertex, in a direct buffer.</p>
+	 */
+	private void setUpStream() {
+		this.vertex3ds = BenchmarkData.createVertex3ds(this.size, 100.0f);
+		this.stream = BenchmarkData.createBuffer(this.size * TransformationBenchmarks.STRIDE, true);
+
+		for (int i = 0; i < this.size; i++) {
+			this.stream.position(i * TransformationBenchmarks.STRIDE);
+			this.vertex3ds[i].getComponents(this.stream);
+		}
+		this.stream.clear();
+
+		// Close to the identity, so repeated in place transforms stay finite:
+		Quaternion rotation = new Quaternion();
+		rotation.setAxisAngle(new Vector3d(0.0f, 1.0f, 0.0f), 0.001f);
+		this.matrix.setRotation(rotation);
+	}
+
+	/*
+	 * Transformation2d
+	 */
+
+	@Benchmark
+	public float transformVertex2d(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vertices.length; i++) {
+			this.transformation.transform(this.vertices[i], this.destination);
+			sum += this.destination.getX();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] transformArray(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.transformation.transform(this.source, this.components, this.vertices.length);
+		return this.components;
+	}
+
+	@Benchmark
+	public FloatBuffer transformHeapBuffer(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.transformation.transform(this.heapBuffer, this.heapBuffer, this.vertices.length);
+		return this.heapBuffer;
+	}
+
+	@Benchmark
+	public FloatBuffer transformDirectBuffer(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.transformation.transform(this.directBuffer, this.directBuffer, this.vertices.length);
+		return this.directBuffer;
+	}
+
+	/*
+	 * TransformationHierarchy2d
+	 */
+
+	@Benchmark
+	public int hierarchyUpdate(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = this.next; i < this.parents.length; i += TransformationBenchmarks.MOVED_STRIDE) {
+			this.hierarchy.setLocalTranslation(i, this.step, 0.0f);
+		}
+		this.next = (this.next + 1) % TransformationBenchmarks.MOVED_STRIDE;
+		this.step = -this.step;
+
+		return this.hierarchy.update();
+	}
+
+	@Benchmark
+	public Transformation2d multiplyAll(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.parents.length; i++) {
+			Transformation2d world = this.world[i];
+
+			if (this.parents[i] == TransformationHierarchy2d.NO_PARENT) {
+				world.setComponents(this.local[i]);
+			} else {
+				this.world[this.parents[i]].multiply(this.local[i], world);
+			}
+		}
+		return this.world[this.world.length - 1];
+	}
+
+	/*
+	 * Matrix4
+	 */
+
+	@Benchmark
+	public float matrixTransformPoint(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vertex3ds.length; i++) {
+			this.matrix.transformPoint(this.vertex3ds[i], this.destination3d);
+			sum += this.destination3d.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public FloatBuffer matrixTransformPointsStream(final ElementCounter counter) {
+		counter.elements += this.size;
+		this.matrix.transformPoints(this.stream, 0, TransformationBenchmarks.STRIDE, this.stream, 0, TransformationBenchmarks.STRIDE, this.vertex3ds.length);
+		return this.stream;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private final Transformation2d transformation = new Transformation2d();
+	private Vertex2d[] vertices;
+	private final Vertex2d destination = new Vertex2d();
+	private float[] source;
+	private float[] components;
+	private FloatBuffer heapBuffer;
+	private FloatBuffer directBuffer;
+
+	private TransformationHierarchy2d hierarchy;
+	private int[] parents;
+	private Transformation2d[] local;
+	private Transformation2d[] world;
+	private int next;
+	private float step = 1.0f;
+
+	private final Matrix4 matrix = new Matrix4();
+	private Vertex3d[] vertex3ds;
+	private final Vertex3d destination3d = new Vertex3d(0.0f, 0.0f, 0.0f);
+	private FloatBuffer stream;
+
+	/*
+	 * Constants
+	 */
+
+	private static final int MOVED_STRIDE = 100;
+	private static final int STRIDE = 8;
+
+}
@@ -0,0 +1,238 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>Benchmarks the operations of {@link Vector2d}, {@link Vector3d},
+ * {@link Vertex2d} and {@link Vertex3d}, one object at a time.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class VectorBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.a2 = BenchmarkData.createVector2ds(this.size);
+		this.b2 = BenchmarkData.createVector2ds(this.size);
+		this.a3 = BenchmarkData.createVector3ds(this.size);
+		this.b3 = BenchmarkData.createVector3ds(this.size);
+		this.vertex2ds = BenchmarkData.createVertex2ds(this.size + 1, 100.0f);
+		this.vertex3ds = BenchmarkData.createVertex3ds(this.size + 1, 100.0f);
+	}
+
+	/*
+	 * Vector2d
+	 */
+
+	@Benchmark
+	public void vector2dAdd(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a2.length; i++) {
+			this.a2[i].add(this.b2[i]);
+		}
+	}
+
+	@Benchmark
+	public void vector2dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a2.length; i++) {
+			this.a2[i].normalize();
+		}
+	}
+
+	@Benchmark
+	public float vector2dNormalizeInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a2.length; i++) {
+			this.a2[i].normalize(this.destination2);
+			sum += this.destination2.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float vector2dCalculateDotProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a2.length; i++) {
+			sum += this.a2[i].calculateDotProduct(this.b2[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public void vector2dClone(final Blackhole blackhole, final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a2.length; i++) {
+			blackhole.consume(this.a2[i].clone());
+		}
+	}
+
+	/*
+	 * Vector3d
+	 */
+
+	@Benchmark
+	public void vector3dAdd(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].add(this.b3[i]);
+		}
+	}
+
+	@Benchmark
+	public float vector3dAddInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].add(this.b3[i], this.destination3);
+			sum += this.destination3.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public void vector3dMultiply(final ElementCounter counter) {
+		counter.elements += this.size;
+		// Negating keeps the components bounded across invocations:
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].multiply(-1.0f);
+		}
+	}
+
+	@Benchmark
+	public void vector3dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].normalize();
+		}
+	}
+
+	@Benchmark
+	public float vector3dNormalizeInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].normalize(this.destination3);
+			sum += this.destination3.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float vector3dCalculateDotProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a3.length; i++) {
+			sum += this.a3[i].calculateDotProduct(this.b3[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public void vector3dCalculateCrossProduct(final Blackhole blackhole, final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a3.length; i++) {
+			blackhole.consume(this.a3[i].calculateCrossProduct(this.b3[i]));
+		}
+	}
+
+	@Benchmark
+	public float vector3dCalculateCrossProductInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].calculateCrossProduct(this.b3[i], this.destination3);
+			sum += this.destination3.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public void vector3dClone(final Blackhole blackhole, final ElementCounter counter) {
+		counter.elements += this.size;
+		for (int i = 0; i < this.a3.length; i++) {
+			blackhole.consume(this.a3[i].clone());
+		}
+	}
+
+	@Benchmark
+	public float vector3dGetComponentsInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a3.length; i++) {
+			this.a3[i].getComponents(this.destination3);
+			sum += this.destination3.getXComponent();
+		}
+		return sum;
+	}
+
+	/*
+	 * Vertices
+	 */
+
+	@Benchmark
+	public float vertex2dAngleBetween(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vertex2ds.length - 1; i++) {
+			sum += this.vertex2ds[i].angleBetween(this.vertex2ds[i + 1]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float vertex3dAddInto(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.vertex3ds.length - 1; i++) {
+			this.vertex3ds[i].add(this.vertex3ds[i + 1], this.destinationVertex3d);
+			sum += this.destinationVertex3d.getXComponent();
+		}
+		return sum;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector2d[] a2;
+	private Vector2d[] b2;
+	private final Vector2d destination2 = new Vector2d();
+
+	private Vector3d[] a3;
+	private Vector3d[] b3;
+	private final Vector3d destination3 = new Vector3d();
+
+	private Vertex2d[] vertex2ds;
+	private Vertex3d[] vertex3ds;
+	private final Vertex3d destinationVertex3d = new Vertex3d(0.0f, 0.0f, 0.0f);
+
+}
@@ -0,0 +1,222 @@
+package com.elsewhere_games.lib.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.VectorKernels;
+
+/**
+ * <p>Compares the {@link VectorKernels} with the same operations called on
+ * {@link Vector3d} objects one at a time. The kernels which have a Vector API
+ * implementation, addition and scaling, are measured with the scalar loops,
+ * in a virtual machine without the Vector API, and once more in a virtual
+ * machine forked with <code>jdk.incubator.vector</code>.</p>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class VectorKernelsBenchmarks extends BatchBenchmarks {
+
+	/*
+	 * Set Up
+	 */
+
+	@Setup
+	public void setUp() {
+		this.a = BenchmarkData.createVector3ds(this.size);
+		this.b = BenchmarkData.createVector3ds(this.size);
+		this.aComponents = VectorKernelsBenchmarks.pack(this.a);
+		this.bComponents = VectorKernelsBenchmarks.pack(this.b);
+		this.components = new float[this.size * Vector3d.COMPONENT_COUNT];
+		this.scalars = new float[this.size];
+	}
+
+	private static float[] pack(final Vector3d[] vectors) {
+		float[] components = new float[vectors.length * Vector3d.COMPONENT_COUNT];
+
+		for (int i = 0; i < vectors.length; i++) {
+			components[i * Vector3d.COMPONENT_COUNT] = vectors[i].getXComponent();
+			components[(i * Vector3d.COMPONENT_COUNT) + 1] = vectors[i].getYComponent();
+			components[(i * Vector3d.COMPONENT_COUNT) + 2] = vectors[i].getZComponent();
+		}
+
+		return components;
+	}
+
+	/*
+	 * Addition
+	 */
+
+	@Benchmark
+	public float vector3dAdd(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].add(this.b[i], this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] addKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.add(this.aComponents, 0, this.bComponents, 0, this.components, 0, this.size);
+		return this.components;
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = VectorKernelsBenchmarks.VECTOR_API)
+	public float[] addKernelVectorized(final ElementCounter counter) {
+		return this.addKernel(counter);
+	}
+
+	/*
+	 * Scaling
+	 */
+
+	@Benchmark
+	public float vector3dMultiply(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].multiply(VectorKernelsBenchmarks.SCALAR, this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] scaleKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.scale(this.aComponents, 0, VectorKernelsBenchmarks.SCALAR, this.components, 0, this.size);
+		return this.components;
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = VectorKernelsBenchmarks.VECTOR_API)
+	public float[] scaleKernelVectorized(final ElementCounter counter) {
+		return this.scaleKernel(counter);
+	}
+
+	/*
+	 * Dot Product
+	 */
+
+	@Benchmark
+	public float vector3dCalculateDotProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			sum += this.a[i].calculateDotProduct(this.b[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] dotKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.dot(this.aComponents, 0, this.bComponents, 0, this.scalars, 0, this.size);
+		return this.scalars;
+	}
+
+	/*
+	 * Cross Product
+	 */
+
+	@Benchmark
+	public float vector3dCalculateCrossProduct(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].calculateCrossProduct(this.b[i], this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] crossKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.cross(this.aComponents, 0, this.bComponents, 0, this.components, 0, this.size);
+		return this.components;
+	}
+
+	/*
+	 * Length
+	 */
+
+	@Benchmark
+	public float vector3dCalculateLength(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			sum += this.a[i].calculateLength();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] lengthKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.length(this.aComponents, 0, this.scalars, 0, this.size);
+		return this.scalars;
+	}
+
+	/*
+	 * Normalization
+	 */
+
+	@Benchmark
+	public float vector3dNormalize(final ElementCounter counter) {
+		counter.elements += this.size;
+		float sum = 0.0f;
+		for (int i = 0; i < this.a.length; i++) {
+			this.a[i].normalize(this.destination);
+			sum += this.destination.getXComponent();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float[] normalizeKernel(final ElementCounter counter) {
+		counter.elements += this.size;
+		VectorKernels.normalize(this.aComponents, 0, this.components, 0, this.size);
+		return this.components;
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private Vector3d[] a;
+	private Vector3d[] b;
+	private final Vector3d destination = new Vector3d();
+	private float[] aComponents;
+	private float[] bComponents;
+	private float[] components;
+	private float[] scalars;
+
+	/*
+	 * Constants
+	 */
+
+	private static final String VECTOR_API = "--add-modules=jdk.incubator.vector";
+	private static final float SCALAR = 1.5f;
+
+}
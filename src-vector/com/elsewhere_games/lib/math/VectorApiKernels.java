@@ -0,0 +1,69 @@
+package com.elsewhere_games.lib.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>The implementation of the {@link VectorKernels} addition and scaling
+ * kernels on top of the incubating Vector API. This class is only loaded when
+ * the <code>jdk.incubator.vector</code> module is present, see
+ * {@link VectorKernels#VECTORIZED}; ranges have already been checked by the
+ * caller.</p>
+ *
+ * <p>Both operations ignore component boundaries, so a full register of
+ * floats is processed at a time, and the floats beyond the last full register
+ * by a scalar loop. Kernels on packed vectors, which have to split and merge
+ * the components of three registers, are not provided: on the incubating API
+ * of Java 17, the shuffles and gathers this takes end up slower than the
+ * scalar loops.</p>
+ */
+
+final class VectorApiKernels {
+
+	/*
+	 * Constructors
+	 */
+
+	private VectorApiKernels() {
+		// Only static kernels are provided.
+	}
+
+	/*
+	 * Kernels
+	 */
+
+	static void add(final float[] a, final int aOffset, final float[] b, final int bOffset, final float[] destination, final int destinationOffset, final int length) {
+		int bound = VectorApiKernels.SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += VectorApiKernels.LANES) {
+			FloatVector sum = FloatVector.fromArray(VectorApiKernels.SPECIES, a, aOffset + i).add(FloatVector.fromArray(VectorApiKernels.SPECIES, b, bOffset + i));
+			sum.intoArray(destination, destinationOffset + i);
+		}
+
+		for (; i < length; i++) {
+			destination[destinationOffset + i] = a[aOffset + i] + b[bOffset + i];
+		}
+	}
+
+	static void scale(final float[] source, final int sourceOffset, final float scalar, final float[] destination, final int destinationOffset, final int length) {
+		int bound = VectorApiKernels.SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += VectorApiKernels.LANES) {
+			FloatVector.fromArray(VectorApiKernels.SPECIES, source, sourceOffset + i).mul(scalar).intoArray(destination, destinationOffset + i);
+		}
+
+		for (; i < length; i++) {
+			destination[destinationOffset + i] = source[sourceOffset + i] * scalar;
+		}
+	}
+
+	/*
+	 * Constants
+	 */
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+	private static final int LANES = VectorApiKernels.SPECIES.length();
+
+}
@@ -0,0 +1,993 @@
+package com.elsewhere_games.lib.math;
+
+import java.nio.FloatBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>Bulk transfer of vertex, vector, and texture coordinate components to
+ * and from <code>FloatBuffer</code>s. Instead of one bounds check and a few
+ * relative <code>put</code> calls per element, as with the
+ * <code>getComponents</code> methods of the individual types, a whole range
+ * is checked once and copied with absolute bulk operations.</p>
+ * 
+ * <p>Every method takes an <code>index</code> and a <code>stride</code>
+ * (both expressed in floats), so that interleaved layouts can be built by
+ * writing each attribute separately. For example, a stream of
+ * position and texture coordinate pairs with four floats per vertex is
+ * written as:</p>
+ * 
+ * <pre>
+ * BufferUtilities.putVertex2ds(positions, 0, count, buffer, 0, 4);
+ * BufferUtilities.putTextureCoordinates(coordinates, 0, count, buffer, 2, 4);
+ * </pre>
+ */
+
+public final class BufferUtilities {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private BufferUtilities() {
+		// Only static methods are provided.
+	}
+	
+	/*
+	 * Vertex2d Streams
+	 */
+	
+	/**
+	 * <p>Puts the components of <code>count</code> vertices of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * x, y order. The first vertex is stored at <code>index</code>, every
+	 * following vertex <code>stride</code> floats after the previous one. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param sourceOffset The index of the first vertex in the
+	 * <code>source</code>.
+	 * @param count The number of vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVertex2ds(final Vertex2d[] source, final int sourceOffset, final int count, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		BufferUtilities.checkSpan(destination, index, count, stride, Vertex2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex2d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vertex2d element = source[sourceOffset + done + i];
+				int scratchIndex = i * Vertex2d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getX();
+				scratch[scratchIndex + 1] = element.getY();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vertex2d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vertices of the <code>source</code>
+	 * collection into the <code>destination</code> buffer, in iteration order.
+	 * The layout is the same as that of
+	 * {@link #putVertex2ds(Vertex2d[], int, int, FloatBuffer, int, int)}.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVertex2ds(final Collection<? extends Vertex2d> source, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		int count = source.size();
+		BufferUtilities.checkSpan(destination, index, count, stride, Vertex2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex2d.COMPONENT_COUNT;
+		Iterator<? extends Vertex2d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vertex2d element = elements.next();
+				int scratchIndex = i * Vertex2d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getX();
+				scratch[scratchIndex + 1] = element.getY();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vertex2d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vertices of the <code>source</code> array
+	 * into the <code>destination</code> buffer, tightly packed and starting at
+	 * the current position. The position of the buffer after this operation
+	 * lies after the last component added, as with the single vertex
+	 * <code>getComponents</code> method.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining for all components.
+	 */
+	public static void putVertex2ds(final Vertex2d[] source, final FloatBuffer destination) throws IllegalArgumentException {
+		int position = destination.position();
+		
+		BufferUtilities.putVertex2ds(source, 0, source.length, destination, position, Vertex2d.COMPONENT_COUNT);
+		destination.position(position + (source.length * Vertex2d.COMPONENT_COUNT));
+	}
+	
+	/**
+	 * <p>Sets the components of <code>count</code> vertices of the
+	 * <code>destination</code> array to the values supplied by the
+	 * <code>source</code> buffer, using the same layout as
+	 * {@link #putVertex2ds(Vertex2d[], int, int, FloatBuffer, int, int)}. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * @param destination The vertices to update.
+	 * @param destinationOffset The index of the first vertex in the
+	 * <code>destination</code>.
+	 * @param count The number of vertices to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain enough
+	 * components, or the <code>stride</code> is smaller than the number of
+	 * components.
+	 */
+	public static void getVertex2ds(final FloatBuffer source, final int index, final int stride, final Vertex2d[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		BufferUtilities.checkSpan(source, index, count, stride, Vertex2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex2d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			BufferUtilities.read(source, index + (done * stride), stride, scratch, chunk, Vertex2d.COMPONENT_COUNT);
+			
+			for (int i = 0; i < chunk; i++) {
+				int scratchIndex = i * Vertex2d.COMPONENT_COUNT;
+				destination[destinationOffset + done + i].setComponents(scratch[scratchIndex], scratch[scratchIndex + 1]);
+			}
+			
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_GET, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Sets the components of all vertices of the <code>destination</code>
+	 * array to the values supplied by the <code>source</code> buffer, which are
+	 * expected to be tightly packed and start at the current position. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vertices to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough
+	 * components remaining.
+	 */
+	public static void getVertex2ds(final FloatBuffer source, final Vertex2d[] destination) throws IllegalArgumentException {
+		int position = source.position();
+		
+		BufferUtilities.getVertex2ds(source, position, Vertex2d.COMPONENT_COUNT, destination, 0, destination.length);
+		source.position(position + (destination.length * Vertex2d.COMPONENT_COUNT));
+	}
+	
+	/*
+	 * Vertex3d Streams
+	 */
+	
+	/**
+	 * <p>Puts the components of <code>count</code> vertices of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * x, y, z order. The first vertex is stored at <code>index</code>, every
+	 * following vertex <code>stride</code> floats after the previous one. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param sourceOffset The index of the first vertex in the
+	 * <code>source</code>.
+	 * @param count The number of vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVertex3ds(final Vertex3d[] source, final int sourceOffset, final int count, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		BufferUtilities.checkSpan(destination, index, count, stride, Vertex3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex3d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vertex3d element = source[sourceOffset + done + i];
+				int scratchIndex = i * Vertex3d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+				scratch[scratchIndex + 2] = element.getZComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vertex3d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vertices of the <code>source</code>
+	 * collection into the <code>destination</code> buffer, in iteration order.
+	 * The layout is the same as that of
+	 * {@link #putVertex3ds(Vertex3d[], int, int, FloatBuffer, int, int)}.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVertex3ds(final Collection<? extends Vertex3d> source, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		int count = source.size();
+		BufferUtilities.checkSpan(destination, index, count, stride, Vertex3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex3d.COMPONENT_COUNT;
+		Iterator<? extends Vertex3d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vertex3d element = elements.next();
+				int scratchIndex = i * Vertex3d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+				scratch[scratchIndex + 2] = element.getZComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vertex3d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vertices of the <code>source</code> array
+	 * into the <code>destination</code> buffer, tightly packed and starting at
+	 * the current position. The position of the buffer after this operation
+	 * lies after the last component added, as with the single vertex
+	 * <code>getComponents</code> method.</p>
+	 * 
+	 * @param source The vertices to store.
+	 * @param destination The buffer in which the components are stored.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining for all components.
+	 */
+	public static void putVertex3ds(final Vertex3d[] source, final FloatBuffer destination) throws IllegalArgumentException {
+		int position = destination.position();
+		
+		BufferUtilities.putVertex3ds(source, 0, source.length, destination, position, Vertex3d.COMPONENT_COUNT);
+		destination.position(position + (source.length * Vertex3d.COMPONENT_COUNT));
+	}
+	
+	/**
+	 * <p>Sets the components of <code>count</code> vertices of the
+	 * <code>destination</code> array to the values supplied by the
+	 * <code>source</code> buffer, using the same layout as
+	 * {@link #putVertex3ds(Vertex3d[], int, int, FloatBuffer, int, int)}. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vertices.
+	 * @param destination The vertices to update.
+	 * @param destinationOffset The index of the first vertex in the
+	 * <code>destination</code>.
+	 * @param count The number of vertices to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain enough
+	 * components, or the <code>stride</code> is smaller than the number of
+	 * components.
+	 */
+	public static void getVertex3ds(final FloatBuffer source, final int index, final int stride, final Vertex3d[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		BufferUtilities.checkSpan(source, index, count, stride, Vertex3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vertex3d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			BufferUtilities.read(source, index + (done * stride), stride, scratch, chunk, Vertex3d.COMPONENT_COUNT);
+			
+			for (int i = 0; i < chunk; i++) {
+				int scratchIndex = i * Vertex3d.COMPONENT_COUNT;
+				destination[destinationOffset + done + i].setComponents(scratch[scratchIndex], scratch[scratchIndex + 1], scratch[scratchIndex + 2]);
+			}
+			
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_GET, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Sets the components of all vertices of the <code>destination</code>
+	 * array to the values supplied by the <code>source</code> buffer, which are
+	 * expected to be tightly packed and start at the current position. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vertices to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough
+	 * components remaining.
+	 */
+	public static void getVertex3ds(final FloatBuffer source, final Vertex3d[] destination) throws IllegalArgumentException {
+		int position = source.position();
+		
+		BufferUtilities.getVertex3ds(source, position, Vertex3d.COMPONENT_COUNT, destination, 0, destination.length);
+		source.position(position + (destination.length * Vertex3d.COMPONENT_COUNT));
+	}
+	
+	/*
+	 * Vector2d Streams
+	 */
+	
+	/**
+	 * <p>Puts the components of <code>count</code> vectors of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * x, y order. The first vector is stored at <code>index</code>, every
+	 * following vector <code>stride</code> floats after the previous one. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param sourceOffset The index of the first vector in the
+	 * <code>source</code>.
+	 * @param count The number of vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVector2ds(final Vector2d[] source, final int sourceOffset, final int count, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		BufferUtilities.checkSpan(destination, index, count, stride, Vector2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector2d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vector2d element = source[sourceOffset + done + i];
+				int scratchIndex = i * Vector2d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vector2d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vectors of the <code>source</code>
+	 * collection into the <code>destination</code> buffer, in iteration order.
+	 * The layout is the same as that of
+	 * {@link #putVector2ds(Vector2d[], int, int, FloatBuffer, int, int)}.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVector2ds(final Collection<? extends Vector2d> source, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		int count = source.size();
+		BufferUtilities.checkSpan(destination, index, count, stride, Vector2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector2d.COMPONENT_COUNT;
+		Iterator<? extends Vector2d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vector2d element = elements.next();
+				int scratchIndex = i * Vector2d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vector2d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vectors of the <code>source</code> array
+	 * into the <code>destination</code> buffer, tightly packed and starting at
+	 * the current position. The position of the buffer after this operation
+	 * lies after the last component added, as with the single vector
+	 * <code>getComponents</code> method.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining for all components.
+	 */
+	public static void putVector2ds(final Vector2d[] source, final FloatBuffer destination) throws IllegalArgumentException {
+		int position = destination.position();
+		
+		BufferUtilities.putVector2ds(source, 0, source.length, destination, position, Vector2d.COMPONENT_COUNT);
+		destination.position(position + (source.length * Vector2d.COMPONENT_COUNT));
+	}
+	
+	/**
+	 * <p>Sets the components of <code>count</code> vectors of the
+	 * <code>destination</code> array to the values supplied by the
+	 * <code>source</code> buffer, using the same layout as
+	 * {@link #putVector2ds(Vector2d[], int, int, FloatBuffer, int, int)}. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * @param destination The vectors to update.
+	 * @param destinationOffset The index of the first vector in the
+	 * <code>destination</code>.
+	 * @param count The number of vectors to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain enough
+	 * components, or the <code>stride</code> is smaller than the number of
+	 * components.
+	 */
+	public static void getVector2ds(final FloatBuffer source, final int index, final int stride, final Vector2d[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		BufferUtilities.checkSpan(source, index, count, stride, Vector2d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector2d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			BufferUtilities.read(source, index + (done * stride), stride, scratch, chunk, Vector2d.COMPONENT_COUNT);
+			
+			for (int i = 0; i < chunk; i++) {
+				int scratchIndex = i * Vector2d.COMPONENT_COUNT;
+				destination[destinationOffset + done + i].setComponents(scratch[scratchIndex], scratch[scratchIndex + 1]);
+			}
+			
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_GET, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Sets the components of all vectors of the <code>destination</code>
+	 * array to the values supplied by the <code>source</code> buffer, which are
+	 * expected to be tightly packed and start at the current position. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vectors to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough
+	 * components remaining.
+	 */
+	public static void getVector2ds(final FloatBuffer source, final Vector2d[] destination) throws IllegalArgumentException {
+		int position = source.position();
+		
+		BufferUtilities.getVector2ds(source, position, Vector2d.COMPONENT_COUNT, destination, 0, destination.length);
+		source.position(position + (destination.length * Vector2d.COMPONENT_COUNT));
+	}
+	
+	/*
+	 * Vector3d Streams
+	 */
+	
+	/**
+	 * <p>Puts the components of <code>count</code> vectors of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * x, y, z order. The first vector is stored at <code>index</code>, every
+	 * following vector <code>stride</code> floats after the previous one. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param sourceOffset The index of the first vector in the
+	 * <code>source</code>.
+	 * @param count The number of vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVector3ds(final Vector3d[] source, final int sourceOffset, final int count, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		BufferUtilities.checkSpan(destination, index, count, stride, Vector3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector3d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vector3d element = source[sourceOffset + done + i];
+				int scratchIndex = i * Vector3d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+				scratch[scratchIndex + 2] = element.getZComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vector3d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vectors of the <code>source</code>
+	 * collection into the <code>destination</code> buffer, in iteration order.
+	 * The layout is the same as that of
+	 * {@link #putVector3ds(Vector3d[], int, int, FloatBuffer, int, int)}.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putVector3ds(final Collection<? extends Vector3d> source, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		int count = source.size();
+		BufferUtilities.checkSpan(destination, index, count, stride, Vector3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector3d.COMPONENT_COUNT;
+		Iterator<? extends Vector3d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				Vector3d element = elements.next();
+				int scratchIndex = i * Vector3d.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = element.getXComponent();
+				scratch[scratchIndex + 1] = element.getYComponent();
+				scratch[scratchIndex + 2] = element.getZComponent();
+			}
+			
+			BufferUtilities.write(scratch, chunk, Vector3d.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all vectors of the <code>source</code> array
+	 * into the <code>destination</code> buffer, tightly packed and starting at
+	 * the current position. The position of the buffer after this operation
+	 * lies after the last component added, as with the single vector
+	 * <code>getComponents</code> method.</p>
+	 * 
+	 * @param source The vectors to store.
+	 * @param destination The buffer in which the components are stored.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining for all components.
+	 */
+	public static void putVector3ds(final Vector3d[] source, final FloatBuffer destination) throws IllegalArgumentException {
+		int position = destination.position();
+		
+		BufferUtilities.putVector3ds(source, 0, source.length, destination, position, Vector3d.COMPONENT_COUNT);
+		destination.position(position + (source.length * Vector3d.COMPONENT_COUNT));
+	}
+	
+	/**
+	 * <p>Sets the components of <code>count</code> vectors of the
+	 * <code>destination</code> array to the values supplied by the
+	 * <code>source</code> buffer, using the same layout as
+	 * {@link #putVector3ds(Vector3d[], int, int, FloatBuffer, int, int)}. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive vectors.
+	 * @param destination The vectors to update.
+	 * @param destinationOffset The index of the first vector in the
+	 * <code>destination</code>.
+	 * @param count The number of vectors to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain enough
+	 * components, or the <code>stride</code> is smaller than the number of
+	 * components.
+	 */
+	public static void getVector3ds(final FloatBuffer source, final int index, final int stride, final Vector3d[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		BufferUtilities.checkSpan(source, index, count, stride, Vector3d.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / Vector3d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			BufferUtilities.read(source, index + (done * stride), stride, scratch, chunk, Vector3d.COMPONENT_COUNT);
+			
+			for (int i = 0; i < chunk; i++) {
+				int scratchIndex = i * Vector3d.COMPONENT_COUNT;
+				destination[destinationOffset + done + i].setComponents(scratch[scratchIndex], scratch[scratchIndex + 1], scratch[scratchIndex + 2]);
+			}
+			
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_GET, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Sets the components of all vectors of the <code>destination</code>
+	 * array to the values supplied by the <code>source</code> buffer, which are
+	 * expected to be tightly packed and start at the current position. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vectors to update.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough
+	 * components remaining.
+	 */
+	public static void getVector3ds(final FloatBuffer source, final Vector3d[] destination) throws IllegalArgumentException {
+		int position = source.position();
+		
+		BufferUtilities.getVector3ds(source, position, Vector3d.COMPONENT_COUNT, destination, 0, destination.length);
+		source.position(position + (destination.length * Vector3d.COMPONENT_COUNT));
+	}
+	
+	/*
+	 * TextureCoordinate Streams
+	 */
+	
+	/**
+	 * <p>Puts the components of <code>count</code> texture coordinates of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * s, t order. The first texture coordinate is stored at <code>index</code>, every
+	 * following texture coordinate <code>stride</code> floats after the previous one. The
+	 * position of the buffer is not changed.</p>
+	 * 
+	 * @param source The texture coordinates to store.
+	 * @param sourceOffset The index of the first texture coordinate in the
+	 * <code>source</code>.
+	 * @param count The number of texture coordinates to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive texture coordinates.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putTextureCoordinates(final TextureCoordinate[] source, final int sourceOffset, final int count, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		BufferUtilities.checkSpan(destination, index, count, stride, TextureCoordinate.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / TextureCoordinate.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				TextureCoordinate element = source[sourceOffset + done + i];
+				int scratchIndex = i * TextureCoordinate.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = (float)element.getS();
+				scratch[scratchIndex + 1] = (float)element.getT();
+			}
+			
+			BufferUtilities.write(scratch, chunk, TextureCoordinate.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all texture coordinates of the <code>source</code>
+	 * collection into the <code>destination</code> buffer, in iteration order.
+	 * The layout is the same as that of
+	 * {@link #putTextureCoordinates(TextureCoordinate[], int, int, FloatBuffer, int, int)}.</p>
+	 * 
+	 * @param source The texture coordinates to store.
+	 * @param destination The buffer in which the components are stored.
+	 * @param index The index in the buffer of the first component.
+	 * @param stride The distance in floats between the first components of two
+	 * consecutive texture coordinates.
+	 * 
+	 * @throws IllegalArgumentException If the buffer is not large enough, or
+	 * the <code>stride</code> is smaller than the number of components.
+	 */
+	public static void putTextureCoordinates(final Collection<? extends TextureCoordinate> source, final FloatBuffer destination, final int index, final int stride) throws IllegalArgumentException {
+		int count = source.size();
+		BufferUtilities.checkSpan(destination, index, count, stride, TextureCoordinate.COMPONENT_COUNT);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float[] scratch = BufferUtilities.SCRATCH.get();
+		int chunkCapacity = BufferUtilities.SCRATCH_LENGTH / TextureCoordinate.COMPONENT_COUNT;
+		Iterator<? extends TextureCoordinate> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			for (int i = 0; i < chunk; i++) {
+				TextureCoordinate element = elements.next();
+				int scratchIndex = i * TextureCoordinate.COMPONENT_COUNT;
+				scratch[scratchIndex + 0] = (float)element.getS();
+				scratch[scratchIndex + 1] = (float)element.getT();
+			}
+			
+			BufferUtilities.write(scratch, chunk, TextureCoordinate.COMPONENT_COUNT, destination, index + (done * stride), stride);
+			done += chunk;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+		}
+	}
+	
+	/**
+	 * <p>Puts the components of all texture coordinates of the <code>source</code> array
+	 * into the <code>destination</code> buffer, tightly packed and starting at
+	 * the current position. The position of the buffer after this operation
+	 * lies after the last component added, as with the single texture coordinate
+	 * <code>getComponents</code> method.</p>
+	 * 
+	 * @param source The texture coordinates to store.
+	 * @param destination The buffer in which the components are stored.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining for all components.
+	 */
+	public static void putTextureCoordinates(final TextureCoordinate[] source, final FloatBuffer destination) throws IllegalArgumentException {
+		int position = destination.position();
+		
+		BufferUtilities.putTextureCoordinates(source, 0, source.length, destination, position, TextureCoordinate.COMPONENT_COUNT);
+		destination.position(position + (source.length * TextureCoordinate.COMPONENT_COUNT));
+	}
+	
+	/*
+	 * Transfer
+	 */
+	
+	/**
+	 * <p>Writes <code>count</code> elements of <code>components</code> floats
+	 * each from the packed <code>scratch</code> array into the buffer.</p>
+	 */
+	static void write(final float[] scratch, final int count, final int components, final FloatBuffer destination, final int index, final int stride) {
+		if (destination.hasArray()) {
+			float[] array = destination.array();
+			int base = destination.arrayOffset() + index;
+			
+			if (stride == components) {
+				System.arraycopy(scratch, 0, array, base, count * components);
+			} else {
+				for (int i = 0; i < count; i++) {
+					System.arraycopy(scratch, i * components, array, base + (i * stride), components);
+				}
+			}
+		} else if (stride == components) {
+			destination.put(index, scratch, 0, count * components);
+		} else {
+			for (int i = 0; i < count; i++) {
+				destination.put(index + (i * stride), scratch, i * components, components);
+			}
+		}
+	}
+	
+	/**
+	 * <p>Reads <code>count</code> elements of <code>components</code> floats
+	 * each from the buffer into the packed <code>scratch</code> array.</p>
+	 */
+	static void read(final FloatBuffer source, final int index, final int stride, final float[] scratch, final int count, final int components) {
+		if (source.hasArray()) {
+			float[] array = source.array();
+			int base = source.arrayOffset() + index;
+			
+			if (stride == components) {
+				System.arraycopy(array, base, scratch, 0, count * components);
+			} else {
+				for (int i = 0; i < count; i++) {
+					System.arraycopy(array, base + (i * stride), scratch, i * components, components);
+				}
+			}
+		} else if (stride == components) {
+			source.get(index, scratch, 0, count * components);
+		} else {
+			for (int i = 0; i < count; i++) {
+				source.get(index + (i * stride), scratch, i * components, components);
+			}
+		}
+	}
+	
+	/*
+	 * Range Checking
+	 */
+	
+	static void checkSpan(final FloatBuffer buffer, final int index, final int count, final int stride, final int components) throws IllegalArgumentException {
+		if (stride < components) {
+			throw new IllegalArgumentException("The stride " + stride + " is smaller than the " + components + " components of each element.");
+		}
+		
+		if ((index < 0) || (count < 0)) {
+			throw new IllegalArgumentException("The index and count can not be negative.");
+		}
+		
+		// Long arithmetic avoids overflow for large counts and strides:
+		long end = (count == 0) ? index : index + ((long)(count - 1) * stride) + components;
+		
+		if (end > buffer.limit()) {
+			throw new IllegalArgumentException("The specified buffer is not large enough.");
+		}
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	/**
+	 * <p>Holds packed components between the elements and the buffer. The
+	 * length is a multiple of two and three, so whole elements always fit.</p>
+	 */
+	private static final int SCRATCH_LENGTH = 1536;
+	
+	private static final ThreadLocal<float[]> SCRATCH = new ThreadLocal<float[]>() {
+		@Override
+		protected float[] initialValue() {
+			return new float[BufferUtilities.SCRATCH_LENGTH];
+		}
+	};
+
+}
@@ -0,0 +1,326 @@
+package com.elsewhere_games.lib.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>Stores the components of a large number of elements, such as vertices
+ * or vectors, outside of the Java heap. Every element occupies
+ * <code>componentCount</code> consecutive floats, so a store created with
+ * {@link Vertex3d#COMPONENT_COUNT} has the same layout as a buffer filled
+ * through {@link Vertex3d#getComponents(FloatBuffer)}.</p>
+ *
+ * <p>The memory is split over native ordered direct buffers of at most
+ * {@link #CHUNK_LENGTH} elements each, so that a store may hold more than the
+ * two gigabytes a single buffer can address. Elements are read and written
+ * through a {@link Cursor}, which never creates element objects.</p>
+ *
+ * <p>The memory is released by the garbage collector once the store and all
+ * of its cursors are no longer reachable.</p>
+ */
+
+public class DirectComponentStore {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the number of components per element and
+	 * the number of elements to be specified. All components are initialized
+	 * to <code>0.0f</code>.</p>
+	 *
+	 * @param componentCount The number of floats per element.
+	 * @param length The number of elements in this store.
+	 *
+	 * @throws IllegalArgumentException If either argument is out of range, or
+	 * if {@link #CHUNK_LENGTH} elements, or <code>length</code> elements if
+	 * fewer, would need more than <code>Integer.MAX_VALUE</code> bytes.
+	 */
+	public DirectComponentStore(final int componentCount, final long length) throws IllegalArgumentException {
+		if (componentCount <= 0) {
+			throw new IllegalArgumentException("The component count must be positive.");
+		}
+		
+		if ((length < 0) || (((length + DirectComponentStore.CHUNK_LENGTH - 1) >>> DirectComponentStore.CHUNK_SHIFT) > Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException("The length " + length + " is out of range.");
+		}
+		
+		// The first chunk is the largest, and all of its components have to be
+		// addressable by a single buffer:
+		long maximumChunkBytes = Math.min(length, DirectComponentStore.CHUNK_LENGTH) * componentCount * (Float.SIZE / Byte.SIZE);
+		
+		if (maximumChunkBytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The component count " + componentCount + " is too large, a chunk would need " + maximumChunkBytes + " bytes, more than a single direct buffer can hold.");
+		}
+		
+		this.componentCount = componentCount;
+		this.length = length;
+		
+		int chunkCount = (int)((length + DirectComponentStore.CHUNK_LENGTH - 1) >>> DirectComponentStore.CHUNK_SHIFT);
+		this.chunks = new FloatBuffer[chunkCount];
+		
+		for (int i = 0; i < chunkCount; i++) {
+			long remaining = length - ((long)i << DirectComponentStore.CHUNK_SHIFT);
+			int chunkLength = (int)Math.min(remaining, DirectComponentStore.CHUNK_LENGTH);
+			int chunkBytes = (int)((long)chunkLength * componentCount * (Float.SIZE / Byte.SIZE));
+			
+			this.chunks[i] = ByteBuffer.allocateDirect(chunkBytes).order(ByteOrder.nativeOrder()).asFloatBuffer();
+		}
+	}
+	
+	/*
+	 * Element Access
+	 */
+	
+	/**
+	 * <p>Gets a single component of the element at the specified
+	 * <code>index</code>.</p>
+	 *
+	 * @param index The index of the element.
+	 * @param component The index of the component within the element.
+	 * @return The value of the component.
+	 */
+	public final float get(final long index, final int component) {
+		this.checkIndex(index, component);
+		
+		return this.chunks[DirectComponentStore.chunkIndex(index)].get(this.chunkOffset(index) + component);
+	}
+	
+	/**
+	 * <p>Sets a single component of the element at the specified
+	 * <code>index</code>.</p>
+	 *
+	 * @param index The index of the element.
+	 * @param component The index of the component within the element.
+	 * @param value The new value of the component.
+	 */
+	public final void set(final long index, final int component, final float value) {
+		this.checkIndex(index, component);
+		
+		this.chunks[DirectComponentStore.chunkIndex(index)].put(this.chunkOffset(index) + component, value);
+	}
+	
+	/**
+	 * <p>Creates a new cursor over the elements of this store. Cursors are
+	 * cheap to use but not to create, and should be reused. A cursor must not
+	 * be shared between threads, but different threads may use different
+	 * cursors over the same store.</p>
+	 *
+	 * @return A new cursor, positioned at the first element.
+	 */
+	public final Cursor createCursor() {
+		return new Cursor(this);
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final int componentCount;
+	
+	/**
+	 * <p>Gets the number of floats stored per element.</p>
+	 *
+	 * @return The number of floats stored per element.
+	 */
+	public final int getComponentCount() {
+		return this.componentCount;
+	}
+	
+	private final long length;
+	
+	/**
+	 * <p>Gets the number of elements in this store.</p>
+	 *
+	 * @return The number of elements in this store.
+	 */
+	public final long getLength() {
+		return this.length;
+	}
+	
+	/*
+	 * Index Calculation
+	 */
+	
+	private static int chunkIndex(final long index) {
+		return (int)(index >>> DirectComponentStore.CHUNK_SHIFT);
+	}
+	
+	private int chunkOffset(final long index) {
+		return ((int)index & (DirectComponentStore.CHUNK_LENGTH - 1)) * this.componentCount;
+	}
+	
+	private void checkIndex(final long index, final int component) throws IndexOutOfBoundsException {
+		if ((index < 0) || (index >= this.length) || (component < 0) || (component >= this.componentCount)) {
+			throw new IndexOutOfBoundsException("Component " + component + " of element " + index + " lies outside of this store.");
+		}
+	}
+	
+	/*
+	 * Cursor
+	 */
+	
+	/**
+	 * <p>A movable view of a single element of a {@link DirectComponentStore}.
+	 * Reads and writes go straight to the off-heap memory.</p>
+	 *
+	 * <p>{@link #getBuffer()} exposes the current element as a buffer holding
+	 * exactly its components, so that the existing <code>getComponents</code>
+	 * and <code>setComponents</code> methods can be used directly:</p>
+	 *
+	 * <pre>
+	 * vertex.getComponents(cursor.moveTo(i).getBuffer());
+	 * vector.setComponents(cursor.moveTo(j).getBuffer());
+	 * </pre>
+	 */
+	public static final class Cursor {
+		
+		private Cursor(final DirectComponentStore store) {
+			this.store = store;
+			this.chunks = new FloatBuffer[store.chunks.length];
+			
+			// Every cursor needs its own buffer positions, so each gets its own
+			// duplicates of the chunks:
+			for (int i = 0; i < this.chunks.length; i++) {
+				this.chunks[i] = store.chunks[i].duplicate();
+			}
+			
+			if (store.length > 0) {
+				this.moveTo(0);
+			}
+		}
+		
+		/**
+		 * <p>Moves this cursor to the element at the specified
+		 * <code>index</code>.</p>
+		 *
+		 * @param index The index of the element.
+		 * @return This cursor.
+		 *
+		 * @throws IndexOutOfBoundsException If the <code>index</code> lies
+		 * outside of the store.
+		 */
+		public Cursor moveTo(final long index) throws IndexOutOfBoundsException {
+			this.store.checkIndex(index, 0);
+			
+			this.index = index;
+			this.buffer = this.chunks[DirectComponentStore.chunkIndex(index)];
+			this.offset = this.store.chunkOffset(index);
+			
+			// Set the limit first, it may lie before the previous position:
+			this.buffer.limit(this.offset + this.store.componentCount);
+			this.buffer.position(this.offset);
+			
+			return this;
+		}
+		
+		/**
+		 * <p>Gets the index of the element this cursor is positioned at.</p>
+		 *
+		 * @return The index of the current element.
+		 */
+		public long getIndex() {
+			return this.index;
+		}
+		
+		/**
+		 * <p>Gets a component of the current element.</p>
+		 *
+		 * @param component The index of the component within the element.
+		 * @return The value of the component.
+		 */
+		public float get(final int component) {
+			return this.buffer.get(this.offset + this.checkComponent(component));
+		}
+		
+		/**
+		 * <p>Sets a component of the current element.</p>
+		 *
+		 * @param component The index of the component within the element.
+		 * @param value The new value of the component.
+		 */
+		public void set(final int component, final float value) {
+			this.buffer.put(this.offset + this.checkComponent(component), value);
+		}
+		
+		/**
+		 * <p>Gets the x component, the first component, of the current
+		 * element.</p>
+		 *
+		 * @return The x component of the current element.
+		 */
+		public float getXComponent() {
+			return this.get(0);
+		}
+		
+		/**
+		 * <p>Gets the y component, the second component, of the current
+		 * element.</p>
+		 *
+		 * @return The y component of the current element.
+		 */
+		public float getYComponent() {
+			return this.get(1);
+		}
+		
+		/**
+		 * <p>Gets the z component, the third component, of the current
+		 * element.</p>
+		 *
+		 * @return The z component of the current element.
+		 */
+		public float getZComponent() {
+			return this.get(2);
+		}
+		
+		/**
+		 * <p>Gets a buffer which holds exactly the components of the current
+		 * element, positioned at the first one. The buffer is shared by all
+		 * elements in the same chunk and is repositioned by every call to
+		 * {@link #moveTo(long)}.</p>
+		 *
+		 * @return A buffer over the components of the current element.
+		 */
+		public FloatBuffer getBuffer() {
+			this.buffer.limit(this.offset + this.store.componentCount);
+			this.buffer.position(this.offset);
+			
+			return this.buffer;
+		}
+		
+		private int checkComponent(final int component) throws IndexOutOfBoundsException {
+			if ((component < 0) || (component >= this.store.componentCount)) {
+				throw new IndexOutOfBoundsException("Component " + component + " lies outside of an element of " + this.store.componentCount + " components.");
+			}
+			
+			return component;
+		}
+		
+		private final DirectComponentStore store;
+		private final FloatBuffer[] chunks;		// The cursor's own views of the chunks.
+		private FloatBuffer buffer;				// The chunk holding the current element.
+		private long index;						// The index of the current element.
+		private int offset;						// The offset of the current element in its chunk.
+	
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final FloatBuffer[] chunks;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int CHUNK_SHIFT = 20;
+	
+	/**
+	 * <p>The maximum number of elements stored in a single direct buffer.</p>
+	 */
+	public static final int CHUNK_LENGTH = 1 << DirectComponentStore.CHUNK_SHIFT;
+
+}
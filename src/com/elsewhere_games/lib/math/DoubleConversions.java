@@ -0,0 +1,177 @@
+package com.elsewhere_games.lib.math;
+
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>Batch conversion of double precision coordinates to floats, usually
+ * as the last step before rendering.</p>
+ *
+ * <p>Narrowing a coordinate far from the origin loses its fractional part.
+ * The vertex conversions therefore take an <code>origin</code>, typically
+ * the position of the camera, which is subtracted in double precision
+ * before narrowing. The results are small and keep their precision.</p>
+ */
+
+public final class DoubleConversions {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private DoubleConversions() {
+		// Only static methods are provided.
+	}
+	
+	/*
+	 * Component Conversions
+	 */
+	
+	/**
+	 * <p>Narrows <code>length</code> doubles of the <code>source</code> array
+	 * to floats in the <code>destination</code> array.</p>
+	 *
+	 * @param source The array of doubles to narrow.
+	 * @param sourceOffset The index of the first double to narrow.
+	 * @param destination The array receiving the floats.
+	 * @param destinationOffset The index at which the first float is stored.
+	 * @param length The number of values to narrow.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public static void narrow(final double[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int length) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, length);
+		
+		for (int i = 0; i < length; i++) {
+			destination[destinationOffset + i] = (float)source[sourceOffset + i];
+		}
+	}
+	
+	/**
+	 * <p>Narrows all remaining doubles of the <code>source</code> buffer to
+	 * floats in the <code>destination</code> buffer. The positions of both
+	 * buffers are advanced past the values transferred.</p>
+	 *
+	 * @param source The buffer of doubles to narrow.
+	 * @param destination The buffer receiving the floats.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> has
+	 * less room remaining than the <code>source</code> has values.
+	 */
+	public static void narrow(final DoubleBuffer source, final FloatBuffer destination) throws IllegalArgumentException {
+		if (destination.remaining() < source.remaining()) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		double[] sourceScratch = DoubleConversions.DOUBLE_SCRATCH.get();
+		float[] destinationScratch = DoubleConversions.FLOAT_SCRATCH.get();
+		
+		// Go through arrays in blocks, so both buffers only see bulk operations:
+		while (source.hasRemaining()) {
+			int length = Math.min(source.remaining(), DoubleConversions.SCRATCH_LENGTH);
+			
+			source.get(sourceScratch, 0, length);
+			for (int i = 0; i < length; i++) {
+				destinationScratch[i] = (float)sourceScratch[i];
+			}
+			destination.put(destinationScratch, 0, length);
+		}
+	}
+	
+	/*
+	 * Vertex Conversions
+	 */
+	
+	/**
+	 * <p>Stores the coordinates of <code>count</code> vertices, relative to the
+	 * <code>origin</code> and narrowed to floats, in the
+	 * <code>destination</code> array in XY order.</p>
+	 *
+	 * @param vertices The vertices to convert.
+	 * @param offset The index of the first vertex to convert.
+	 * @param count The number of vertices to convert.
+	 * @param origin The point which becomes the origin of the converted
+	 * coordinates.
+	 * @param destination The array receiving the coordinates.
+	 * @param destinationOffset The index at which the first coordinate is
+	 * stored.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public static void narrowVertex2ds(final DoubleVertex2d[] vertices, final int offset, final int count, final DoubleVertex2d origin, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		Vector2dArray.checkRange(vertices.length, offset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count * DoubleVertex2d.COMPONENT_COUNT);
+		
+		double originX = origin.getX();
+		double originY = origin.getY();
+		int index = destinationOffset;
+		
+		for (int i = offset; i < offset + count; i++) {
+			DoubleVertex2d vertex = vertices[i];
+			
+			destination[index] = (float)(vertex.getX() - originX);
+			destination[index + 1] = (float)(vertex.getY() - originY);
+			index += DoubleVertex2d.COMPONENT_COUNT;
+		}
+	}
+	
+	/**
+	 * <p>Stores the components of <code>count</code> vertices, relative to the
+	 * <code>origin</code> and narrowed to floats, in the
+	 * <code>destination</code> array in XYZ order.</p>
+	 *
+	 * @param vertices The vertices to convert.
+	 * @param offset The index of the first vertex to convert.
+	 * @param count The number of vertices to convert.
+	 * @param origin The point which becomes the origin of the converted
+	 * components.
+	 * @param destination The array receiving the components.
+	 * @param destinationOffset The index at which the first component is
+	 * stored.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public static void narrowVertex3ds(final DoubleVertex3d[] vertices, final int offset, final int count, final DoubleVertex3d origin, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		Vector2dArray.checkRange(vertices.length, offset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count * DoubleVertex3d.COMPONENT_COUNT);
+		
+		double originX = origin.getXComponent();
+		double originY = origin.getYComponent();
+		double originZ = origin.getZComponent();
+		int index = destinationOffset;
+		
+		for (int i = offset; i < offset + count; i++) {
+			DoubleVertex3d vertex = vertices[i];
+			
+			destination[index] = (float)(vertex.getXComponent() - originX);
+			destination[index + 1] = (float)(vertex.getYComponent() - originY);
+			destination[index + 2] = (float)(vertex.getZComponent() - originZ);
+			index += DoubleVertex3d.COMPONENT_COUNT;
+		}
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int SCRATCH_LENGTH = 1024;
+	
+	private static final ThreadLocal<double[]> DOUBLE_SCRATCH = new ThreadLocal<double[]>() {
+		@Override
+		protected double[] initialValue() {
+			return new double[DoubleConversions.SCRATCH_LENGTH];
+		}
+	};
+	
+	private static final ThreadLocal<float[]> FLOAT_SCRATCH = new ThreadLocal<float[]>() {
+		@Override
+		protected float[] initialValue() {
+			return new float[DoubleConversions.SCRATCH_LENGTH];
+		}
+	};
+
+}
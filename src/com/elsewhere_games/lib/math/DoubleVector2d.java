@@ -0,0 +1,400 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+
+/**
+ * <p>A two dimensional vector with double precision components. It offers
+ * the same operations as {@link Vector2d}, for coordinates which lie too far from
+ * the origin to be represented accurately as floats.</p>
+ */
+
+public class DoubleVector2d implements Cloneable, Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code> and <code>y</code>
+	 * components of this vector to be specified.</p>
+	 *
+	 * @param x The x component of this vector.
+	 * @param y The y component of this vector.
+	 */
+	public DoubleVector2d(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Class constructor. Sets the x and y components of this vector to
+	 * <code>0.0</code>.</p>
+	 */
+	public DoubleVector2d() {
+		this(0.0, 0.0);
+	}
+	
+	/**
+	 * <p>Class constructor. Copies, and widens, the components of the single
+	 * precision <code>source</code> vector.</p>
+	 *
+	 * @param source The vector whose components are copied.
+	 */
+	public DoubleVector2d(final Vector2d source) {
+		this(source.getXComponent(), source.getYComponent());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVector</code> to this vector.</p>
+	 *
+	 * @param otherVector The vector to add to this vector.
+	 */
+	public final void add(final DoubleVector2d otherVector) {
+		this.x += otherVector.x;
+		this.y += otherVector.y;
+	}
+	
+	/**
+	 * <p>Adds the specified values to the components of this vector.</p>
+	 *
+	 * @param x The value to add to the x component.
+	 * @param y The value to add to the y component.
+	 */
+	public final void add(final double x, final double y) {
+		this.x += x;
+		this.y += y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector.</p>
+	 *
+	 * @param otherVector The vector to subtract from this vector.
+	 */
+	public final void subtract(final DoubleVector2d otherVector) {
+		this.x -= otherVector.x;
+		this.y -= otherVector.y;
+	}
+	
+	/**
+	 * <p>Multiplies the components of this vector by the supplied
+	 * <code>scalar</code>.</p>
+	 *
+	 * @param scalar The value by which this vector is scaled.
+	 */
+	public final void multiply(final double scalar) {
+		this.x *= scalar;
+		this.y *= scalar;
+	}
+	
+	/**
+	 * <p>Divides the components of this vector by the supplied
+	 * <code>scalar</code>.</p>
+	 *
+	 * @param scalar The value by which this vector is scaled.
+	 */
+	public final void divide(final double scalar) {
+		this.x /= scalar;
+		this.y /= scalar;
+	}
+	
+	/**
+	 * <p>Gets the length of this vector.</p>
+	 *
+	 * @return The length of this vector.
+	 */
+	public final double calculateLength() {
+		return Math.sqrt(this.calculateLengthSquared());
+	}
+	
+	/**
+	 * <p>Gets the length of this vector squared.</p>
+	 *
+	 * @return The squared length of this vector.
+	 */
+	public final double calculateLengthSquared() {
+		return (this.x * this.x) + (this.y * this.y);
+	}
+	
+	/**
+	 * <p>Calculates the dot product of this vector and the
+	 * <code>otherVector</code>.</p>
+	 *
+	 * @param otherVector The other vector of the product.
+	 * @return The dot product of the two vectors.
+	 */
+	public final double calculateDotProduct(final DoubleVector2d otherVector) {
+		return (this.x * otherVector.x) + (this.y * otherVector.y);
+	}
+	
+	/**
+	 * <p>Scales this vector to a length of one. A vector with a length of zero
+	 * is left unchanged.</p>
+	 */
+	public final void normalize() {
+		double length = this.calculateLength();
+		// Avoid dividing by zero:
+		if (length != 0.0) {
+			this.divide(length);
+		}
+	}
+	
+	/*
+	 * Mathematical Operations with a Destination
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVector</code> to this vector and stores the result
+	 * in the <code>destination</code> vector.</p>
+	 *
+	 * @param otherVector The vector to add to this vector.
+	 * @param destination The vector in which the sum is stored.
+	 */
+	public final void add(final DoubleVector2d otherVector, final DoubleVector2d destination) {
+		destination.x = this.x + otherVector.x;
+		destination.y = this.y + otherVector.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector and stores the
+	 * result in the <code>destination</code> vector.</p>
+	 *
+	 * @param otherVector The vector to subtract from this vector.
+	 * @param destination The vector in which the difference is stored.
+	 */
+	public final void subtract(final DoubleVector2d otherVector, final DoubleVector2d destination) {
+		destination.x = this.x - otherVector.x;
+		destination.y = this.y - otherVector.y;
+	}
+	
+	/**
+	 * <p>Multiplies the components of this vector by the supplied
+	 * <code>scalar</code> and stores the result in the <code>destination</code>
+	 * vector.</p>
+	 *
+	 * @param scalar The value by which this vector is scaled.
+	 * @param destination The vector in which the scaled vector is stored.
+	 */
+	public final void multiply(final double scalar, final DoubleVector2d destination) {
+		destination.x = this.x * scalar;
+		destination.y = this.y * scalar;
+	}
+	
+	/**
+	 * <p>Stores a normalized copy of this vector in the <code>destination</code>
+	 * vector. If this vector has a length of zero, it is copied unchanged.</p>
+	 *
+	 * @param destination The vector in which the normalized vector is stored.
+	 */
+	public final void normalize(final DoubleVector2d destination) {
+		double length = this.calculateLength();
+		// Avoid dividing by zero:
+		if (length != 0.0) {
+			destination.x = this.x / length;
+			destination.y = this.y / length;
+		} else {
+			this.getComponents(destination);
+		}
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	/**
+	 * <p>Gets the x component of this vector.</p>
+	 *
+	 * @return The x component of this vector.
+	 */
+	public final double getXComponent() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Sets the x component of this vector.</p>
+	 *
+	 * @param x The new x component of this vector.
+	 */
+	public final void setXComponent(final double x) {
+		this.x = x;
+	}
+	
+	/**
+	 * <p>Gets the y component of this vector.</p>
+	 *
+	 * @return The y component of this vector.
+	 */
+	public final double getYComponent() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Sets the y component of this vector.</p>
+	 *
+	 * @param y The new y component of this vector.
+	 */
+	public final void setYComponent(final double y) {
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Sets the x and y components of this vector to the specified values.</p>
+	 *
+	 * @param x The new x component of this vector.
+	 * @param y The new y component of this vector.
+	 */
+	public final void setComponents(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Copies the components of this vector into the <code>destination</code>
+	 * vector.</p>
+	 *
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getComponents(final DoubleVector2d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+	}
+	
+	/**
+	 * <p>Sets the components of this vector to those of the <code>source</code>
+	 * vector.</p>
+	 *
+	 * @param source The vector which supplies the values of this vector.
+	 */
+	public final void setComponents(final DoubleVector2d source) {
+		this.x = source.x;
+		this.y = source.y;
+	}
+	
+	/**
+	 * <p>Copies the components of this vector, narrowed to single precision,
+	 * into the <code>destination</code> vector.</p>
+	 *
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getComponents(final Vector2d destination) {
+		destination.setComponents((float)this.x, (float)this.y);
+	}
+	
+	/**
+	 * <p>Sets the components of this vector to those of the single precision
+	 * <code>source</code> vector.</p>
+	 *
+	 * @param source The vector which supplies the values of this vector.
+	 */
+	public final void setComponents(final Vector2d source) {
+		this.x = source.getXComponent();
+		this.y = source.getYComponent();
+	}
+	
+	/**
+	 * <p>Stores the x and y components of this vector (in that order) in the
+	 * specified <code>destination</code> buffer.</p>
+	 *
+	 * @param destination The buffer in which the components are stored. The
+	 * position of the buffer after this operation lies after the last
+	 * component added.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> buffer
+	 * does not have room for all components of this vector.
+	 */
+	public final void getComponents(final DoubleBuffer destination) throws IllegalArgumentException {
+		// Make sure there is enough room for the components:
+		if (destination.remaining() < DoubleVector2d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		destination.put(this.x);
+		destination.put(this.y);
+	}
+	
+	/**
+	 * <p>Sets the components of this vector to the values supplied by the
+	 * <code>source</code> buffer.</p>
+	 *
+	 * @param source The buffer which supplies the values of this vector. The
+	 * values are expected to be stored in XY order.
+	 *
+	 * @throws IllegalArgumentException If the <code>source</code> buffer does
+	 * not have enough elements remaining for all components of this vector.
+	 */
+	public final void setComponents(final DoubleBuffer source) throws IllegalArgumentException {
+		// Make sure the source contains enough components:
+		if (source.remaining() < DoubleVector2d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified source buffer does not contain enough components.");
+		}
+		
+		this.x = source.get();
+		this.y = source.get();
+	}
+	
+	/*
+	 * Java Object Overrides
+	 */
+	
+	/**
+	 * <p>Creates a deep copy of this vector.</p>
+	 *
+	 * @return A deep copy of this vector.
+	 */
+	@Override
+	public Object clone() {
+		return new DoubleVector2d(this.x, this.y);
+	}
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is a vector of the same
+	 * type with exactly the same components.</p>
+	 *
+	 * @param otherObject The object to compare to this vector.
+	 * @return <code>true</code> if all components of the two vectors match,
+	 * <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof DoubleVector2d)) {
+			return false;
+		}
+		
+		DoubleVector2d otherVector = (DoubleVector2d)otherObject;
+		
+		return (Double.compare(this.x, otherVector.x) == 0) &&
+				(Double.compare(this.y, otherVector.y) == 0);
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = Double.hashCode(this.x);
+		hash = (31 * hash) + Double.hashCode(this.y);
+		
+		return hash;
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private double x;			// The x component of this vector.
+	private double y;			// The y component of this vector.
+	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 2;
+
+}
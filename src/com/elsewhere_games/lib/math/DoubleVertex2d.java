@@ -0,0 +1,274 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+
+/**
+ * <p>A two dimensional vertex with double precision coordinates. It offers the
+ * same operations as {@link Vertex2d}, for positions which lie too far from the
+ * origin to be represented accurately as floats.</p>
+ */
+
+public class DoubleVertex2d implements Cloneable, Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 2;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Places this vertex at the origin.</p>
+	 */
+	public DoubleVertex2d() {
+		this(0.0, 0.0);
+	}
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code> and <code>y</code> coordinates of this
+	 * vertex to be specified.</p>
+	 *
+	 * @param x The x coordinate of this vertex.
+	 * @param y The y coordinate of this vertex.
+	 */
+	public DoubleVertex2d(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Class constructor. Copies, and widens, the coordinates of the single
+	 * precision <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex whose coordinates are copied.
+	 */
+	public DoubleVertex2d(final Vertex2d source) {
+		this(source.getX(), source.getY());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 */
+	public final void add(final DoubleVertex2d otherVertex) {
+		this.x += otherVertex.x;
+		this.y += otherVertex.y;
+	}
+	
+	/**
+	 * <p>Adds the specified values to the coordinates of this vertex.</p>
+	 *
+	 * @param x The value to add to the x coordinate.
+	 * @param y The value to add to the y coordinate.
+	 */
+	public final void add(final double x, final double y) {
+		this.x += x;
+		this.y += y;
+	}
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex and stores the result
+	 * in the <code>destination</code> vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @param destination The vertex in which the sum is stored.
+	 */
+	public final void add(final DoubleVertex2d otherVertex, final DoubleVertex2d destination) {
+		destination.x = this.x + otherVertex.x;
+		destination.y = this.y + otherVertex.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 */
+	public final void subtract(final DoubleVertex2d otherVertex) {
+		this.x -= otherVertex.x;
+		this.y -= otherVertex.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex and stores the
+	 * result in the <code>destination</code> vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @param destination The vertex in which the difference is stored.
+	 */
+	public final void subtract(final DoubleVertex2d otherVertex, final DoubleVertex2d destination) {
+		destination.x = this.x - otherVertex.x;
+		destination.y = this.y - otherVertex.y;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	/**
+	 * <p>Gets the x coordinate of this vertex.</p>
+	 *
+	 * @return The x coordinate of this vertex.
+	 */
+	public final double getX() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Sets the x coordinate of this vertex.</p>
+	 *
+	 * @param x The new x coordinate of this vertex.
+	 */
+	public final void setX(final double x) {
+		this.x = x;
+	}
+	
+	/**
+	 * <p>Gets the y coordinate of this vertex.</p>
+	 *
+	 * @return The y coordinate of this vertex.
+	 */
+	public final double getY() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Sets the y coordinate of this vertex.</p>
+	 *
+	 * @param y The new y coordinate of this vertex.
+	 */
+	public final void setY(final double y) {
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Sets the x and y coordinates of this vertex to the specified values.</p>
+	 *
+	 * @param x The new x coordinate of this vertex.
+	 * @param y The new y coordinate of this vertex.
+	 */
+	public final void setComponents(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Copies the coordinates of this vertex into the <code>destination</code>
+	 * vertex.</p>
+	 *
+	 * @param destination The vertex in which the coordinates are stored.
+	 */
+	public final void getComponents(final DoubleVertex2d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+	}
+	
+	/**
+	 * <p>Sets the coordinates of this vertex to those of the <code>source</code>
+	 * vertex.</p>
+	 *
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final DoubleVertex2d source) {
+		this.x = source.x;
+		this.y = source.y;
+	}
+	
+	/**
+	 * <p>Copies the coordinates of this vertex, narrowed to single precision,
+	 * into the <code>destination</code> vertex.</p>
+	 *
+	 * @param destination The vertex in which the coordinates are stored.
+	 */
+	public final void getComponents(final Vertex2d destination) {
+		destination.setComponents((float)this.x, (float)this.y);
+	}
+	
+	/**
+	 * <p>Sets the coordinates of this vertex to those of the single precision
+	 * <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final Vertex2d source) {
+		this.x = source.getX();
+		this.y = source.getY();
+	}
+	
+	/**
+	 * <p>Stores the x and y coordinates of this vertex (in that order) in the
+	 * specified <code>destination</code> buffer.</p>
+	 *
+	 * @param destination The buffer in which the coordinates are stored. The
+	 * position of the buffer after this operation lies after the last
+	 * coordinate added.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> buffer
+	 * does not have room for all coordinates of this vertex.
+	 */
+	public final void getComponents(final DoubleBuffer destination) throws IllegalArgumentException {
+		// Make sure there is enough room for the coordinates:
+		if (destination.remaining() < DoubleVertex2d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		destination.put(this.x);
+		destination.put(this.y);
+	}
+	
+	/**
+	 * <p>Sets the coordinates of this vertex to the values supplied by the
+	 * <code>source</code> buffer.</p>
+	 *
+	 * @param source The buffer which supplies the values of this vertex. The
+	 * values are expected to be stored in XY order.
+	 *
+	 * @throws IllegalArgumentException If the <code>source</code> buffer does
+	 * not have enough elements remaining for all coordinates of this vertex.
+	 */
+	public final void setComponents(final DoubleBuffer source) throws IllegalArgumentException {
+		// Make sure the source contains enough coordinates:
+		if (source.remaining() < DoubleVertex2d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified source buffer does not contain enough components.");
+		}
+		
+		this.x = source.get();
+		this.y = source.get();
+	}
+	
+	/*
+	 * Java Object Overrides
+	 */
+	
+	/**
+	 * <p>Returns a deep copy of this vertex.</p>
+	 *
+	 * @return A deep copy of this vertex.
+	 */
+	@Override
+	public Object clone() {
+		return new DoubleVertex2d(this.x, this.y);
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private double x;
+	private double y;
+
+}
@@ -0,0 +1,308 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+
+/**
+ * <p>A three dimensional vertex with double precision components. It offers the
+ * same operations as {@link Vertex3d}, for positions which lie too far from the
+ * origin to be represented accurately as floats.</p>
+ */
+
+public class DoubleVertex3d implements Cloneable, Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 3;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Places this vertex at the origin.</p>
+	 */
+	public DoubleVertex3d() {
+		this(0.0, 0.0, 0.0);
+	}
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code>, <code>y</code> and <code>z</code> components of this
+	 * vertex to be specified.</p>
+	 *
+	 * @param x The x component of this vertex.
+	 * @param y The y component of this vertex.
+	 * @param z The z component of this vertex.
+	 */
+	public DoubleVertex3d(final double x, final double y, final double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Class constructor. Copies, and widens, the components of the single
+	 * precision <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex whose components are copied.
+	 */
+	public DoubleVertex3d(final Vertex3d source) {
+		this(source.getXComponent(), source.getYComponent(), source.getZComponent());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 */
+	public final void add(final DoubleVertex3d otherVertex) {
+		this.x += otherVertex.x;
+		this.y += otherVertex.y;
+		this.z += otherVertex.z;
+	}
+	
+	/**
+	 * <p>Adds the specified values to the components of this vertex.</p>
+	 *
+	 * @param x The value to add to the x component.
+	 * @param y The value to add to the y component.
+	 * @param z The value to add to the z component.
+	 */
+	public final void add(final double x, final double y, final double z) {
+		this.x += x;
+		this.y += y;
+		this.z += z;
+	}
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex and stores the result
+	 * in the <code>destination</code> vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @param destination The vertex in which the sum is stored.
+	 */
+	public final void add(final DoubleVertex3d otherVertex, final DoubleVertex3d destination) {
+		destination.x = this.x + otherVertex.x;
+		destination.y = this.y + otherVertex.y;
+		destination.z = this.z + otherVertex.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 */
+	public final void subtract(final DoubleVertex3d otherVertex) {
+		this.x -= otherVertex.x;
+		this.y -= otherVertex.y;
+		this.z -= otherVertex.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex and stores the
+	 * result in the <code>destination</code> vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @param destination The vertex in which the difference is stored.
+	 */
+	public final void subtract(final DoubleVertex3d otherVertex, final DoubleVertex3d destination) {
+		destination.x = this.x - otherVertex.x;
+		destination.y = this.y - otherVertex.y;
+		destination.z = this.z - otherVertex.z;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	/**
+	 * <p>Gets the x component of this vertex.</p>
+	 *
+	 * @return The x component of this vertex.
+	 */
+	public final double getXComponent() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Sets the x component of this vertex.</p>
+	 *
+	 * @param x The new x component of this vertex.
+	 */
+	public final void setXComponent(final double x) {
+		this.x = x;
+	}
+	
+	/**
+	 * <p>Gets the y component of this vertex.</p>
+	 *
+	 * @return The y component of this vertex.
+	 */
+	public final double getYComponent() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Sets the y component of this vertex.</p>
+	 *
+	 * @param y The new y component of this vertex.
+	 */
+	public final void setYComponent(final double y) {
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Gets the z component of this vertex.</p>
+	 *
+	 * @return The z component of this vertex.
+	 */
+	public final double getZComponent() {
+		return this.z;
+	}
+	
+	/**
+	 * <p>Sets the z component of this vertex.</p>
+	 *
+	 * @param z The new z component of this vertex.
+	 */
+	public final void setZComponent(final double z) {
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Sets the x, y and z components of this vertex to the specified values.</p>
+	 *
+	 * @param x The new x component of this vertex.
+	 * @param y The new y component of this vertex.
+	 * @param z The new z component of this vertex.
+	 */
+	public final void setComponents(final double x, final double y, final double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Copies the components of this vertex into the <code>destination</code>
+	 * vertex.</p>
+	 *
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public final void getComponents(final DoubleVertex3d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+		destination.z = this.z;
+	}
+	
+	/**
+	 * <p>Sets the components of this vertex to those of the <code>source</code>
+	 * vertex.</p>
+	 *
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final DoubleVertex3d source) {
+		this.x = source.x;
+		this.y = source.y;
+		this.z = source.z;
+	}
+	
+	/**
+	 * <p>Copies the components of this vertex, narrowed to single precision,
+	 * into the <code>destination</code> vertex.</p>
+	 *
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public final void getComponents(final Vertex3d destination) {
+		destination.setComponents((float)this.x, (float)this.y, (float)this.z);
+	}
+	
+	/**
+	 * <p>Sets the components of this vertex to those of the single precision
+	 * <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final Vertex3d source) {
+		this.x = source.getXComponent();
+		this.y = source.getYComponent();
+		this.z = source.getZComponent();
+	}
+	
+	/**
+	 * <p>Stores the x, y and z components of this vertex (in that order) in the
+	 * specified <code>destination</code> buffer.</p>
+	 *
+	 * @param destination The buffer in which the components are stored. The
+	 * position of the buffer after this operation lies after the last
+	 * component added.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> buffer
+	 * does not have room for all components of this vertex.
+	 */
+	public final void getComponents(final DoubleBuffer destination) throws IllegalArgumentException {
+		// Make sure there is enough room for the components:
+		if (destination.remaining() < DoubleVertex3d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		destination.put(this.x);
+		destination.put(this.y);
+		destination.put(this.z);
+	}
+	
+	/**
+	 * <p>Sets the components of this vertex to the values supplied by the
+	 * <code>source</code> buffer.</p>
+	 *
+	 * @param source The buffer which supplies the values of this vertex. The
+	 * values are expected to be stored in XYZ order.
+	 *
+	 * @throws IllegalArgumentException If the <code>source</code> buffer does
+	 * not have enough elements remaining for all components of this vertex.
+	 */
+	public final void setComponents(final DoubleBuffer source) throws IllegalArgumentException {
+		// Make sure the source contains enough components:
+		if (source.remaining() < DoubleVertex3d.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified source buffer does not contain enough components.");
+		}
+		
+		this.x = source.get();
+		this.y = source.get();
+		this.z = source.get();
+	}
+	
+	/*
+	 * Java Object Overrides
+	 */
+	
+	/**
+	 * <p>Returns a deep copy of this vertex.</p>
+	 *
+	 * @return A deep copy of this vertex.
+	 */
+	@Override
+	public Object clone() {
+		return new DoubleVertex3d(this.x, this.y, this.z);
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private double x;
+	private double y;
+	private double z;
+
+}
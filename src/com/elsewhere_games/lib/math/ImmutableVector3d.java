@@ -0,0 +1,264 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+
+/**
+ * <p>An immutable three dimensional vector. Every operation returns a new
+ * vector, so instances may be shared between threads without copying or
+ * locking.</p>
+ *
+ * <p>This is a value-based class: instances with the same components are
+ * interchangeable, and code should not rely on their identity, for instance
+ * by comparing them with <code>==</code> or synchronizing on them. Short
+ * lived instances are usually removed by escape analysis.</p>
+ */
+
+public final class ImmutableVector3d implements Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code>, <code>y</code> and
+	 * <code>z</code> components of this vector to be specified.</p>
+	 *
+	 * @param x The x component of this vector.
+	 * @param y The y component of this vector.
+	 * @param z The z component of this vector.
+	 */
+	public ImmutableVector3d(final float x, final float y, final float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Class constructor. Copies the components of the mutable
+	 * <code>source</code> vector.</p>
+	 *
+	 * @param source The vector whose components are copied.
+	 */
+	public ImmutableVector3d(final Vector3d source) {
+		this(source.getXComponent(), source.getYComponent(), source.getZComponent());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVector</code> to this vector.</p>
+	 *
+	 * @param otherVector The vector to add to this vector.
+	 * @return The sum of the two vectors.
+	 */
+	public ImmutableVector3d add(final ImmutableVector3d otherVector) {
+		return new ImmutableVector3d(this.x + otherVector.x, this.y + otherVector.y, this.z + otherVector.z);
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector.</p>
+	 *
+	 * @param otherVector The vector to subtract from this vector.
+	 * @return The difference of the two vectors.
+	 */
+	public ImmutableVector3d subtract(final ImmutableVector3d otherVector) {
+		return new ImmutableVector3d(this.x - otherVector.x, this.y - otherVector.y, this.z - otherVector.z);
+	}
+	
+	/**
+	 * <p>Multiplies this vector by the specified <code>scalar</code>.</p>
+	 *
+	 * @param scalar The value by which to multiply the components.
+	 * @return The scaled vector.
+	 */
+	public ImmutableVector3d multiply(final float scalar) {
+		return new ImmutableVector3d(this.x * scalar, this.y * scalar, this.z * scalar);
+	}
+	
+	/**
+	 * <p>Divides this vector by the specified <code>scalar</code>.</p>
+	 *
+	 * @param scalar The value by which to divide the components.
+	 * @return The scaled vector.
+	 */
+	public ImmutableVector3d divide(final float scalar) {
+		return new ImmutableVector3d(this.x / scalar, this.y / scalar, this.z / scalar);
+	}
+	
+	/**
+	 * <p>Gets the length of this vector.</p>
+	 *
+	 * @return The length of this vector.
+	 */
+	public float calculateLength() {
+		return (float)Math.sqrt(this.calculateLengthSquared());
+	}
+	
+	/**
+	 * <p>Gets the length of this vector squared.</p>
+	 *
+	 * @return The squared length of this vector.
+	 */
+	public float calculateLengthSquared() {
+		return (this.x * this.x) + (this.y * this.y) + (this.z * this.z);
+	}
+	
+	/**
+	 * <p>Calculates the dot product of this vector and the
+	 * <code>otherVector</code>.</p>
+	 *
+	 * @param otherVector The other vector of the product.
+	 * @return The dot product of the two vectors.
+	 */
+	public float calculateDotProduct(final ImmutableVector3d otherVector) {
+		return (this.x * otherVector.x) + (this.y * otherVector.y) + (this.z * otherVector.z);
+	}
+	
+	/**
+	 * <p>Calculates the cross product of this vector and the
+	 * <code>otherVector</code>.</p>
+	 *
+	 * @param otherVector The other vector of the product.
+	 * @return The cross product of the two vectors.
+	 */
+	public ImmutableVector3d calculateCrossProduct(final ImmutableVector3d otherVector) {
+		return new ImmutableVector3d(
+				(this.y * otherVector.z) - (this.z * otherVector.y),
+				(this.z * otherVector.x) - (this.x * otherVector.z),
+				(this.x * otherVector.y) - (this.y * otherVector.x));
+	}
+	
+	/**
+	 * <p>Calculates the vector of unit length pointing in the same direction
+	 * as this vector. A zero length vector is returned as it is.</p>
+	 *
+	 * @return The normalized vector.
+	 */
+	public ImmutableVector3d normalize() {
+		float length = this.calculateLength();
+		
+		// Avoid dividing by zero:
+		return (length != 0.0f) ? this.divide(length) : this;
+	}
+	
+	/*
+	 * Conversions
+	 */
+	
+	/**
+	 * <p>Creates a mutable copy of this vector.</p>
+	 *
+	 * @return A new mutable vector with the components of this vector.
+	 */
+	public Vector3d toVector3d() {
+		return new Vector3d(this.x, this.y, this.z);
+	}
+	
+	/**
+	 * <p>Copies the components of this vector into the mutable
+	 * <code>destination</code>, without allocating.</p>
+	 *
+	 * @param destination The vector which receives the components.
+	 */
+	public void getComponents(final Vector3d destination) {
+		destination.setComponents(this.x, this.y, this.z);
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	/**
+	 * <p>Gets the x component of this vector.</p>
+	 *
+	 * @return The x component of this vector.
+	 */
+	public float getXComponent() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Gets the y component of this vector.</p>
+	 *
+	 * @return The y component of this vector.
+	 */
+	public float getYComponent() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Gets the z component of this vector.</p>
+	 *
+	 * @return The z component of this vector.
+	 */
+	public float getZComponent() {
+		return this.z;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is an immutable vector
+	 * with exactly the same components. Use
+	 * {@link MathUtilities#isEqual(float, float)} on the components to allow
+	 * for rounding errors.</p>
+	 *
+	 * @param otherObject The object to compare to this vector.
+	 * @return <code>true</code> if the components of both vectors are
+	 * identical, <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof ImmutableVector3d)) {
+			return false;
+		}
+		
+		ImmutableVector3d otherVector = (ImmutableVector3d)otherObject;
+		
+		return 	(Float.floatToIntBits(this.x) == Float.floatToIntBits(otherVector.x)) &&
+				(Float.floatToIntBits(this.y) == Float.floatToIntBits(otherVector.y)) &&
+				(Float.floatToIntBits(this.z) == Float.floatToIntBits(otherVector.z));
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = Float.floatToIntBits(this.x);
+		hash = (31 * hash) + Float.floatToIntBits(this.y);
+		hash = (31 * hash) + Float.floatToIntBits(this.z);
+		
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final float x;			// The x component of this vector.
+	private final float y;			// The y component of this vector.
+	private final float z;			// The z component of this vector.
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The vector whose components are all <code>0.0f</code>.</p>
+	 */
+	public static final ImmutableVector3d ZERO = new ImmutableVector3d(0.0f, 0.0f, 0.0f);
+
+}
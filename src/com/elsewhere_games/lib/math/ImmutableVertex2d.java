@@ -0,0 +1,180 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+
+/**
+ * <p>An immutable two dimensional vertex. Every operation returns a new
+ * vertex, so instances may be shared between threads without copying or
+ * locking.</p>
+ *
+ * <p>This is a value-based class: instances with the same coordinates are
+ * interchangeable, and code should not rely on their identity, for instance
+ * by comparing them with <code>==</code> or synchronizing on them. Short
+ * lived instances are usually removed by escape analysis.</p>
+ */
+
+public final class ImmutableVertex2d implements Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code> and <code>y</code>
+	 * coordinates of this vertex to be specified.</p>
+	 *
+	 * @param x The x coordinate of this vertex.
+	 * @param y The y coordinate of this vertex.
+	 */
+	public ImmutableVertex2d(final float x, final float y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Class constructor. Copies the coordinates of the mutable
+	 * <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex whose coordinates are copied.
+	 */
+	public ImmutableVertex2d(final Vertex2d source) {
+		this(source.getX(), source.getY());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @return The sum of the two vertices.
+	 */
+	public ImmutableVertex2d add(final ImmutableVertex2d otherVertex) {
+		return new ImmutableVertex2d(this.x + otherVertex.x, this.y + otherVertex.y);
+	}
+	
+	/**
+	 * <p>Adds the specified amounts to the coordinates of this vertex.</p>
+	 *
+	 * @param x The amount to add to the x coordinate.
+	 * @param y The amount to add to the y coordinate.
+	 * @return The moved vertex.
+	 */
+	public ImmutableVertex2d add(final float x, final float y) {
+		return new ImmutableVertex2d(this.x + x, this.y + y);
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @return The difference of the two vertices.
+	 */
+	public ImmutableVertex2d subtract(final ImmutableVertex2d otherVertex) {
+		return new ImmutableVertex2d(this.x - otherVertex.x, this.y - otherVertex.y);
+	}
+	
+	/*
+	 * Conversions
+	 */
+	
+	/**
+	 * <p>Creates a mutable copy of this vertex.</p>
+	 *
+	 * @return A new mutable vertex with the coordinates of this vertex.
+	 */
+	public Vertex2d toVertex2d() {
+		return new Vertex2d(this.x, this.y);
+	}
+	
+	/**
+	 * <p>Copies the coordinates of this vertex into the mutable
+	 * <code>destination</code>, without allocating.</p>
+	 *
+	 * @param destination The vertex which receives the coordinates.
+	 */
+	public void getComponents(final Vertex2d destination) {
+		destination.setComponents(this.x, this.y);
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	/**
+	 * <p>Gets the x coordinate of this vertex.</p>
+	 *
+	 * @return The x coordinate of this vertex.
+	 */
+	public float getX() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Gets the y coordinate of this vertex.</p>
+	 *
+	 * @return The y coordinate of this vertex.
+	 */
+	public float getY() {
+		return this.y;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is an immutable vertex
+	 * with exactly the same coordinates.</p>
+	 *
+	 * @param otherObject The object to compare to this vertex.
+	 * @return <code>true</code> if the coordinates of both vertices are
+	 * identical, <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof ImmutableVertex2d)) {
+			return false;
+		}
+		
+		ImmutableVertex2d otherVertex = (ImmutableVertex2d)otherObject;
+		
+		return 	(Float.floatToIntBits(this.x) == Float.floatToIntBits(otherVertex.x)) &&
+				(Float.floatToIntBits(this.y) == Float.floatToIntBits(otherVertex.y));
+	}
+	
+	@Override
+	public int hashCode() {
+		return (31 * Float.floatToIntBits(this.x)) + Float.floatToIntBits(this.y);
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ")";
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final float x;
+	private final float y;
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The vertex at the origin.</p>
+	 */
+	public static final ImmutableVertex2d ORIGIN = new ImmutableVertex2d(0.0f, 0.0f);
+
+}
@@ -0,0 +1,186 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+
+/**
+ * <p>An immutable three dimensional vertex. Every operation returns a new
+ * vertex, so instances may be shared between threads without copying or
+ * locking.</p>
+ *
+ * <p>This is a value-based class: instances with the same coordinates are
+ * interchangeable, and code should not rely on their identity, for instance
+ * by comparing them with <code>==</code> or synchronizing on them. Short
+ * lived instances are usually removed by escape analysis.</p>
+ */
+
+public final class ImmutableVertex3d implements Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the <code>x</code>, <code>y</code> and
+	 * <code>z</code> coordinates of this vertex to be specified.</p>
+	 *
+	 * @param x The x coordinate of this vertex.
+	 * @param y The y coordinate of this vertex.
+	 * @param z The z coordinate of this vertex.
+	 */
+	public ImmutableVertex3d(final float x, final float y, final float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Class constructor. Copies the coordinates of the mutable
+	 * <code>source</code> vertex.</p>
+	 *
+	 * @param source The vertex whose coordinates are copied.
+	 */
+	public ImmutableVertex3d(final Vertex3d source) {
+		this(source.getXComponent(), source.getYComponent(), source.getZComponent());
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @return The sum of the two vertices.
+	 */
+	public ImmutableVertex3d add(final ImmutableVertex3d otherVertex) {
+		return new ImmutableVertex3d(this.x + otherVertex.x, this.y + otherVertex.y, this.z + otherVertex.z);
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 *
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @return The difference of the two vertices.
+	 */
+	public ImmutableVertex3d subtract(final ImmutableVertex3d otherVertex) {
+		return new ImmutableVertex3d(this.x - otherVertex.x, this.y - otherVertex.y, this.z - otherVertex.z);
+	}
+	
+	/*
+	 * Conversions
+	 */
+	
+	/**
+	 * <p>Creates a mutable copy of this vertex.</p>
+	 *
+	 * @return A new mutable vertex with the coordinates of this vertex.
+	 */
+	public Vertex3d toVertex3d() {
+		return new Vertex3d(this.x, this.y, this.z);
+	}
+	
+	/**
+	 * <p>Copies the coordinates of this vertex into the mutable
+	 * <code>destination</code>, without allocating.</p>
+	 *
+	 * @param destination The vertex which receives the coordinates.
+	 */
+	public void getComponents(final Vertex3d destination) {
+		destination.setComponents(this.x, this.y, this.z);
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	/**
+	 * <p>Gets the x coordinate of this vertex.</p>
+	 *
+	 * @return The x coordinate of this vertex.
+	 */
+	public float getXComponent() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Gets the y coordinate of this vertex.</p>
+	 *
+	 * @return The y coordinate of this vertex.
+	 */
+	public float getYComponent() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Gets the z coordinate of this vertex.</p>
+	 *
+	 * @return The z coordinate of this vertex.
+	 */
+	public float getZComponent() {
+		return this.z;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is an immutable vertex
+	 * with exactly the same coordinates.</p>
+	 *
+	 * @param otherObject The object to compare to this vertex.
+	 * @return <code>true</code> if the coordinates of both vertices are
+	 * identical, <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof ImmutableVertex3d)) {
+			return false;
+		}
+		
+		ImmutableVertex3d otherVertex = (ImmutableVertex3d)otherObject;
+		
+		return 	(Float.floatToIntBits(this.x) == Float.floatToIntBits(otherVertex.x)) &&
+				(Float.floatToIntBits(this.y) == Float.floatToIntBits(otherVertex.y)) &&
+				(Float.floatToIntBits(this.z) == Float.floatToIntBits(otherVertex.z));
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = Float.floatToIntBits(this.x);
+		hash = (31 * hash) + Float.floatToIntBits(this.y);
+		hash = (31 * hash) + Float.floatToIntBits(this.z);
+		
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final float x;
+	private final float y;
+	private final float z;
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The vertex at the origin.</p>
+	 */
+	public static final ImmutableVertex3d ORIGIN = new ImmutableVertex3d(0.0f, 0.0f, 0.0f);
+
+}
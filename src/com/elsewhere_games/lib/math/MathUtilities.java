@@ -48,27 +48,358 @@ public class MathUtilities {
 	}
 	
 	/**
-	 * <p>Rounds the given <code>value</code> up to the nearest power of two.</p>
+	 * <p>Rounds the given <code>value</code> up to the nearest power of two.
+	 * Zero is rounded up to two.</p>
 	 * 
-	 * @param value The value to round up to the nearest power of two.
-	 * @return The next power of two greater than <code>value</code>.
+	 * @param value The value to round up to the nearest power of two, from
+	 * zero to {@link #MAXIMUM_INT_POWER_OF_TWO}.
+	 * @return The smallest power of two not less than <code>value</code>.
+	 * 
+	 * @throws IllegalArgumentException If the <code>value</code> is negative,
+	 * or if the result would not fit an <code>int</code>.
 	 */
-	public static int nextPowerOfTwo(int value) {
-		// The algorithm below does not work if value is zero:
+	public static int nextPowerOfTwo(final int value) throws IllegalArgumentException {
+		if ((value < 0) || (value > MathUtilities.MAXIMUM_INT_POWER_OF_TWO)) {
+			throw new IllegalArgumentException("The specified value " + value + " lies outside of [0, " + MathUtilities.MAXIMUM_INT_POWER_OF_TWO + "].");
+		}
+		
+		// Historically, zero rounds up to two rather than one:
 		if (value == 0) {
 			return 2;
 		}
 		
-		// This uses the bit-twiddling hacks described on the Stanford site:
-		int result = value - 1;
-		result |= result >> 1;
-		result |= result >> 2;
-		result |= result >> 4;
-		result |= result >> 8;
-		result |= result >> 16;
-		result++;
+		// Shift distances are taken modulo 32, so this is 1 << (32 - zeros),
+		// and one (with 32 leading zeros below it) stays one:
+		return 1 << -Integer.numberOfLeadingZeros(value - 1);
+	}
+	
+	/**
+	 * <p>Rounds the given <code>value</code> up to the nearest power of two.
+	 * Zero is rounded up to two, as in {@link #nextPowerOfTwo(int)}.</p>
+	 * 
+	 * @param value The value to round up to the nearest power of two, from
+	 * zero to {@link #MAXIMUM_LONG_POWER_OF_TWO}.
+	 * @return The smallest power of two not less than <code>value</code>.
+	 * 
+	 * @throws IllegalArgumentException If the <code>value</code> is negative,
+	 * or if the result would not fit a <code>long</code>.
+	 */
+	public static long nextPowerOfTwo(final long value) throws IllegalArgumentException {
+		if ((value < 0L) || (value > MathUtilities.MAXIMUM_LONG_POWER_OF_TWO)) {
+			throw new IllegalArgumentException("The specified value " + value + " lies outside of [0, " + MathUtilities.MAXIMUM_LONG_POWER_OF_TWO + "].");
+		}
+		
+		if (value == 0L) {
+			return 2L;
+		}
 		
-		return result;
+		return 1L << -Long.numberOfLeadingZeros(value - 1L);
+	}
+	
+	/*
+	 * Batch Operations
+	 */
+	
+	/**
+	 * <p>Clamps all <code>values</code> between the specified
+	 * <code>minimum</code> and <code>maximum</code>, in place.</p>
+	 * 
+	 * @param values The values to clamp.
+	 * @param minimum The minimum value stored.
+	 * @param maximum The maximum value stored.
+	 */
+	public static void clamp(final float[] values, final float minimum, final float maximum) {
+		MathUtilities.clamp(values, 0, values, 0, values.length, minimum, maximum);
+	}
+	
+	/**
+	 * <p>Clamps <code>count</code> values of the <code>source</code> between
+	 * the specified <code>minimum</code> and <code>maximum</code>, as in
+	 * {@link #clamp(float, float, float)}, and stores them in the
+	 * <code>destination</code>. The loop has no branches, so that the JIT
+	 * compiler can turn it into vector instructions.</p>
+	 * 
+	 * @param source The values to clamp.
+	 * @param sourceOffset The index of the first value to clamp.
+	 * @param destination The array in which the clamped values are stored,
+	 * which may be the <code>source</code>.
+	 * @param destinationOffset The index at which the first clamped value is
+	 * stored.
+	 * @param count The number of values to clamp.
+	 * @param minimum The minimum value stored.
+	 * @param maximum The maximum value stored.
+	 * 
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public static void clamp(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count, final float minimum, final float maximum) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		
+		for (int i = 0; i < count; i++) {
+			destination[destinationOffset + i] = Math.min(maximum, Math.max(minimum, source[sourceOffset + i]));
+		}
+	}
+	
+	/**
+	 * <p>Checks whether two arrays hold the same values, comparing each pair
+	 * as in {@link #isEqual(float, float)}.</p>
+	 * 
+	 * @param values1 The first values to compare.
+	 * @param values2 The second values to compare.
+	 * 
+	 * @return <code>true</code> if the arrays have the same length and all
+	 * pairs are relatively equal, <code>false</code> otherwise.
+	 */
+	public static boolean isEqual(final float[] values1, final float[] values2) {
+		if (values1.length != values2.length) {
+			return false;
+		}
+		
+		return MathUtilities.isEqual(values1, 0, values2, 0, values1.length);
+	}
+	
+	/**
+	 * <p>Checks whether <code>count</code> values of two arrays are the same,
+	 * comparing each pair as in {@link #isEqual(float, float)}. Every pair is
+	 * compared, even after a difference has been found, so that the loop has
+	 * no branches.</p>
+	 * 
+	 * @param values1 The first values to compare.
+	 * @param offset1 The index of the first value in <code>values1</code>.
+	 * @param values2 The second values to compare.
+	 * @param offset2 The index of the first value in <code>values2</code>.
+	 * @param count The number of pairs to compare.
+	 * 
+	 * @return <code>true</code> if all pairs are relatively equal,
+	 * <code>false</code> otherwise.
+	 * 
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public static boolean isEqual(final float[] values1, final int offset1, final float[] values2, final int offset2, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(values1.length, offset1, count);
+		Vector2dArray.checkRange(values2.length, offset2, count);
+		
+		int differentCount = 0;
+		
+		for (int i = 0; i < count; i++) {
+			differentCount += (Math.abs(values1[offset1 + i] - values2[offset2 + i]) < MathUtilities.EPSILON) ? 0 : 1;
+		}
+		
+		return differentCount == 0;
+	}
+	
+	/**
+	 * <p>Rounds all <code>values</code> up to the nearest power of two, in
+	 * place.</p>
+	 * 
+	 * @param values The values to round up to the nearest power of two.
+	 * 
+	 * @throws IllegalArgumentException If any value is negative, or greater
+	 * than {@link #MAXIMUM_INT_POWER_OF_TWO}.
+	 */
+	public static void nextPowerOfTwo(final int[] values) throws IllegalArgumentException {
+		MathUtilities.nextPowerOfTwo(values, 0, values, 0, values.length);
+	}
+	
+	/**
+	 * <p>Rounds <code>count</code> values of the <code>source</code> up to the
+	 * nearest power of two, as in {@link #nextPowerOfTwo(int)}, and stores them
+	 * in the <code>destination</code>. If any value is out of range, the
+	 * exception is thrown after the loop, and the contents of the destination
+	 * range are unspecified.</p>
+	 * 
+	 * <p>Rather than counting leading zeros, which the JIT compiler does not
+	 * vectorize, the highest bit is smeared into all lower bits, and zero is
+	 * mapped to two without a branch. The range check is folded into the same
+	 * loop, since a separate pass over the values keeps the loop from being
+	 * vectorized.</p>
+	 * 
+	 * @param source The values to round up.
+	 * @param sourceOffset The index of the first value to round up.
+	 * @param destination The array in which the powers of two are stored,
+	 * which may be the <code>source</code>.
+	 * @param destinationOffset The index at which the first power of two is
+	 * stored.
+	 * @param count The number of values to round up.
+	 * 
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array, or if any value is negative or greater than
+	 * {@link #MAXIMUM_INT_POWER_OF_TWO}.
+	 */
+	public static void nextPowerOfTwo(final int[] source, final int sourceOffset, final int[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(source.length, sourceOffset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+		
+		// Out of range values, and only those, turn the sign bit on:
+		int outOfRange = 0;
+		
+		for (int i = 0; i < count; i++) {
+			int value = source[sourceOffset + i];
+			int result = value - 1;
+			
+			outOfRange |= value | (MathUtilities.MAXIMUM_INT_POWER_OF_TWO - value);
+			
+			result |= result >> 1;
+			result |= result >> 2;
+			result |= result >> 4;
+			result |= result >> 8;
+			result |= result >> 16;
+		
+			// Only zero leaves all bits set, and rounds up to 0 + 2:
+			destination[destinationOffset + i] = result + 1 + ((result >>> 31) << 1);
+		}
+		
+		if (outOfRange < 0) {
+			throw new IllegalArgumentException("The specified values contain one outside of [0, " + MathUtilities.MAXIMUM_INT_POWER_OF_TWO + "].");
+		}
+	}
+	
+	/*
+	 * Fast Approximations
+	 */
+	
+	/**
+	 * <p>Approximates <code>1 / sqrt(value)</code> using an initial guess
+	 * derived from the bit pattern of the <code>value</code> and one
+	 * Newton-Raphson step. The relative error is below <code>0.18%</code>, which
+	 * suits lighting and direction vectors but not distances that accumulate.
+	 * Where <code>Math.sqrt</code> compiles to a single instruction, the gain
+	 * lies in replacing the divisions that usually follow it.</p>
+	 * 
+	 * @param value A positive, normal value.
+	 * @return The approximate inverse square root of the <code>value</code>.
+	 * The result is meaningless for zero, negative or subnormal values.
+	 */
+	public static float inverseSqrtFast(final float value) {
+		float estimate = Float.intBitsToFloat(MathUtilities.INVERSE_SQRT_MAGIC - (Float.floatToRawIntBits(value) >> 1));
+		
+		return estimate * (1.5f - (0.5f * value * estimate * estimate));
+	}
+	
+	/**
+	 * <p>Approximates the square root of the <code>value</code> as
+	 * <code>value * inverseSqrtFast(value)</code>, with a relative error below
+	 * <code>0.18%</code>.</p>
+	 * 
+	 * @param value A non-negative value.
+	 * @return The approximate square root of the <code>value</code>, or
+	 * <code>0.0f</code> if the <code>value</code> is zero.
+	 */
+	public static float sqrtFast(final float value) {
+		return (value == 0.0f) ? 0.0f : value * MathUtilities.inverseSqrtFast(value);
+	}
+	
+	/**
+	 * <p>Approximates <code>Math.atan2(y, x)</code> in single precision using a
+	 * polynomial on the first octant. The absolute error is below
+	 * <code>3e-6</code> radians over the whole range.</p>
+	 * 
+	 * @param y The ordinate.
+	 * @param x The abscissa.
+	 * @return The angle of the point <code>(x, y)</code>, from <code>-PI</code>
+	 * to <code>PI</code>, or <code>0.0f</code> if both are zero.
+	 */
+	public static float atan2Fast(final float y, final float x) {
+		float absoluteX = Math.abs(x);
+		float absoluteY = Math.abs(y);
+		
+		if (absoluteX == 0.0f && absoluteY == 0.0f) {
+			return 0.0f;
+		}
+		
+		// Reduce to an angle between 0 and PI / 4, and unfold it afterwards:
+		float ratio = Math.min(absoluteX, absoluteY) / Math.max(absoluteX, absoluteY);
+		float square = ratio * ratio;
+		float angle = ratio * (0.99997726f + square * (-0.33262347f + square * (0.19354346f + square * (-0.11643287f + square * (0.05265332f + square * -0.01172120f)))));
+		
+		if (absoluteY > absoluteX) {
+			angle = MathUtilities.HALF_PI - angle;
+		}
+		
+		if (x < 0.0f) {
+			angle = MathUtilities.PI - angle;
+		}
+		
+		return (y < 0.0f) ? -angle : angle;
+	}
+	
+	/**
+	 * <p>Approximates <code>Math.sin(angle)</code> in single precision using a
+	 * polynomial after reducing the <code>angle</code> to the range
+	 * <code>-PI / 2</code> to <code>PI / 2</code>. The absolute error is below
+	 * <code>1e-5</code> for angles up to <code>100</code> radians; beyond that
+	 * the reduction itself loses precision, to about <code>6e-5</code> at
+	 * <code>1000</code> radians. Results may exceed one by that error.</p>
+	 * 
+	 * @param angle The angle, expressed in radians.
+	 * @return The approximate sine of the <code>angle</code>.
+	 */
+	public static float sinFast(final float angle) {
+		// Reduce by whole half turns, each of which flips the sign. Adding and
+		// subtracting the rounding constant rounds to the nearest integer
+		// without the branches of Math.round:
+		float halfTurns = ((angle * MathUtilities.INVERSE_PI) + MathUtilities.ROUNDING_CONSTANT) - MathUtilities.ROUNDING_CONSTANT;
+		float reduced = angle - (MathUtilities.PI * halfTurns);
+		float square = reduced * reduced;
+		float sine = reduced * (1.0f + square * (-1.6666667e-1f + square * (8.3333333e-3f + square * (-1.98412698e-4f + square * 2.75573192e-6f))));
+		
+		return Float.intBitsToFloat(Float.floatToRawIntBits(sine) ^ ((int)halfTurns << 31));
+	}
+	
+	/**
+	 * <p>Approximates <code>Math.cos(angle)</code> with the same error as
+	 * {@link #sinFast(float)}.</p>
+	 * 
+	 * @param angle The angle, expressed in radians.
+	 * @return The approximate cosine of the <code>angle</code>.
+	 */
+	public static float cosFast(final float angle) {
+		return MathUtilities.sinFast(angle + MathUtilities.HALF_PI);
+	}
+	
+	/**
+	 * <p>Looks up the sine of the <code>angle</code> in a table of
+	 * <code>4096</code> entries covering one full turn, without interpolation.
+	 * The absolute error is below <code>8e-4</code> for angles up to
+	 * <code>100</code> radians, which is fine for sprites and particles but not
+	 * for anything that integrates the result. See {@link TrigTable} for other
+	 * resolutions, angles in degrees and batch lookups.</p>
+	 * 
+	 * <p>The table itself only resolves angles within <code>1024</code> turns,
+	 * about <code>6434</code> radians, of zero. Larger angles are valid, but
+	 * are first reduced to a single turn in double precision, which is
+	 * considerably slower.</p>
+	 * 
+	 * @param angle The angle, expressed in radians.
+	 * @return The tabulated sine of the <code>angle</code>.
+	 */
+	public static float sinTable(final float angle) {
+		return MathUtilities.SINE_TABLE.sin(MathUtilities.reduceForTable(angle));
+	}
+	
+	/**
+	 * <p>Looks up the cosine of the <code>angle</code> with the same error and
+	 * range as {@link #sinTable(float)}.</p>
+	 * 
+	 * @param angle The angle, expressed in radians.
+	 * @return The tabulated cosine of the <code>angle</code>.
+	 */
+	public static float cosTable(final float angle) {
+		return MathUtilities.SINE_TABLE.cos(MathUtilities.reduceForTable(angle));
+	}
+	
+	/**
+	 * <p>Reduces an <code>angle</code> that lies outside of the range of the
+	 * sine table to a single turn, and returns any other angle unchanged.</p>
+	 */
+	private static float reduceForTable(final float angle) {
+		if (Math.abs(angle) < MathUtilities.SINE_TABLE_RANGE) {
+			return angle;
+		}
+		
+		return (float)Math.IEEEremainder(angle, 2.0 * Math.PI);
 	}
 	
 	/*
@@ -81,6 +412,16 @@ public class MathUtilities {
 	 */
 	public static final float EPSILON = 0.0000001f;
 	
+	/**
+	 * <p>The largest power of two that fits an <code>int</code>.</p>
+	 */
+	public static final int MAXIMUM_INT_POWER_OF_TWO = 1 << 30;
+	
+	/**
+	 * <p>The largest power of two that fits a <code>long</code>.</p>
+	 */
+	public static final long MAXIMUM_LONG_POWER_OF_TWO = 1L << 62;
+	
 	/*
 	 * Multiples of Pi
 	 */
@@ -110,6 +451,11 @@ public class MathUtilities {
 	 */
 	public static final float INVERSE_PI = 1.0f / MathUtilities.PI;
 	
+	/**
+	 * <p>1 divided by twice the mathematical constant pi.</p>
+	 */
+	public static final float INVERSE_TWO_PI = 0.5f / MathUtilities.PI;
+	
 	/*
 	 * Degree and Radian Conversion
 	 */
@@ -126,4 +472,29 @@ public class MathUtilities {
 	 */
 	public static final float RADIANS_TO_DEGREES_MULTIPLIER = 180.0f / MathUtilities.PI;
 	
+	/*
+	 * Approximation Constants
+	 */
+	
+	/**
+	 * <p>The constant from which half the bit pattern of a value is subtracted
+	 * to estimate its inverse square root, as found by Chris Lomont.</p>
+	 */
+	private static final int INVERSE_SQRT_MAGIC = 0x5F375A86;
+	
+	/**
+	 * <p>One and a half times <code>2^23</code>; adding and subtracting it
+	 * rounds a float smaller than <code>2^22</code> to the nearest
+	 * integer.</p>
+	 */
+	static final float ROUNDING_CONSTANT = 12582912.0f;
+	
+	private static final TrigTable SINE_TABLE = new TrigTable(4096);
+	
+	/**
+	 * <p>The largest angle, in radians, that the sine table resolves without
+	 * reducing it first: <code>2^22 / 4096 = 1024</code> turns.</p>
+	 */
+	private static final float SINE_TABLE_RANGE = 1024.0f * MathUtilities.TWO_PI;
+
 }
@@ -0,0 +1,912 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>A 4x4 matrix of floats, used to transform, rotate and project three
+ * dimensional points and directions. Components are named by row and then
+ * column, so <code>m03</code> is the x translation of an affine
+ * transformation. Points are treated as column vectors, multiplied on the
+ * right.</p>
+ *
+ * <p>Matrices combine like {@link Transformation2d}s: after
+ * <code>a.multiply(b)</code>, transforming a point by <code>a</code> first
+ * applies the old <code>b</code> and then the old <code>a</code>. None of the
+ * operations allocate.</p>
+ *
+ * <p>Matrices are exchanged with buffers and arrays in column major order,
+ * the layout expected by OpenGL, in the same way the <code>getComponents</code>
+ * methods of the vector types write their components in order.</p>
+ */
+
+public class Matrix4 implements Cloneable, Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates the identity matrix.</p>
+	 */
+	public Matrix4() {
+		this.setIdentity();
+	}
+	
+	/**
+	 * <p>Class constructor. Copies the <code>source</code> matrix.</p>
+	 *
+	 * @param source The matrix to copy.
+	 */
+	public Matrix4(final Matrix4 source) {
+		this.setComponents(source);
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Combines this matrix with the <code>otherMatrix</code>, which is
+	 * applied first. This is the matrix product
+	 * <code>this * otherMatrix</code>.</p>
+	 *
+	 * @param otherMatrix The matrix to combine with this one.
+	 */
+	public final void multiply(final Matrix4 otherMatrix) {
+		this.multiply(otherMatrix, this);
+	}
+	
+	/**
+	 * <p>Stores the product <code>this * otherMatrix</code> in the
+	 * <code>destination</code>. Either matrix may be the
+	 * <code>destination</code>.</p>
+	 *
+	 * @param otherMatrix The matrix to combine with this one.
+	 * @param destination The matrix in which to store the result.
+	 */
+	public final void multiply(final Matrix4 otherMatrix, final Matrix4 destination) {
+		Matrix4 a = this;
+		Matrix4 b = otherMatrix;
+		
+		destination.setComponents(
+				(a.m00 * b.m00) + (a.m01 * b.m10) + (a.m02 * b.m20) + (a.m03 * b.m30),
+				(a.m00 * b.m01) + (a.m01 * b.m11) + (a.m02 * b.m21) + (a.m03 * b.m31),
+				(a.m00 * b.m02) + (a.m01 * b.m12) + (a.m02 * b.m22) + (a.m03 * b.m32),
+				(a.m00 * b.m03) + (a.m01 * b.m13) + (a.m02 * b.m23) + (a.m03 * b.m33),
+				
+				(a.m10 * b.m00) + (a.m11 * b.m10) + (a.m12 * b.m20) + (a.m13 * b.m30),
+				(a.m10 * b.m01) + (a.m11 * b.m11) + (a.m12 * b.m21) + (a.m13 * b.m31),
+				(a.m10 * b.m02) + (a.m11 * b.m12) + (a.m12 * b.m22) + (a.m13 * b.m32),
+				(a.m10 * b.m03) + (a.m11 * b.m13) + (a.m12 * b.m23) + (a.m13 * b.m33),
+				
+				(a.m20 * b.m00) + (a.m21 * b.m10) + (a.m22 * b.m20) + (a.m23 * b.m30),
+				(a.m20 * b.m01) + (a.m21 * b.m11) + (a.m22 * b.m21) + (a.m23 * b.m31),
+				(a.m20 * b.m02) + (a.m21 * b.m12) + (a.m22 * b.m22) + (a.m23 * b.m32),
+				(a.m20 * b.m03) + (a.m21 * b.m13) + (a.m22 * b.m23) + (a.m23 * b.m33),
+				
+				(a.m30 * b.m00) + (a.m31 * b.m10) + (a.m32 * b.m20) + (a.m33 * b.m30),
+				(a.m30 * b.m01) + (a.m31 * b.m11) + (a.m32 * b.m21) + (a.m33 * b.m31),
+				(a.m30 * b.m02) + (a.m31 * b.m12) + (a.m32 * b.m22) + (a.m33 * b.m32),
+				(a.m30 * b.m03) + (a.m31 * b.m13) + (a.m32 * b.m23) + (a.m33 * b.m33));
+	}
+	
+	/**
+	 * <p>Combines the <code>otherMatrix</code> with this matrix, which is
+	 * applied first. This is the matrix product
+	 * <code>otherMatrix * this</code>.</p>
+	 *
+	 * @param otherMatrix The matrix to apply after this one.
+	 */
+	public final void preMultiply(final Matrix4 otherMatrix) {
+		otherMatrix.multiply(this, this);
+	}
+	
+	/**
+	 * <p>Adds a translation, applied before this matrix.</p>
+	 *
+	 * @param x The distance to move along the x axis.
+	 * @param y The distance to move along the y axis.
+	 * @param z The distance to move along the z axis.
+	 */
+	public final void translate(final float x, final float y, final float z) {
+		this.m03 = (this.m00 * x) + (this.m01 * y) + (this.m02 * z) + this.m03;
+		this.m13 = (this.m10 * x) + (this.m11 * y) + (this.m12 * z) + this.m13;
+		this.m23 = (this.m20 * x) + (this.m21 * y) + (this.m22 * z) + this.m23;
+		this.m33 = (this.m30 * x) + (this.m31 * y) + (this.m32 * z) + this.m33;
+	}
+	
+	/**
+	 * <p>Adds a scale along the x, y and z axes, applied before this
+	 * matrix.</p>
+	 *
+	 * @param x The factor by which to scale along the x axis.
+	 * @param y The factor by which to scale along the y axis.
+	 * @param z The factor by which to scale along the z axis.
+	 */
+	public final void scale(final float x, final float y, final float z) {
+		this.m00 = this.m00 * x;
+		this.m10 = this.m10 * x;
+		this.m20 = this.m20 * x;
+		this.m30 = this.m30 * x;
+		this.m01 = this.m01 * y;
+		this.m11 = this.m11 * y;
+		this.m21 = this.m21 * y;
+		this.m31 = this.m31 * y;
+		this.m02 = this.m02 * z;
+		this.m12 = this.m12 * z;
+		this.m22 = this.m22 * z;
+		this.m32 = this.m32 * z;
+	}
+	
+	/**
+	 * <p>Adds the rotation of the unit <code>quaternion</code>, applied before
+	 * this matrix.</p>
+	 *
+	 * @param quaternion The rotation to add.
+	 */
+	public final void rotate(final Quaternion quaternion) {
+		float x = quaternion.getXComponent();
+		float y = quaternion.getYComponent();
+		float z = quaternion.getZComponent();
+		float w = quaternion.getWComponent();
+		
+		float r00 = 1.0f - (2.0f * ((y * y) + (z * z)));
+		float r01 = 2.0f * ((x * y) - (z * w));
+		float r02 = 2.0f * ((x * z) + (y * w));
+		float r10 = 2.0f * ((x * y) + (z * w));
+		float r11 = 1.0f - (2.0f * ((x * x) + (z * z)));
+		float r12 = 2.0f * ((y * z) - (x * w));
+		float r20 = 2.0f * ((x * z) - (y * w));
+		float r21 = 2.0f * ((y * z) + (x * w));
+		float r22 = 1.0f - (2.0f * ((x * x) + (y * y)));
+		
+		// Only the first three columns change; do one row at a time:
+		float a0 = this.m00, a1 = this.m01, a2 = this.m02;
+		this.m00 = (a0 * r00) + (a1 * r10) + (a2 * r20);
+		this.m01 = (a0 * r01) + (a1 * r11) + (a2 * r21);
+		this.m02 = (a0 * r02) + (a1 * r12) + (a2 * r22);
+		
+		a0 = this.m10; a1 = this.m11; a2 = this.m12;
+		this.m10 = (a0 * r00) + (a1 * r10) + (a2 * r20);
+		this.m11 = (a0 * r01) + (a1 * r11) + (a2 * r21);
+		this.m12 = (a0 * r02) + (a1 * r12) + (a2 * r22);
+		
+		a0 = this.m20; a1 = this.m21; a2 = this.m22;
+		this.m20 = (a0 * r00) + (a1 * r10) + (a2 * r20);
+		this.m21 = (a0 * r01) + (a1 * r11) + (a2 * r21);
+		this.m22 = (a0 * r02) + (a1 * r12) + (a2 * r22);
+		
+		a0 = this.m30; a1 = this.m31; a2 = this.m32;
+		this.m30 = (a0 * r00) + (a1 * r10) + (a2 * r20);
+		this.m31 = (a0 * r01) + (a1 * r11) + (a2 * r21);
+		this.m32 = (a0 * r02) + (a1 * r12) + (a2 * r22);
+	}
+	
+	/**
+	 * <p>Swaps the rows and columns of this matrix.</p>
+	 */
+	public final void transpose() {
+		this.setComponents(
+				this.m00, this.m10, this.m20, this.m30,
+				this.m01, this.m11, this.m21, this.m31,
+				this.m02, this.m12, this.m22, this.m32,
+				this.m03, this.m13, this.m23, this.m33);
+	}
+	
+	/**
+	 * <p>Calculates the determinant of this matrix, which is
+	 * <code>0.0f</code> if it can not be inverted.</p>
+	 *
+	 * @return The determinant of this matrix.
+	 */
+	public final float calculateDeterminant() {
+		float s0 = (this.m00 * this.m11) - (this.m10 * this.m01);
+		float s1 = (this.m00 * this.m12) - (this.m10 * this.m02);
+		float s2 = (this.m00 * this.m13) - (this.m10 * this.m03);
+		float s3 = (this.m01 * this.m12) - (this.m11 * this.m02);
+		float s4 = (this.m01 * this.m13) - (this.m11 * this.m03);
+		float s5 = (this.m02 * this.m13) - (this.m12 * this.m03);
+		float c5 = (this.m22 * this.m33) - (this.m32 * this.m23);
+		float c4 = (this.m21 * this.m33) - (this.m31 * this.m23);
+		float c3 = (this.m21 * this.m32) - (this.m31 * this.m22);
+		float c2 = (this.m20 * this.m33) - (this.m30 * this.m23);
+		float c1 = (this.m20 * this.m32) - (this.m30 * this.m22);
+		float c0 = (this.m20 * this.m31) - (this.m30 * this.m21);
+		
+		return (s0 * c5) - (s1 * c4) + (s2 * c3) + (s3 * c2) - (s4 * c1) + (s5 * c0);
+	}
+	
+	/**
+	 * <p>Replaces this matrix with its inverse, if it has one.</p>
+	 *
+	 * @return <code>true</code> if this matrix was inverted,
+	 * <code>false</code> if it can not be inverted and was left unchanged.
+	 */
+	public final boolean invert() {
+		return this.invert(this);
+	}
+	
+	/**
+	 * <p>Stores the inverse of this matrix in the <code>destination</code>,
+	 * if it has one. The <code>destination</code> may be this matrix.</p>
+	 *
+	 * @param destination The matrix in which to store the inverse.
+	 * @return <code>true</code> if the inverse was stored, <code>false</code>
+	 * if this matrix can not be inverted, in which case the
+	 * <code>destination</code> is left unchanged.
+	 */
+	public final boolean invert(final Matrix4 destination) {
+		// Expand along the upper and lower pairs of rows, sharing the 2x2
+		// determinants between the determinant and the adjugate:
+		float s0 = (this.m00 * this.m11) - (this.m10 * this.m01);
+		float s1 = (this.m00 * this.m12) - (this.m10 * this.m02);
+		float s2 = (this.m00 * this.m13) - (this.m10 * this.m03);
+		float s3 = (this.m01 * this.m12) - (this.m11 * this.m02);
+		float s4 = (this.m01 * this.m13) - (this.m11 * this.m03);
+		float s5 = (this.m02 * this.m13) - (this.m12 * this.m03);
+		float c5 = (this.m22 * this.m33) - (this.m32 * this.m23);
+		float c4 = (this.m21 * this.m33) - (this.m31 * this.m23);
+		float c3 = (this.m21 * this.m32) - (this.m31 * this.m22);
+		float c2 = (this.m20 * this.m33) - (this.m30 * this.m23);
+		float c1 = (this.m20 * this.m32) - (this.m30 * this.m22);
+		float c0 = (this.m20 * this.m31) - (this.m30 * this.m21);
+		
+		float determinant = (s0 * c5) - (s1 * c4) + (s2 * c3) + (s3 * c2) - (s4 * c1) + (s5 * c0);
+		
+		if (determinant == 0.0f) {
+			return false;
+		}
+		
+		float d = 1.0f / determinant;
+		
+		destination.setComponents(
+				((this.m11 * c5) - (this.m12 * c4) + (this.m13 * c3)) * d,
+				((-this.m01 * c5) + (this.m02 * c4) - (this.m03 * c3)) * d,
+				((this.m31 * s5) - (this.m32 * s4) + (this.m33 * s3)) * d,
+				((-this.m21 * s5) + (this.m22 * s4) - (this.m23 * s3)) * d,
+				
+				((-this.m10 * c5) + (this.m12 * c2) - (this.m13 * c1)) * d,
+				((this.m00 * c5) - (this.m02 * c2) + (this.m03 * c1)) * d,
+				((-this.m30 * s5) + (this.m32 * s2) - (this.m33 * s1)) * d,
+				((this.m20 * s5) - (this.m22 * s2) + (this.m23 * s1)) * d,
+				
+				((this.m10 * c4) - (this.m11 * c2) + (this.m13 * c0)) * d,
+				((-this.m00 * c4) + (this.m01 * c2) - (this.m03 * c0)) * d,
+				((this.m30 * s4) - (this.m31 * s2) + (this.m33 * s0)) * d,
+				((-this.m20 * s4) + (this.m21 * s2) - (this.m23 * s0)) * d,
+				
+				((-this.m10 * c3) + (this.m11 * c1) - (this.m12 * c0)) * d,
+				((this.m00 * c3) - (this.m01 * c1) + (this.m02 * c0)) * d,
+				((-this.m30 * s3) + (this.m31 * s1) - (this.m32 * s0)) * d,
+				((this.m20 * s3) - (this.m21 * s1) + (this.m22 * s0)) * d);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Checks to see if the bottom row of this matrix is (0, 0, 0, 1), so it
+	 * does not project and points need no division by w.</p>
+	 *
+	 * @return <code>true</code> if this matrix is affine, <code>false</code>
+	 * otherwise.
+	 */
+	public final boolean isAffine() {
+		return (this.m30 == 0.0f) && (this.m31 == 0.0f) && (this.m32 == 0.0f) && (this.m33 == 1.0f);
+	}
+	
+	/*
+	 * Transforming
+	 */
+	
+	/**
+	 * <p>Stores the transformed <code>source</code> point in the
+	 * <code>destination</code>, which may be the <code>source</code>. If this
+	 * matrix projects, the result is divided by its w component.</p>
+	 *
+	 * @param source The point to transform.
+	 * @param destination The vertex in which to store the result.
+	 */
+	public final void transformPoint(final Vertex3d source, final Vertex3d destination) {
+		float x = source.getXComponent();
+		float y = source.getYComponent();
+		float z = source.getZComponent();
+		
+		float w = (this.m30 * x) + (this.m31 * y) + (this.m32 * z) + this.m33;
+		float inverseW = (w == 1.0f) ? 1.0f : (1.0f / w);
+		
+		destination.setComponents(
+				((this.m00 * x) + (this.m01 * y) + (this.m02 * z) + this.m03) * inverseW,
+				((this.m10 * x) + (this.m11 * y) + (this.m12 * z) + this.m13) * inverseW,
+				((this.m20 * x) + (this.m21 * y) + (this.m22 * z) + this.m23) * inverseW);
+	}
+	
+	/**
+	 * <p>Stores the transformed <code>source</code> direction in the
+	 * <code>destination</code>, which may be the <code>source</code>.
+	 * Directions are not translated, and only the upper 3x3 part of this
+	 * matrix is used. Normals should be transformed by the transposed inverse
+	 * instead, unless the scale is uniform.</p>
+	 *
+	 * @param source The direction to transform.
+	 * @param destination The vector in which to store the result.
+	 */
+	public final void transformDirection(final Vector3d source, final Vector3d destination) {
+		float x = source.getXComponent();
+		float y = source.getYComponent();
+		float z = source.getZComponent();
+		
+		destination.setComponents(
+				(this.m00 * x) + (this.m01 * y) + (this.m02 * z),
+				(this.m10 * x) + (this.m11 * y) + (this.m12 * z),
+				(this.m20 * x) + (this.m21 * y) + (this.m22 * z));
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points stored in x, y, z order in the
+	 * <code>source</code> array, and stores them in the same layout in the
+	 * <code>destination</code> array, as with
+	 * {@link #transformPoint(Vertex3d, Vertex3d)}. Both arrays may be the
+	 * same, as long as the offsets are equal or the ranges do not
+	 * overlap.</p>
+	 *
+	 * @param source The components of the points to transform.
+	 * @param sourceOffset The index of the x component of the first point.
+	 * @param destination The array in which to store the results.
+	 * @param destinationOffset The index at which to store the first x
+	 * component.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public final void transformPoints(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Matrix4.checkArrays(source, sourceOffset, destination, destinationOffset, count);
+		
+		float m00 = this.m00, m01 = this.m01, m02 = this.m02, m03 = this.m03;
+		float m10 = this.m10, m11 = this.m11, m12 = this.m12, m13 = this.m13;
+		float m20 = this.m20, m21 = this.m21, m22 = this.m22, m23 = this.m23;
+		
+		// Decide once, so the common affine case needs no division per point:
+		if (this.isAffine()) {
+			for (int i = 0; i < count; i++) {
+				int sourceIndex = sourceOffset + (i * Vertex3d.COMPONENT_COUNT);
+				int destinationIndex = destinationOffset + (i * Vertex3d.COMPONENT_COUNT);
+				float x = source[sourceIndex];
+				float y = source[sourceIndex + 1];
+				float z = source[sourceIndex + 2];
+				
+				destination[destinationIndex] = (m00 * x) + (m01 * y) + (m02 * z) + m03;
+				destination[destinationIndex + 1] = (m10 * x) + (m11 * y) + (m12 * z) + m13;
+				destination[destinationIndex + 2] = (m20 * x) + (m21 * y) + (m22 * z) + m23;
+			}
+		} else {
+			float m30 = this.m30, m31 = this.m31, m32 = this.m32, m33 = this.m33;
+			
+			for (int i = 0; i < count; i++) {
+				int sourceIndex = sourceOffset + (i * Vertex3d.COMPONENT_COUNT);
+				int destinationIndex = destinationOffset + (i * Vertex3d.COMPONENT_COUNT);
+				float x = source[sourceIndex];
+				float y = source[sourceIndex + 1];
+				float z = source[sourceIndex + 2];
+				float inverseW = 1.0f / ((m30 * x) + (m31 * y) + (m32 * z) + m33);
+				
+				destination[destinationIndex] = ((m00 * x) + (m01 * y) + (m02 * z) + m03) * inverseW;
+				destination[destinationIndex + 1] = ((m10 * x) + (m11 * y) + (m12 * z) + m13) * inverseW;
+				destination[destinationIndex + 2] = ((m20 * x) + (m21 * y) + (m22 * z) + m23) * inverseW;
+			}
+		}
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> directions stored in x, y, z order in
+	 * the <code>source</code> array, and stores them in the same layout in
+	 * the <code>destination</code> array, as with
+	 * {@link #transformDirection(Vector3d, Vector3d)}. Both arrays may be the
+	 * same, as long as the offsets are equal or the ranges do not
+	 * overlap.</p>
+	 *
+	 * @param source The components of the directions to transform.
+	 * @param sourceOffset The index of the x component of the first
+	 * direction.
+	 * @param destination The array in which to store the results.
+	 * @param destinationOffset The index at which to store the first x
+	 * component.
+	 * @param count The number of directions to transform.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public final void transformDirections(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		Matrix4.checkArrays(source, sourceOffset, destination, destinationOffset, count);
+		
+		float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+		float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+		float m20 = this.m20, m21 = this.m21, m22 = this.m22;
+		
+		for (int i = 0; i < count; i++) {
+			int sourceIndex = sourceOffset + (i * Vector3d.COMPONENT_COUNT);
+			int destinationIndex = destinationOffset + (i * Vector3d.COMPONENT_COUNT);
+			float x = source[sourceIndex];
+			float y = source[sourceIndex + 1];
+			float z = source[sourceIndex + 2];
+			
+			destination[destinationIndex] = (m00 * x) + (m01 * y) + (m02 * z);
+			destination[destinationIndex + 1] = (m10 * x) + (m11 * y) + (m12 * z);
+			destination[destinationIndex + 2] = (m20 * x) + (m21 * y) + (m22 * z);
+		}
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points of a vertex stream, as with
+	 * {@link #transformPoint(Vertex3d, Vertex3d)}. The layout of both buffers
+	 * follows {@link BufferUtilities}: the x component of the first point is
+	 * at <code>index</code>, and every following point <code>stride</code>
+	 * floats after the previous one, so positions interleaved with other
+	 * attributes are transformed without touching those. The positions of the
+	 * buffers are not changed, and both may be the same buffer with the same
+	 * layout.</p>
+	 *
+	 * @param source The buffer holding the points to transform.
+	 * @param sourceIndex The index of the x component of the first point.
+	 * @param sourceStride The distance in floats between two points in the
+	 * <code>source</code>.
+	 * @param destination The buffer in which to store the results.
+	 * @param destinationIndex The index at which to store the first x
+	 * component.
+	 * @param destinationStride The distance in floats between two points in
+	 * the <code>destination</code>.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either buffer is not large enough,
+	 * or a stride is smaller than three.
+	 */
+	public final void transformPoints(final FloatBuffer source, final int sourceIndex, final int sourceStride, final FloatBuffer destination, final int destinationIndex, final int destinationStride, final int count) throws IllegalArgumentException {
+		this.transformStream(source, sourceIndex, sourceStride, destination, destinationIndex, destinationStride, count, true);
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> directions of a vertex stream, as with
+	 * {@link #transformDirection(Vector3d, Vector3d)}. The layout is the same
+	 * as that of
+	 * {@link #transformPoints(FloatBuffer, int, int, FloatBuffer, int, int, int)}.</p>
+	 *
+	 * @param source The buffer holding the directions to transform.
+	 * @param sourceIndex The index of the x component of the first direction.
+	 * @param sourceStride The distance in floats between two directions in
+	 * the <code>source</code>.
+	 * @param destination The buffer in which to store the results.
+	 * @param destinationIndex The index at which to store the first x
+	 * component.
+	 * @param destinationStride The distance in floats between two directions
+	 * in the <code>destination</code>.
+	 * @param count The number of directions to transform.
+	 *
+	 * @throws IllegalArgumentException If either buffer is not large enough,
+	 * or a stride is smaller than three.
+	 */
+	public final void transformDirections(final FloatBuffer source, final int sourceIndex, final int sourceStride, final FloatBuffer destination, final int destinationIndex, final int destinationStride, final int count) throws IllegalArgumentException {
+		this.transformStream(source, sourceIndex, sourceStride, destination, destinationIndex, destinationStride, count, false);
+	}
+	
+	private void transformStream(final FloatBuffer source, final int sourceIndex, final int sourceStride, final FloatBuffer destination, final int destinationIndex, final int destinationStride, final int count, final boolean points) throws IllegalArgumentException {
+		BufferUtilities.checkSpan(source, sourceIndex, count, sourceStride, Vertex3d.COMPONENT_COUNT);
+		BufferUtilities.checkSpan(destination, destinationIndex, count, destinationStride, Vertex3d.COMPONENT_COUNT);
+		
+		float[] scratch = Matrix4.SCRATCH.get();
+		int chunkCapacity = Matrix4.SCRATCH_LENGTH / Vertex3d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			BufferUtilities.read(source, sourceIndex + (done * sourceStride), sourceStride, scratch, chunk, Vertex3d.COMPONENT_COUNT);
+			if (points) {
+				this.transformPoints(scratch, 0, scratch, 0, chunk);
+			} else {
+				this.transformDirections(scratch, 0, scratch, 0, chunk);
+			}
+			BufferUtilities.write(scratch, chunk, Vertex3d.COMPONENT_COUNT, destination, destinationIndex + (done * destinationStride), destinationStride);
+			done += chunk;
+		}
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	/**
+	 * <p>Resets this matrix to the identity.</p>
+	 */
+	public final void setIdentity() {
+		this.setComponents(
+				1.0f, 0.0f, 0.0f, 0.0f,
+				0.0f, 1.0f, 0.0f, 0.0f,
+				0.0f, 0.0f, 1.0f, 0.0f,
+				0.0f, 0.0f, 0.0f, 1.0f);
+	}
+	
+	/**
+	 * <p>Sets this matrix to translate by the <code>translation</code>, after
+	 * rotating by the unit <code>rotation</code>, after scaling by the
+	 * <code>scale</code>: the usual placement of an object in the world.</p>
+	 *
+	 * @param translation The translation along each axis.
+	 * @param rotation The rotation.
+	 * @param scale The factor by which to scale along each axis.
+	 */
+	public final void setTransformation(final Vector3d translation, final Quaternion rotation, final Vector3d scale) {
+		this.setIdentity();
+		this.m03 = translation.getXComponent();
+		this.m13 = translation.getYComponent();
+		this.m23 = translation.getZComponent();
+		this.rotate(rotation);
+		this.scale(scale.getXComponent(), scale.getYComponent(), scale.getZComponent());
+	}
+	
+	/**
+	 * <p>Sets this matrix to the rotation of the unit
+	 * <code>quaternion</code>.</p>
+	 *
+	 * @param quaternion The rotation.
+	 */
+	public final void setRotation(final Quaternion quaternion) {
+		this.setIdentity();
+		this.rotate(quaternion);
+	}
+	
+	/**
+	 * <p>Sets this matrix to a perspective projection, looking down the
+	 * negative z axis, which maps the view volume to the cube from -1 to 1
+	 * along each axis.</p>
+	 *
+	 * @param fieldOfView The vertical field of view, in radians.
+	 * @param aspectRatio The width of the view divided by its height.
+	 * @param near The distance to the near clipping plane.
+	 * @param far The distance to the far clipping plane.
+	 *
+	 * @throws IllegalArgumentException If the <code>aspectRatio</code> or
+	 * <code>near</code> distance is not positive, or the <code>far</code>
+	 * distance is not beyond the <code>near</code> one.
+	 */
+	public final void setPerspective(final float fieldOfView, final float aspectRatio, final float near, final float far) throws IllegalArgumentException {
+		if ((aspectRatio <= 0.0f) || (near <= 0.0f) || (far <= near)) {
+			throw new IllegalArgumentException("The specified aspect ratio or clipping distances are not valid.");
+		}
+		
+		float focalLength = (float)(1.0 / Math.tan(fieldOfView * 0.5));
+		float depth = near - far;
+		
+		this.setComponents(
+				focalLength / aspectRatio, 0.0f, 0.0f, 0.0f,
+				0.0f, focalLength, 0.0f, 0.0f,
+				0.0f, 0.0f, (far + near) / depth, (2.0f * far * near) / depth,
+				0.0f, 0.0f, -1.0f, 0.0f);
+	}
+	
+	/**
+	 * <p>Sets this matrix to an orthographic projection, looking down the
+	 * negative z axis, which maps the specified box to the cube from -1 to 1
+	 * along each axis.</p>
+	 *
+	 * @param left The x coordinate of the left side of the view.
+	 * @param right The x coordinate of the right side of the view.
+	 * @param bottom The y coordinate of the bottom of the view.
+	 * @param top The y coordinate of the top of the view.
+	 * @param near The distance to the near clipping plane.
+	 * @param far The distance to the far clipping plane.
+	 *
+	 * @throws IllegalArgumentException If any of the pairs of opposite sides
+	 * coincide.
+	 */
+	public final void setOrthographic(final float left, final float right, final float bottom, final float top, final float near, final float far) throws IllegalArgumentException {
+		if ((left == right) || (bottom == top) || (near == far)) {
+			throw new IllegalArgumentException("The specified view has no volume.");
+		}
+		
+		float width = right - left;
+		float height = top - bottom;
+		float depth = far - near;
+		
+		this.setComponents(
+				2.0f / width, 0.0f, 0.0f, -(right + left) / width,
+				0.0f, 2.0f / height, 0.0f, -(top + bottom) / height,
+				0.0f, 0.0f, -2.0f / depth, -(far + near) / depth,
+				0.0f, 0.0f, 0.0f, 1.0f);
+	}
+	
+	/**
+	 * <p>Sets this matrix to the view transformation of a camera at the
+	 * <code>eye</code>, looking at the <code>target</code>. The camera looks
+	 * down its negative z axis, with its y axis as close to <code>up</code> as
+	 * possible.</p>
+	 *
+	 * @param eye The position of the camera.
+	 * @param target The point the camera looks at.
+	 * @param up The direction which appears upwards in the view.
+	 *
+	 * @throws IllegalArgumentException If the <code>eye</code> and
+	 * <code>target</code> coincide, or <code>up</code> is parallel to the
+	 * viewing direction.
+	 */
+	public final void setLookAt(final Vertex3d eye, final Vertex3d target, final Vector3d up) throws IllegalArgumentException {
+		float forwardX = target.getXComponent() - eye.getXComponent();
+		float forwardY = target.getYComponent() - eye.getYComponent();
+		float forwardZ = target.getZComponent() - eye.getZComponent();
+		float forwardLength = (float)Math.sqrt((forwardX * forwardX) + (forwardY * forwardY) + (forwardZ * forwardZ));
+		
+		// side = forward x up
+		float sideX = (forwardY * up.getZComponent()) - (forwardZ * up.getYComponent());
+		float sideY = (forwardZ * up.getXComponent()) - (forwardX * up.getZComponent());
+		float sideZ = (forwardX * up.getYComponent()) - (forwardY * up.getXComponent());
+		float sideLength = (float)Math.sqrt((sideX * sideX) + (sideY * sideY) + (sideZ * sideZ));
+		
+		if ((forwardLength == 0.0f) || (sideLength == 0.0f)) {
+			throw new IllegalArgumentException("The specified view direction is not valid.");
+		}
+		
+		forwardX = forwardX / forwardLength;
+		forwardY = forwardY / forwardLength;
+		forwardZ = forwardZ / forwardLength;
+		sideX = sideX / sideLength;
+		sideY = sideY / sideLength;
+		sideZ = sideZ / sideLength;
+		
+		// The true up direction, already of unit length: side x forward
+		float upX = (sideY * forwardZ) - (sideZ * forwardY);
+		float upY = (sideZ * forwardX) - (sideX * forwardZ);
+		float upZ = (sideX * forwardY) - (sideY * forwardX);
+		
+		float eyeX = eye.getXComponent();
+		float eyeY = eye.getYComponent();
+		float eyeZ = eye.getZComponent();
+		
+		this.setComponents(
+				sideX, sideY, sideZ, -((sideX * eyeX) + (sideY * eyeY) + (sideZ * eyeZ)),
+				upX, upY, upZ, -((upX * eyeX) + (upY * eyeY) + (upZ * eyeZ)),
+				-forwardX, -forwardY, -forwardZ, (forwardX * eyeX) + (forwardY * eyeY) + (forwardZ * eyeZ),
+				0.0f, 0.0f, 0.0f, 1.0f);
+	}
+	
+	/**
+	 * <p>Gets the component at the <code>row</code> and
+	 * <code>column</code>.</p>
+	 *
+	 * @param row The row of the component, from <code>0</code> to
+	 * <code>3</code>.
+	 * @param column The column of the component, from <code>0</code> to
+	 * <code>3</code>.
+	 * @return The component at the specified position.
+	 *
+	 * @throws IllegalArgumentException If the <code>row</code> or
+	 * <code>column</code> lies outside of the matrix.
+	 */
+	public final float getComponent(final int row, final int column) throws IllegalArgumentException {
+		if ((row < 0) || (row > 3) || (column < 0) || (column > 3)) {
+			throw new IllegalArgumentException("The position (" + row + ", " + column + ") lies outside of the matrix.");
+		}
+		
+		switch ((row * 4) + column) {
+			case 0: return this.m00;
+			case 1: return this.m01;
+			case 2: return this.m02;
+			case 3: return this.m03;
+			case 4: return this.m10;
+			case 5: return this.m11;
+			case 6: return this.m12;
+			case 7: return this.m13;
+			case 8: return this.m20;
+			case 9: return this.m21;
+			case 10: return this.m22;
+			case 11: return this.m23;
+			case 12: return this.m30;
+			case 13: return this.m31;
+			case 14: return this.m32;
+			default: return this.m33;
+		}
+	}
+	
+	/**
+	 * <p>Sets all components of this matrix. The arguments are in row order,
+	 * so the call reads like the matrix it creates.</p>
+	 */
+	public final void setComponents(
+			final float m00, final float m01, final float m02, final float m03,
+			final float m10, final float m11, final float m12, final float m13,
+			final float m20, final float m21, final float m22, final float m23,
+			final float m30, final float m31, final float m32, final float m33) {
+		this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+		this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+		this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+		this.m30 = m30; this.m31 = m31; this.m32 = m32; this.m33 = m33;
+	}
+	
+	/**
+	 * <p>Copies the <code>source</code> matrix into this matrix.</p>
+	 *
+	 * @param source The matrix to copy.
+	 */
+	public final void setComponents(final Matrix4 source) {
+		this.setComponents(
+				source.m00, source.m01, source.m02, source.m03,
+				source.m10, source.m11, source.m12, source.m13,
+				source.m20, source.m21, source.m22, source.m23,
+				source.m30, source.m31, source.m32, source.m33);
+	}
+	
+	/**
+	 * <p>Stores the components of this matrix in the <code>destination</code>
+	 * buffer, in column major order.</p>
+	 *
+	 * @param destination The buffer in which the components are stored. The
+	 * position of the buffer after this operation lies after the last
+	 * component added.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> buffer
+	 * has room for less than sixteen elements.
+	 */
+	public final void getComponents(final FloatBuffer destination) throws IllegalArgumentException {
+		// Make sure there is enough room for the components:
+		if (destination.remaining() < Matrix4.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		destination.put(this.m00).put(this.m10).put(this.m20).put(this.m30);
+		destination.put(this.m01).put(this.m11).put(this.m21).put(this.m31);
+		destination.put(this.m02).put(this.m12).put(this.m22).put(this.m32);
+		destination.put(this.m03).put(this.m13).put(this.m23).put(this.m33);
+	}
+	
+	/**
+	 * <p>Sets the components of this matrix to the next sixteen values of the
+	 * <code>source</code> buffer, in column major order.</p>
+	 *
+	 * @param source The buffer from which the components are read. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.
+	 *
+	 * @throws IllegalArgumentException If the <code>source</code> buffer has
+	 * less than sixteen elements remaining.
+	 */
+	public final void setComponents(final FloatBuffer source) throws IllegalArgumentException {
+		if (source.remaining() < Matrix4.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified source buffer does not contain enough elements.");
+		}
+		
+		this.m00 = source.get(); this.m10 = source.get(); this.m20 = source.get(); this.m30 = source.get();
+		this.m01 = source.get(); this.m11 = source.get(); this.m21 = source.get(); this.m31 = source.get();
+		this.m02 = source.get(); this.m12 = source.get(); this.m22 = source.get(); this.m32 = source.get();
+		this.m03 = source.get(); this.m13 = source.get(); this.m23 = source.get(); this.m33 = source.get();
+	}
+	
+	/**
+	 * <p>Stores the components of this matrix in the <code>destination</code>
+	 * array, in column major order.</p>
+	 *
+	 * @param destination The array in which the components are stored.
+	 * @param offset The index at which to store the first component.
+	 *
+	 * @throws IllegalArgumentException If the array does not have room for
+	 * sixteen values from the <code>offset</code>.
+	 */
+	public final void getComponents(final float[] destination, final int offset) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, offset, Matrix4.COMPONENT_COUNT);
+		
+		destination[offset] = this.m00;
+		destination[offset + 1] = this.m10;
+		destination[offset + 2] = this.m20;
+		destination[offset + 3] = this.m30;
+		destination[offset + 4] = this.m01;
+		destination[offset + 5] = this.m11;
+		destination[offset + 6] = this.m21;
+		destination[offset + 7] = this.m31;
+		destination[offset + 8] = this.m02;
+		destination[offset + 9] = this.m12;
+		destination[offset + 10] = this.m22;
+		destination[offset + 11] = this.m32;
+		destination[offset + 12] = this.m03;
+		destination[offset + 13] = this.m13;
+		destination[offset + 14] = this.m23;
+		destination[offset + 15] = this.m33;
+	}
+	
+	/*
+	 * Java Object Overrides
+	 */
+	
+	@Override
+	public Object clone() {
+		return new Matrix4(this);
+	}
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is a matrix with
+	 * exactly the same components.</p>
+	 *
+	 * @param otherObject The object to compare to this matrix.
+	 * @return <code>true</code> if all components match, <code>false</code>
+	 * otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof Matrix4)) {
+			return false;
+		}
+		
+		Matrix4 otherMatrix = (Matrix4)otherObject;
+		
+		for (int row = 0; row < 4; row++) {
+			for (int column = 0; column < 4; column++) {
+				if (Float.compare(this.getComponent(row, column), otherMatrix.getComponent(row, column)) != 0) {
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		
+		for (int row = 0; row < 4; row++) {
+			for (int column = 0; column < 4; column++) {
+				hash = (31 * hash) + Float.hashCode(this.getComponent(row, column));
+			}
+		}
+		
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		return	"[" + this.m00 + ", " + this.m01 + ", " + this.m02 + ", " + this.m03 + "; " +
+				this.m10 + ", " + this.m11 + ", " + this.m12 + ", " + this.m13 + "; " +
+				this.m20 + ", " + this.m21 + ", " + this.m22 + ", " + this.m23 + "; " +
+				this.m30 + ", " + this.m31 + ", " + this.m32 + ", " + this.m33 + "]";
+	}
+	
+	/*
+	 * Range Checking
+	 */
+	
+	private static void checkArrays(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		if (count < 0) {
+			throw new IllegalArgumentException("The specified count is negative.");
+		}
+		Vector2dArray.checkRange(source.length, sourceOffset, count * Vertex3d.COMPONENT_COUNT);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count * Vertex3d.COMPONENT_COUNT);
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private float m00, m01, m02, m03;
+	private float m10, m11, m12, m13;
+	private float m20, m21, m22, m23;
+	private float m30, m31, m32, m33;
+	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 16;
+	
+	private static final int SCRATCH_LENGTH = 1536;
+	
+	private static final ThreadLocal<float[]> SCRATCH = new ThreadLocal<float[]>() {
+		@Override
+		protected float[] initialValue() {
+			return new float[Matrix4.SCRATCH_LENGTH];
+		}
+	};
+
+}
@@ -0,0 +1,474 @@
+package com.elsewhere_games.lib.math;
+
+import java.io.Serializable;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>A quaternion, used to represent rotations in three dimensions. Only
+ * quaternions of unit length represent rotations; the operations that
+ * produce rotations keep them normalized, but rounding errors accumulate over
+ * many multiplications, so call {@link #normalize()} now and then.</p>
+ *
+ * <p>Quaternions combine like matrices: after <code>a.multiply(b)</code>,
+ * rotating by <code>a</code> first applies the old <code>b</code> and then
+ * the old <code>a</code>.</p>
+ */
+
+public class Quaternion implements Cloneable, Serializable {
+	
+	/*
+	 * Version
+	 */
+	
+	public static final long serialVersionUID = 1l;
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the components of this quaternion to be
+	 * specified.</p>
+	 *
+	 * @param x The x component of the vector part.
+	 * @param y The y component of the vector part.
+	 * @param z The z component of the vector part.
+	 * @param w The scalar part.
+	 */
+	public Quaternion(final float x, final float y, final float z, final float w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+	}
+	
+	/**
+	 * <p>Class constructor. Creates the identity quaternion, which does not
+	 * rotate.</p>
+	 */
+	public Quaternion() {
+		this(0.0f, 0.0f, 0.0f, 1.0f);
+	}
+	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Combines this rotation with the <code>otherQuaternion</code>, which
+	 * is applied first.</p>
+	 *
+	 * @param otherQuaternion The rotation to combine with this one.
+	 */
+	public final void multiply(final Quaternion otherQuaternion) {
+		this.multiply(otherQuaternion, this);
+	}
+	
+	/**
+	 * <p>Stores the combination of this rotation and the
+	 * <code>otherQuaternion</code>, which is applied first, in the
+	 * <code>destination</code>. Either quaternion may be the
+	 * <code>destination</code>.</p>
+	 *
+	 * @param otherQuaternion The rotation to combine with this one.
+	 * @param destination The quaternion in which to store the result.
+	 */
+	public final void multiply(final Quaternion otherQuaternion, final Quaternion destination) {
+		float x = (this.w * otherQuaternion.x) + (this.x * otherQuaternion.w) + (this.y * otherQuaternion.z) - (this.z * otherQuaternion.y);
+		float y = (this.w * otherQuaternion.y) - (this.x * otherQuaternion.z) + (this.y * otherQuaternion.w) + (this.z * otherQuaternion.x);
+		float z = (this.w * otherQuaternion.z) + (this.x * otherQuaternion.y) - (this.y * otherQuaternion.x) + (this.z * otherQuaternion.w);
+		float w = (this.w * otherQuaternion.w) - (this.x * otherQuaternion.x) - (this.y * otherQuaternion.y) - (this.z * otherQuaternion.z);
+		
+		destination.setComponents(x, y, z, w);
+	}
+	
+	/**
+	 * <p>Gets the length of this quaternion.</p>
+	 *
+	 * @return The length of this quaternion.
+	 */
+	public final float calculateLength() {
+		return (float)Math.sqrt(this.calculateLengthSquared());
+	}
+	
+	/**
+	 * <p>Gets the length of this quaternion squared.</p>
+	 *
+	 * @return The squared length of this quaternion.
+	 */
+	public final float calculateLengthSquared() {
+		return (this.x * this.x) + (this.y * this.y) + (this.z * this.z) + (this.w * this.w);
+	}
+	
+	/**
+	 * <p>Calculates the dot product of this quaternion and the
+	 * <code>otherQuaternion</code>. For unit quaternions, it is the cosine of
+	 * half the angle between the two rotations.</p>
+	 *
+	 * @param otherQuaternion The other quaternion of the product.
+	 * @return The dot product of the two quaternions.
+	 */
+	public final float calculateDotProduct(final Quaternion otherQuaternion) {
+		return (this.x * otherQuaternion.x) + (this.y * otherQuaternion.y) + (this.z * otherQuaternion.z) + (this.w * otherQuaternion.w);
+	}
+	
+	/**
+	 * <p>Scales this quaternion to unit length. A quaternion of zero length
+	 * is left as it is.</p>
+	 */
+	public final void normalize() {
+		float length = this.calculateLength();
+		
+		// Avoid dividing by zero:
+		if (length != 0.0f) {
+			float inverseLength = 1.0f / length;
+			this.setComponents(this.x * inverseLength, this.y * inverseLength, this.z * inverseLength, this.w * inverseLength);
+		}
+	}
+	
+	/**
+	 * <p>Negates the vector part of this quaternion. For unit quaternions,
+	 * this is the inverse rotation.</p>
+	 */
+	public final void conjugate() {
+		this.x = -this.x;
+		this.y = -this.y;
+		this.z = -this.z;
+	}
+	
+	/**
+	 * <p>Replaces this quaternion with its inverse, if it has one.</p>
+	 *
+	 * @return <code>true</code> if this quaternion was inverted,
+	 * <code>false</code> if it has zero length and was left unchanged.
+	 */
+	public final boolean invert() {
+		float lengthSquared = this.calculateLengthSquared();
+		
+		if (lengthSquared == 0.0f) {
+			return false;
+		}
+		
+		float inverseLengthSquared = 1.0f / lengthSquared;
+		this.setComponents(-this.x * inverseLengthSquared, -this.y * inverseLengthSquared, -this.z * inverseLengthSquared, this.w * inverseLengthSquared);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Spherically interpolates between this rotation and the
+	 * <code>target</code> along the shortest path, at a constant angular
+	 * speed. Both quaternions should have unit length.</p>
+	 *
+	 * @param target The rotation at <code>amount</code> <code>1.0f</code>.
+	 * @param amount The position between the two rotations, where
+	 * <code>0.0f</code> is this rotation.
+	 * @param destination The quaternion in which to store the result, which
+	 * may be this quaternion or the <code>target</code>.
+	 */
+	public final void slerp(final Quaternion target, final float amount, final Quaternion destination) {
+		float cosine = this.calculateDotProduct(target);
+		float targetSign = 1.0f;
+		
+		// q and -q are the same rotation; use the one that is closest:
+		if (cosine < 0.0f) {
+			cosine = -cosine;
+			targetSign = -1.0f;
+		}
+		
+		float sourceWeight;
+		float targetWeight;
+		
+		if (cosine > Quaternion.LINEAR_THRESHOLD) {
+			// The rotations are so close that the sine below loses all
+			// precision, and a linear interpolation is indistinguishable:
+			sourceWeight = 1.0f - amount;
+			targetWeight = amount;
+		} else {
+			double angle = Math.acos(cosine);
+			double inverseSine = 1.0 / Math.sin(angle);
+			
+			sourceWeight = (float)(Math.sin((1.0f - amount) * angle) * inverseSine);
+			targetWeight = (float)(Math.sin(amount * angle) * inverseSine);
+		}
+		
+		targetWeight = targetWeight * targetSign;
+		
+		destination.setComponents(
+				(sourceWeight * this.x) + (targetWeight * target.x),
+				(sourceWeight * this.y) + (targetWeight * target.y),
+				(sourceWeight * this.z) + (targetWeight * target.z),
+				(sourceWeight * this.w) + (targetWeight * target.w));
+		
+		if (cosine > Quaternion.LINEAR_THRESHOLD) {
+			destination.normalize();
+		}
+	}
+	
+	/*
+	 * Rotating
+	 */
+	
+	/**
+	 * <p>Rotates the <code>vector</code> in place.</p>
+	 *
+	 * @param vector The vector to rotate.
+	 */
+	public final void transform(final Vector3d vector) {
+		this.transform(vector, vector);
+	}
+	
+	/**
+	 * <p>Stores the rotated <code>source</code> vector in the
+	 * <code>destination</code>, which may be the <code>source</code>.</p>
+	 *
+	 * @param source The vector to rotate.
+	 * @param destination The vector in which to store the result.
+	 */
+	public final void transform(final Vector3d source, final Vector3d destination) {
+		float x = source.getXComponent();
+		float y = source.getYComponent();
+		float z = source.getZComponent();
+		
+		// v + w * t + q x t, where t = 2 * (q x v):
+		float tx = 2.0f * ((this.y * z) - (this.z * y));
+		float ty = 2.0f * ((this.z * x) - (this.x * z));
+		float tz = 2.0f * ((this.x * y) - (this.y * x));
+		
+		destination.setComponents(
+				x + (this.w * tx) + ((this.y * tz) - (this.z * ty)),
+				y + (this.w * ty) + ((this.z * tx) - (this.x * tz)),
+				z + (this.w * tz) + ((this.x * ty) - (this.y * tx)));
+	}
+	
+	/**
+	 * <p>Stores the <code>source</code> vertex, rotated around the origin, in
+	 * the <code>destination</code>, which may be the <code>source</code>.</p>
+	 *
+	 * @param source The vertex to rotate.
+	 * @param destination The vertex in which to store the result.
+	 */
+	public final void transform(final Vertex3d source, final Vertex3d destination) {
+		float x = source.getXComponent();
+		float y = source.getYComponent();
+		float z = source.getZComponent();
+		
+		float tx = 2.0f * ((this.y * z) - (this.z * y));
+		float ty = 2.0f * ((this.z * x) - (this.x * z));
+		float tz = 2.0f * ((this.x * y) - (this.y * x));
+		
+		destination.setComponents(
+				x + (this.w * tx) + ((this.y * tz) - (this.z * ty)),
+				y + (this.w * ty) + ((this.z * tx) - (this.x * tz)),
+				z + (this.w * tz) + ((this.x * ty) - (this.y * tx)));
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	/**
+	 * <p>Resets this quaternion to the identity, which does not rotate.</p>
+	 */
+	public final void setIdentity() {
+		this.setComponents(0.0f, 0.0f, 0.0f, 1.0f);
+	}
+	
+	/**
+	 * <p>Sets this quaternion to a counter clockwise rotation around the
+	 * <code>axis</code>, looking from the tip of the axis towards the
+	 * origin.</p>
+	 *
+	 * @param axis The axis to rotate around, which need not have unit length.
+	 * @param angle The angle to rotate by, in radians.
+	 *
+	 * @throws IllegalArgumentException If the <code>axis</code> has zero
+	 * length.
+	 */
+	public final void setAxisAngle(final Vector3d axis, final float angle) throws IllegalArgumentException {
+		float length = axis.calculateLength();
+		
+		if (length == 0.0f) {
+			throw new IllegalArgumentException("The specified axis has zero length.");
+		}
+		
+		float scale = (float)Math.sin(angle * 0.5f) / length;
+		
+		this.setComponents(axis.getXComponent() * scale, axis.getYComponent() * scale, axis.getZComponent() * scale, (float)Math.cos(angle * 0.5f));
+	}
+	
+	/**
+	 * <p>Gets the x component of the vector part of this quaternion.</p>
+	 *
+	 * @return The x component of this quaternion.
+	 */
+	public final float getXComponent() {
+		return this.x;
+	}
+	
+	/**
+	 * <p>Gets the y component of the vector part of this quaternion.</p>
+	 *
+	 * @return The y component of this quaternion.
+	 */
+	public final float getYComponent() {
+		return this.y;
+	}
+	
+	/**
+	 * <p>Gets the z component of the vector part of this quaternion.</p>
+	 *
+	 * @return The z component of this quaternion.
+	 */
+	public final float getZComponent() {
+		return this.z;
+	}
+	
+	/**
+	 * <p>Gets the scalar part of this quaternion.</p>
+	 *
+	 * @return The w component of this quaternion.
+	 */
+	public final float getWComponent() {
+		return this.w;
+	}
+	
+	/**
+	 * <p>Sets the components of this quaternion to the specified values.</p>
+	 *
+	 * @param x The x component of the vector part.
+	 * @param y The y component of the vector part.
+	 * @param z The z component of the vector part.
+	 * @param w The scalar part.
+	 */
+	public final void setComponents(final float x, final float y, final float z, final float w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+	}
+	
+	/**
+	 * <p>Copies the components of the <code>source</code> quaternion into this
+	 * quaternion.</p>
+	 *
+	 * @param source The quaternion to copy.
+	 */
+	public final void setComponents(final Quaternion source) {
+		this.setComponents(source.x, source.y, source.z, source.w);
+	}
+	
+	/**
+	 * <p>Stores the x, y, z, and w components of this quaternion (in that
+	 * order) in the specified <code>destination</code> buffer.</p>
+	 *
+	 * @param destination The buffer in which the components are stored. The
+	 * position of the buffer after this operation lies after the last
+	 * component added.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> buffer
+	 * has room for less than four elements.
+	 */
+	public final void getComponents(final FloatBuffer destination) throws IllegalArgumentException {
+		// Make sure there is enough room for the components:
+		if (destination.remaining() < Quaternion.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified destination buffer is not large enough.");
+		}
+		
+		destination.put(this.x);
+		destination.put(this.y);
+		destination.put(this.z);
+		destination.put(this.w);
+	}
+	
+	/**
+	 * <p>Sets the components of this quaternion to the next four values of the
+	 * <code>source</code> buffer, in x, y, z, w order.</p>
+	 *
+	 * @param source The buffer from which the components are read. The
+	 * position of the buffer after this operation lies after the last
+	 * component read.
+	 *
+	 * @throws IllegalArgumentException If the <code>source</code> buffer has
+	 * less than four elements remaining.
+	 */
+	public final void setComponents(final FloatBuffer source) throws IllegalArgumentException {
+		if (source.remaining() < Quaternion.COMPONENT_COUNT) {
+			throw new IllegalArgumentException("The specified source buffer does not contain enough elements.");
+		}
+		
+		this.x = source.get();
+		this.y = source.get();
+		this.z = source.get();
+		this.w = source.get();
+	}
+	
+	/*
+	 * Java Object Overrides
+	 */
+	
+	@Override
+	public Object clone() {
+		return new Quaternion(this.x, this.y, this.z, this.w);
+	}
+	
+	/**
+	 * <p>Checks to see if the <code>otherObject</code> is a quaternion with
+	 * exactly the same components. Note that a quaternion and its negation
+	 * represent the same rotation, but are not equal.</p>
+	 *
+	 * @param otherObject The object to compare to this quaternion.
+	 * @return <code>true</code> if all components match, <code>false</code>
+	 * otherwise.
+	 */
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (!(otherObject instanceof Quaternion)) {
+			return false;
+		}
+		
+		Quaternion otherQuaternion = (Quaternion)otherObject;
+		
+		return	(Float.compare(this.x, otherQuaternion.x) == 0) &&
+				(Float.compare(this.y, otherQuaternion.y) == 0) &&
+				(Float.compare(this.z, otherQuaternion.z) == 0) &&
+				(Float.compare(this.w, otherQuaternion.w) == 0);
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = Float.hashCode(this.x);
+		hash = (31 * hash) + Float.hashCode(this.y);
+		hash = (31 * hash) + Float.hashCode(this.z);
+		hash = (31 * hash) + Float.hashCode(this.w);
+		
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ", " + this.w + ")";
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private float x;			// The x component of the vector part.
+	private float y;			// The y component of the vector part.
+	private float z;			// The z component of the vector part.
+	private float w;			// The scalar part.
+	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 4;
+	
+	/**
+	 * <p>The cosine of the half angle above which {@link #slerp} falls back to
+	 * a normalized linear interpolation.</p>
+	 */
+	private static final float LINEAR_THRESHOLD = 0.9995f;
+
+}
@@ -44,4 +44,10 @@ public class TextureCoordinate {
 		return this.t;
 	}
 	
+	/*
+	 * Constants
+	 */
+	
+	public static final int COMPONENT_COUNT = 2;
+	
 }
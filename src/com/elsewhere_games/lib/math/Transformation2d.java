@@ -1,51 +1,565 @@
 package com.elsewhere_games.lib.math;
 
-public class Transformation2d {
+import java.nio.FloatBuffer;
+
+/**
+ * <p>A two dimensional affine transformation, stored as the upper two rows
+ * of a 3x3 matrix:</p>
+ *
+ * <pre>
+ * | m00 m01 tx |
+ * | m10 m11 ty |
+ * </pre>
+ *
+ * <p>A point (x, y) is transformed to
+ * (m00 * x + m01 * y + tx, m10 * x + m11 * y + ty). The translation column
+ * is kept in the vertex returned by {@link #getTranslation()}, which may be
+ * modified directly.</p>
+ *
+ * <p>Transformations combine like matrices: after
+ * <code>a.multiply(b)</code>, transforming a point by <code>a</code> first
+ * applies the old <code>b</code> and then the old <code>a</code>. The
+ * {@link #translate(float, float)}, {@link #rotate(float)} and
+ * {@link #scale(float, float)} methods combine in the same way, so each is
+ * applied to a point before the operations that came before it.</p>
+ *
+ * <p>The rotation and scale factors are derived from the matrix when they are
+ * first requested after a change, and cached until the next change.</p>
+ */
 
+public class Transformation2d {
+	
 	/*
 	 * Constructors
 	 */
 	
 	/**
-	 * <p>Class constructor.<p>
+	 * <p>Class constructor. Creates the identity transformation.<p>
 	 */
 	public Transformation2d() {
 		this.translation = new Vertex2d();
-		this.scale = 1.0f;
+		this.setIdentity();
+	}
+	
+	/**
+	 * <p>Class constructor. Copies the <code>source</code> transformation.</p>
+	 *
+	 * @param source The transformation to copy.
+	 */
+	public Transformation2d(final Transformation2d source) {
+		this.translation = new Vertex2d();
+		this.setComponents(source);
 	}
 	
 	/*
 	 * Mathematical Operations
 	 */
 	
-	public void multiply(Transformation2d otherTransformation) {
-		this.translation.add(otherTransformation.translation);
+	/**
+	 * <p>Combines this transformation with the
+	 * <code>otherTransformation</code>, which is applied first. This is the
+	 * matrix product <code>this * otherTransformation</code>.</p>
+	 *
+	 * @param otherTransformation The transformation to combine with this one.
+	 */
+	public void multiply(final Transformation2d otherTransformation) {
+		this.multiply(otherTransformation, this);
+	}
+	
+	/**
+	 * <p>Stores the combination of this transformation and the
+	 * <code>otherTransformation</code>, which is applied first, in the
+	 * <code>destination</code>. Either transformation may be the
+	 * <code>destination</code>.</p>
+	 *
+	 * @param otherTransformation The transformation to combine with this one.
+	 * @param destination The transformation in which to store the result.
+	 */
+	public void multiply(final Transformation2d otherTransformation, final Transformation2d destination) {
+		float otherTranslationX = otherTransformation.translation.getX();
+		float otherTranslationY = otherTransformation.translation.getY();
+		
+		float m00 = (this.m00 * otherTransformation.m00) + (this.m01 * otherTransformation.m10);
+		float m10 = (this.m10 * otherTransformation.m00) + (this.m11 * otherTransformation.m10);
+		float m01 = (this.m00 * otherTransformation.m01) + (this.m01 * otherTransformation.m11);
+		float m11 = (this.m10 * otherTransformation.m01) + (this.m11 * otherTransformation.m11);
+		float translationX = (this.m00 * otherTranslationX) + (this.m01 * otherTranslationY) + this.translation.getX();
+		float translationY = (this.m10 * otherTranslationX) + (this.m11 * otherTranslationY) + this.translation.getY();
+		
+		destination.setMatrix(m00, m10, m01, m11, translationX, translationY);
+	}
+	
+	/**
+	 * <p>Combines the <code>otherTransformation</code> with this
+	 * transformation, which is applied first. This is the matrix product
+	 * <code>otherTransformation * this</code>.</p>
+	 *
+	 * @param otherTransformation The transformation to apply after this one.
+	 */
+	public void preMultiply(final Transformation2d otherTransformation) {
+		otherTransformation.multiply(this, this);
+	}
+	
+	/**
+	 * <p>Adds a translation, applied before this transformation.</p>
+	 *
+	 * @param x The distance to move along the x axis.
+	 * @param y The distance to move along the y axis.
+	 */
+	public void translate(final float x, final float y) {
+		this.translation.add((this.m00 * x) + (this.m01 * y), (this.m10 * x) + (this.m11 * y));
+	}
+	
+	/**
+	 * <p>Adds a counter clockwise rotation, applied before this
+	 * transformation.</p>
+	 *
+	 * @param angle The angle to rotate by, in radians.
+	 */
+	public void rotate(final float angle) {
+		float cosine = (float)Math.cos(angle);
+		float sine = (float)Math.sin(angle);
+		
+		float m00 = (this.m00 * cosine) + (this.m01 * sine);
+		float m10 = (this.m10 * cosine) + (this.m11 * sine);
+		float m01 = (this.m01 * cosine) - (this.m00 * sine);
+		float m11 = (this.m11 * cosine) - (this.m10 * sine);
+		
+		this.setMatrix(m00, m10, m01, m11, this.translation.getX(), this.translation.getY());
+	}
+	
+	/**
+	 * <p>Adds a scale along the x and y axes, applied before this
+	 * transformation.</p>
+	 *
+	 * @param x The factor by which to scale along the x axis.
+	 * @param y The factor by which to scale along the y axis.
+	 */
+	public void scale(final float x, final float y) {
+		this.setMatrix(this.m00 * x, this.m10 * x, this.m01 * y, this.m11 * y, this.translation.getX(), this.translation.getY());
+	}
+	
+	/**
+	 * <p>Calculates the determinant of the matrix of this transformation. It
+	 * is the factor by which areas are scaled, negative if the transformation
+	 * mirrors, and <code>0.0f</code> if it can not be inverted.</p>
+	 *
+	 * @return The determinant of this transformation.
+	 */
+	public float calculateDeterminant() {
+		return (this.m00 * this.m11) - (this.m01 * this.m10);
+	}
+	
+	/**
+	 * <p>Replaces this transformation with its inverse, if it has one.</p>
+	 *
+	 * @return <code>true</code> if this transformation was inverted,
+	 * <code>false</code> if it can not be inverted and was left unchanged.
+	 */
+	public boolean invert() {
+		return this.invert(this);
+	}
+	
+	/**
+	 * <p>Stores the inverse of this transformation in the
+	 * <code>destination</code>, if it has one. The <code>destination</code>
+	 * may be this transformation.</p>
+	 *
+	 * @param destination The transformation in which to store the inverse.
+	 * @return <code>true</code> if the inverse was stored, <code>false</code>
+	 * if this transformation can not be inverted, in which case the
+	 * <code>destination</code> is left unchanged.
+	 */
+	public boolean invert(final Transformation2d destination) {
+		float determinant = this.calculateDeterminant();
+		
+		if (determinant == 0.0f) {
+			return false;
+		}
+		
+		float inverseDeterminant = 1.0f / determinant;
+		float m00 = this.m11 * inverseDeterminant;
+		float m10 = -this.m10 * inverseDeterminant;
+		float m01 = -this.m01 * inverseDeterminant;
+		float m11 = this.m00 * inverseDeterminant;
+		float translationX = this.translation.getX();
+		float translationY = this.translation.getY();
+		
+		destination.setMatrix(m00, m10, m01, m11,
+				-((m00 * translationX) + (m01 * translationY)),
+				-((m10 * translationX) + (m11 * translationY)));
+		
+		return true;
+	}
+	
+	/*
+	 * Transforming
+	 */
+	
+	/**
+	 * <p>Transforms the <code>vertex</code> in place.</p>
+	 *
+	 * @param vertex The vertex to transform.
+	 */
+	public void transform(final Vertex2d vertex) {
+		this.transform(vertex, vertex);
+	}
+	
+	/**
+	 * <p>Stores the transformed <code>source</code> vertex in the
+	 * <code>destination</code>, which may be the <code>source</code>.</p>
+	 *
+	 * @param source The vertex to transform.
+	 * @param destination The vertex in which to store the result.
+	 */
+	public void transform(final Vertex2d source, final Vertex2d destination) {
+		float x = source.getX();
+		float y = source.getY();
+		
+		destination.setComponents(
+				(this.m00 * x) + (this.m01 * y) + this.translation.getX(),
+				(this.m10 * x) + (this.m11 * y) + this.translation.getY());
+	}
+	
+	/**
+	 * <p>Transforms the <code>vector</code> in place. Vectors are directions,
+	 * so the translation is not applied.</p>
+	 *
+	 * @param vector The vector to transform.
+	 */
+	public void transform(final Vector2d vector) {
+		this.transform(vector, vector);
+	}
+	
+	/**
+	 * <p>Stores the transformed <code>source</code> vector in the
+	 * <code>destination</code>, which may be the <code>source</code>. Vectors
+	 * are directions, so the translation is not applied.</p>
+	 *
+	 * @param source The vector to transform.
+	 * @param destination The vector in which to store the result.
+	 */
+	public void transform(final Vector2d source, final Vector2d destination) {
+		float x = source.getXComponent();
+		float y = source.getYComponent();
+		
+		destination.setComponents((this.m00 * x) + (this.m01 * y), (this.m10 * x) + (this.m11 * y));
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points stored in x, y order at the
+	 * start of the <code>source</code> array, and stores them in the same
+	 * layout at the start of the <code>destination</code> array.</p>
+	 *
+	 * @param source The coordinates of the points to transform.
+	 * @param destination The array in which to store the results, which may
+	 * be the <code>source</code>.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either array holds less than
+	 * <code>count</code> points.
+	 */
+	public void transform(final float[] source, final float[] destination, final int count) throws IllegalArgumentException {
+		this.transform(source, 0, destination, 0, count);
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points stored in x, y order in the
+	 * <code>source</code> array, and stores them in the same layout in the
+	 * <code>destination</code> array. Both arrays may be the same, as long as
+	 * the offsets are equal or the ranges do not overlap.</p>
+	 *
+	 * @param source The coordinates of the points to transform.
+	 * @param sourceOffset The index of the x coordinate of the first point.
+	 * @param destination The array in which to store the results.
+	 * @param destinationOffset The index at which to store the first x
+	 * coordinate.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of its
+	 * array.
+	 */
+	public void transform(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		if (count < 0) {
+			throw new IllegalArgumentException("The specified count is negative.");
+		}
+		Vector2dArray.checkRange(source.length, sourceOffset, count * Vertex2d.COMPONENT_COUNT);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count * Vertex2d.COMPONENT_COUNT);
+		
+		// Copy the matrix to locals, so the loop only touches the arrays:
+		float m00 = this.m00;
+		float m10 = this.m10;
+		float m01 = this.m01;
+		float m11 = this.m11;
+		float translationX = this.translation.getX();
+		float translationY = this.translation.getY();
+		
+		for (int i = 0; i < count; i++) {
+			int sourceIndex = sourceOffset + (i * Vertex2d.COMPONENT_COUNT);
+			int destinationIndex = destinationOffset + (i * Vertex2d.COMPONENT_COUNT);
+			float x = source[sourceIndex];
+			float y = source[sourceIndex + 1];
+			
+			destination[destinationIndex] = (m00 * x) + (m01 * y) + translationX;
+			destination[destinationIndex + 1] = (m10 * x) + (m11 * y) + translationY;
+		}
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points stored in x, y order from the
+	 * position of the <code>source</code> buffer, and stores them in the same
+	 * layout from the position of the <code>destination</code> buffer. The
+	 * positions of the buffers are not changed, so both may be the same
+	 * buffer.</p>
+	 *
+	 * @param source The coordinates of the points to transform.
+	 * @param destination The buffer in which to store the results.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either buffer has less than
+	 * <code>count</code> points remaining.
+	 */
+	public void transform(final FloatBuffer source, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		this.transform(source, source.position(), destination, destination.position(), count);
+	}
+	
+	/**
+	 * <p>Transforms <code>count</code> points stored in x, y order from the
+	 * <code>sourceIndex</code> of the <code>source</code> buffer, and stores
+	 * them in the same layout from the <code>destinationIndex</code> of the
+	 * <code>destination</code> buffer. The positions of the buffers are not
+	 * changed.</p>
+	 *
+	 * <p>Buffers backed by an accessible array are transformed in place;
+	 * others, such as direct buffers, are transformed in blocks through a
+	 * scratch array with bulk operations.</p>
+	 *
+	 * @param source The coordinates of the points to transform.
+	 * @param sourceIndex The index of the x coordinate of the first point.
+	 * @param destination The buffer in which to store the results.
+	 * @param destinationIndex The index at which to store the first x
+	 * coordinate.
+	 * @param count The number of points to transform.
+	 *
+	 * @throws IllegalArgumentException If either range lies outside of the
+	 * limit of its buffer.
+	 */
+	public void transform(final FloatBuffer source, final int sourceIndex, final FloatBuffer destination, final int destinationIndex, final int count) throws IllegalArgumentException {
+		if (count < 0) {
+			throw new IllegalArgumentException("The specified count is negative.");
+		}
+		Vector2dArray.checkRange(source.limit(), sourceIndex, count * Vertex2d.COMPONENT_COUNT);
+		Vector2dArray.checkRange(destination.limit(), destinationIndex, count * Vertex2d.COMPONENT_COUNT);
+		
+		if (source.hasArray() && destination.hasArray()) {
+			this.transform(source.array(), source.arrayOffset() + sourceIndex, destination.array(), destination.arrayOffset() + destinationIndex, count);
+			return;
+		}
+		
+		float[] scratch = Transformation2d.SCRATCH.get();
+		int chunkCapacity = Transformation2d.SCRATCH_LENGTH / Vertex2d.COMPONENT_COUNT;
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			int offset = done * Vertex2d.COMPONENT_COUNT;
+			int length = chunk * Vertex2d.COMPONENT_COUNT;
+			
+			source.get(sourceIndex + offset, scratch, 0, length);
+			this.transform(scratch, 0, scratch, 0, chunk);
+			destination.put(destinationIndex + offset, scratch, 0, length);
+			done += chunk;
+		}
 	}
 	
 	/*
 	 * Accessors and Modifiers
 	 */
 	
+	/**
+	 * <p>Resets this transformation to the identity, which leaves every point
+	 * where it is.</p>
+	 */
+	public void setIdentity() {
+		this.setMatrix(1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f);
+	}
+	
+	/**
+	 * <p>Copies the <code>source</code> transformation into this
+	 * transformation.</p>
+	 *
+	 * @param source The transformation to copy.
+	 */
+	public void setComponents(final Transformation2d source) {
+		this.setMatrix(source.m00, source.m10, source.m01, source.m11, source.translation.getX(), source.translation.getY());
+	}
+	
+	/**
+	 * <p>Sets this transformation to scale, then rotate, then translate, the
+	 * usual placement of an object in the world.</p>
+	 *
+	 * @param translationX The translation along the x axis.
+	 * @param translationY The translation along the y axis.
+	 * @param rotation The counter clockwise rotation, in radians.
+	 * @param scaleX The factor by which to scale along the x axis.
+	 * @param scaleY The factor by which to scale along the y axis.
+	 */
+	public void setTransformation(final float translationX, final float translationY, final float rotation, final float scaleX, final float scaleY) {
+		float cosine = (float)Math.cos(rotation);
+		float sine = (float)Math.sin(rotation);
+		
+		// The arguments are not kept as the decomposition: the rotation may lie
+		// outside of -PI to PI and the x scale may be negative, while the
+		// accessors must agree with any other transformation of the same matrix.
+		this.setMatrix(cosine * scaleX, sine * scaleX, -sine * scaleY, cosine * scaleY, translationX, translationY);
+	}
+	
+	/**
+	 * <p>Sets the matrix of this transformation.</p>
+	 *
+	 * @param m00 The factor of x in the transformed x coordinate.
+	 * @param m10 The factor of x in the transformed y coordinate.
+	 * @param m01 The factor of y in the transformed x coordinate.
+	 * @param m11 The factor of y in the transformed y coordinate.
+	 * @param translationX The translation along the x axis.
+	 * @param translationY The translation along the y axis.
+	 */
+	public void setMatrix(final float m00, final float m10, final float m01, final float m11, final float translationX, final float translationY) {
+		this.m00 = m00;
+		this.m10 = m10;
+		this.m01 = m01;
+		this.m11 = m11;
+		this.translation.setComponents(translationX, translationY);
+		this.decomposed = false;
+	}
+	
+	/**
+	 * <p>Stores the matrix of this transformation in the
+	 * <code>destination</code> array, in column order: m00, m10, m01, m11,
+	 * translation x, translation y.</p>
+	 *
+	 * @param destination The array in which to store the matrix.
+	 * @param offset The index at which to store the first value.
+	 *
+	 * @throws IllegalArgumentException If the array does not have room for
+	 * six values from the <code>offset</code>.
+	 */
+	public void getMatrix(final float[] destination, final int offset) throws IllegalArgumentException {
+		Vector2dArray.checkRange(destination.length, offset, 6);
+		
+		destination[offset] = this.m00;
+		destination[offset + 1] = this.m10;
+		destination[offset + 2] = this.m01;
+		destination[offset + 3] = this.m11;
+		destination[offset + 4] = this.translation.getX();
+		destination[offset + 5] = this.translation.getY();
+	}
+	
+	private float m00;
+	private float m10;
+	private float m01;
+	private float m11;
+	
 	private Vertex2d translation;
 	
 	/**
-	 * <p>Gets the translation of this transformation.</p>
-	 * 
+	 * <p>Gets the translation of this transformation. The vertex is part of
+	 * this transformation, so changes to it move the transformation.</p>
+	 *
 	 * @return The translation of this transformation.
 	 */
 	public Vertex2d getTranslation() {
 		return this.translation;
 	}
 	
-	private float scale;
+	private float rotation;
+	
+	/**
+	 * <p>Gets the counter clockwise rotation of this transformation, being
+	 * the angle of the transformed x axis.</p>
+	 *
+	 * @return The rotation of this transformation, in radians, between
+	 * <code>-PI</code> and <code>PI</code>.
+	 */
+	public float getRotation() {
+		this.decompose();
+		return this.rotation;
+	}
+	
+	private float scaleX;
+	
+	/**
+	 * <p>Gets the factor by which this transformation scales along its
+	 * rotated x axis.</p>
+	 *
+	 * @return The scale along the x axis.
+	 */
+	public float getScaleX() {
+		this.decompose();
+		return this.scaleX;
+	}
+	
+	private float scaleY;
+	
+	/**
+	 * <p>Gets the factor by which this transformation scales along its
+	 * rotated y axis. It is negative if the transformation mirrors.</p>
+	 *
+	 * @return The scale along the y axis.
+	 */
+	public float getScaleY() {
+		this.decompose();
+		return this.scaleY;
+	}
 	
 	/**
-	 * <p>Gets the uniform scale factor of this transformation.</p>
-	 * 
+	 * <p>Gets the uniform scale factor of this transformation. If the scale is
+	 * not uniform, this is the factor that scales areas by the same amount.</p>
+	 *
 	 * @return The uniform scale factor of this transformation.
 	 */
 	public float getScale() {
-		return this.scale;
+		return (float)Math.sqrt(Math.abs(this.calculateDeterminant()));
+	}
+	
+	private boolean decomposed;
+	
+	/**
+	 * <p>Derives the rotation and scale factors from the matrix, unless they
+	 * are still valid. A shear, which only arises from combining rotations
+	 * with non uniform scales, is not represented.</p>
+	 */
+	private void decompose() {
+		if (this.decomposed) {
+			return;
+		}
+		
+		this.scaleX = (float)Math.sqrt((this.m00 * this.m00) + (this.m10 * this.m10));
+		this.rotation = (float)Math.atan2(this.m10, this.m00);
+		this.scaleY = (this.scaleX != 0.0f) ? (this.calculateDeterminant() / this.scaleX) : (float)Math.sqrt((this.m01 * this.m01) + (this.m11 * this.m11));
+		this.decomposed = true;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	@Override
+	public String toString() {
+		return "[" + this.m00 + ", " + this.m01 + ", " + this.translation.getX() + "; " + this.m10 + ", " + this.m11 + ", " + this.translation.getY() + "]";
 	}
 	
+	/*
+	 * Constants
+	 */
+	
+	private static final int SCRATCH_LENGTH = 1536;
+	
+	private static final ThreadLocal<float[]> SCRATCH = new ThreadLocal<float[]>() {
+		@Override
+		protected float[] initialValue() {
+			return new float[Transformation2d.SCRATCH_LENGTH];
+		}
+	};
+
 }
@@ -0,0 +1,469 @@
+package com.elsewhere_games.lib.math;
+
+import java.util.Arrays;
+
+import com.elsewhere_games.lib.math.boundingvolume.BoundingVolume;
+
+/**
+ * <p>A hierarchy of {@link Transformation2d}s, in which the world
+ * transformation of each node is the world transformation of its parent
+ * combined with the local transformation of the node.</p>
+ *
+ * <p>Nodes are identified by their index, and a parent is always added before
+ * its children, so the local and world matrices are stored in flat arrays in
+ * parent before child order. Changing a local transformation only marks the
+ * node as dirty; {@link #update()} then recomputes the world transformations
+ * of the dirty nodes and their descendants, and nothing else. When most of a
+ * scene is static, the cost of an update is proportional to what moved rather
+ * than to the size of the scene.</p>
+ *
+ * <p>A node may have a {@link BoundingVolume} attached, whose center is moved
+ * to the world position of a local offset as part of the same update. The
+ * size of the volume is not changed.</p>
+ */
+
+public class TransformationHierarchy2d {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates an empty hierarchy.</p>
+	 */
+	public TransformationHierarchy2d() {
+		this.allocateNodes(TransformationHierarchy2d.INITIAL_CAPACITY);
+		this.dirtyNodes = new int[TransformationHierarchy2d.INITIAL_CAPACITY];
+		this.stack = new int[TransformationHierarchy2d.INITIAL_CAPACITY];
+	}
+	
+	/*
+	 * Structure
+	 */
+	
+	/**
+	 * <p>Adds a node with an identity local transformation below the
+	 * <code>parent</code>.</p>
+	 *
+	 * @param parent The index of the parent node, or {@link #NO_PARENT} for a
+	 * root node.
+	 * @return The index of the new node, which is larger than that of any
+	 * node already in the hierarchy.
+	 *
+	 * @throws IllegalArgumentException If the <code>parent</code> is not a
+	 * node of this hierarchy.
+	 */
+	public int addNode(final int parent) throws IllegalArgumentException {
+		if (parent != TransformationHierarchy2d.NO_PARENT) {
+			this.checkNode(parent);
+		}
+		
+		if (this.nodeCount == this.parent.length) {
+			this.growNodes();
+		}
+		
+		int node = this.nodeCount++;
+		int matrix = node * TransformationHierarchy2d.MATRIX_LENGTH;
+		
+		this.local[matrix] = 1.0f;
+		this.local[matrix + 1] = 0.0f;
+		this.local[matrix + 2] = 0.0f;
+		this.local[matrix + 3] = 1.0f;
+		this.local[matrix + 4] = 0.0f;
+		this.local[matrix + 5] = 0.0f;
+		
+		this.parent[node] = parent;
+		this.firstChild[node] = TransformationHierarchy2d.NO_PARENT;
+		this.nextSibling[node] = TransformationHierarchy2d.NO_PARENT;
+		this.volumes[node] = null;
+		this.dirty[node] = false;
+		this.updated[node] = 0;
+		
+		// Children are prepended; their order is irrelevant to the update:
+		if (parent != TransformationHierarchy2d.NO_PARENT) {
+			this.nextSibling[node] = this.firstChild[parent];
+			this.firstChild[parent] = node;
+		}
+		
+		this.markDirty(node);
+		
+		return node;
+	}
+	
+	/**
+	 * <p>Removes every node from this hierarchy. The storage is kept for
+	 * reuse.</p>
+	 */
+	public void clear() {
+		Arrays.fill(this.volumes, 0, this.nodeCount, null);
+		this.nodeCount = 0;
+		this.dirtyCount = 0;
+	}
+	
+	/**
+	 * <p>Gets the number of nodes in this hierarchy.</p>
+	 *
+	 * @return The number of nodes in this hierarchy.
+	 */
+	public int getNodeCount() {
+		return this.nodeCount;
+	}
+	
+	/**
+	 * <p>Gets the parent of the <code>node</code>.</p>
+	 *
+	 * @param node The index of the node.
+	 * @return The index of the parent, or {@link #NO_PARENT} for a root node.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public int getParent(final int node) throws IllegalArgumentException {
+		this.checkNode(node);
+		return this.parent[node];
+	}
+	
+	/*
+	 * Transformations
+	 */
+	
+	/**
+	 * <p>Copies the <code>transformation</code> into the local transformation
+	 * of the <code>node</code>.</p>
+	 *
+	 * @param node The index of the node.
+	 * @param transformation The new local transformation.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void setLocalTransformation(final int node, final Transformation2d transformation) throws IllegalArgumentException {
+		this.checkNode(node);
+		
+		transformation.getMatrix(this.local, node * TransformationHierarchy2d.MATRIX_LENGTH);
+		this.markDirty(node);
+	}
+	
+	/**
+	 * <p>Sets the local transformation of the <code>node</code> to scale, then
+	 * rotate, then translate, as with
+	 * {@link Transformation2d#setTransformation(float, float, float, float, float)}.</p>
+	 *
+	 * @param node The index of the node.
+	 * @param translationX The translation along the x axis.
+	 * @param translationY The translation along the y axis.
+	 * @param rotation The counter clockwise rotation, in radians.
+	 * @param scaleX The factor by which to scale along the x axis.
+	 * @param scaleY The factor by which to scale along the y axis.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void setLocalTransformation(final int node, final float translationX, final float translationY, final float rotation, final float scaleX, final float scaleY) throws IllegalArgumentException {
+		this.checkNode(node);
+		
+		float cosine = (float)Math.cos(rotation);
+		float sine = (float)Math.sin(rotation);
+		int matrix = node * TransformationHierarchy2d.MATRIX_LENGTH;
+		
+		this.local[matrix] = cosine * scaleX;
+		this.local[matrix + 1] = sine * scaleX;
+		this.local[matrix + 2] = -sine * scaleY;
+		this.local[matrix + 3] = cosine * scaleY;
+		this.local[matrix + 4] = translationX;
+		this.local[matrix + 5] = translationY;
+		this.markDirty(node);
+	}
+	
+	/**
+	 * <p>Sets the local translation of the <code>node</code>, keeping its
+	 * rotation and scale.</p>
+	 *
+	 * @param node The index of the node.
+	 * @param x The translation along the x axis.
+	 * @param y The translation along the y axis.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void setLocalTranslation(final int node, final float x, final float y) throws IllegalArgumentException {
+		this.checkNode(node);
+		
+		int matrix = node * TransformationHierarchy2d.MATRIX_LENGTH;
+		
+		this.local[matrix + 4] = x;
+		this.local[matrix + 5] = y;
+		this.markDirty(node);
+	}
+	
+	/**
+	 * <p>Copies the local transformation of the <code>node</code> into the
+	 * <code>destination</code>.</p>
+	 *
+	 * @param node The index of the node.
+	 * @param destination The transformation which receives the local
+	 * transformation.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void getLocalTransformation(final int node, final Transformation2d destination) throws IllegalArgumentException {
+		this.checkNode(node);
+		TransformationHierarchy2d.copyMatrix(this.local, node * TransformationHierarchy2d.MATRIX_LENGTH, destination);
+	}
+	
+	/**
+	 * <p>Copies the world transformation of the <code>node</code> into the
+	 * <code>destination</code>. It reflects the local transformations as they
+	 * were at the last {@link #update()}.</p>
+	 *
+	 * @param node The index of the node.
+	 * @param destination The transformation which receives the world
+	 * transformation.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void getWorldTransformation(final int node, final Transformation2d destination) throws IllegalArgumentException {
+		this.checkNode(node);
+		TransformationHierarchy2d.copyMatrix(this.world, node * TransformationHierarchy2d.MATRIX_LENGTH, destination);
+	}
+	
+	/**
+	 * <p>Checks to see if the local transformation of the <code>node</code>
+	 * has changed since the last {@link #update()}. The descendants of a dirty
+	 * node are not marked themselves, but are updated with it.</p>
+	 *
+	 * @param node The index of the node.
+	 * @return <code>true</code> if the node is dirty, <code>false</code>
+	 * otherwise.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public boolean isDirty(final int node) throws IllegalArgumentException {
+		this.checkNode(node);
+		return this.dirty[node];
+	}
+	
+	/*
+	 * Bounding Volumes
+	 */
+	
+	/**
+	 * <p>Attaches the <code>volume</code> to the <code>node</code>. Each
+	 * update that recomputes the node moves the center of the volume to the
+	 * world position of the local point (<code>offsetX</code>,
+	 * <code>offsetY</code>).</p>
+	 *
+	 * @param node The index of the node.
+	 * @param volume The volume to attach, or <code>null</code> to detach the
+	 * current volume.
+	 * @param offsetX The x coordinate of the center in the space of the node.
+	 * @param offsetY The y coordinate of the center in the space of the node.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public void setBoundingVolume(final int node, final BoundingVolume volume, final float offsetX, final float offsetY) throws IllegalArgumentException {
+		this.checkNode(node);
+		
+		this.volumes[node] = volume;
+		this.offsets[node * 2] = offsetX;
+		this.offsets[(node * 2) + 1] = offsetY;
+		this.markDirty(node);
+	}
+	
+	/**
+	 * <p>Gets the volume attached to the <code>node</code>.</p>
+	 *
+	 * @param node The index of the node.
+	 * @return The attached volume, or <code>null</code> if there is none.
+	 *
+	 * @throws IllegalArgumentException If the <code>node</code> is not a node
+	 * of this hierarchy.
+	 */
+	public BoundingVolume getBoundingVolume(final int node) throws IllegalArgumentException {
+		this.checkNode(node);
+		return this.volumes[node];
+	}
+	
+	/*
+	 * Updating
+	 */
+	
+	/**
+	 * <p>Recomputes the world transformations of the dirty nodes and all of
+	 * their descendants, and moves their bounding volumes. Every other node
+	 * is left untouched.</p>
+	 *
+	 * @return The number of nodes that were recomputed.
+	 */
+	public int update() {
+		if (this.dirtyCount == 0) {
+			return 0;
+		}
+		
+		// Parents have lower indices than their children, so after sorting,
+		// an ancestor is always processed before its dirty descendants, which
+		// are then skipped as already updated:
+		Arrays.sort(this.dirtyNodes, 0, this.dirtyCount);
+		
+		int pass = ++this.pass;
+		int recomputed = 0;
+		
+		for (int i = 0; i < this.dirtyCount; i++) {
+			int dirtyNode = this.dirtyNodes[i];
+			this.dirty[dirtyNode] = false;
+			
+			if (this.updated[dirtyNode] == pass) {
+				continue;
+			}
+			
+			this.stack[0] = dirtyNode;
+			int stackSize = 1;
+			
+			while (stackSize > 0) {
+				int node = this.stack[--stackSize];
+				
+				this.computeWorld(node);
+				this.updated[node] = pass;
+				recomputed++;
+				
+				for (int child = this.firstChild[node]; child != TransformationHierarchy2d.NO_PARENT; child = this.nextSibling[child]) {
+					if (stackSize == this.stack.length) {
+						this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+					}
+					this.stack[stackSize++] = child;
+				}
+			}
+		}
+		
+		this.dirtyCount = 0;
+		
+		return recomputed;
+	}
+	
+	private void computeWorld(final int node) {
+		float[] local = this.local;
+		float[] world = this.world;
+		int matrix = node * TransformationHierarchy2d.MATRIX_LENGTH;
+		int parent = this.parent[node];
+		
+		if (parent == TransformationHierarchy2d.NO_PARENT) {
+			System.arraycopy(local, matrix, world, matrix, TransformationHierarchy2d.MATRIX_LENGTH);
+		} else {
+			int parentMatrix = parent * TransformationHierarchy2d.MATRIX_LENGTH;
+			float m00 = world[parentMatrix];
+			float m10 = world[parentMatrix + 1];
+			float m01 = world[parentMatrix + 2];
+			float m11 = world[parentMatrix + 3];
+			float translationX = local[matrix + 4];
+			float translationY = local[matrix + 5];
+			
+			world[matrix] = (m00 * local[matrix]) + (m01 * local[matrix + 1]);
+			world[matrix + 1] = (m10 * local[matrix]) + (m11 * local[matrix + 1]);
+			world[matrix + 2] = (m00 * local[matrix + 2]) + (m01 * local[matrix + 3]);
+			world[matrix + 3] = (m10 * local[matrix + 2]) + (m11 * local[matrix + 3]);
+			world[matrix + 4] = (m00 * translationX) + (m01 * translationY) + world[parentMatrix + 4];
+			world[matrix + 5] = (m10 * translationX) + (m11 * translationY) + world[parentMatrix + 5];
+		}
+		
+		BoundingVolume volume = this.volumes[node];
+		
+		if (volume != null) {
+			float offsetX = this.offsets[node * 2];
+			float offsetY = this.offsets[(node * 2) + 1];
+			
+			volume.getCenter().setComponents(
+					(world[matrix] * offsetX) + (world[matrix + 2] * offsetY) + world[matrix + 4],
+					(world[matrix + 1] * offsetX) + (world[matrix + 3] * offsetY) + world[matrix + 5]);
+		}
+	}
+	
+	/*
+	 * Node Management
+	 */
+	
+	private void markDirty(final int node) {
+		if (this.dirty[node]) {
+			return;
+		}
+		
+		if (this.dirtyCount == this.dirtyNodes.length) {
+			this.dirtyNodes = Arrays.copyOf(this.dirtyNodes, this.dirtyNodes.length * 2);
+		}
+		
+		this.dirty[node] = true;
+		this.dirtyNodes[this.dirtyCount++] = node;
+	}
+	
+	private static void copyMatrix(final float[] matrices, final int matrix, final Transformation2d destination) {
+		destination.setMatrix(matrices[matrix], matrices[matrix + 1], matrices[matrix + 2], matrices[matrix + 3], matrices[matrix + 4], matrices[matrix + 5]);
+	}
+	
+	private void allocateNodes(final int capacity) {
+		this.local = new float[capacity * TransformationHierarchy2d.MATRIX_LENGTH];
+		this.world = new float[capacity * TransformationHierarchy2d.MATRIX_LENGTH];
+		this.offsets = new float[capacity * 2];
+		this.parent = new int[capacity];
+		this.firstChild = new int[capacity];
+		this.nextSibling = new int[capacity];
+		this.updated = new int[capacity];
+		this.dirty = new boolean[capacity];
+		this.volumes = new BoundingVolume[capacity];
+	}
+	
+	private void growNodes() {
+		int capacity = this.parent.length * 2;
+		
+		this.local = Arrays.copyOf(this.local, capacity * TransformationHierarchy2d.MATRIX_LENGTH);
+		this.world = Arrays.copyOf(this.world, capacity * TransformationHierarchy2d.MATRIX_LENGTH);
+		this.offsets = Arrays.copyOf(this.offsets, capacity * 2);
+		this.parent = Arrays.copyOf(this.parent, capacity);
+		this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+		this.nextSibling = Arrays.copyOf(this.nextSibling, capacity);
+		this.updated = Arrays.copyOf(this.updated, capacity);
+		this.dirty = Arrays.copyOf(this.dirty, capacity);
+		this.volumes = Arrays.copyOf(this.volumes, capacity);
+	}
+	
+	private void checkNode(final int node) throws IllegalArgumentException {
+		if ((node < 0) || (node >= this.nodeCount)) {
+			throw new IllegalArgumentException("The index " + node + " does not refer to a node in this hierarchy.");
+		}
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private float[] local;					// Indexed by node * 6, in the order of Transformation2d.getMatrix.
+	private float[] world;					// Same layout as the local matrices.
+	private float[] offsets;				// Indexed by node * 2: the local center of the attached volume.
+	private int[] parent;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] updated;					// The last update pass that recomputed each node.
+	private boolean[] dirty;
+	private BoundingVolume[] volumes;
+	
+	private int nodeCount;
+	private int[] dirtyNodes;				// The nodes marked dirty since the last update, unordered.
+	private int dirtyCount;
+	private int pass;
+	private int[] stack;					// Reused by every update.
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The parent index of root nodes.</p>
+	 */
+	public static final int NO_PARENT = -1;
+	
+	private static final int MATRIX_LENGTH = 6;
+	private static final int INITIAL_CAPACITY = 64;
+
+}
@@ -3,6 +3,9 @@ package com.elsewhere_games.lib.math;
 import java.io.Serializable;
 import java.nio.FloatBuffer;
 
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+
 public class Vector2d implements Cloneable, Serializable {
 
 	/*
@@ -119,6 +122,10 @@ public class Vector2d implements Cloneable, Serializable {
 	}
 	
 	public final void normalize() {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
 		float length = this.calculateLength();
 		// Avoid dividing by zero:
 		if (length != 0.0f) {
@@ -126,6 +133,130 @@ public class Vector2d implements Cloneable, Serializable {
 		}
 	}
 	
+	/**
+	 * <p>Normalizes this vector using {@link MathUtilities#inverseSqrtFast(float)},
+	 * so the resulting length is within <code>0.18%</code> of one. A vector of
+	 * length zero is left unchanged.</p>
+	 */
+	public final void normalizeFast() {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float lengthSquared = this.calculateLengthSquared();
+		// Avoid dividing by zero:
+		if (lengthSquared != 0.0f) {
+			this.multiply(MathUtilities.inverseSqrtFast(lengthSquared));
+		}
+	}
+	
+	/*
+	 * Mathematical Operations with a Destination
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVector</code> to this vector and stores the result
+	 * in the <code>destination</code> vector. Neither this vector nor the
+	 * <code>otherVector</code> is modified, unless one of them is also the
+	 * <code>destination</code>.</p>
+	 * 
+	 * @param otherVector The vector to add to this vector.
+	 * @param destination The vector in which the sum is stored.
+	 */
+	public final void add(final Vector2d otherVector, final Vector2d destination) {
+		destination.x = this.x + otherVector.x;
+		destination.y = this.y + otherVector.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector.</p>
+	 * 
+	 * @param otherVector The vector to subtract from this vector.
+	 */
+	public final void subtract(final Vector2d otherVector) {
+		this.x = this.x - otherVector.x;
+		this.y = this.y - otherVector.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector and stores the
+	 * result in the <code>destination</code> vector.</p>
+	 * 
+	 * @param otherVector The vector to subtract from this vector.
+	 * @param destination The vector in which the difference is stored.
+	 */
+	public final void subtract(final Vector2d otherVector, final Vector2d destination) {
+		destination.x = this.x - otherVector.x;
+		destination.y = this.y - otherVector.y;
+	}
+	
+	/**
+	 * <p>Multiplies the components of this vector by the supplied
+	 * <code>scalar</code> and stores the result in the <code>destination</code>
+	 * vector.</p>
+	 * 
+	 * @param scalar The value by which this vector is scaled.
+	 * @param destination The vector in which the scaled vector is stored.
+	 */
+	public final void multiply(final float scalar, final Vector2d destination) {
+		destination.x = this.x * scalar;
+		destination.y = this.y * scalar;
+	}
+	
+	/**
+	 * <p>Divides the components of this vector by the supplied
+	 * <code>scalar</code> and stores the result in the <code>destination</code>
+	 * vector.</p>
+	 * 
+	 * @param scalar The value by which this vector is scaled.
+	 * @param destination The vector in which the scaled vector is stored.
+	 */
+	public final void divide(final float scalar, final Vector2d destination) {
+		destination.x = this.x / scalar;
+		destination.y = this.y / scalar;
+	}
+	
+	/**
+	 * <p>Stores a normalized copy of this vector in the <code>destination</code>
+	 * vector. If this vector has a length of zero, it is copied unchanged.</p>
+	 * 
+	 * @param destination The vector in which the normalized vector is stored.
+	 */
+	public final void normalize(final Vector2d destination) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float length = this.calculateLength();
+		// Avoid dividing by zero:
+		if (length != 0.0f) {
+			this.divide(length, destination);
+		} else {
+			this.getComponents(destination);
+		}
+	}
+	
+	/**
+	 * <p>Stores a copy of this vector normalized with
+	 * {@link MathUtilities#inverseSqrtFast(float)} in the
+	 * <code>destination</code> vector, as in {@link #normalizeFast()}.</p>
+	 * 
+	 * @param destination The vector in which the normalized vector is stored.
+	 */
+	public final void normalizeFast(final Vector2d destination) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float lengthSquared = this.calculateLengthSquared();
+		// Avoid dividing by zero:
+		if (lengthSquared != 0.0f) {
+			this.multiply(MathUtilities.inverseSqrtFast(lengthSquared), destination);
+		} else {
+			this.getComponents(destination);
+		}
+	}
+	
 	/*
 	 * Accessors and Modifiers
 	 */
@@ -199,6 +330,28 @@ public class Vector2d implements Cloneable, Serializable {
 		this.y = y;
 	}
 	
+	/**
+	 * <p>Copies the x and y components of this vector into the
+	 * <code>destination</code> vector.</p>
+	 * 
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getComponents(final Vector2d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+	}
+	
+	/**
+	 * <p>Sets the x and y components of this vector to those of the
+	 * <code>source</code> vector.</p>
+	 * 
+	 * @param source The vector which supplies the values of this vector.
+	 */
+	public final void setComponents(final Vector2d source) {
+		this.x = source.x;
+		this.y = source.y;
+	}
+	
 	/**
 	 * <p>Sets the x and components of this vector to the values supplied by the
 	 * <code>source</code> buffer.</p>
@@ -0,0 +1,324 @@
+package com.elsewhere_games.lib.math;
+
+/**
+ * <p>A fixed size collection of two dimensional vectors. Instead of holding
+ * one {@link Vector2d} object per element, the x and y components of all
+ * vectors are packed into two primitive arrays. The bulk operations provided
+ * here mirror those of {@link Vector2d}, but run over a range of elements in
+ * a single tight loop.</p>
+ *
+ * <p>Ranges are expressed as an <code>offset</code> (the index of the first
+ * element) and a <code>count</code> (the number of elements).</p>
+ */
+
+public class Vector2dArray {
+
+	/*
+	 * Constructors
+	 */
+
+	/**
+	 * <p>Class constructor. Allows the number of vectors stored in this array
+	 * to be specified. All components are initialized to <code>0.0f</code>.</p>
+	 *
+	 * @param length The number of vectors stored in this array.
+	 *
+	 * @throws IllegalArgumentException If the <code>length</code> is negative.
+	 */
+	public Vector2dArray(final int length) throws IllegalArgumentException {
+		if (length < 0) {
+			throw new IllegalArgumentException("The length of a vector array can not be negative.");
+		}
+
+		this.x = new float[length];
+		this.y = new float[length];
+	}
+
+	/*
+	 * Mathematical Operations
+	 */
+
+	/**
+	 * <p>Adds the specified components to every vector in the range.</p>
+	 *
+	 * @param offset The index of the first vector to which to add.
+	 * @param count The number of vectors to which to add.
+	 * @param x The x component to add to each vector.
+	 * @param y The y component to add to each vector.
+	 */
+	public final void add(final int offset, final int count, final float x, final float y) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] + x;
+			ys[i] = ys[i] + y;
+		}
+	}
+
+	/**
+	 * <p>Adds the vectors of the <code>otherArray</code> to the vectors in the
+	 * range, element by element.</p>
+	 *
+	 * @param offset The index of the first vector to which to add.
+	 * @param count The number of vectors to which to add.
+	 * @param otherArray The array containing the vectors to add.
+	 * @param otherOffset The index of the first vector in the
+	 * <code>otherArray</code> to add.
+	 */
+	public final void add(final int offset, final int count, final Vector2dArray otherArray, final int otherOffset) {
+		this.checkRange(offset, count);
+		otherArray.checkRange(otherOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] otherXs = otherArray.x;
+		float[] otherYs = otherArray.y;
+
+		for (int i = 0; i < count; i++) {
+			xs[offset + i] = xs[offset + i] + otherXs[otherOffset + i];
+			ys[offset + i] = ys[offset + i] + otherYs[otherOffset + i];
+		}
+	}
+
+	/**
+	 * <p>Multiplies the components of every vector in the range by the
+	 * supplied <code>scalar</code>.</p>
+	 *
+	 * @param offset The index of the first vector to scale.
+	 * @param count The number of vectors to scale.
+	 * @param scalar The value by which the vectors are scaled.
+	 */
+	public final void multiply(final int offset, final int count, final float scalar) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] * scalar;
+			ys[i] = ys[i] * scalar;
+		}
+	}
+
+	/**
+	 * <p>Divides the components of every vector in the range by the supplied
+	 * <code>scalar</code>.</p>
+	 *
+	 * @param offset The index of the first vector to scale.
+	 * @param count The number of vectors to scale.
+	 * @param scalar The value by which the vectors are scaled.
+	 */
+	public final void divide(final int offset, final int count, final float scalar) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] / scalar;
+			ys[i] = ys[i] / scalar;
+		}
+	}
+
+	/**
+	 * <p>Normalizes every vector in the range. Vectors with a length of zero
+	 * are left unchanged, as in {@link Vector2d#normalize()}.</p>
+	 *
+	 * @param offset The index of the first vector to normalize.
+	 * @param count The number of vectors to normalize.
+	 */
+	public final void normalize(final int offset, final int count) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			float length = (float)Math.sqrt((xs[i] * xs[i]) + (ys[i] * ys[i]));
+
+			// Avoid dividing by zero without branching, dividing by one is exact:
+			float divisor = (length != 0.0f) ? length : 1.0f;
+
+			xs[i] = xs[i] / divisor;
+			ys[i] = ys[i] / divisor;
+		}
+	}
+
+	/**
+	 * <p>Calculates the squared length of every vector in the range.</p>
+	 *
+	 * @param offset The index of the first vector.
+	 * @param count The number of vectors.
+	 * @param destination The array in which the squared lengths are stored.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the squared length of the first vector is stored.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> is not
+	 * large enough to hold <code>count</code> values.
+	 */
+	public final void calculateLengthSquared(final int offset, final int count, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		this.checkRange(offset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+
+		for (int i = 0; i < count; i++) {
+			float x = xs[offset + i];
+			float y = ys[offset + i];
+
+			destination[destinationOffset + i] = (x * x) + (y * y);
+		}
+	}
+
+	/**
+	 * <p>Calculates the dot product of every vector in the range with the
+	 * matching vector of the <code>otherArray</code>.</p>
+	 *
+	 * @param offset The index of the first vector.
+	 * @param count The number of vectors.
+	 * @param otherArray The array containing the other vectors.
+	 * @param otherOffset The index of the first vector in the
+	 * <code>otherArray</code>.
+	 * @param destination The array in which the dot products are stored.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the first dot product is stored.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> is not
+	 * large enough to hold <code>count</code> values.
+	 */
+	public final void calculateDotProduct(final int offset, final int count, final Vector2dArray otherArray, final int otherOffset, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		this.checkRange(offset, count);
+		otherArray.checkRange(otherOffset, count);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] otherXs = otherArray.x;
+		float[] otherYs = otherArray.y;
+
+		for (int i = 0; i < count; i++) {
+			destination[destinationOffset + i] = (xs[offset + i] * otherXs[otherOffset + i]) +
+												 (ys[offset + i] * otherYs[otherOffset + i]);
+		}
+	}
+
+	/*
+	 * Accessors and Modifiers
+	 */
+
+	/**
+	 * <p>Gets the number of vectors stored in this array.</p>
+	 *
+	 * @return The number of vectors stored in this array.
+	 */
+	public final int getLength() {
+		return this.x.length;
+	}
+
+	/**
+	 * <p>Gets the x component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @return The x component of the vector.
+	 */
+	public final float getXComponent(final int index) {
+		return this.x[index];
+	}
+
+	/**
+	 * <p>Sets the x component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param x The new x component of the vector.
+	 */
+	public final void setXComponent(final int index, final float x) {
+		this.x[index] = x;
+	}
+
+	/**
+	 * <p>Gets the y component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @return The y component of the vector.
+	 */
+	public final float getYComponent(final int index) {
+		return this.y[index];
+	}
+
+	/**
+	 * <p>Sets the y component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param y The new y component of the vector.
+	 */
+	public final void setYComponent(final int index, final float y) {
+		this.y[index] = y;
+	}
+
+	/**
+	 * <p>Sets the x and y components of the vector at the specified
+	 * <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param x The new x component of the vector.
+	 * @param y The new y component of the vector.
+	 */
+	public final void setComponents(final int index, final float x, final float y) {
+		this.x[index] = x;
+		this.y[index] = y;
+	}
+
+	/**
+	 * <p>Copies the vector at the specified <code>index</code> into the
+	 * <code>destination</code> vector.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getVector(final int index, final Vector2d destination) {
+		destination.setComponents(this.x[index], this.y[index]);
+	}
+
+	/**
+	 * <p>Copies the components of the <code>source</code> vector into the
+	 * vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param source The vector which supplies the new components.
+	 */
+	public final void setVector(final int index, final Vector2d source) {
+		this.x[index] = source.getXComponent();
+		this.y[index] = source.getYComponent();
+	}
+
+	/*
+	 * Range Checking
+	 */
+
+	private void checkRange(final int offset, final int count) throws IllegalArgumentException {
+		Vector2dArray.checkRange(this.x.length, offset, count);
+	}
+
+	static void checkRange(final int length, final int offset, final int count) throws IllegalArgumentException {
+		// Written to avoid overflow when offset + count exceeds the int range:
+		if ((offset < 0) || (count < 0) || (offset > length - count)) {
+			throw new IllegalArgumentException("The range [" + offset + ", " + offset + " + " + count + ") lies outside of an array of length " + length + ".");
+		}
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private final float[] x;		// The x components of the vectors.
+	private final float[] y;		// The y components of the vectors.
+
+}
@@ -3,6 +3,9 @@ package com.elsewhere_games.lib.math;
 import java.io.Serializable;
 import java.nio.FloatBuffer;
 
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+
 public class Vector3d implements Cloneable, Serializable {
 
 	/*
@@ -140,6 +143,10 @@ public class Vector3d implements Cloneable, Serializable {
 	}
 	
 	public final void normalize() {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
 		float length = this.calculateLength();
 		// Avoid dividing by zero:
 		if (length != 0.0f) {
@@ -147,6 +154,158 @@ public class Vector3d implements Cloneable, Serializable {
 		}
 	}
 	
+	/**
+	 * <p>Normalizes this vector using {@link MathUtilities#inverseSqrtFast(float)},
+	 * so the resulting length is within <code>0.18%</code> of one. A vector of
+	 * length zero is left unchanged.</p>
+	 */
+	public final void normalizeFast() {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float lengthSquared = this.calculateLengthSquared();
+		// Avoid dividing by zero:
+		if (lengthSquared != 0.0f) {
+			this.multiply(MathUtilities.inverseSqrtFast(lengthSquared));
+		}
+	}
+	
+	/*
+	 * Mathematical Operations with a Destination
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVector</code> to this vector and stores the result
+	 * in the <code>destination</code> vector. Neither this vector nor the
+	 * <code>otherVector</code> is modified, unless one of them is also the
+	 * <code>destination</code>.</p>
+	 * 
+	 * @param otherVector The vector to add to this vector.
+	 * @param destination The vector in which the sum is stored.
+	 */
+	public final void add(final Vector3d otherVector, final Vector3d destination) {
+		destination.x = this.x + otherVector.x;
+		destination.y = this.y + otherVector.y;
+		destination.z = this.z + otherVector.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector.</p>
+	 * 
+	 * @param otherVector The vector to subtract from this vector.
+	 */
+	public final void subtract(final Vector3d otherVector) {
+		this.x = this.x - otherVector.x;
+		this.y = this.y - otherVector.y;
+		this.z = this.z - otherVector.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVector</code> from this vector and stores the
+	 * result in the <code>destination</code> vector.</p>
+	 * 
+	 * @param otherVector The vector to subtract from this vector.
+	 * @param destination The vector in which the difference is stored.
+	 */
+	public final void subtract(final Vector3d otherVector, final Vector3d destination) {
+		destination.x = this.x - otherVector.x;
+		destination.y = this.y - otherVector.y;
+		destination.z = this.z - otherVector.z;
+	}
+	
+	/**
+	 * <p>Multiplies the components of this vector by the supplied
+	 * <code>scalar</code> and stores the result in the <code>destination</code>
+	 * vector.</p>
+	 * 
+	 * @param scalar The value by which this vector is scaled.
+	 * @param destination The vector in which the scaled vector is stored.
+	 */
+	public final void multiply(final float scalar, final Vector3d destination) {
+		destination.x = this.x * scalar;
+		destination.y = this.y * scalar;
+		destination.z = this.z * scalar;
+	}
+	
+	/**
+	 * <p>Divides the components of this vector by the supplied
+	 * <code>scalar</code> and stores the result in the <code>destination</code>
+	 * vector.</p>
+	 * 
+	 * @param scalar The value by which this vector is scaled.
+	 * @param destination The vector in which the scaled vector is stored.
+	 */
+	public final void divide(final float scalar, final Vector3d destination) {
+		destination.x = this.x / scalar;
+		destination.y = this.y / scalar;
+		destination.z = this.z / scalar;
+	}
+	
+	/**
+	 * <p>Calculates the cross product of this vector and the
+	 * <code>otherVector</code> and stores it in the <code>destination</code>
+	 * vector. The <code>destination</code> may be this vector or the
+	 * <code>otherVector</code>.</p>
+	 * 
+	 * @param otherVector The right hand side of the cross product.
+	 * @param destination The vector in which the cross product is stored.
+	 */
+	public final void calculateCrossProduct(final Vector3d otherVector, final Vector3d destination) {
+		Vector3d thisVector = this;
+		
+		// All components are read before any are written, so the destination
+		// may alias either operand:
+		float x = (thisVector.y * otherVector.z) - (thisVector.z * otherVector.y);
+		float y = (thisVector.z * otherVector.x) - (thisVector.x * otherVector.z);
+		float z = (thisVector.x * otherVector.y) - (thisVector.y * otherVector.x);
+		
+		destination.x = x;
+		destination.y = y;
+		destination.z = z;
+	}
+	
+	/**
+	 * <p>Stores a normalized copy of this vector in the <code>destination</code>
+	 * vector. If this vector has a length of zero, it is copied unchanged.</p>
+	 * 
+	 * @param destination The vector in which the normalized vector is stored.
+	 */
+	public final void normalize(final Vector3d destination) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float length = this.calculateLength();
+		// Avoid dividing by zero:
+		if (length != 0.0f) {
+			this.divide(length, destination);
+		} else {
+			this.getComponents(destination);
+		}
+	}
+	
+	/**
+	 * <p>Stores a copy of this vector normalized with
+	 * {@link MathUtilities#inverseSqrtFast(float)} in the
+	 * <code>destination</code> vector, as in {@link #normalizeFast()}.</p>
+	 * 
+	 * @param destination The vector in which the normalized vector is stored.
+	 */
+	public final void normalizeFast(final Vector3d destination) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.VECTOR_NORMALIZE);
+		}
+		
+		float lengthSquared = this.calculateLengthSquared();
+		// Avoid dividing by zero:
+		if (lengthSquared != 0.0f) {
+			this.multiply(MathUtilities.inverseSqrtFast(lengthSquared), destination);
+		} else {
+			this.getComponents(destination);
+		}
+	}
+	
 	/*
 	 * Accessors and Modifiers
 	 */
@@ -241,6 +400,30 @@ public class Vector3d implements Cloneable, Serializable {
 		this.z = z;
 	}
 	
+	/**
+	 * <p>Copies the x, y, and z components of this vector into the
+	 * <code>destination</code> vector.</p>
+	 * 
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getComponents(final Vector3d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+		destination.z = this.z;
+	}
+	
+	/**
+	 * <p>Sets the x, y, and z components of this vector to those of the
+	 * <code>source</code> vector.</p>
+	 * 
+	 * @param source The vector which supplies the values of this vector.
+	 */
+	public final void setComponents(final Vector3d source) {
+		this.x = source.x;
+		this.y = source.y;
+		this.z = source.z;
+	}
+	
 	/**
 	 * <p>Sets the x, y, and z components of this vector to the values supplied
 	 * by the <code>source</code> buffer.</p>
@@ -0,0 +1,411 @@
+package com.elsewhere_games.lib.math;
+
+/**
+ * <p>A fixed size collection of three dimensional vectors. Instead of holding
+ * one {@link Vector3d} object per element, the x, y, and z components of
+ * all vectors are packed into three primitive arrays. The bulk operations provided
+ * here mirror those of {@link Vector3d}, but run over a range of elements in
+ * a single tight loop.</p>
+ *
+ * <p>Ranges are expressed as an <code>offset</code> (the index of the first
+ * element) and a <code>count</code> (the number of elements).</p>
+ */
+
+public class Vector3dArray {
+
+	/*
+	 * Constructors
+	 */
+
+	/**
+	 * <p>Class constructor. Allows the number of vectors stored in this array
+	 * to be specified. All components are initialized to <code>0.0f</code>.</p>
+	 *
+	 * @param length The number of vectors stored in this array.
+	 *
+	 * @throws IllegalArgumentException If the <code>length</code> is negative.
+	 */
+	public Vector3dArray(final int length) throws IllegalArgumentException {
+		if (length < 0) {
+			throw new IllegalArgumentException("The length of a vector array can not be negative.");
+		}
+
+		this.x = new float[length];
+		this.y = new float[length];
+		this.z = new float[length];
+	}
+
+	/*
+	 * Mathematical Operations
+	 */
+
+	/**
+	 * <p>Adds the specified components to every vector in the range.</p>
+	 *
+	 * @param offset The index of the first vector to which to add.
+	 * @param count The number of vectors to which to add.
+	 * @param x The x component to add to each vector.
+	 * @param y The y component to add to each vector.
+	 * @param z The z component to add to each vector.
+	 */
+	public final void add(final int offset, final int count, final float x, final float y, final float z) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] + x;
+			ys[i] = ys[i] + y;
+			zs[i] = zs[i] + z;
+		}
+	}
+
+	/**
+	 * <p>Adds the vectors of the <code>otherArray</code> to the vectors in the
+	 * range, element by element.</p>
+	 *
+	 * @param offset The index of the first vector to which to add.
+	 * @param count The number of vectors to which to add.
+	 * @param otherArray The array containing the vectors to add.
+	 * @param otherOffset The index of the first vector in the
+	 * <code>otherArray</code> to add.
+	 */
+	public final void add(final int offset, final int count, final Vector3dArray otherArray, final int otherOffset) {
+		this.checkRange(offset, count);
+		otherArray.checkRange(otherOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		float[] otherXs = otherArray.x;
+		float[] otherYs = otherArray.y;
+		float[] otherZs = otherArray.z;
+
+		for (int i = 0; i < count; i++) {
+			xs[offset + i] = xs[offset + i] + otherXs[otherOffset + i];
+			ys[offset + i] = ys[offset + i] + otherYs[otherOffset + i];
+			zs[offset + i] = zs[offset + i] + otherZs[otherOffset + i];
+		}
+	}
+
+	/**
+	 * <p>Multiplies the components of every vector in the range by the
+	 * supplied <code>scalar</code>.</p>
+	 *
+	 * @param offset The index of the first vector to scale.
+	 * @param count The number of vectors to scale.
+	 * @param scalar The value by which the vectors are scaled.
+	 */
+	public final void multiply(final int offset, final int count, final float scalar) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] * scalar;
+			ys[i] = ys[i] * scalar;
+			zs[i] = zs[i] * scalar;
+		}
+	}
+
+	/**
+	 * <p>Divides the components of every vector in the range by the supplied
+	 * <code>scalar</code>.</p>
+	 *
+	 * @param offset The index of the first vector to scale.
+	 * @param count The number of vectors to scale.
+	 * @param scalar The value by which the vectors are scaled.
+	 */
+	public final void divide(final int offset, final int count, final float scalar) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			xs[i] = xs[i] / scalar;
+			ys[i] = ys[i] / scalar;
+			zs[i] = zs[i] / scalar;
+		}
+	}
+
+	/**
+	 * <p>Normalizes every vector in the range. Vectors with a length of zero
+	 * are left unchanged, as in {@link Vector3d#normalize()}.</p>
+	 *
+	 * @param offset The index of the first vector to normalize.
+	 * @param count The number of vectors to normalize.
+	 */
+	public final void normalize(final int offset, final int count) {
+		this.checkRange(offset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		int end = offset + count;
+
+		for (int i = offset; i < end; i++) {
+			float length = (float)Math.sqrt((xs[i] * xs[i]) + (ys[i] * ys[i]) + (zs[i] * zs[i]));
+
+			// Avoid dividing by zero without branching, dividing by one is exact:
+			float divisor = (length != 0.0f) ? length : 1.0f;
+
+			xs[i] = xs[i] / divisor;
+			ys[i] = ys[i] / divisor;
+			zs[i] = zs[i] / divisor;
+		}
+	}
+
+	/**
+	 * <p>Calculates the squared length of every vector in the range.</p>
+	 *
+	 * @param offset The index of the first vector.
+	 * @param count The number of vectors.
+	 * @param destination The array in which the squared lengths are stored.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the squared length of the first vector is stored.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> is not
+	 * large enough to hold <code>count</code> values.
+	 */
+	public final void calculateLengthSquared(final int offset, final int count, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		this.checkRange(offset, count);
+		Vector3dArray.checkRange(destination.length, destinationOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+
+		for (int i = 0; i < count; i++) {
+			float x = xs[offset + i];
+			float y = ys[offset + i];
+			float z = zs[offset + i];
+
+			destination[destinationOffset + i] = (x * x) + (y * y) + (z * z);
+		}
+	}
+
+	/**
+	 * <p>Calculates the dot product of every vector in the range with the
+	 * matching vector of the <code>otherArray</code>.</p>
+	 *
+	 * @param offset The index of the first vector.
+	 * @param count The number of vectors.
+	 * @param otherArray The array containing the other vectors.
+	 * @param otherOffset The index of the first vector in the
+	 * <code>otherArray</code>.
+	 * @param destination The array in which the dot products are stored.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the first dot product is stored.
+	 *
+	 * @throws IllegalArgumentException If the <code>destination</code> is not
+	 * large enough to hold <code>count</code> values.
+	 */
+	public final void calculateDotProduct(final int offset, final int count, final Vector3dArray otherArray, final int otherOffset, final float[] destination, final int destinationOffset) throws IllegalArgumentException {
+		this.checkRange(offset, count);
+		otherArray.checkRange(otherOffset, count);
+		Vector3dArray.checkRange(destination.length, destinationOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		float[] otherXs = otherArray.x;
+		float[] otherYs = otherArray.y;
+		float[] otherZs = otherArray.z;
+
+		for (int i = 0; i < count; i++) {
+			destination[destinationOffset + i] = (xs[offset + i] * otherXs[otherOffset + i]) +
+												 (ys[offset + i] * otherYs[otherOffset + i]) +
+												 (zs[offset + i] * otherZs[otherOffset + i]);
+		}
+	}
+
+	/**
+	 * <p>Calculates the cross product of every vector in the range with the
+	 * matching vector of the <code>otherArray</code>, and stores the results in
+	 * the <code>destination</code> array. The <code>destination</code> may be
+	 * either of the two source arrays, as long as the ranges either match or do
+	 * not overlap.</p>
+	 *
+	 * @param offset The index of the first vector.
+	 * @param count The number of vectors.
+	 * @param otherArray The array containing the other vectors.
+	 * @param otherOffset The index of the first vector in the
+	 * <code>otherArray</code>.
+	 * @param destination The array in which the cross products are stored.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the first cross product is stored.
+	 */
+	public final void calculateCrossProduct(final int offset, final int count, final Vector3dArray otherArray, final int otherOffset, final Vector3dArray destination, final int destinationOffset) {
+		this.checkRange(offset, count);
+		otherArray.checkRange(otherOffset, count);
+		destination.checkRange(destinationOffset, count);
+
+		float[] xs = this.x;
+		float[] ys = this.y;
+		float[] zs = this.z;
+		float[] otherXs = otherArray.x;
+		float[] otherYs = otherArray.y;
+		float[] otherZs = otherArray.z;
+		float[] destinationXs = destination.x;
+		float[] destinationYs = destination.y;
+		float[] destinationZs = destination.z;
+
+		for (int i = 0; i < count; i++) {
+			float ax = xs[offset + i];
+			float ay = ys[offset + i];
+			float az = zs[offset + i];
+			float bx = otherXs[otherOffset + i];
+			float by = otherYs[otherOffset + i];
+			float bz = otherZs[otherOffset + i];
+
+			destinationXs[destinationOffset + i] = (ay * bz) - (az * by);
+			destinationYs[destinationOffset + i] = (az * bx) - (ax * bz);
+			destinationZs[destinationOffset + i] = (ax * by) - (ay * bx);
+		}
+	}
+
+	/*
+	 * Accessors and Modifiers
+	 */
+
+	/**
+	 * <p>Gets the number of vectors stored in this array.</p>
+	 *
+	 * @return The number of vectors stored in this array.
+	 */
+	public final int getLength() {
+		return this.x.length;
+	}
+
+	/**
+	 * <p>Gets the x component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @return The x component of the vector.
+	 */
+	public final float getXComponent(final int index) {
+		return this.x[index];
+	}
+
+	/**
+	 * <p>Sets the x component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param x The new x component of the vector.
+	 */
+	public final void setXComponent(final int index, final float x) {
+		this.x[index] = x;
+	}
+
+	/**
+	 * <p>Gets the y component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @return The y component of the vector.
+	 */
+	public final float getYComponent(final int index) {
+		return this.y[index];
+	}
+
+	/**
+	 * <p>Sets the y component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param y The new y component of the vector.
+	 */
+	public final void setYComponent(final int index, final float y) {
+		this.y[index] = y;
+	}
+
+	/**
+	 * <p>Gets the z component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @return The z component of the vector.
+	 */
+	public final float getZComponent(final int index) {
+		return this.z[index];
+	}
+
+	/**
+	 * <p>Sets the z component of the vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param z The new z component of the vector.
+	 */
+	public final void setZComponent(final int index, final float z) {
+		this.z[index] = z;
+	}
+
+	/**
+	 * <p>Sets the x, y, and z components of the vector at the specified
+	 * <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param x The new x component of the vector.
+	 * @param y The new y component of the vector.
+	 * @param z The new z component of the vector.
+	 */
+	public final void setComponents(final int index, final float x, final float y, final float z) {
+		this.x[index] = x;
+		this.y[index] = y;
+		this.z[index] = z;
+	}
+
+	/**
+	 * <p>Copies the vector at the specified <code>index</code> into the
+	 * <code>destination</code> vector.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param destination The vector in which the components are stored.
+	 */
+	public final void getVector(final int index, final Vector3d destination) {
+		destination.setComponents(this.x[index], this.y[index], this.z[index]);
+	}
+
+	/**
+	 * <p>Copies the components of the <code>source</code> vector into the
+	 * vector at the specified <code>index</code>.</p>
+	 *
+	 * @param index The index of the vector.
+	 * @param source The vector which supplies the new components.
+	 */
+	public final void setVector(final int index, final Vector3d source) {
+		this.x[index] = source.getXComponent();
+		this.y[index] = source.getYComponent();
+		this.z[index] = source.getZComponent();
+	}
+
+	/*
+	 * Range Checking
+	 */
+
+	private void checkRange(final int offset, final int count) throws IllegalArgumentException {
+		Vector3dArray.checkRange(this.x.length, offset, count);
+	}
+
+	static void checkRange(final int length, final int offset, final int count) throws IllegalArgumentException {
+		// Written to avoid overflow when offset + count exceeds the int range:
+		if ((offset < 0) || (count < 0) || (offset > length - count)) {
+			throw new IllegalArgumentException("The range [" + offset + ", " + offset + " + " + count + ") lies outside of an array of length " + length + ".");
+		}
+	}
+
+	/*
+	 * Local Fields
+	 */
+
+	private final float[] x;		// The x components of the vectors.
+	private final float[] y;		// The y components of the vectors.
+	private final float[] z;		// The z components of the vectors.
+
+}
@@ -0,0 +1,585 @@
+package com.elsewhere_games.lib.math;
+
+import java.nio.FloatBuffer;
+
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>Batched versions of the {@link Vector3d} operations that work directly
+ * on streams of packed components, such as those produced by
+ * {@link Vector3d#getComponents(FloatBuffer)}. Each vector occupies
+ * {@link Vector3d#COMPONENT_COUNT} consecutive floats in x, y, z order.</p>
+ *
+ * <p>Offsets passed to the array versions are expressed in floats, counts are
+ * expressed in vectors. The buffer versions operate on the vectors starting at
+ * the current position of each buffer and do not change that position. Heap
+ * buffers are processed through their backing arrays, other buffers fall back
+ * to absolute <code>get</code> and <code>put</code> calls.</p>
+ *
+ * <p>The destination of an operation may be the same as one of its sources,
+ * as long as the two ranges either match exactly or do not overlap.</p>
+ *
+ * <p>When the incubating <code>jdk.incubator.vector</code> module is present,
+ * that is when the virtual machine runs with
+ * <code>--add-modules jdk.incubator.vector</code>, addition and scaling of
+ * arrays process a full SIMD register of floats at a time through the Vector
+ * API. The other kernels, and all of them without the module, use scalar
+ * loops. See {@link #VECTORIZED}.</p>
+ */
+
+public final class VectorKernels {
+
+	/*
+	 * Constructors
+	 */
+
+	private VectorKernels() {
+		// Only static kernels are provided.
+	}
+
+	/*
+	 * Array Kernels
+	 */
+
+	/**
+	 * <p>Adds <code>count</code> vectors of <code>a</code> to those of
+	 * <code>b</code>, element by element.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param aOffset The index of the first component in <code>a</code>.
+	 * @param b The second source of vectors.
+	 * @param bOffset The index of the first component in <code>b</code>.
+	 * @param destination The array in which the sums are stored.
+	 * @param destinationOffset The index of the first component in the
+	 * <code>destination</code>.
+	 * @param count The number of vectors to add.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void add(final float[] a, final int aOffset, final float[] b, final int bOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(a.length, aOffset, length);
+		Vector2dArray.checkRange(b.length, bOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, length);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		if (VectorKernels.VECTORIZED) {
+			VectorApiKernels.add(a, aOffset, b, bOffset, destination, destinationOffset, length);
+		} else {
+			// Addition does not care about component boundaries, so the whole range
+			// is treated as a single flat run of floats:
+			for (int i = 0; i < length; i++) {
+				destination[destinationOffset + i] = a[aOffset + i] + b[bOffset + i];
+			}
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Multiplies the components of <code>count</code> vectors by the
+	 * supplied <code>scalar</code>.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param sourceOffset The index of the first component in the
+	 * <code>source</code>.
+	 * @param scalar The value by which the vectors are scaled.
+	 * @param destination The array in which the scaled vectors are stored.
+	 * @param destinationOffset The index of the first component in the
+	 * <code>destination</code>.
+	 * @param count The number of vectors to scale.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void scale(final float[] source, final int sourceOffset, final float scalar, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(source.length, sourceOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, length);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		if (VectorKernels.VECTORIZED) {
+			VectorApiKernels.scale(source, sourceOffset, scalar, destination, destinationOffset, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				destination[destinationOffset + i] = source[sourceOffset + i] * scalar;
+			}
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the dot products of <code>count</code> vectors of
+	 * <code>a</code> with those of <code>b</code>.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param aOffset The index of the first component in <code>a</code>.
+	 * @param b The second source of vectors.
+	 * @param bOffset The index of the first component in <code>b</code>.
+	 * @param destination The array in which the dot products are stored, one
+	 * float per vector.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the first dot product is stored.
+	 * @param count The number of dot products to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void dot(final float[] a, final int aOffset, final float[] b, final int bOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(a.length, aOffset, length);
+		Vector2dArray.checkRange(b.length, bOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		for (int i = 0; i < count; i++) {
+			int aIndex = aOffset + (i * Vector3d.COMPONENT_COUNT);
+			int bIndex = bOffset + (i * Vector3d.COMPONENT_COUNT);
+
+			destination[destinationOffset + i] = (a[aIndex] * b[bIndex]) +
+												 (a[aIndex + 1] * b[bIndex + 1]) +
+												 (a[aIndex + 2] * b[bIndex + 2]);
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the cross products of <code>count</code> vectors of
+	 * <code>a</code> with those of <code>b</code>.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param aOffset The index of the first component in <code>a</code>.
+	 * @param b The second source of vectors.
+	 * @param bOffset The index of the first component in <code>b</code>.
+	 * @param destination The array in which the cross products are stored.
+	 * @param destinationOffset The index of the first component in the
+	 * <code>destination</code>.
+	 * @param count The number of cross products to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void cross(final float[] a, final int aOffset, final float[] b, final int bOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(a.length, aOffset, length);
+		Vector2dArray.checkRange(b.length, bOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, length);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		for (int i = 0; i < length; i += Vector3d.COMPONENT_COUNT) {
+			float ax = a[aOffset + i];
+			float ay = a[aOffset + i + 1];
+			float az = a[aOffset + i + 2];
+			float bx = b[bOffset + i];
+			float by = b[bOffset + i + 1];
+			float bz = b[bOffset + i + 2];
+
+			destination[destinationOffset + i]     = (ay * bz) - (az * by);
+			destination[destinationOffset + i + 1] = (az * bx) - (ax * bz);
+			destination[destinationOffset + i + 2] = (ax * by) - (ay * bx);
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the lengths of <code>count</code> vectors.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param sourceOffset The index of the first component in the
+	 * <code>source</code>.
+	 * @param destination The array in which the lengths are stored, one float
+	 * per vector.
+	 * @param destinationOffset The index in the <code>destination</code> at
+	 * which the first length is stored.
+	 * @param count The number of lengths to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void length(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(source.length, sourceOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, count);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		for (int i = 0; i < count; i++) {
+			int index = sourceOffset + (i * Vector3d.COMPONENT_COUNT);
+			float x = source[index];
+			float y = source[index + 1];
+			float z = source[index + 2];
+
+			destination[destinationOffset + i] = (float)Math.sqrt((x * x) + (y * y) + (z * z));
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Normalizes <code>count</code> vectors. Vectors with a length of zero
+	 * are copied unchanged, as in {@link Vector3d#normalize()}.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param sourceOffset The index of the first component in the
+	 * <code>source</code>.
+	 * @param destination The array in which the normalized vectors are stored.
+	 * @param destinationOffset The index of the first component in the
+	 * <code>destination</code>.
+	 * @param count The number of vectors to normalize.
+	 *
+	 * @throws IllegalArgumentException If any of the ranges lie outside of
+	 * their array.
+	 */
+	public static void normalize(final float[] source, final int sourceOffset, final float[] destination, final int destinationOffset, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		Vector2dArray.checkRange(source.length, sourceOffset, length);
+		Vector2dArray.checkRange(destination.length, destinationOffset, length);
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		for (int i = 0; i < length; i += Vector3d.COMPONENT_COUNT) {
+			float x = source[sourceOffset + i];
+			float y = source[sourceOffset + i + 1];
+			float z = source[sourceOffset + i + 2];
+			float vectorLength = (float)Math.sqrt((x * x) + (y * y) + (z * z));
+
+			// Avoid dividing by zero without branching, dividing by one is exact:
+			float divisor = (vectorLength != 0.0f) ? vectorLength : 1.0f;
+
+			destination[destinationOffset + i]     = x / divisor;
+			destination[destinationOffset + i + 1] = y / divisor;
+			destination[destinationOffset + i + 2] = z / divisor;
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/*
+	 * Buffer Kernels
+	 */
+
+	/**
+	 * <p>Adds <code>count</code> vectors of <code>a</code> to those of
+	 * <code>b</code>, element by element.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param b The second source of vectors.
+	 * @param destination The buffer in which the sums are stored.
+	 * @param count The number of vectors to add.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void add(final FloatBuffer a, final FloatBuffer b, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(a, length);
+		VectorKernels.checkRemaining(b, length);
+		VectorKernels.checkRemaining(destination, length);
+
+		if (a.hasArray() && b.hasArray() && destination.hasArray()) {
+			VectorKernels.add(a.array(), VectorKernels.arrayIndex(a), b.array(), VectorKernels.arrayIndex(b), destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int aPosition = a.position();
+		int bPosition = b.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < length; i++) {
+			destination.put(destinationPosition + i, a.get(aPosition + i) + b.get(bPosition + i));
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Multiplies the components of <code>count</code> vectors by the
+	 * supplied <code>scalar</code>.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param scalar The value by which the vectors are scaled.
+	 * @param destination The buffer in which the scaled vectors are stored.
+	 * @param count The number of vectors to scale.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void scale(final FloatBuffer source, final float scalar, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(source, length);
+		VectorKernels.checkRemaining(destination, length);
+
+		if (source.hasArray() && destination.hasArray()) {
+			VectorKernels.scale(source.array(), VectorKernels.arrayIndex(source), scalar, destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int sourcePosition = source.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < length; i++) {
+			destination.put(destinationPosition + i, source.get(sourcePosition + i) * scalar);
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the dot products of <code>count</code> vectors of
+	 * <code>a</code> with those of <code>b</code>.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param b The second source of vectors.
+	 * @param destination The buffer in which the dot products are stored, one
+	 * float per vector.
+	 * @param count The number of dot products to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void dot(final FloatBuffer a, final FloatBuffer b, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(a, length);
+		VectorKernels.checkRemaining(b, length);
+		VectorKernels.checkRemaining(destination, count);
+
+		if (a.hasArray() && b.hasArray() && destination.hasArray()) {
+			VectorKernels.dot(a.array(), VectorKernels.arrayIndex(a), b.array(), VectorKernels.arrayIndex(b), destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int aPosition = a.position();
+		int bPosition = b.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < count; i++) {
+			int aIndex = aPosition + (i * Vector3d.COMPONENT_COUNT);
+			int bIndex = bPosition + (i * Vector3d.COMPONENT_COUNT);
+
+			float dotProduct = (a.get(aIndex) * b.get(bIndex)) +
+							   (a.get(aIndex + 1) * b.get(bIndex + 1)) +
+							   (a.get(aIndex + 2) * b.get(bIndex + 2));
+
+			destination.put(destinationPosition + i, dotProduct);
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the cross products of <code>count</code> vectors of
+	 * <code>a</code> with those of <code>b</code>.</p>
+	 *
+	 * @param a The first source of vectors.
+	 * @param b The second source of vectors.
+	 * @param destination The buffer in which the cross products are stored.
+	 * @param count The number of cross products to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void cross(final FloatBuffer a, final FloatBuffer b, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(a, length);
+		VectorKernels.checkRemaining(b, length);
+		VectorKernels.checkRemaining(destination, length);
+
+		if (a.hasArray() && b.hasArray() && destination.hasArray()) {
+			VectorKernels.cross(a.array(), VectorKernels.arrayIndex(a), b.array(), VectorKernels.arrayIndex(b), destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int aPosition = a.position();
+		int bPosition = b.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < length; i += Vector3d.COMPONENT_COUNT) {
+			float ax = a.get(aPosition + i);
+			float ay = a.get(aPosition + i + 1);
+			float az = a.get(aPosition + i + 2);
+			float bx = b.get(bPosition + i);
+			float by = b.get(bPosition + i + 1);
+			float bz = b.get(bPosition + i + 2);
+
+			destination.put(destinationPosition + i,     (ay * bz) - (az * by));
+			destination.put(destinationPosition + i + 1, (az * bx) - (ax * bz));
+			destination.put(destinationPosition + i + 2, (ax * by) - (ay * bx));
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Calculates the lengths of <code>count</code> vectors.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param destination The buffer in which the lengths are stored, one float
+	 * per vector.
+	 * @param count The number of lengths to calculate.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void length(final FloatBuffer source, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(source, length);
+		VectorKernels.checkRemaining(destination, count);
+
+		if (source.hasArray() && destination.hasArray()) {
+			VectorKernels.length(source.array(), VectorKernels.arrayIndex(source), destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int sourcePosition = source.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < count; i++) {
+			int index = sourcePosition + (i * Vector3d.COMPONENT_COUNT);
+			float x = source.get(index);
+			float y = source.get(index + 1);
+			float z = source.get(index + 2);
+
+			destination.put(destinationPosition + i, (float)Math.sqrt((x * x) + (y * y) + (z * z)));
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/**
+	 * <p>Normalizes <code>count</code> vectors. Vectors with a length of zero
+	 * are copied unchanged, as in {@link Vector3d#normalize()}.</p>
+	 *
+	 * @param source The source of vectors.
+	 * @param destination The buffer in which the normalized vectors are stored.
+	 * @param count The number of vectors to normalize.
+	 *
+	 * @throws IllegalArgumentException If any of the buffers does not have
+	 * enough components remaining.
+	 */
+	public static void normalize(final FloatBuffer source, final FloatBuffer destination, final int count) throws IllegalArgumentException {
+		int length = VectorKernels.componentCount(count);
+		VectorKernels.checkRemaining(source, length);
+		VectorKernels.checkRemaining(destination, length);
+
+		if (source.hasArray() && destination.hasArray()) {
+			VectorKernels.normalize(source.array(), VectorKernels.arrayIndex(source), destination.array(), VectorKernels.arrayIndex(destination), count);
+			return;
+		}
+
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+
+		int sourcePosition = source.position();
+		int destinationPosition = destination.position();
+
+		for (int i = 0; i < length; i += Vector3d.COMPONENT_COUNT) {
+			float x = source.get(sourcePosition + i);
+			float y = source.get(sourcePosition + i + 1);
+			float z = source.get(sourcePosition + i + 2);
+			float vectorLength = (float)Math.sqrt((x * x) + (y * y) + (z * z));
+
+			// Avoid dividing by zero without branching, dividing by one is exact:
+			float divisor = (vectorLength != 0.0f) ? vectorLength : 1.0f;
+
+			destination.put(destinationPosition + i,     x / divisor);
+			destination.put(destinationPosition + i + 1, y / divisor);
+			destination.put(destinationPosition + i + 2, z / divisor);
+		}
+
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.VECTOR_KERNEL, sample, count);
+		}
+	}
+
+	/*
+	 * Range Checking
+	 */
+
+	private static int componentCount(final int count) throws IllegalArgumentException {
+		if ((count < 0) || (count > Integer.MAX_VALUE / Vector3d.COMPONENT_COUNT)) {
+			throw new IllegalArgumentException("The vector count " + count + " is out of range.");
+		}
+
+		return count * Vector3d.COMPONENT_COUNT;
+	}
+
+	private static void checkRemaining(final FloatBuffer buffer, final int length) throws IllegalArgumentException {
+		if (buffer.remaining() < length) {
+			throw new IllegalArgumentException("The specified buffer does not contain enough components.");
+		}
+	}
+
+	private static int arrayIndex(final FloatBuffer buffer) {
+		return buffer.arrayOffset() + buffer.position();
+	}
+
+	/*
+	 * Implementation Selection
+	 */
+
+	private static boolean isVectorApiAvailable() {
+		if (Boolean.getBoolean("com.elsewhere_games.lib.math.scalarKernels")) {
+			return false;
+		}
+
+		// The implementation class is only loaded once this check has passed,
+		// so the module is not needed otherwise:
+		return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	}
+
+	/*
+	 * Constants
+	 */
+
+	/**
+	 * <p>Whether addition and scaling of arrays, and of heap buffers, use the
+	 * Vector API. It is decided once, and is <code>true</code> when
+	 * the <code>jdk.incubator.vector</code> module is present, unless the
+	 * system property <code>com.elsewhere_games.lib.math.scalarKernels</code>
+	 * is set to <code>true</code>. Kernels on direct buffers always use scalar
+	 * loops.</p>
+	 */
+	public static final boolean VECTORIZED = VectorKernels.isVectorApiAvailable();
+
+}
@@ -72,6 +72,42 @@ public class Vertex2d implements Cloneable, Serializable {
 		this.y = this.y + y;
 	}
 	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex and stores the result
+	 * in the <code>destination</code> vertex. Neither this vertex nor the
+	 * <code>otherVertex</code> is modified, unless one of them is also the
+	 * <code>destination</code>.</p>
+	 * 
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @param destination The vertex in which the sum is stored.
+	 */
+	public final void add(final Vertex2d otherVertex, final Vertex2d destination) {
+		destination.x = this.x + otherVertex.x;
+		destination.y = this.y + otherVertex.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 * 
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 */
+	public final void subtract(final Vertex2d otherVertex) {
+		this.x -= otherVertex.x;
+		this.y -= otherVertex.y;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex and stores the
+	 * result in the <code>destination</code> vertex.</p>
+	 * 
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @param destination The vertex in which the difference is stored.
+	 */
+	public final void subtract(final Vertex2d otherVertex, final Vertex2d destination) {
+		destination.x = this.x - otherVertex.x;
+		destination.y = this.y - otherVertex.y;
+	}
+	
 	/**
 	 * <p>Calculates the angle between the <code>otherVertex</code> and this
 	 * vertex, expressed in radians.</p>
@@ -86,6 +122,22 @@ public class Vertex2d implements Cloneable, Serializable {
 		return (float)Math.atan2(xDifference, yDifference);
 	}
 	
+	/**
+	 * <p>Calculates the angle between the <code>otherVertex</code> and this
+	 * vertex like {@link #angleBetween(Vertex2d)}, using
+	 * {@link MathUtilities#atan2Fast(float, float)}. The result is within
+	 * <code>3e-6</code> radians of the exact angle.</p>
+	 * 
+	 * @param otherVertex The vertex between which to calculate the angle.
+	 * @return The angle between this vertex and the other vertex in radians.
+	 */
+	public float angleBetweenFast(final Vertex2d otherVertex) {
+		float xDifference = otherVertex.x - this.x;
+		float yDifference = otherVertex.y - this.y;
+		
+		return MathUtilities.atan2Fast(xDifference, yDifference);
+	}
+	
 	/*
 	 * Accessors and Modifiers
 	 */
@@ -146,6 +198,39 @@ public class Vertex2d implements Cloneable, Serializable {
 		destination.put(this.y);
 	}
 	
+	/**
+	 * <p>Copies the x and y components of this vertex into the
+	 * <code>destination</code> vertex.</p>
+	 * 
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public final void getComponents(final Vertex2d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+	}
+	
+	/**
+	 * <p>Sets the x and y components of this vertex to the specified values.</p>
+	 * 
+	 * @param x The new x component of this vertex.
+	 * @param y The new y component of this vertex.
+	 */
+	public final void setComponents(final float x, final float y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * <p>Sets the x and y components of this vertex to those of the
+	 * <code>source</code> vertex.</p>
+	 * 
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final Vertex2d source) {
+		this.x = source.x;
+		this.y = source.y;
+	}
+	
 	/*
 	 * Java Object Overrides
 	 */
@@ -35,6 +35,62 @@ public class Vertex3d implements Cloneable, Serializable {
 		this.z = z;
 	}
 	
+	/*
+	 * Mathematical Operations
+	 */
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex, meaning that the x,
+	 * y, and z components of the specified vertex are added to their
+	 * correlating components of this vertex.</p>
+	 * 
+	 * @param otherVertex The vertex to add to this vertex.
+	 */
+	public final void add(final Vertex3d otherVertex) {
+		this.x += otherVertex.x;
+		this.y += otherVertex.y;
+		this.z += otherVertex.z;
+	}
+	
+	/**
+	 * <p>Adds the <code>otherVertex</code> to this vertex and stores the result
+	 * in the <code>destination</code> vertex. Neither this vertex nor the
+	 * <code>otherVertex</code> is modified, unless one of them is also the
+	 * <code>destination</code>.</p>
+	 * 
+	 * @param otherVertex The vertex to add to this vertex.
+	 * @param destination The vertex in which the sum is stored.
+	 */
+	public final void add(final Vertex3d otherVertex, final Vertex3d destination) {
+		destination.x = this.x + otherVertex.x;
+		destination.y = this.y + otherVertex.y;
+		destination.z = this.z + otherVertex.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex.</p>
+	 * 
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 */
+	public final void subtract(final Vertex3d otherVertex) {
+		this.x -= otherVertex.x;
+		this.y -= otherVertex.y;
+		this.z -= otherVertex.z;
+	}
+	
+	/**
+	 * <p>Subtracts the <code>otherVertex</code> from this vertex and stores the
+	 * result in the <code>destination</code> vertex.</p>
+	 * 
+	 * @param otherVertex The vertex to subtract from this vertex.
+	 * @param destination The vertex in which the difference is stored.
+	 */
+	public final void subtract(final Vertex3d otherVertex, final Vertex3d destination) {
+		destination.x = this.x - otherVertex.x;
+		destination.y = this.y - otherVertex.y;
+		destination.z = this.z - otherVertex.z;
+	}
+	
 	/*
 	 * Accessors and Modifiers
 	 */
@@ -114,6 +170,44 @@ public class Vertex3d implements Cloneable, Serializable {
 		destination.put(this.z);
 	}
 	
+	/**
+	 * <p>Copies the x, y, and z components of this vertex into the
+	 * <code>destination</code> vertex.</p>
+	 * 
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public final void getComponents(final Vertex3d destination) {
+		destination.x = this.x;
+		destination.y = this.y;
+		destination.z = this.z;
+	}
+	
+	/**
+	 * <p>Sets the x, y, and z components of this vertex to the specified
+	 * values.</p>
+	 * 
+	 * @param x The new x component of this vertex.
+	 * @param y The new y component of this vertex.
+	 * @param z The new z component of this vertex.
+	 */
+	public final void setComponents(final float x, final float y, final float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * <p>Sets the x, y, and z components of this vertex to those of the
+	 * <code>source</code> vertex.</p>
+	 * 
+	 * @param source The vertex which supplies the values of this vertex.
+	 */
+	public final void setComponents(final Vertex3d source) {
+		this.x = source.x;
+		this.y = source.y;
+		this.z = source.z;
+	}
+	
 	/*
 	 * Java Object Overrides
 	 */
@@ -1,6 +1,9 @@
 package com.elsewhere_games.lib.math.boundingvolume;
 
+import com.elsewhere_games.lib.math.Vector2d;
 import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
 
 public class AxisAlignedBoundingBox implements BoundingVolume {
 
@@ -33,6 +36,9 @@ public class AxisAlignedBoundingBox implements BoundingVolume {
 		this.center = center;
 		this.width = width;
 		this.height = height;
+		
+		this.halfWidth = width * 0.5f;
+		this.halfHeight = height * 0.5f;
 	}
 	
 	/*
@@ -41,23 +47,68 @@ public class AxisAlignedBoundingBox implements BoundingVolume {
 	
 	@Override
 	public boolean contains(Vertex2d point) {
-		boolean contains = true;
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_CONTAINS);
+		}
+		
+		/*
+		 * The point lies inside of this box if its distance to the center is no
+		 * larger than the half extents on both axes. The half extents are
+		 * cached, and the two comparisons are combined without branching.
+		 */
 		
-		float halfWidth = this.width / 2;
-		float halfHeight = this.height / 2;
+		float deltaX = Math.abs(point.getX() - this.center.getX());
+		float deltaY = Math.abs(point.getY() - this.center.getY());
 		
-		// Check all extents for containment:		
-		if (
-				(point.getX() < this.center.getX() - halfWidth) 	||
-				(point.getX() > this.center.getX() + halfWidth) 	||
-				(point.getY() < this.center.getY() - halfHeight)	||
-				(point.getY() > this.center.getY() + halfHeight)
-			) 
-		{
-			contains = false;
+		return (deltaX <= this.halfWidth) & (deltaY <= this.halfHeight);
+	}
+	
+	@Override
+	public boolean intersects(BoundingVolume other) {
+		return other.intersects(this);
+	}
+	
+	@Override
+	public boolean intersects(Circle circle) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_INTERSECTS);
 		}
 		
-		return contains;
+		return Intersections.intersects(circle, this);
+	}
+	
+	@Override
+	public boolean intersects(AxisAlignedBoundingBox box) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_INTERSECTS);
+		}
+		
+		return Intersections.intersects(this, box);
+	}
+	
+	@Override
+	public boolean castRay(Vertex2d origin, Vector2d direction, float maximumDistance, RayCastResult result) {
+		return Intersections.castRay(this, origin, direction, maximumDistance, result);
+	}
+	
+	@Override
+	public float getLeft() {
+		return this.center.getX() - this.halfWidth;
+	}
+	
+	@Override
+	public float getRight() {
+		return this.center.getX() + this.halfWidth;
+	}
+	
+	@Override
+	public float getBottom() {
+		return this.center.getY() - this.halfHeight;
+	}
+	
+	@Override
+	public float getTop() {
+		return this.center.getY() + this.halfHeight;
 	}
 	
 	/*
@@ -96,4 +147,28 @@ public class AxisAlignedBoundingBox implements BoundingVolume {
 	public float getHeight() {
 		return this.height;
 	}
+	
+	private final float halfWidth;
+	
+	/**
+	 * <p>Gets half of the width of this axis aligned bounding box, the
+	 * distance from its center to its left and right edges.</p>
+	 * 
+	 * @return Half of the width of this axis aligned bounding box.
+	 */
+	public float getHalfWidth() {
+		return this.halfWidth;
+	}
+	
+	private final float halfHeight;
+	
+	/**
+	 * <p>Gets half of the height of this axis aligned bounding box, the
+	 * distance from its center to its bottom and top edges.</p>
+	 * 
+	 * @return Half of the height of this axis aligned bounding box.
+	 */
+	public float getHalfHeight() {
+		return this.halfHeight;
+	}
 }
@@ -1,5 +1,6 @@
 package com.elsewhere_games.lib.math.boundingvolume;
 
+import com.elsewhere_games.lib.math.Vector2d;
 import com.elsewhere_games.lib.math.Vertex2d;
 
 public interface BoundingVolume {
@@ -25,4 +26,89 @@ public interface BoundingVolume {
 	 */
 	public boolean contains(Vertex2d point);
 	
+	/**
+	 * <p>Checks to see if this bounding volume and the <code>other</code>
+	 * bounding volume overlap. Volumes which only touch are considered to
+	 * overlap.</p>
+	 * 
+	 * <p>Implementations pass themselves to one of the typed overloads of the
+	 * <code>other</code> volume, so the exact test for the pair is selected
+	 * without checking the types of the volumes.</p>
+	 * 
+	 * @param other The bounding volume to check against.
+	 * @return <code>true</code> if the two volumes overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public boolean intersects(BoundingVolume other);
+	
+	/**
+	 * <p>Checks to see if this bounding volume and the <code>circle</code>
+	 * overlap.</p>
+	 * 
+	 * @param circle The circle to check against.
+	 * @return <code>true</code> if the two volumes overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public boolean intersects(Circle circle);
+	
+	/**
+	 * <p>Checks to see if this bounding volume and the <code>box</code>
+	 * overlap.</p>
+	 * 
+	 * @param box The box to check against.
+	 * @return <code>true</code> if the two volumes overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public boolean intersects(AxisAlignedBoundingBox box);
+	
+	/**
+	 * <p>Casts a ray against this bounding volume. The ray starts at the
+	 * <code>origin</code> and covers the distances from <code>0</code> up to
+	 * <code>maximumDistance</code>, measured in multiples of the length of the
+	 * <code>direction</code>. A segment is cast by using the difference
+	 * between its end and its start as the direction, and <code>1</code> as
+	 * the maximum distance.</p>
+	 * 
+	 * @param origin The point at which the ray starts.
+	 * @param direction The direction in which the ray travels.
+	 * @param maximumDistance The length of the ray.
+	 * @param result Receives the entry distance if the ray hits this volume,
+	 * and is left unchanged otherwise.
+	 * @return <code>true</code> if the ray hits this volume,
+	 * <code>false</code> otherwise.
+	 */
+	public boolean castRay(Vertex2d origin, Vector2d direction, float maximumDistance, RayCastResult result);
+	
+	/*
+	 * Extents
+	 */
+	
+	/**
+	 * <p>Gets the smallest x coordinate covered by this bounding volume.</p>
+	 * 
+	 * @return The left edge of the axis aligned box enclosing this volume.
+	 */
+	public float getLeft();
+	
+	/**
+	 * <p>Gets the largest x coordinate covered by this bounding volume.</p>
+	 * 
+	 * @return The right edge of the axis aligned box enclosing this volume.
+	 */
+	public float getRight();
+	
+	/**
+	 * <p>Gets the smallest y coordinate covered by this bounding volume.</p>
+	 * 
+	 * @return The bottom edge of the axis aligned box enclosing this volume.
+	 */
+	public float getBottom();
+	
+	/**
+	 * <p>Gets the largest y coordinate covered by this bounding volume.</p>
+	 * 
+	 * @return The top edge of the axis aligned box enclosing this volume.
+	 */
+	public float getTop();
+	
 }
@@ -0,0 +1,22 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+public interface BoundingVolumePairVisitor {
+	
+	/*
+	 * Visitor Operations
+	 */
+	
+	/**
+	 * <p>Called for every pair of bounding volumes found by a pair query. Each
+	 * pair is reported once, in no particular order.</p>
+	 * 
+	 * @param handleA The handle of the first volume.
+	 * @param volumeA The first bounding volume.
+	 * @param handleB The handle of the second volume.
+	 * @param volumeB The second bounding volume.
+	 * @return <code>true</code> to continue the query, <code>false</code> to
+	 * stop it.
+	 */
+	public boolean visit(int handleA, BoundingVolume volumeA, int handleB, BoundingVolume volumeB);
+	
+}
@@ -0,0 +1,769 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import java.util.Arrays;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>A dynamic bounding volume hierarchy. Every bounding volume is stored in
+ * a leaf whose axis aligned box is enlarged by a margin, a so called fat box,
+ * so that small movements do not require the tree to change. Inner nodes
+ * hold the box enclosing both of their children, and the tree is kept
+ * balanced with rotations as volumes are inserted and removed.</p>
+ *
+ * <p>Unlike a {@link SpatialHashGrid}, a tree adapts to volumes of very
+ * different sizes. Nodes are not objects: all node data is kept in parallel
+ * primitive arrays indexed by node, and the handle of a volume is the index
+ * of its leaf. Queries use an internal stack and do not allocate, which also
+ * means a tree must not be used by multiple threads at once.</p>
+ */
+
+public class BoundingVolumeTree {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the margin by which leaf boxes are
+	 * enlarged to be specified. Larger margins mean fewer updates for moving
+	 * volumes but more candidates per query.</p>
+	 *
+	 * @param margin The distance added to every side of a leaf box.
+	 *
+	 * @throws IllegalArgumentException If the margin is negative.
+	 */
+	public BoundingVolumeTree(final float margin) throws IllegalArgumentException {
+		if (!(margin >= 0.0f)) {
+			throw new IllegalArgumentException("The margin can not be negative.");
+		}
+		
+		this.margin = margin;
+		this.root = BoundingVolumeTree.NONE;
+		this.freeNode = BoundingVolumeTree.NONE;
+		this.stack = new int[BoundingVolumeTree.INITIAL_CAPACITY];
+		
+		this.allocateNodes(BoundingVolumeTree.INITIAL_CAPACITY);
+	}
+	
+	/*
+	 * Tree Operations
+	 */
+	
+	/**
+	 * <p>Inserts the <code>volume</code> into this tree.</p>
+	 *
+	 * @param volume The volume to insert.
+	 * @return The handle which refers to the volume in this tree.
+	 *
+	 * @throws IllegalArgumentException If the extents of the volume are not
+	 * finite.
+	 */
+	public int insert(final BoundingVolume volume) throws IllegalArgumentException {
+		BoundingVolumeTree.checkExtents(volume);
+		
+		int leaf = this.allocateNode();
+		
+		this.volumes[leaf] = volume;
+		this.height[leaf] = 0;
+		this.setFatBox(leaf, volume);
+		this.insertLeaf(leaf);
+		this.volumeCount++;
+		
+		return leaf;
+	}
+	
+	/**
+	 * <p>Removes the volume referred to by <code>handle</code> from this
+	 * tree. The handle may be reused by a later insertion.</p>
+	 *
+	 * @param handle The handle of the volume to remove.
+	 *
+	 * @throws IllegalArgumentException If the handle does not refer to a
+	 * volume in this tree.
+	 */
+	public void remove(final int handle) throws IllegalArgumentException {
+		this.checkHandle(handle);
+		
+		this.removeLeaf(handle);
+		this.releaseNode(handle);
+		this.volumeCount--;
+	}
+	
+	/**
+	 * <p>Updates the tree after the volume referred to by <code>handle</code>
+	 * moved or changed size. As long as the volume still lies within the fat
+	 * box of its leaf nothing is changed, otherwise the leaf is re-inserted
+	 * with a new fat box.</p>
+	 *
+	 * @param handle The handle of the volume which changed.
+	 * @return <code>true</code> if the leaf was re-inserted,
+	 * <code>false</code> if the volume still fit its fat box.
+	 *
+	 * @throws IllegalArgumentException If the handle does not refer to a
+	 * volume in this tree, or if the extents of the volume are no longer
+	 * finite, in which case its leaf is left unchanged.
+	 */
+	public boolean update(final int handle) throws IllegalArgumentException {
+		this.checkHandle(handle);
+		
+		BoundingVolume volume = this.volumes[handle];
+		BoundingVolumeTree.checkExtents(volume);
+		
+		int base = handle * 4;
+		
+		if (
+				(volume.getLeft() >= this.boxes[base]) 			&&
+				(volume.getBottom() >= this.boxes[base + 1]) 	&&
+				(volume.getRight() <= this.boxes[base + 2]) 	&&
+				(volume.getTop() <= this.boxes[base + 3])
+			)
+		{
+			return false;
+		}
+		
+		this.removeLeaf(handle);
+		this.setFatBox(handle, volume);
+		this.insertLeaf(handle);
+		
+		return true;
+	}
+	
+	/*
+	 * Queries
+	 */
+	
+	/**
+	 * <p>Visits every volume which contains the specified
+	 * <code>point</code>.</p>
+	 *
+	 * @param point The point to test.
+	 * @param visitor The visitor which is given each containing volume.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 */
+	public boolean queryPoint(final Vertex2d point, final BoundingVolumeVisitor visitor) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitPoint(point, visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, 1);
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a point query, without instrumentation. See
+	 * {@link #queryPoint(Vertex2d, BoundingVolumeVisitor)}.</p>
+	 */
+	private boolean visitPoint(final Vertex2d point, final BoundingVolumeVisitor visitor) {
+		float x = point.getX();
+		float y = point.getY();
+		int stackSize = this.pushRoot();
+		
+		while (stackSize > 0) {
+			int node = this.stack[--stackSize];
+			int base = node * 4;
+			
+			if ((x < this.boxes[base]) || (y < this.boxes[base + 1]) || (x > this.boxes[base + 2]) || (y > this.boxes[base + 3])) {
+				continue;
+			}
+			
+			if (this.height[node] == 0) {
+				if (this.volumes[node].contains(point) && !visitor.visit(node, this.volumes[node])) {
+					return false;
+				}
+			} else {
+				stackSize = this.pushChildren(node, stackSize);
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Visits every volume whose enclosing box overlaps the specified
+	 * rectangle.</p>
+	 *
+	 * @param left The smallest x coordinate of the rectangle.
+	 * @param bottom The smallest y coordinate of the rectangle.
+	 * @param right The largest x coordinate of the rectangle.
+	 * @param top The largest y coordinate of the rectangle.
+	 * @param visitor The visitor which is given each overlapping volume.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 */
+	public boolean queryRectangle(final float left, final float bottom, final float right, final float top, final BoundingVolumeVisitor visitor) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitRectangle(left, bottom, right, top, visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, 1);
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a rectangle query, without instrumentation. See
+	 * {@link #queryRectangle(float, float, float, float, BoundingVolumeVisitor)}.</p>
+	 */
+	private boolean visitRectangle(final float left, final float bottom, final float right, final float top, final BoundingVolumeVisitor visitor) {
+		int stackSize = this.pushRoot();
+		
+		while (stackSize > 0) {
+			int node = this.stack[--stackSize];
+			
+			if (!this.overlaps(node, left, bottom, right, top)) {
+				continue;
+			}
+			
+			if (this.height[node] == 0) {
+				BoundingVolume volume = this.volumes[node];
+				boolean overlaps = 	(volume.getLeft() <= right) 	&&
+									(volume.getRight() >= left) 	&&
+									(volume.getBottom() <= top) 	&&
+									(volume.getTop() >= bottom);
+				
+				if (overlaps && !visitor.visit(node, volume)) {
+					return false;
+				}
+			} else {
+				stackSize = this.pushChildren(node, stackSize);
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Visits every volume whose leaf box is crossed by the ray starting at
+	 * the <code>origin</code> and travelling along the <code>direction</code>
+	 * for at most <code>maximumDistance</code> times the length of the
+	 * direction. The visited volumes are candidates; the visitor is expected to
+	 * perform an exact test where needed.</p>
+	 *
+	 * @param origin The point at which the ray starts.
+	 * @param direction The direction in which the ray travels.
+	 * @param maximumDistance The length of the ray, as a multiple of the
+	 * length of the <code>direction</code>.
+	 * @param visitor The visitor which is given each candidate volume.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 */
+	public boolean rayCast(final Vertex2d origin, final Vector2d direction, final float maximumDistance, final BoundingVolumeVisitor visitor) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitRay(origin, direction, maximumDistance, visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, 1);
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a ray query, without instrumentation. See
+	 * {@link #rayCast(Vertex2d, Vector2d, float, BoundingVolumeVisitor)}.</p>
+	 */
+	private boolean visitRay(final Vertex2d origin, final Vector2d direction, final float maximumDistance, final BoundingVolumeVisitor visitor) {
+		float originX = origin.getX();
+		float originY = origin.getY();
+		float directionX = direction.getXComponent();
+		float directionY = direction.getYComponent();
+		int stackSize = this.pushRoot();
+		
+		while (stackSize > 0) {
+			int node = this.stack[--stackSize];
+			int base = node * 4;
+			
+			float distance = Intersections.castRay(
+					this.boxes[base], this.boxes[base + 1], this.boxes[base + 2], this.boxes[base + 3],
+					originX, originY, directionX, directionY, maximumDistance);
+			
+			if (distance < 0.0f) {
+				continue;
+			}
+			
+			if (this.height[node] == 0) {
+				if (!visitor.visit(node, this.volumes[node])) {
+					return false;
+				}
+			} else {
+				stackSize = this.pushChildren(node, stackSize);
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Visits every pair of volumes whose enclosing boxes overlap. Every
+	 * pair is reported once.</p>
+	 *
+	 * @param visitor The visitor which is given each overlapping pair.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 */
+	public boolean queryPairs(final BoundingVolumePairVisitor visitor) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitPairs(visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_PAIRS, sample, this.getVolumeCount());
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a pair query, without instrumentation. See
+	 * {@link #queryPairs(BoundingVolumePairVisitor)}.</p>
+	 */
+	private boolean visitPairs(final BoundingVolumePairVisitor visitor) {
+		// Every leaf queries the tree with its own box. Only partners with a
+		// larger handle are reported, so each pair is found exactly once:
+		for (int leaf = 0; leaf < this.nodeCount; leaf++) {
+			if ((this.height[leaf] != 0) || (this.volumes[leaf] == null)) {
+				continue;
+			}
+			
+			BoundingVolume volume = this.volumes[leaf];
+			float left = volume.getLeft();
+			float bottom = volume.getBottom();
+			float right = volume.getRight();
+			float top = volume.getTop();
+			int stackSize = this.pushRoot();
+			
+			while (stackSize > 0) {
+				int node = this.stack[--stackSize];
+				
+				if (!this.overlaps(node, left, bottom, right, top)) {
+					continue;
+				}
+				
+				if (this.height[node] != 0) {
+					stackSize = this.pushChildren(node, stackSize);
+				} else if (node > leaf) {
+					BoundingVolume other = this.volumes[node];
+					boolean overlaps = 	(other.getLeft() <= right) 		&&
+										(other.getRight() >= left) 		&&
+										(other.getBottom() <= top) 		&&
+										(other.getTop() >= bottom);
+					
+					if (overlaps && !visitor.visit(leaf, volume, node, other)) {
+						return false;
+					}
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final float margin;
+	
+	/**
+	 * <p>Gets the distance by which leaf boxes are enlarged.</p>
+	 *
+	 * @return The margin of the leaf boxes.
+	 */
+	public final float getMargin() {
+		return this.margin;
+	}
+	
+	private int volumeCount;
+	
+	/**
+	 * <p>Gets the number of volumes in this tree.</p>
+	 *
+	 * @return The number of volumes in this tree.
+	 */
+	public final int getVolumeCount() {
+		return this.volumeCount;
+	}
+	
+	/**
+	 * <p>Gets the height of this tree, a leaf having a height of zero.</p>
+	 *
+	 * @return The height of this tree, or <code>-1</code> if it is empty.
+	 */
+	public final int getHeight() {
+		return (this.root == BoundingVolumeTree.NONE) ? -1 : this.height[this.root];
+	}
+	
+	/**
+	 * <p>Gets the volume referred to by the specified <code>handle</code>.</p>
+	 *
+	 * @param handle The handle of the volume.
+	 * @return The volume, or <code>null</code> if the handle is not in use.
+	 */
+	public final BoundingVolume getVolume(final int handle) {
+		return ((handle >= 0) && (handle < this.nodeCount)) ? this.volumes[handle] : null;
+	}
+	
+	/*
+	 * Leaf Insertion and Removal
+	 */
+	
+	private void insertLeaf(final int leaf) {
+		if (this.root == BoundingVolumeTree.NONE) {
+			this.root = leaf;
+			this.parent[leaf] = BoundingVolumeTree.NONE;
+			return;
+		}
+		
+		// Walk down to the sibling which makes the enlarged tree cheapest, using
+		// the perimeter of the boxes as the cost:
+		int leafBase = leaf * 4;
+		int sibling = this.root;
+		
+		while (this.height[sibling] != 0) {
+			int child1 = this.child1[sibling];
+			int child2 = this.child2[sibling];
+			
+			float perimeter = this.perimeter(sibling);
+			float combinedPerimeter = this.combinedPerimeter(sibling, leafBase);
+			
+			// The cost of creating a new parent here, and the cost of pushing the
+			// leaf further down:
+			float cost = 2.0f * combinedPerimeter;
+			float inheritanceCost = 2.0f * (combinedPerimeter - perimeter);
+			
+			float cost1 = this.descentCost(child1, leafBase) + inheritanceCost;
+			float cost2 = this.descentCost(child2, leafBase) + inheritanceCost;
+			
+			if ((cost < cost1) && (cost < cost2)) {
+				break;
+			}
+			
+			sibling = (cost1 < cost2) ? child1 : child2;
+		}
+		
+		// Create a new parent for the sibling and the leaf:
+		int oldParent = this.parent[sibling];
+		int newParent = this.allocateNode();
+		
+		this.parent[newParent] = oldParent;
+		this.volumes[newParent] = null;
+		this.height[newParent] = this.height[sibling] + 1;
+		this.combine(newParent, sibling, leaf);
+		
+		if (oldParent != BoundingVolumeTree.NONE) {
+			if (this.child1[oldParent] == sibling) {
+				this.child1[oldParent] = newParent;
+			} else {
+				this.child2[oldParent] = newParent;
+			}
+		} else {
+			this.root = newParent;
+		}
+		
+		this.child1[newParent] = sibling;
+		this.child2[newParent] = leaf;
+		this.parent[sibling] = newParent;
+		this.parent[leaf] = newParent;
+		
+		this.refit(this.parent[leaf]);
+	}
+	
+	private void removeLeaf(final int leaf) {
+		if (leaf == this.root) {
+			this.root = BoundingVolumeTree.NONE;
+			return;
+		}
+		
+		// The parent of the leaf is removed and replaced by the leaf's sibling:
+		int parent = this.parent[leaf];
+		int grandParent = this.parent[parent];
+		int sibling = (this.child1[parent] == leaf) ? this.child2[parent] : this.child1[parent];
+		
+		if (grandParent != BoundingVolumeTree.NONE) {
+			if (this.child1[grandParent] == parent) {
+				this.child1[grandParent] = sibling;
+			} else {
+				this.child2[grandParent] = sibling;
+			}
+			
+			this.parent[sibling] = grandParent;
+			this.releaseNode(parent);
+			this.refit(grandParent);
+		} else {
+			this.root = sibling;
+			this.parent[sibling] = BoundingVolumeTree.NONE;
+			this.releaseNode(parent);
+		}
+	}
+	
+	/**
+	 * <p>Walks from the specified node up to the root, rebalancing and
+	 * recalculating boxes and heights on the way.</p>
+	 */
+	private void refit(final int start) {
+		int node = start;
+		
+		while (node != BoundingVolumeTree.NONE) {
+			node = this.balance(node);
+			
+			int child1 = this.child1[node];
+			int child2 = this.child2[node];
+			
+			this.height[node] = 1 + Math.max(this.height[child1], this.height[child2]);
+			this.combine(node, child1, child2);
+			
+			node = this.parent[node];
+		}
+	}
+	
+	/**
+	 * <p>Performs a left or right rotation if the subtree rooted at
+	 * <code>a</code> is imbalanced, and returns the new root of the
+	 * subtree.</p>
+	 */
+	private int balance(final int a) {
+		if (this.height[a] < 2) {
+			return a;
+		}
+		
+		int b = this.child1[a];
+		int c = this.child2[a];
+		int balance = this.height[c] - this.height[b];
+		
+		if (balance > 1) {
+			return this.rotate(a, c, b, false);
+		}
+		
+		if (balance < -1) {
+			return this.rotate(a, b, c, true);
+		}
+		
+		return a;
+	}
+	
+	/**
+	 * <p>Promotes the taller child <code>up</code> of <code>a</code> to take
+	 * the place of <code>a</code>. The shorter grandchild of <code>up</code>
+	 * becomes a child of <code>a</code>.</p>
+	 */
+	private int rotate(final int a, final int up, final int other, final boolean upIsChild1) {
+		int f = this.child1[up];
+		int g = this.child2[up];
+		
+		// Swap a and up:
+		this.child1[up] = a;
+		this.parent[up] = this.parent[a];
+		this.parent[a] = up;
+		
+		int upParent = this.parent[up];
+		if (upParent != BoundingVolumeTree.NONE) {
+			if (this.child1[upParent] == a) {
+				this.child1[upParent] = up;
+			} else {
+				this.child2[upParent] = up;
+			}
+		} else {
+			this.root = up;
+		}
+		
+		// Keep the taller grandchild under up, hand the other to a:
+		int keep = (this.height[f] > this.height[g]) ? f : g;
+		int give = (keep == f) ? g : f;
+		
+		this.child2[up] = keep;
+		if (upIsChild1) {
+			this.child1[a] = give;
+		} else {
+			this.child2[a] = give;
+		}
+		this.parent[give] = a;
+		
+		this.combine(a, other, give);
+		this.combine(up, a, keep);
+		
+		this.height[a] = 1 + Math.max(this.height[other], this.height[give]);
+		this.height[up] = 1 + Math.max(this.height[a], this.height[keep]);
+		
+		return up;
+	}
+	
+	/*
+	 * Box Calculations
+	 */
+	
+	private void setFatBox(final int leaf, final BoundingVolume volume) {
+		int base = leaf * 4;
+		
+		this.boxes[base] = volume.getLeft() - this.margin;
+		this.boxes[base + 1] = volume.getBottom() - this.margin;
+		this.boxes[base + 2] = volume.getRight() + this.margin;
+		this.boxes[base + 3] = volume.getTop() + this.margin;
+	}
+	
+	private void combine(final int node, final int a, final int b) {
+		int base = node * 4;
+		int aBase = a * 4;
+		int bBase = b * 4;
+		
+		this.boxes[base] = Math.min(this.boxes[aBase], this.boxes[bBase]);
+		this.boxes[base + 1] = Math.min(this.boxes[aBase + 1], this.boxes[bBase + 1]);
+		this.boxes[base + 2] = Math.max(this.boxes[aBase + 2], this.boxes[bBase + 2]);
+		this.boxes[base + 3] = Math.max(this.boxes[aBase + 3], this.boxes[bBase + 3]);
+	}
+	
+	private float perimeter(final int node) {
+		int base = node * 4;
+		
+		return 2.0f * ((this.boxes[base + 2] - this.boxes[base]) + (this.boxes[base + 3] - this.boxes[base + 1]));
+	}
+	
+	private float combinedPerimeter(final int node, final int otherBase) {
+		int base = node * 4;
+		float width = Math.max(this.boxes[base + 2], this.boxes[otherBase + 2]) - Math.min(this.boxes[base], this.boxes[otherBase]);
+		float height = Math.max(this.boxes[base + 3], this.boxes[otherBase + 3]) - Math.min(this.boxes[base + 1], this.boxes[otherBase + 1]);
+		
+		return 2.0f * (width + height);
+	}
+	
+	private float descentCost(final int child, final int leafBase) {
+		float combined = this.combinedPerimeter(child, leafBase);
+		
+		if (this.height[child] == 0) {
+			return combined;
+		}
+		
+		return combined - this.perimeter(child);
+	}
+	
+	private boolean overlaps(final int node, final float left, final float bottom, final float right, final float top) {
+		int base = node * 4;
+		
+		return 	(this.boxes[base] <= right) 		&&
+				(this.boxes[base + 1] <= top) 		&&
+				(this.boxes[base + 2] >= left) 		&&
+				(this.boxes[base + 3] >= bottom);
+	}
+	
+	/*
+	 * Traversal Stack
+	 */
+	
+	private int pushRoot() {
+		if (this.root == BoundingVolumeTree.NONE) {
+			return 0;
+		}
+		
+		this.stack[0] = this.root;
+		return 1;
+	}
+	
+	private int pushChildren(final int node, final int stackSize) {
+		if (stackSize + 2 > this.stack.length) {
+			this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+		}
+		
+		this.stack[stackSize] = this.child1[node];
+		this.stack[stackSize + 1] = this.child2[node];
+		
+		return stackSize + 2;
+	}
+	
+	/*
+	 * Node Management
+	 */
+	
+	private int allocateNode() {
+		if (this.freeNode == BoundingVolumeTree.NONE) {
+			if (this.nodeCount == this.height.length) {
+				this.growNodes();
+			}
+			
+			return this.nodeCount++;
+		}
+		
+		int node = this.freeNode;
+		this.freeNode = this.parent[node];
+		
+		return node;
+	}
+	
+	private void releaseNode(final int node) {
+		// Free nodes are chained through their parent index, and are marked
+		// with a negative height so they are never mistaken for leaves:
+		this.parent[node] = this.freeNode;
+		this.height[node] = BoundingVolumeTree.NONE;
+		this.volumes[node] = null;
+		this.freeNode = node;
+	}
+	
+	private void allocateNodes(final int capacity) {
+		this.boxes = new float[capacity * 4];
+		this.parent = new int[capacity];
+		this.child1 = new int[capacity];
+		this.child2 = new int[capacity];
+		this.height = new int[capacity];
+		this.volumes = new BoundingVolume[capacity];
+	}
+	
+	private void growNodes() {
+		int capacity = this.height.length * 2;
+		
+		this.boxes = Arrays.copyOf(this.boxes, capacity * 4);
+		this.parent = Arrays.copyOf(this.parent, capacity);
+		this.child1 = Arrays.copyOf(this.child1, capacity);
+		this.child2 = Arrays.copyOf(this.child2, capacity);
+		this.height = Arrays.copyOf(this.height, capacity);
+		this.volumes = Arrays.copyOf(this.volumes, capacity);
+	}
+	
+	private void checkHandle(final int handle) throws IllegalArgumentException {
+		if ((handle < 0) || (handle >= this.nodeCount) || (this.height[handle] != 0) || (this.volumes[handle] == null)) {
+			throw new IllegalArgumentException("The handle " + handle + " does not refer to a volume in this tree.");
+		}
+	}
+	
+	private static void checkExtents(final BoundingVolume volume) throws IllegalArgumentException {
+		float left = volume.getLeft();
+		float bottom = volume.getBottom();
+		float right = volume.getRight();
+		float top = volume.getTop();
+		
+		// NaN would spread into the fat boxes of every ancestor and the costs
+		// which decide where leaves are inserted:
+		if (!Float.isFinite(left) || !Float.isFinite(bottom) || !Float.isFinite(right) || !Float.isFinite(top)) {
+			throw new IllegalArgumentException("The extents (" + left + ", " + bottom + ") to (" + right + ", " + top + ") are not finite.");
+		}
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private float[] boxes;					// Indexed by node * 4: left, bottom, right, top.
+	private int[] parent;					// The parent of each node, or the next free node.
+	private int[] child1;
+	private int[] child2;
+	private int[] height;					// Zero for leaves, negative for free nodes.
+	private BoundingVolume[] volumes;		// The volume of each leaf, null for other nodes.
+	
+	private int root;
+	private int nodeCount;
+	private int freeNode;
+	private int[] stack;					// Reused by every query.
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int NONE = -1;
+	private static final int INITIAL_CAPACITY = 64;
+
+}
@@ -0,0 +1,20 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+public interface BoundingVolumeVisitor {
+	
+	/*
+	 * Visitor Operations
+	 */
+	
+	/**
+	 * <p>Called for every bounding volume found by a query.</p>
+	 * 
+	 * @param handle The handle under which the volume was inserted into the
+	 * structure being queried.
+	 * @param volume The bounding volume found.
+	 * @return <code>true</code> to continue the query, <code>false</code> to
+	 * stop it.
+	 */
+	public boolean visit(int handle, BoundingVolume volume);
+
+}
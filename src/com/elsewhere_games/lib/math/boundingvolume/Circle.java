@@ -1,6 +1,9 @@
 package com.elsewhere_games.lib.math.boundingvolume;
 
+import com.elsewhere_games.lib.math.Vector2d;
 import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
 
 public class Circle implements BoundingVolume {
 
@@ -59,6 +62,9 @@ public class Circle implements BoundingVolume {
 
 	@Override
 	public boolean contains(Vertex2d point) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_CONTAINS);
+		}
 		
 		/*
 		 * The algorithm uses the Pythagorean theorem in calculating the
@@ -77,6 +83,54 @@ public class Circle implements BoundingVolume {
 				
 		return (deltaSquaredSum <= squaredRadius);
 	}
+	
+	@Override
+	public boolean intersects(BoundingVolume other) {
+		return other.intersects(this);
+	}
+	
+	@Override
+	public boolean intersects(Circle circle) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_INTERSECTS);
+		}
+		
+		return Intersections.intersects(this, circle);
+	}
+	
+	@Override
+	public boolean intersects(AxisAlignedBoundingBox box) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_INTERSECTS);
+		}
+		
+		return Intersections.intersects(this, box);
+	}
+	
+	@Override
+	public boolean castRay(Vertex2d origin, Vector2d direction, float maximumDistance, RayCastResult result) {
+		return Intersections.castRay(this, origin, direction, maximumDistance, result);
+	}
+	
+	@Override
+	public float getLeft() {
+		return this.center.getX() - this.radius;
+	}
+	
+	@Override
+	public float getRight() {
+		return this.center.getX() + this.radius;
+	}
+	
+	@Override
+	public float getBottom() {
+		return this.center.getY() - this.radius;
+	}
+	
+	@Override
+	public float getTop() {
+		return this.center.getY() + this.radius;
+	}
 
 	
 	
@@ -0,0 +1,102 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import com.elsewhere_games.lib.math.DoubleVertex2d;
+
+/**
+ * <p>An axis aligned bounding box with a double precision center and
+ * size.</p>
+ */
+
+public class DoubleAxisAlignedBoundingBox implements DoubleBoundingVolume {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the <code>center</code>, <code>width</code>
+	 * and <code>height</code> of this bounding box to be specified.</p>
+	 *
+	 * @param center The center of this bounding box.
+	 * @param width The width of this bounding box.
+	 * @param height The height of this bounding box.
+	 */
+	public DoubleAxisAlignedBoundingBox(final DoubleVertex2d center, final double width, final double height) {
+		this.center = center;
+		this.width = width;
+		this.height = height;
+		
+		this.halfWidth = width * 0.5;
+		this.halfHeight = height * 0.5;
+	}
+	
+	/*
+	 * Bounding Volume Operations
+	 */
+	
+	@Override
+	public boolean contains(final DoubleVertex2d point) {
+		double deltaX = Math.abs(point.getX() - this.center.getX());
+		double deltaY = Math.abs(point.getY() - this.center.getY());
+		
+		// Both comparisons are always made, which avoids a branch:
+		return (deltaX <= this.halfWidth) & (deltaY <= this.halfHeight);
+	}
+	
+	@Override
+	public double getLeft() {
+		return this.center.getX() - this.halfWidth;
+	}
+	
+	@Override
+	public double getRight() {
+		return this.center.getX() + this.halfWidth;
+	}
+	
+	@Override
+	public double getBottom() {
+		return this.center.getY() - this.halfHeight;
+	}
+	
+	@Override
+	public double getTop() {
+		return this.center.getY() + this.halfHeight;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final DoubleVertex2d center;
+	
+	@Override
+	public DoubleVertex2d getCenter() {
+		return this.center;
+	}
+	
+	private final double width;
+	
+	/**
+	 * <p>Gets the width of this axis aligned bounding box.</p>
+	 *
+	 * @return The width of this axis aligned bounding box.
+	 */
+	public double getWidth() {
+		return this.width;
+	}
+	
+	private final double height;
+	
+	/**
+	 * <p>Gets the height of this axis aligned bounding box.</p>
+	 *
+	 * @return The height of this axis aligned bounding box.
+	 */
+	public double getHeight() {
+		return this.height;
+	}
+	
+	private final double halfWidth;
+	private final double halfHeight;
+
+}
@@ -0,0 +1,66 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import com.elsewhere_games.lib.math.DoubleVertex2d;
+
+/**
+ * <p>A bounding volume with double precision coordinates. It mirrors
+ * {@link BoundingVolume}, for volumes which lie too far from the origin to be
+ * represented accurately as floats.</p>
+ */
+
+public interface DoubleBoundingVolume {
+	
+	/*
+	 * Bounds Operations
+	 */
+	
+	/**
+	 * <p>Gets the center of this bounding volume.</p>
+	 *
+	 * @return The center of this bounding volume.
+	 */
+	public DoubleVertex2d getCenter();
+	
+	/**
+	 * <p>Check to see if the specified <code>point</code> lies inside of this
+	 * bounding volume.</p>
+	 *
+	 * @param point The point to check for containment in these bounds.
+	 * @return <code>true</code> if the specified point lies inside of this
+	 * bounding volume, <code>false</code> otherwise.
+	 */
+	public boolean contains(DoubleVertex2d point);
+	
+	/*
+	 * Extents
+	 */
+	
+	/**
+	 * <p>Gets the smallest x coordinate covered by this bounding volume.</p>
+	 *
+	 * @return The left edge of the axis aligned box enclosing this volume.
+	 */
+	public double getLeft();
+	
+	/**
+	 * <p>Gets the largest x coordinate covered by this bounding volume.</p>
+	 *
+	 * @return The right edge of the axis aligned box enclosing this volume.
+	 */
+	public double getRight();
+	
+	/**
+	 * <p>Gets the smallest y coordinate covered by this bounding volume.</p>
+	 *
+	 * @return The bottom edge of the axis aligned box enclosing this volume.
+	 */
+	public double getBottom();
+	
+	/**
+	 * <p>Gets the largest y coordinate covered by this bounding volume.</p>
+	 *
+	 * @return The top edge of the axis aligned box enclosing this volume.
+	 */
+	public double getTop();
+
+}
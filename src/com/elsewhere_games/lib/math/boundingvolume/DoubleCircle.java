@@ -0,0 +1,90 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import com.elsewhere_games.lib.math.DoubleVertex2d;
+
+/**
+ * <p>A bounding circle with a double precision center and radius.</p>
+ */
+
+public class DoubleCircle implements DoubleBoundingVolume {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates a bounding circle with it's center set to
+	 * (0, 0) and a radius of 1.</p>
+	 */
+	public DoubleCircle() {
+		this(new DoubleVertex2d(), 1.0);
+	}
+	
+	/**
+	 * <p>Class constructor. Allows the <code>center</code> and
+	 * <code>radius</code> to be specified.</p>
+	 *
+	 * @param center Where the center of this bounding circle is located.
+	 * @param radius The radius of this circle.
+	 */
+	public DoubleCircle(final DoubleVertex2d center, final double radius) {
+		this.center = center;
+		this.radius = radius;
+	}
+	
+	/*
+	 * Bounding Volume Interface
+	 */
+	
+	@Override
+	public boolean contains(final DoubleVertex2d point) {
+		// Compare squared distances, which avoids a square root:
+		double deltaX = point.getX() - this.center.getX();
+		double deltaY = point.getY() - this.center.getY();
+		
+		return ((deltaX * deltaX) + (deltaY * deltaY)) <= (this.radius * this.radius);
+	}
+	
+	@Override
+	public double getLeft() {
+		return this.center.getX() - this.radius;
+	}
+	
+	@Override
+	public double getRight() {
+		return this.center.getX() + this.radius;
+	}
+	
+	@Override
+	public double getBottom() {
+		return this.center.getY() - this.radius;
+	}
+	
+	@Override
+	public double getTop() {
+		return this.center.getY() + this.radius;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final DoubleVertex2d center;
+	
+	@Override
+	public DoubleVertex2d getCenter() {
+		return this.center;
+	}
+	
+	private final double radius;
+	
+	/**
+	 * <p>Gets the radius of this bounding circle.</p>
+	 *
+	 * @return The radius of this bounding circle.
+	 */
+	public final double getRadius() {
+		return this.radius;
+	}
+
+}
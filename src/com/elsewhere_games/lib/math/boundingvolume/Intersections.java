@@ -0,0 +1,470 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import com.elsewhere_games.lib.math.MathUtilities;
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>Exact overlap tests between pairs of bounding volumes, ray casts
+ * against bounding volumes, and batched versions which test one volume or
+ * ray against an array of volumes. Volumes which only touch are considered
+ * to overlap.</p>
+ *
+ * <p>The batched tests over arrays of a single type of volume call the exact
+ * test for that pair directly. The batched test over an array of mixed
+ * volumes goes through {@link BoundingVolume#intersects(BoundingVolume)}
+ * instead.</p>
+ */
+
+public final class Intersections {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private Intersections() {
+		// Only static tests are provided.
+	}
+	
+	/*
+	 * Pair Tests
+	 */
+	
+	/**
+	 * <p>Checks to see if two circles overlap, by comparing the squared
+	 * distance between their centers to the square of the sum of their
+	 * radii.</p>
+	 *
+	 * @param a The first circle.
+	 * @param b The second circle.
+	 * @return <code>true</code> if the circles overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public static boolean intersects(final Circle a, final Circle b) {
+		Vertex2d centerA = a.getCenter();
+		Vertex2d centerB = b.getCenter();
+		
+		float deltaX = centerB.getX() - centerA.getX();
+		float deltaY = centerB.getY() - centerA.getY();
+		float radii = a.getRadius() + b.getRadius();
+		
+		return ((deltaX * deltaX) + (deltaY * deltaY)) <= (radii * radii);
+	}
+	
+	/**
+	 * <p>Checks to see if two axis aligned bounding boxes overlap, by
+	 * comparing their extents on both axes.</p>
+	 *
+	 * @param a The first box.
+	 * @param b The second box.
+	 * @return <code>true</code> if the boxes overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public static boolean intersects(final AxisAlignedBoundingBox a, final AxisAlignedBoundingBox b) {
+		Vertex2d centerA = a.getCenter();
+		Vertex2d centerB = b.getCenter();
+		
+		// The boxes overlap when the distance between their centers is no more
+		// than the sum of their half extents, on both axes:
+		float deltaX = Math.abs(centerB.getX() - centerA.getX());
+		float deltaY = Math.abs(centerB.getY() - centerA.getY());
+		
+		return 	(deltaX <= (a.getHalfWidth() + b.getHalfWidth())) &&
+				(deltaY <= (a.getHalfHeight() + b.getHalfHeight()));
+	}
+	
+	/**
+	 * <p>Checks to see if a circle and an axis aligned bounding box overlap.
+	 * The point of the box closest to the center of the circle is found by
+	 * clamping the center to the extents of the box, after which the circle
+	 * overlaps the box if it contains that point.</p>
+	 *
+	 * @param circle The circle.
+	 * @param box The box.
+	 * @return <code>true</code> if the volumes overlap, <code>false</code>
+	 * otherwise.
+	 */
+	public static boolean intersects(final Circle circle, final AxisAlignedBoundingBox box) {
+		Vertex2d center = circle.getCenter();
+		float x = center.getX();
+		float y = center.getY();
+		
+		float closestX = MathUtilities.clamp(x, box.getLeft(), box.getRight());
+		float closestY = MathUtilities.clamp(y, box.getBottom(), box.getTop());
+		
+		float deltaX = x - closestX;
+		float deltaY = y - closestY;
+		float radius = circle.getRadius();
+		
+		return ((deltaX * deltaX) + (deltaY * deltaY)) <= (radius * radius);
+	}
+	
+	/*
+	 * Batched Tests
+	 */
+	
+	/**
+	 * <p>Checks the <code>volume</code> against every volume in
+	 * <code>others</code>.</p>
+	 *
+	 * @param volume The volume to test.
+	 * @param others The volumes to test against.
+	 * @param results Receives, at the index of each of the <code>others</code>,
+	 * whether it overlaps the <code>volume</code>.
+	 * @return The number of volumes which overlap the <code>volume</code>.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>others</code>.
+	 */
+	public static int intersects(final BoundingVolume volume, final BoundingVolume[] others, final boolean[] results) throws IllegalArgumentException {
+		Intersections.checkResults(others.length, results);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		int count = 0;
+		for (int i = 0; i < others.length; i++) {
+			boolean intersects = volume.intersects(others[i]);
+			
+			results[i] = intersects;
+			count += intersects ? 1 : 0;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, others.length);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Checks the <code>circle</code> against every circle in
+	 * <code>others</code>.</p>
+	 *
+	 * @param circle The circle to test.
+	 * @param others The circles to test against.
+	 * @param results Receives, at the index of each of the <code>others</code>,
+	 * whether it overlaps the <code>circle</code>.
+	 * @return The number of circles which overlap the <code>circle</code>.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>others</code>.
+	 */
+	public static int intersects(final Circle circle, final Circle[] others, final boolean[] results) throws IllegalArgumentException {
+		Intersections.checkResults(others.length, results);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		int count = 0;
+		for (int i = 0; i < others.length; i++) {
+			boolean intersects = Intersections.intersects(circle, others[i]);
+			
+			results[i] = intersects;
+			count += intersects ? 1 : 0;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, others.length);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Checks the <code>circle</code> against every box in
+	 * <code>others</code>.</p>
+	 *
+	 * @param circle The circle to test.
+	 * @param others The boxes to test against.
+	 * @param results Receives, at the index of each of the <code>others</code>,
+	 * whether it overlaps the <code>circle</code>.
+	 * @return The number of boxes which overlap the <code>circle</code>.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>others</code>.
+	 */
+	public static int intersects(final Circle circle, final AxisAlignedBoundingBox[] others, final boolean[] results) throws IllegalArgumentException {
+		Intersections.checkResults(others.length, results);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		int count = 0;
+		for (int i = 0; i < others.length; i++) {
+			boolean intersects = Intersections.intersects(circle, others[i]);
+			
+			results[i] = intersects;
+			count += intersects ? 1 : 0;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, others.length);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Checks the <code>box</code> against every circle in
+	 * <code>others</code>.</p>
+	 *
+	 * @param box The box to test.
+	 * @param others The circles to test against.
+	 * @param results Receives, at the index of each of the <code>others</code>,
+	 * whether it overlaps the <code>box</code>.
+	 * @return The number of circles which overlap the <code>box</code>.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>others</code>.
+	 */
+	public static int intersects(final AxisAlignedBoundingBox box, final Circle[] others, final boolean[] results) throws IllegalArgumentException {
+		Intersections.checkResults(others.length, results);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		int count = 0;
+		for (int i = 0; i < others.length; i++) {
+			boolean intersects = Intersections.intersects(others[i], box);
+			
+			results[i] = intersects;
+			count += intersects ? 1 : 0;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, others.length);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Checks the <code>box</code> against every box in
+	 * <code>others</code>.</p>
+	 *
+	 * @param box The box to test.
+	 * @param others The boxes to test against.
+	 * @param results Receives, at the index of each of the <code>others</code>,
+	 * whether it overlaps the <code>box</code>.
+	 * @return The number of boxes which overlap the <code>box</code>.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>others</code>.
+	 */
+	public static int intersects(final AxisAlignedBoundingBox box, final AxisAlignedBoundingBox[] others, final boolean[] results) throws IllegalArgumentException {
+		Intersections.checkResults(others.length, results);
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		int count = 0;
+		for (int i = 0; i < others.length; i++) {
+			boolean intersects = Intersections.intersects(box, others[i]);
+			
+			results[i] = intersects;
+			count += intersects ? 1 : 0;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, others.length);
+		}
+		
+		return count;
+	}
+	
+	/*
+	 * Ray Casts
+	 */
+	
+	/**
+	 * <p>Casts a ray against a circle. The entry distance is found by solving
+	 * the quadratic equation for the points of the ray at the radius of the
+	 * circle.</p>
+	 * 
+	 * @param circle The circle to cast against.
+	 * @param origin The point at which the ray starts.
+	 * @param direction The direction in which the ray travels.
+	 * @param maximumDistance The length of the ray, in multiples of the length
+	 * of the <code>direction</code>.
+	 * @param result Receives the entry distance if the ray hits the circle,
+	 * and is left unchanged otherwise.
+	 * @return <code>true</code> if the ray hits the circle, <code>false</code>
+	 * otherwise.
+	 */
+	public static boolean castRay(final Circle circle, final Vertex2d origin, final Vector2d direction, final float maximumDistance, final RayCastResult result) {
+		Vertex2d center = circle.getCenter();
+		
+		float distance = Intersections.castRay(
+				center.getX(), center.getY(), circle.getRadius(),
+				origin.getX(), origin.getY(), direction.getXComponent(), direction.getYComponent(), maximumDistance);
+		
+		return Intersections.record(distance, -1, result);
+	}
+	
+	/**
+	 * <p>Casts a ray against an axis aligned bounding box, using the slab
+	 * method.</p>
+	 * 
+	 * @param box The box to cast against.
+	 * @param origin The point at which the ray starts.
+	 * @param direction The direction in which the ray travels.
+	 * @param maximumDistance The length of the ray, in multiples of the length
+	 * of the <code>direction</code>.
+	 * @param result Receives the entry distance if the ray hits the box, and
+	 * is left unchanged otherwise.
+	 * @return <code>true</code> if the ray hits the box, <code>false</code>
+	 * otherwise.
+	 */
+	public static boolean castRay(final AxisAlignedBoundingBox box, final Vertex2d origin, final Vector2d direction, final float maximumDistance, final RayCastResult result) {
+		float distance = Intersections.castRay(
+				box.getLeft(), box.getBottom(), box.getRight(), box.getTop(),
+				origin.getX(), origin.getY(), direction.getXComponent(), direction.getYComponent(), maximumDistance);
+		
+		return Intersections.record(distance, -1, result);
+	}
+	
+	/**
+	 * <p>Casts a ray against every volume in <code>volumes</code> and finds the
+	 * nearest hit. Every hit shortens the ray for the remaining volumes, and
+	 * the cast stops as soon as a volume containing the <code>origin</code> is
+	 * found.</p>
+	 * 
+	 * @param origin The point at which the ray starts.
+	 * @param direction The direction in which the ray travels.
+	 * @param maximumDistance The length of the ray, in multiples of the length
+	 * of the <code>direction</code>.
+	 * @param volumes The volumes to cast against.
+	 * @param result Receives the entry distance and index of the nearest
+	 * volume hit. It is cleared first, and holds no hit if nothing was hit.
+	 * @return The index of the nearest volume hit, or <code>-1</code> if
+	 * nothing was hit.
+	 */
+	public static int castRay(final Vertex2d origin, final Vector2d direction, final float maximumDistance, final BoundingVolume[] volumes, final RayCastResult result) {
+		result.clear();
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		float nearest = maximumDistance;
+		int nearestIndex = -1;
+		
+		for (int i = 0; i < volumes.length; i++) {
+			if (volumes[i].castRay(origin, direction, nearest, result)) {
+				nearest = result.getDistance();
+				nearestIndex = i;
+				
+				if (nearest == 0.0f) {
+					break;
+				}
+			}
+		}
+		
+		if (nearestIndex >= 0) {
+			result.set(nearest, nearestIndex);
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_BATCH, sample, volumes.length);
+		}
+		
+		return nearestIndex;
+	}
+	
+	/**
+	 * <p>Casts a ray against a circle given by its components.</p>
+	 * 
+	 * @return The entry distance, or <code>-1</code> if the ray misses.
+	 */
+	static float castRay(final float centerX, final float centerY, final float radius, final float originX, final float originY, final float directionX, final float directionY, final float maximumDistance) {
+		float offsetX = originX - centerX;
+		float offsetY = originY - centerY;
+		float c = ((offsetX * offsetX) + (offsetY * offsetY)) - (radius * radius);
+		
+		// A ray starting inside of the circle enters it right away:
+		if (c <= 0.0f) {
+			return (maximumDistance >= 0.0f) ? 0.0f : Intersections.MISS;
+		}
+		
+		float a = (directionX * directionX) + (directionY * directionY);
+		float b = (offsetX * directionX) + (offsetY * directionY);
+		
+		// Rays which do not move, or which move away from the circle, miss it:
+		if ((a == 0.0f) || (b >= 0.0f)) {
+			return Intersections.MISS;
+		}
+		
+		float discriminant = (b * b) - (a * c);
+		
+		if (discriminant < 0.0f) {
+			return Intersections.MISS;
+		}
+		
+		float distance = (-b - (float)Math.sqrt(discriminant)) / a;
+		
+		return (distance <= maximumDistance) ? distance : Intersections.MISS;
+	}
+	
+	/**
+	 * <p>Casts a ray against a box given by its extents, using the slab
+	 * method.</p>
+	 * 
+	 * @return The entry distance, or <code>-1</code> if the ray misses.
+	 */
+	static float castRay(final float left, final float bottom, final float right, final float top, final float originX, final float originY, final float directionX, final float directionY, final float maximumDistance) {
+		float near = 0.0f;
+		float far = maximumDistance;
+		
+		// A ray parallel to a slab has to start between its planes:
+		if (directionX == 0.0f) {
+			if ((originX < left) || (originX > right)) {
+				return Intersections.MISS;
+			}
+		} else {
+			float inverse = 1.0f / directionX;
+			float t1 = (left - originX) * inverse;
+			float t2 = (right - originX) * inverse;
+			
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+		
+		if (directionY == 0.0f) {
+			if ((originY < bottom) || (originY > top)) {
+				return Intersections.MISS;
+			}
+		} else {
+			float inverse = 1.0f / directionY;
+			float t1 = (bottom - originY) * inverse;
+			float t2 = (top - originY) * inverse;
+			
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+		
+		return (near <= far) ? near : Intersections.MISS;
+	}
+	
+	private static boolean record(final float distance, final int index, final RayCastResult result) {
+		if (distance < 0.0f) {
+			return false;
+		}
+		
+		result.set(distance, index);
+		return true;
+	}
+	
+	/*
+	 * Local Methods
+	 */
+	
+	private static void checkResults(final int length, final boolean[] results) throws IllegalArgumentException {
+		if (results.length < length) {
+			throw new IllegalArgumentException("The results array is shorter than the array of volumes.");
+		}
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final float MISS = -1.0f;
+
+}
@@ -0,0 +1,190 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import java.util.Arrays;
+
+/**
+ * <p>An open addressing hash map from <code>long</code> keys to
+ * <code>int</code> values, which does not box keys or values and does not
+ * allocate once it has grown to its working size. Collisions are resolved by
+ * linear probing, removal uses backward shifting so no tombstones are
+ * left.</p>
+ */
+
+final class LongIntHashMap {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates an empty map with room for at least
+	 * <code>expectedSize</code> entries before it grows.</p>
+	 * 
+	 * @param expectedSize The number of entries expected.
+	 */
+	LongIntHashMap(final int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(LongIntHashMap.MINIMUM_CAPACITY, expectedSize * 2) - 1) << 1;
+		this.allocate(capacity);
+	}
+	
+	/*
+	 * Map Operations
+	 */
+	
+	/**
+	 * <p>Gets the value stored under the <code>key</code>.</p>
+	 * 
+	 * @param key The key to look up.
+	 * @param missingValue The value returned if the key is not present.
+	 * @return The value stored under the key, or <code>missingValue</code>.
+	 */
+	int get(final long key, final int missingValue) {
+		int slot = this.find(key);
+		
+		return (slot < 0) ? missingValue : this.values[slot];
+	}
+	
+	/**
+	 * <p>Stores the <code>value</code> under the <code>key</code>, replacing
+	 * any previous value.</p>
+	 * 
+	 * @param key The key to store the value under.
+	 * @param value The value to store.
+	 */
+	void put(final long key, final int value) {
+		if ((this.size + 1) > (this.keys.length >> 1)) {
+			this.grow();
+		}
+		
+		int mask = this.keys.length - 1;
+		int slot = LongIntHashMap.hash(key) & mask;
+		
+		while (this.occupied[slot]) {
+			if (this.keys[slot] == key) {
+				this.values[slot] = value;
+				return;
+			}
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		this.occupied[slot] = true;
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+	}
+	
+	/**
+	 * <p>Removes the <code>key</code> and its value from this map.</p>
+	 * 
+	 * @param key The key to remove.
+	 */
+	void remove(final long key) {
+		int slot = this.find(key);
+		
+		if (slot < 0) {
+			return;
+		}
+		
+		// Shift following entries of the same probe run back into the gap, so
+		// lookups never stop early at an empty slot:
+		int mask = this.keys.length - 1;
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		
+		while (this.occupied[next]) {
+			int home = LongIntHashMap.hash(this.keys[next]) & mask;
+			
+			// Move the entry if its home slot does not lie in (gap, next]:
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				this.keys[gap] = this.keys[next];
+				this.values[gap] = this.values[next];
+				gap = next;
+			}
+			
+			next = (next + 1) & mask;
+		}
+		
+		this.occupied[gap] = false;
+		this.size--;
+	}
+	
+	/**
+	 * <p>Removes all entries, keeping the allocated capacity.</p>
+	 */
+	void clear() {
+		Arrays.fill(this.occupied, false);
+		this.size = 0;
+	}
+	
+	/**
+	 * <p>Gets the number of entries in this map.</p>
+	 * 
+	 * @return The number of entries in this map.
+	 */
+	int size() {
+		return this.size;
+	}
+	
+	/*
+	 * Table Management
+	 */
+	
+	private int find(final long key) {
+		int mask = this.keys.length - 1;
+		int slot = LongIntHashMap.hash(key) & mask;
+		
+		while (this.occupied[slot]) {
+			if (this.keys[slot] == key) {
+				return slot;
+			}
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		return -1;
+	}
+	
+	private void grow() {
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		boolean[] oldOccupied = this.occupied;
+		
+		this.allocate(oldKeys.length << 1);
+		
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldOccupied[i]) {
+				this.put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new long[capacity];
+		this.values = new int[capacity];
+		this.occupied = new boolean[capacity];
+		this.size = 0;
+	}
+	
+	private static int hash(final long key) {
+		// Fibonacci hashing spreads neighbouring cell keys over the table:
+		long mixed = key * 0x9E3779B97F4A7C15L;
+		return (int)(mixed ^ (mixed >>> 32));
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private long[] keys;
+	private int[] values;
+	private boolean[] occupied;
+	private int size;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int MINIMUM_CAPACITY = 16;
+
+}
@@ -0,0 +1,388 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>Runs large batches of containment and overlap tests on a
+ * {@link ForkJoinPool}. The input is divided into partitions of at most
+ * {@link #getSequentialCutoff()} elements, and every partition is tested
+ * independently. Each partition writes to its own slots of the result array,
+ * or to its own result buffer, and the buffers are merged once all
+ * partitions are done, so the workers never share any locks.</p>
+ *
+ * <p>Below the sequential cutoff splitting costs more than it gains, and the
+ * tests are run on the calling thread. The <code>parallel</code> benchmarks
+ * sweep a range of cutoffs, and can be used to tune it for a particular
+ * machine.</p>
+ *
+ * <p>The volumes and points must not be modified while a query runs.</p>
+ */
+
+public class ParallelBoundingVolumeQueries {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Default constructor. Runs queries on the common pool, using the
+	 * {@link #DEFAULT_SEQUENTIAL_CUTOFF}.</p>
+	 */
+	public ParallelBoundingVolumeQueries() {
+		this(ForkJoinPool.commonPool(), ParallelBoundingVolumeQueries.DEFAULT_SEQUENTIAL_CUTOFF);
+	}
+	
+	/**
+	 * <p>Class constructor. Allows the pool and the sequential cutoff to be
+	 * specified.</p>
+	 *
+	 * @param pool The pool on which queries are run.
+	 * @param sequentialCutoff The largest number of elements tested by a
+	 * single task.
+	 *
+	 * @throws IllegalArgumentException If the <code>pool</code> is
+	 * <code>null</code> or the cutoff is not positive.
+	 */
+	public ParallelBoundingVolumeQueries(final ForkJoinPool pool, final int sequentialCutoff) throws IllegalArgumentException {
+		if (pool == null) {
+			throw new IllegalArgumentException("The pool can not be null.");
+		}
+		
+		if (sequentialCutoff <= 0) {
+			throw new IllegalArgumentException("The sequential cutoff must be positive.");
+		}
+		
+		this.pool = pool;
+		this.sequentialCutoff = sequentialCutoff;
+	}
+	
+	/*
+	 * Queries
+	 */
+	
+	/**
+	 * <p>Finds, for every point, the first of the <code>volumes</code> which
+	 * contains it.</p>
+	 *
+	 * @param volumes The volumes to test against.
+	 * @param points The points to test.
+	 * @param results Receives, at the index of each point, the index of the
+	 * first volume containing the point, or <code>-1</code> if none does.
+	 * @return The number of points contained by at least one volume.
+	 *
+	 * @throws IllegalArgumentException If <code>results</code> is shorter than
+	 * <code>points</code>.
+	 */
+	public int findContainingVolumes(final BoundingVolume[] volumes, final Vertex2d[] points, final int[] results) throws IllegalArgumentException {
+		if (results.length < points.length) {
+			throw new IllegalArgumentException("The results array is shorter than the points array.");
+		}
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		final int[] containedCounts = new int[this.getPartitionCount(points.length)];
+		
+		this.run(points.length, new Partition() {
+			@Override
+			public void test(final int partition, final int start, final int end) {
+				int contained = 0;
+				
+				for (int i = start; i < end; i++) {
+					Vertex2d point = points[i];
+					int result = -1;
+					
+					for (int j = 0; j < volumes.length; j++) {
+						if (volumes[j].contains(point)) {
+							result = j;
+							break;
+						}
+					}
+					
+					results[i] = result;
+					contained += (result >= 0) ? 1 : 0;
+				}
+				
+				containedCounts[partition] = contained;
+			}
+		});
+		
+		int contained = 0;
+		for (int count : containedCounts) {
+			contained += count;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, points.length);
+		}
+		
+		return contained;
+	}
+	
+	/**
+	 * <p>Finds every combination of a point and a volume containing it.</p>
+	 *
+	 * @param volumes The volumes to test against.
+	 * @param points The points to test.
+	 * @return The pairs found, packed as the index of the point followed by
+	 * the index of the volume, ordered by point.
+	 */
+	public int[] findContainments(final BoundingVolume[] volumes, final Vertex2d[] points) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		final PairBuffer[] buffers = new PairBuffer[this.getPartitionCount(points.length)];
+		
+		this.run(points.length, new Partition() {
+			@Override
+			public void test(final int partition, final int start, final int end) {
+				PairBuffer buffer = new PairBuffer();
+				
+				for (int i = start; i < end; i++) {
+					for (int j = 0; j < volumes.length; j++) {
+						if (volumes[j].contains(points[i])) {
+							buffer.add(i, j);
+						}
+					}
+				}
+				
+				buffers[partition] = buffer;
+			}
+		});
+		
+		int[] pairs = ParallelBoundingVolumeQueries.merge(buffers);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, points.length);
+		}
+		
+		return pairs;
+	}
+	
+	/**
+	 * <p>Finds every pair of <code>volumes</code> whose enclosing boxes
+	 * overlap. The volumes are sorted by their left extent once, after which
+	 * each partition sweeps a range of the sorted volumes against those to
+	 * their right.</p>
+	 *
+	 * @param volumes The volumes to test.
+	 * @return The pairs found, packed as two volume indices per pair. Every
+	 * pair is reported once.
+	 */
+	public int[] findOverlaps(final BoundingVolume[] volumes) {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		final int count = volumes.length;
+		final float[] extents = new float[count * 4];
+		final long[] order = new long[count];
+		
+		// Order the volumes by their left extent. The key of each volume holds
+		// the extent as a sortable integer above the index of the volume, so a
+		// primitive sort can be used:
+		for (int i = 0; i < count; i++) {
+			BoundingVolume volume = volumes[i];
+			float left = volume.getLeft();
+			int bits = Float.floatToIntBits(left);
+			
+			bits ^= (bits >> 31) & Integer.MAX_VALUE;
+			order[i] = ((long)bits << 32) | i;
+		}
+		
+		Arrays.parallelSort(order);
+		
+		for (int i = 0; i < count; i++) {
+			BoundingVolume volume = volumes[(int)order[i]];
+			int base = i * 4;
+			
+			extents[base] = volume.getLeft();
+			extents[base + 1] = volume.getBottom();
+			extents[base + 2] = volume.getRight();
+			extents[base + 3] = volume.getTop();
+		}
+		
+		final PairBuffer[] buffers = new PairBuffer[this.getPartitionCount(count)];
+		
+		this.run(count, new Partition() {
+			@Override
+			public void test(final int partition, final int start, final int end) {
+				PairBuffer buffer = new PairBuffer();
+				
+				for (int i = start; i < end; i++) {
+					int base = i * 4;
+					float bottom = extents[base + 1];
+					float right = extents[base + 2];
+					float top = extents[base + 3];
+					
+					for (int j = i + 1; (j < count) && (extents[j * 4] <= right); j++) {
+						int otherBase = j * 4;
+						
+						if ((extents[otherBase + 1] <= top) && (extents[otherBase + 3] >= bottom)) {
+							buffer.add((int)order[i], (int)order[j]);
+						}
+					}
+				}
+				
+				buffers[partition] = buffer;
+			}
+		});
+		
+		int[] pairs = ParallelBoundingVolumeQueries.merge(buffers);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_PAIRS, sample, count);
+		}
+		
+		return pairs;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final ForkJoinPool pool;
+	
+	/**
+	 * <p>Gets the pool on which queries are run.</p>
+	 *
+	 * @return The pool on which queries are run.
+	 */
+	public final ForkJoinPool getPool() {
+		return this.pool;
+	}
+	
+	private final int sequentialCutoff;
+	
+	/**
+	 * <p>Gets the largest number of elements tested by a single task.</p>
+	 *
+	 * @return The sequential cutoff.
+	 */
+	public final int getSequentialCutoff() {
+		return this.sequentialCutoff;
+	}
+	
+	/*
+	 * Partitioning
+	 */
+	
+	/**
+	 * <p>The work done for a single partition of the input. Every partition
+	 * is given to exactly one task.</p>
+	 */
+	private interface Partition {
+		void test(int partition, int start, int end);
+	}
+	
+	private int getPartitionCount(final int length) {
+		return (length == 0) ? 0 : (((length - 1) / this.sequentialCutoff) + 1);
+	}
+	
+	private void run(final int length, final Partition partition) {
+		int partitionCount = this.getPartitionCount(length);
+		
+		if (partitionCount == 1) {
+			partition.test(0, 0, length);
+		} else if (partitionCount > 1) {
+			this.pool.invoke(new PartitionTask(partition, 0, partitionCount, length, this.sequentialCutoff));
+		}
+	}
+	
+	/**
+	 * <p>Splits a range of partitions in half until a single partition is
+	 * left, which is then tested on the current worker.</p>
+	 */
+	private static final class PartitionTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		PartitionTask(final Partition partition, final int low, final int high, final int length, final int cutoff) {
+			this.partition = partition;
+			this.low = low;
+			this.high = high;
+			this.length = length;
+			this.cutoff = cutoff;
+		}
+		
+		@Override
+		protected void compute() {
+			if ((this.high - this.low) == 1) {
+				int start = this.low * this.cutoff;
+				this.partition.test(this.low, start, start + Math.min(this.cutoff, this.length - start));
+				return;
+			}
+			
+			int middle = (this.low + this.high) >>> 1;
+			
+			RecursiveAction.invokeAll(
+					new PartitionTask(this.partition, this.low, middle, this.length, this.cutoff),
+					new PartitionTask(this.partition, middle, this.high, this.length, this.cutoff));
+		}
+		
+		private final Partition partition;
+		private final int low;
+		private final int high;
+		private final int length;
+		private final int cutoff;
+	
+	}
+	
+	/*
+	 * Result Buffers
+	 */
+	
+	/**
+	 * <p>A growable list of index pairs, owned by a single partition.</p>
+	 */
+	private static final class PairBuffer {
+		
+		void add(final int first, final int second) {
+			if (this.length + 2 > this.pairs.length) {
+				this.pairs = Arrays.copyOf(this.pairs, this.pairs.length * 2);
+			}
+			
+			this.pairs[this.length++] = first;
+			this.pairs[this.length++] = second;
+		}
+		
+		int[] pairs = new int[32];
+		int length;
+	
+	}
+	
+	private static int[] merge(final PairBuffer[] buffers) {
+		int length = 0;
+		for (PairBuffer buffer : buffers) {
+			length += buffer.length;
+		}
+		
+		int[] pairs = new int[length];
+		int offset = 0;
+		
+		for (PairBuffer buffer : buffers) {
+			System.arraycopy(buffer.pairs, 0, pairs, offset, buffer.length);
+			offset += buffer.length;
+		}
+		
+		return pairs;
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The sequential cutoff used by default. Smaller partitions spend more
+	 * time splitting and merging than they save by running in parallel.</p>
+	 *
+	 * <p>This value is provisional: it has not yet been chosen from benchmark
+	 * results on a machine with several cores, and may change once it
+	 * has.</p>
+	 */
+	public static final int DEFAULT_SEQUENTIAL_CUTOFF = 2048;
+
+}
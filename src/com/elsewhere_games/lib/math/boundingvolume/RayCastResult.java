@@ -0,0 +1,107 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vertex2d;
+
+/**
+ * <p>Receives the outcome of a ray cast. A single result is meant to be
+ * reused for many casts, so that casting does not allocate.</p>
+ *
+ * <p>Distances are measured along the ray in multiples of the length of its
+ * direction. With a unit length direction they are ordinary distances, and
+ * for a segment they run from <code>0</code> at its start to <code>1</code>
+ * at its end.</p>
+ */
+
+public class RayCastResult {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Default constructor. Creates a result which holds no hit.</p>
+	 */
+	public RayCastResult() {
+		this.clear();
+	}
+	
+	/*
+	 * Result Operations
+	 */
+	
+	/**
+	 * <p>Resets this result so that it holds no hit.</p>
+	 */
+	public final void clear() {
+		this.hit = false;
+		this.distance = Float.POSITIVE_INFINITY;
+		this.index = -1;
+	}
+	
+	/**
+	 * <p>Calculates the point at which the ray entered the volume that was
+	 * hit.</p>
+	 *
+	 * @param origin The origin of the ray which was cast.
+	 * @param direction The direction of the ray which was cast.
+	 * @param destination Receives the point of entry.
+	 */
+	public final void getPoint(final Vertex2d origin, final Vector2d direction, final Vertex2d destination) {
+		destination.setComponents(
+				origin.getX() + (direction.getXComponent() * this.distance),
+				origin.getY() + (direction.getYComponent() * this.distance));
+	}
+	
+	/**
+	 * <p>Records a hit at the specified <code>distance</code>.</p>
+	 */
+	final void set(final float distance, final int index) {
+		this.hit = true;
+		this.distance = distance;
+		this.index = index;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private boolean hit;
+	
+	/**
+	 * <p>Checks to see if the last cast hit a volume.</p>
+	 *
+	 * @return <code>true</code> if a volume was hit, <code>false</code>
+	 * otherwise.
+	 */
+	public final boolean isHit() {
+		return this.hit;
+	}
+	
+	private float distance;
+	
+	/**
+	 * <p>Gets the distance along the ray at which it entered the volume that
+	 * was hit. A ray starting inside a volume enters it at distance
+	 * <code>0</code>.</p>
+	 *
+	 * @return The entry distance, or positive infinity if nothing was hit.
+	 */
+	public final float getDistance() {
+		return this.distance;
+	}
+	
+	private int index;
+	
+	/**
+	 * <p>Gets the index of the volume that was hit, when an array of volumes
+	 * was cast against.</p>
+	 *
+	 * @return The index of the nearest volume hit, or <code>-1</code> if
+	 * nothing was hit or a single volume was cast against.
+	 */
+	public final int getIndex() {
+		return this.index;
+	}
+
+}
@@ -0,0 +1,608 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import java.util.Arrays;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>A broad phase index which divides the plane into square cells of a
+ * fixed size. Every bounding volume is registered in all cells its enclosing
+ * box overlaps, so a query only has to test the volumes registered in the
+ * cells it touches instead of every volume.</p>
+ *
+ * <p>A volume which would cover more than a fixed number of cells is not
+ * registered in any cell. Such oversized volumes are kept in a separate list
+ * which every query tests directly, so a single huge volume can not flood the
+ * grid with cell entries.</p>
+ *
+ * <p>Volumes are inserted once and are referred to by the handle returned
+ * from {@link #insert(BoundingVolume)}. When a volume moves or changes size,
+ * either call {@link #update(int)} for it, or, when most volumes move every
+ * frame, call {@link #rebuild()} once for all of them.</p>
+ *
+ * <p>Cells are kept in a primitive hash map keyed by their packed cell
+ * coordinates, and cell contents are kept in pooled primitive lists, so
+ * neither updates nor queries allocate once the grid has reached its working
+ * size. A grid must not be used by multiple threads at once.</p>
+ */
+
+public class SpatialHashGrid {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Allows the size of the cells to be specified. Cells
+	 * work best when they are about as large as a typical volume.</p>
+	 *
+	 * @param cellSize The width and height of every cell.
+	 *
+	 * @throws IllegalArgumentException If the <code>cellSize</code> is not
+	 * positive.
+	 */
+	public SpatialHashGrid(final float cellSize) throws IllegalArgumentException {
+		if (!(cellSize > 0.0f)) {
+			throw new IllegalArgumentException("The cell size must be positive.");
+		}
+		
+		this.cellSize = cellSize;
+		this.inverseCellSize = 1.0f / cellSize;
+		
+		this.cells = new LongIntHashMap(SpatialHashGrid.INITIAL_CAPACITY);
+		
+		this.volumes = new BoundingVolume[SpatialHashGrid.INITIAL_CAPACITY];
+		this.cellBounds = new int[SpatialHashGrid.INITIAL_CAPACITY * 4];
+		this.stamps = new int[SpatialHashGrid.INITIAL_CAPACITY];
+		this.freeHandles = new int[SpatialHashGrid.INITIAL_CAPACITY];
+		
+		this.entryHandles = new int[SpatialHashGrid.INITIAL_CAPACITY];
+		this.entryNext = new int[SpatialHashGrid.INITIAL_CAPACITY];
+		this.freeEntry = SpatialHashGrid.NONE;
+		
+		this.oversizedHandles = new int[SpatialHashGrid.INITIAL_CAPACITY];
+		this.oversizedIndices = new int[SpatialHashGrid.INITIAL_CAPACITY];
+	}
+	
+	/*
+	 * Index Operations
+	 */
+	
+	/**
+	 * <p>Inserts the <code>volume</code> into this grid, registering it in all
+	 * cells covered by its current extents.</p>
+	 *
+	 * @param volume The volume to insert.
+	 * @return The handle which refers to the volume in this grid.
+	 *
+	 * @throws IllegalArgumentException If the extents of the volume are not
+	 * finite.
+	 */
+	public int insert(final BoundingVolume volume) throws IllegalArgumentException {
+		SpatialHashGrid.checkExtents(volume);
+		
+		int handle;
+		
+		if (this.freeHandleCount > 0) {
+			handle = this.freeHandles[--this.freeHandleCount];
+		} else {
+			if (this.handleCount == this.volumes.length) {
+				this.growHandles();
+			}
+			
+			handle = this.handleCount++;
+		}
+		
+		this.volumes[handle] = volume;
+		this.stamps[handle] = 0;
+		this.volumeCount++;
+		this.link(handle);
+		
+		return handle;
+	}
+	
+	/**
+	 * <p>Removes the volume referred to by <code>handle</code> from this grid.
+	 * The handle may be reused by a later insertion.</p>
+	 *
+	 * @param handle The handle of the volume to remove.
+	 *
+	 * @throws IllegalArgumentException If the handle does not refer to a
+	 * volume in this grid.
+	 */
+	public void remove(final int handle) throws IllegalArgumentException {
+		this.checkHandle(handle);
+		this.unlink(handle);
+		
+		this.volumes[handle] = null;
+		this.volumeCount--;
+		
+		if (this.freeHandleCount == this.freeHandles.length) {
+			this.freeHandles = Arrays.copyOf(this.freeHandles, this.freeHandles.length * 2);
+		}
+		this.freeHandles[this.freeHandleCount++] = handle;
+	}
+	
+	/**
+	 * <p>Moves the volume referred to by <code>handle</code> to the cells
+	 * covered by its current extents. Call this after the center or size of
+	 * the volume has changed. Volumes which stay within the same cells are not
+	 * touched.</p>
+	 *
+	 * @param handle The handle of the volume which moved.
+	 *
+	 * @throws IllegalArgumentException If the handle does not refer to a
+	 * volume in this grid, or if the extents of the volume are no longer
+	 * finite, in which case it stays registered in its previous cells.
+	 */
+	public void update(final int handle) throws IllegalArgumentException {
+		this.checkHandle(handle);
+		
+		BoundingVolume volume = this.volumes[handle];
+		SpatialHashGrid.checkExtents(volume);
+		
+		int base = handle * 4;
+		
+		if (
+				(this.cellOf(volume.getLeft()) == this.cellBounds[base]) 		&&
+				(this.cellOf(volume.getBottom()) == this.cellBounds[base + 1])	&&
+				(this.cellOf(volume.getRight()) == this.cellBounds[base + 2])	&&
+				(this.cellOf(volume.getTop()) == this.cellBounds[base + 3])
+			)
+		{
+			return;
+		}
+		
+		this.unlink(handle);
+		this.link(handle);
+	}
+	
+	/**
+	 * <p>Re-registers every volume in the cells covered by its current
+	 * extents. In scenes where most volumes move every frame this is cheaper
+	 * than calling {@link #update(int)} for each of them, since cells are
+	 * cleared at once instead of being unlinked volume by volume.</p>
+	 *
+	 * @throws IllegalArgumentException If the extents of any volume are no
+	 * longer finite, in which case the grid is left unchanged.
+	 */
+	public void rebuild() throws IllegalArgumentException {
+		for (int handle = 0; handle < this.handleCount; handle++) {
+			if (this.volumes[handle] != null) {
+				SpatialHashGrid.checkExtents(this.volumes[handle]);
+			}
+		}
+		
+		this.cells.clear();
+		this.entryCount = 0;
+		this.freeEntry = SpatialHashGrid.NONE;
+		this.oversizedCount = 0;
+		
+		for (int handle = 0; handle < this.handleCount; handle++) {
+			if (this.volumes[handle] != null) {
+				this.link(handle);
+			}
+		}
+	}
+	
+	/*
+	 * Queries
+	 */
+	
+	/**
+	 * <p>Visits every volume which contains the specified <code>point</code>.
+	 * Only the volumes registered in the cell of the point are tested.</p>
+	 *
+	 * @param point The point to test.
+	 * @param visitor The visitor which is given each containing volume.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 *
+	 * @throws IllegalArgumentException If the coordinates of the point are not
+	 * finite.
+	 */
+	public boolean queryPoint(final Vertex2d point, final BoundingVolumeVisitor visitor) throws IllegalArgumentException {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitPoint(point, visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, 1);
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a point query, without instrumentation. See
+	 * {@link #queryPoint(Vertex2d, BoundingVolumeVisitor)}.</p>
+	 */
+	private boolean visitPoint(final Vertex2d point, final BoundingVolumeVisitor visitor) throws IllegalArgumentException {
+		if (!Float.isFinite(point.getX()) || !Float.isFinite(point.getY())) {
+			throw new IllegalArgumentException("The coordinates of the point (" + point.getX() + ", " + point.getY() + ") are not finite.");
+		}
+		
+		long key = SpatialHashGrid.key(this.cellOf(point.getX()), this.cellOf(point.getY()));
+		int entry = this.cells.get(key, SpatialHashGrid.NONE);
+		
+		// A volume is registered at most once per cell, so no duplicates occur:
+		while (entry != SpatialHashGrid.NONE) {
+			int handle = this.entryHandles[entry];
+			BoundingVolume volume = this.volumes[handle];
+			
+			if (volume.contains(point) && !visitor.visit(handle, volume)) {
+				return false;
+			}
+			
+			entry = this.entryNext[entry];
+		}
+		
+		// Oversized volumes are in no cell, so they are not visited twice either:
+		for (int i = 0; i < this.oversizedCount; i++) {
+			int handle = this.oversizedHandles[i];
+			BoundingVolume volume = this.volumes[handle];
+			
+			if (volume.contains(point) && !visitor.visit(handle, volume)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Visits every volume whose enclosing box overlaps the specified
+	 * rectangle. Every volume is visited at most once, even if it is
+	 * registered in several of the cells touched. A rectangle which covers
+	 * more cells than the grid has volumes is answered by testing every volume
+	 * instead, so the cost of a query never exceeds that of a linear
+	 * scan.</p>
+	 *
+	 * @param left The smallest x coordinate of the rectangle.
+	 * @param bottom The smallest y coordinate of the rectangle.
+	 * @param right The largest x coordinate of the rectangle.
+	 * @param top The largest y coordinate of the rectangle.
+	 * @param visitor The visitor which is given each overlapping volume.
+	 * @return <code>false</code> if the visitor stopped the query,
+	 * <code>true</code> otherwise.
+	 *
+	 * @throws IllegalArgumentException If any of the extents is not finite.
+	 */
+	public boolean queryRectangle(final float left, final float bottom, final float right, final float top, final BoundingVolumeVisitor visitor) throws IllegalArgumentException {
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		boolean completed = this.visitRectangle(left, bottom, right, top, visitor);
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_QUERY, sample, 1);
+		}
+		
+		return completed;
+	}
+	
+	/**
+	 * <p>Runs a rectangle query, without instrumentation. See
+	 * {@link #queryRectangle(float, float, float, float, BoundingVolumeVisitor)}.</p>
+	 */
+	private boolean visitRectangle(final float left, final float bottom, final float right, final float top, final BoundingVolumeVisitor visitor) throws IllegalArgumentException {
+		SpatialHashGrid.checkExtents(left, bottom, right, top);
+		
+		int minimumX = this.cellOf(left);
+		int minimumY = this.cellOf(bottom);
+		int maximumX = this.cellOf(right);
+		int maximumY = this.cellOf(top);
+		
+		if ((minimumX > maximumX) || (minimumY > maximumY)) {
+			return true;
+		}
+		
+		// Cell coordinates are clamped, so the number of cells fits in a long:
+		long cellCount = ((long)maximumX - minimumX + 1) * ((long)maximumY - minimumY + 1);
+		
+		if (cellCount > this.handleCount) {
+			return this.scanRectangle(left, bottom, right, top, visitor);
+		}
+		
+		int stamp = this.nextStamp();
+		
+		for (int cellX = minimumX; cellX <= maximumX; cellX++) {
+			for (int cellY = minimumY; cellY <= maximumY; cellY++) {
+				int entry = this.cells.get(SpatialHashGrid.key(cellX, cellY), SpatialHashGrid.NONE);
+				
+				while (entry != SpatialHashGrid.NONE) {
+					int handle = this.entryHandles[entry];
+					
+					if (this.stamps[handle] != stamp) {
+						this.stamps[handle] = stamp;
+						
+						BoundingVolume volume = this.volumes[handle];
+						boolean overlaps = 	(volume.getLeft() <= right) 	&&
+											(volume.getRight() >= left) 	&&
+											(volume.getBottom() <= top) 	&&
+											(volume.getTop() >= bottom);
+						
+						if (overlaps && !visitor.visit(handle, volume)) {
+							return false;
+						}
+					}
+					
+					entry = this.entryNext[entry];
+				}
+			}
+		}
+		
+		for (int i = 0; i < this.oversizedCount; i++) {
+			int handle = this.oversizedHandles[i];
+			BoundingVolume volume = this.volumes[handle];
+			boolean overlaps = 	(volume.getLeft() <= right) 	&&
+								(volume.getRight() >= left) 	&&
+								(volume.getBottom() <= top) 	&&
+								(volume.getTop() >= bottom);
+			
+			if (overlaps && !visitor.visit(handle, volume)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Answers a rectangle query by testing the enclosing box of every volume
+	 * in the grid, which visits each volume once without stamps.</p>
+	 */
+	private boolean scanRectangle(final float left, final float bottom, final float right, final float top, final BoundingVolumeVisitor visitor) {
+		for (int handle = 0; handle < this.handleCount; handle++) {
+			BoundingVolume volume = this.volumes[handle];
+			
+			if (volume == null) {
+				continue;
+			}
+			
+			boolean overlaps = 	(volume.getLeft() <= right) 	&&
+								(volume.getRight() >= left) 	&&
+								(volume.getBottom() <= top) 	&&
+								(volume.getTop() >= bottom);
+			
+			if (overlaps && !visitor.visit(handle, volume)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final float cellSize;
+	
+	/**
+	 * <p>Gets the width and height of the cells of this grid.</p>
+	 *
+	 * @return The size of the cells of this grid.
+	 */
+	public final float getCellSize() {
+		return this.cellSize;
+	}
+	
+	private int volumeCount;
+	
+	/**
+	 * <p>Gets the number of volumes in this grid.</p>
+	 *
+	 * @return The number of volumes in this grid.
+	 */
+	public final int getVolumeCount() {
+		return this.volumeCount;
+	}
+	
+	/**
+	 * <p>Gets the volume referred to by the specified <code>handle</code>.</p>
+	 *
+	 * @param handle The handle of the volume.
+	 * @return The volume, or <code>null</code> if the handle is not in use.
+	 */
+	public final BoundingVolume getVolume(final int handle) {
+		return ((handle >= 0) && (handle < this.handleCount)) ? this.volumes[handle] : null;
+	}
+	
+	/*
+	 * Cell Registration
+	 */
+	
+	private void link(final int handle) {
+		BoundingVolume volume = this.volumes[handle];
+		int minimumX = this.cellOf(volume.getLeft());
+		int minimumY = this.cellOf(volume.getBottom());
+		int maximumX = this.cellOf(volume.getRight());
+		int maximumY = this.cellOf(volume.getTop());
+		int base = handle * 4;
+		
+		this.cellBounds[base] = minimumX;
+		this.cellBounds[base + 1] = minimumY;
+		this.cellBounds[base + 2] = maximumX;
+		this.cellBounds[base + 3] = maximumY;
+		
+		// Cell coordinates are clamped, so the number of cells fits in a long:
+		long cellCount = ((long)maximumX - minimumX + 1) * ((long)maximumY - minimumY + 1);
+		
+		if (cellCount > SpatialHashGrid.MAXIMUM_LINKED_CELLS) {
+			if (this.oversizedCount == this.oversizedHandles.length) {
+				this.oversizedHandles = Arrays.copyOf(this.oversizedHandles, this.oversizedCount * 2);
+			}
+			
+			this.oversizedIndices[handle] = this.oversizedCount;
+			this.oversizedHandles[this.oversizedCount++] = handle;
+			return;
+		}
+		
+		this.oversizedIndices[handle] = SpatialHashGrid.NONE;
+		
+		for (int cellX = minimumX; cellX <= maximumX; cellX++) {
+			for (int cellY = minimumY; cellY <= maximumY; cellY++) {
+				long key = SpatialHashGrid.key(cellX, cellY);
+				int entry = this.allocateEntry();
+				
+				// New entries are pushed onto the front of the cell's list:
+				this.entryHandles[entry] = handle;
+				this.entryNext[entry] = this.cells.get(key, SpatialHashGrid.NONE);
+				this.cells.put(key, entry);
+			}
+		}
+	}
+	
+	private void unlink(final int handle) {
+		int index = this.oversizedIndices[handle];
+		
+		if (index != SpatialHashGrid.NONE) {
+			// The last oversized volume takes the place of the removed one:
+			int last = this.oversizedHandles[--this.oversizedCount];
+			this.oversizedHandles[index] = last;
+			this.oversizedIndices[last] = index;
+			return;
+		}
+		
+		int base = handle * 4;
+		
+		for (int cellX = this.cellBounds[base]; cellX <= this.cellBounds[base + 2]; cellX++) {
+			for (int cellY = this.cellBounds[base + 1]; cellY <= this.cellBounds[base + 3]; cellY++) {
+				long key = SpatialHashGrid.key(cellX, cellY);
+				int previous = SpatialHashGrid.NONE;
+				int entry = this.cells.get(key, SpatialHashGrid.NONE);
+				
+				while ((entry != SpatialHashGrid.NONE) && (this.entryHandles[entry] != handle)) {
+					previous = entry;
+					entry = this.entryNext[entry];
+				}
+				
+				if (entry == SpatialHashGrid.NONE) {
+					continue;
+				}
+				
+				int next = this.entryNext[entry];
+				
+				if (previous != SpatialHashGrid.NONE) {
+					this.entryNext[previous] = next;
+				} else if (next != SpatialHashGrid.NONE) {
+					this.cells.put(key, next);
+				} else {
+					// Empty cells are dropped so the map only holds occupied cells:
+					this.cells.remove(key);
+				}
+				
+				this.releaseEntry(entry);
+			}
+		}
+	}
+	
+	private int allocateEntry() {
+		if (this.freeEntry != SpatialHashGrid.NONE) {
+			int entry = this.freeEntry;
+			this.freeEntry = this.entryNext[entry];
+			return entry;
+		}
+		
+		if (this.entryCount == this.entryHandles.length) {
+			this.entryHandles = Arrays.copyOf(this.entryHandles, this.entryCount * 2);
+			this.entryNext = Arrays.copyOf(this.entryNext, this.entryCount * 2);
+		}
+		
+		return this.entryCount++;
+	}
+	
+	private void releaseEntry(final int entry) {
+		this.entryNext[entry] = this.freeEntry;
+		this.freeEntry = entry;
+	}
+	
+	private void growHandles() {
+		int capacity = this.volumes.length * 2;
+		
+		this.volumes = Arrays.copyOf(this.volumes, capacity);
+		this.cellBounds = Arrays.copyOf(this.cellBounds, capacity * 4);
+		this.stamps = Arrays.copyOf(this.stamps, capacity);
+		this.oversizedIndices = Arrays.copyOf(this.oversizedIndices, capacity);
+	}
+	
+	private int nextStamp() {
+		// Stamps only need to differ from those of the previous query. When the
+		// counter wraps, all stamps are reset so old ones can not match:
+		if (++this.stamp == 0) {
+			Arrays.fill(this.stamps, 0);
+			this.stamp = 1;
+		}
+		
+		return this.stamp;
+	}
+	
+	private void checkHandle(final int handle) throws IllegalArgumentException {
+		if ((handle < 0) || (handle >= this.handleCount) || (this.volumes[handle] == null)) {
+			throw new IllegalArgumentException("The handle " + handle + " does not refer to a volume in this grid.");
+		}
+	}
+	
+	private static void checkExtents(final BoundingVolume volume) throws IllegalArgumentException {
+		SpatialHashGrid.checkExtents(volume.getLeft(), volume.getBottom(), volume.getRight(), volume.getTop());
+	}
+	
+	private static void checkExtents(final float left, final float bottom, final float right, final float top) throws IllegalArgumentException {
+		// NaN would land in cell zero, and infinities would cover the whole grid:
+		if (!Float.isFinite(left) || !Float.isFinite(bottom) || !Float.isFinite(right) || !Float.isFinite(top)) {
+			throw new IllegalArgumentException("The extents (" + left + ", " + bottom + ") to (" + right + ", " + top + ") are not finite.");
+		}
+	}
+	
+	/*
+	 * Cell Coordinates
+	 */
+	
+	private int cellOf(final float coordinate) {
+		// Clamped well inside the int range, so that loops up to and including
+		// the last cell terminate and cell counts can not overflow a long:
+		double cell = Math.floor(coordinate * this.inverseCellSize);
+		
+		return (int)Math.max(-SpatialHashGrid.MAXIMUM_CELL, Math.min(cell, SpatialHashGrid.MAXIMUM_CELL));
+	}
+	
+	private static long key(final int cellX, final int cellY) {
+		return ((long)cellX << 32) | (cellY & 0xFFFFFFFFL);
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final float inverseCellSize;
+	
+	private final LongIntHashMap cells;		// Maps cell keys to the first entry of the cell.
+	
+	private BoundingVolume[] volumes;		// Indexed by handle, null if the handle is free.
+	private int[] cellBounds;				// Indexed by handle * 4, the registered cell range.
+	private int[] stamps;					// Indexed by handle, the last query which saw the volume.
+	private int[] freeHandles;
+	private int freeHandleCount;
+	private int handleCount;
+	private int stamp;
+	
+	private int[] entryHandles;				// The handle of the volume of each entry.
+	private int[] entryNext;				// The next entry in the same cell, or in the free list.
+	private int entryCount;
+	private int freeEntry;
+	
+	private int[] oversizedHandles;			// The volumes which are registered in no cell.
+	private int[] oversizedIndices;			// Indexed by handle, the position in the oversized list or NONE.
+	private int oversizedCount;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int NONE = -1;
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int MAXIMUM_CELL = 1 << 30;
+	private static final int MAXIMUM_LINKED_CELLS = 1024;
+
+}
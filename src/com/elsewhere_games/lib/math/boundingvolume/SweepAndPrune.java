@@ -0,0 +1,488 @@
+package com.elsewhere_games.lib.math.boundingvolume;
+
+import java.util.Arrays;
+
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
+import com.elsewhere_games.lib.math.instrumentation.Sample;
+
+/**
+ * <p>A broad phase which finds all pairs of volumes whose enclosing boxes
+ * overlap. The left and right extents of every volume are kept in a single
+ * list of endpoints sorted along the x axis. Sweeping over that list, a
+ * volume only has to be tested against the volumes whose intervals are open
+ * at the time, rather than against every other volume.</p>
+ *
+ * <p>Volumes usually move only a little between two frames, so the endpoint
+ * list stays nearly sorted and is re-sorted with an insertion sort, which
+ * takes close to linear time in that case. Endpoints and the pairs found are
+ * kept in primitive arrays which are reused from one frame to the next, so
+ * finding pairs does not allocate once the arrays have grown to their
+ * working size. Filling the broad phase with many volumes at once is done
+ * with {@link #insert(BoundingVolume[], int[])}, which sorts all endpoints
+ * once with a primitive sort instead. An instance must not be used by
+ * multiple threads at once.</p>
+ */
+
+public class SweepAndPrune {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Default constructor. Creates an empty broad phase.</p>
+	 */
+	public SweepAndPrune() {
+		this.volumes = new BoundingVolume[SweepAndPrune.INITIAL_CAPACITY];
+		this.extents = new float[SweepAndPrune.INITIAL_CAPACITY * 2];
+		this.freeHandles = new int[SweepAndPrune.INITIAL_CAPACITY];
+		
+		this.endpointValues = new float[SweepAndPrune.INITIAL_CAPACITY * 2];
+		this.endpointKeys = new int[SweepAndPrune.INITIAL_CAPACITY * 2];
+		this.sortKeys = new long[0];
+		
+		this.active = new int[SweepAndPrune.INITIAL_CAPACITY];
+		this.activeIndices = new int[SweepAndPrune.INITIAL_CAPACITY];
+		
+		this.pairs = new int[SweepAndPrune.INITIAL_CAPACITY * 2];
+	}
+	
+	/*
+	 * Broad Phase Operations
+	 */
+	
+	/**
+	 * <p>Inserts the <code>volume</code>, using its current extents.</p>
+	 *
+	 * @param volume The volume to insert.
+	 * @return The handle which refers to the volume.
+	 *
+	 * @throws IllegalArgumentException If the extents of the volume are not
+	 * finite, or if the volume ends before it starts along either axis.
+	 */
+	public int insert(final BoundingVolume volume) throws IllegalArgumentException {
+		SweepAndPrune.checkExtents(volume);
+		
+		this.ensureEndpointCapacity(this.endpointCount + 2);
+		
+		// Append both endpoints and let them sink into place:
+		int handle = this.append(volume);
+		this.sortEndpoints(this.endpointCount - 2);
+		
+		return handle;
+	}
+	
+	/**
+	 * <p>Inserts all of the <code>volumes</code>, using their current extents.
+	 * Rather than sinking the endpoints of each volume into place one at a
+	 * time, which takes time proportional to the number of endpoints for every
+	 * volume, all endpoints are appended and then sorted once. This is meant
+	 * for filling the broad phase, or for adding many volumes at once.</p>
+	 *
+	 * @param volumes The volumes to insert.
+	 * @param handles The array to which the handle of each volume is written,
+	 * at the same index as the volume.
+	 *
+	 * @throws IllegalArgumentException If <code>handles</code> is shorter than
+	 * <code>volumes</code>, or if the extents of any volume are not finite or
+	 * end before they start along either axis, in which case no volume is
+	 * inserted.
+	 */
+	public void insert(final BoundingVolume[] volumes, final int[] handles) throws IllegalArgumentException {
+		if (handles.length < volumes.length) {
+			throw new IllegalArgumentException("The " + handles.length + " handles can not hold the handles of " + volumes.length + " volumes.");
+		}
+		
+		for (BoundingVolume volume : volumes) {
+			SweepAndPrune.checkExtents(volume);
+		}
+		
+		this.ensureEndpointCapacity(this.endpointCount + (volumes.length * 2));
+		
+		for (int i = 0; i < volumes.length; i++) {
+			handles[i] = this.append(volumes[i]);
+		}
+		
+		this.rebuildEndpoints();
+	}
+	
+	/**
+	 * <p>Removes the volume referred to by <code>handle</code>. The handle
+	 * may be reused by a later insertion.</p>
+	 *
+	 * @param handle The handle of the volume to remove.
+	 *
+	 * @throws IllegalArgumentException If the handle does not refer to a
+	 * volume.
+	 */
+	public void remove(final int handle) throws IllegalArgumentException {
+		if ((handle < 0) || (handle >= this.handleCount) || (this.volumes[handle] == null)) {
+			throw new IllegalArgumentException("The handle " + handle + " does not refer to a volume.");
+		}
+		
+		// Close the gap left by the two endpoints while keeping the order:
+		int target = 0;
+		
+		for (int i = 0; i < this.endpointCount; i++) {
+			if ((this.endpointKeys[i] >>> 1) != handle) {
+				this.endpointKeys[target] = this.endpointKeys[i];
+				this.endpointValues[target] = this.endpointValues[i];
+				target++;
+			}
+		}
+		
+		this.endpointCount = target;
+		this.volumes[handle] = null;
+		this.freeHandles[this.freeHandleCount++] = handle;
+		this.volumeCount--;
+	}
+	
+	/**
+	 * <p>Reads the current extents of every volume and restores the order of
+	 * the endpoints. This is called by {@link #findPairs()}, and only needs to
+	 * be called directly when the endpoints should be sorted ahead of time.</p>
+	 *
+	 * @throws IllegalArgumentException If the extents of any volume are no
+	 * longer finite, or if any volume ends before it starts along either
+	 * axis, in which case the endpoints are left unchanged.
+	 */
+	public void update() throws IllegalArgumentException {
+		for (int handle = 0; handle < this.handleCount; handle++) {
+			if (this.volumes[handle] != null) {
+				SweepAndPrune.checkExtents(this.volumes[handle]);
+			}
+		}
+		
+		for (int i = 0; i < this.endpointCount; i++) {
+			int key = this.endpointKeys[i];
+			BoundingVolume volume = this.volumes[key >>> 1];
+			
+			this.endpointValues[i] = ((key & 1) == 0) ? volume.getLeft() : volume.getRight();
+		}
+		
+		this.sortEndpoints(1);
+	}
+	
+	/**
+	 * <p>Updates the endpoints and finds all pairs of volumes whose enclosing
+	 * boxes overlap. The pairs are stored in a buffer which is read through
+	 * {@link #getFirstHandle(int)} and {@link #getSecondHandle(int)}, or
+	 * through {@link #visitPairs(BoundingVolumePairVisitor)}, and which is
+	 * overwritten by the next call.</p>
+	 *
+	 * @return The number of pairs found.
+	 *
+	 * @throws IllegalArgumentException If the extents of any volume are no
+	 * longer valid, as described for {@link #update()}.
+	 */
+	public int findPairs() throws IllegalArgumentException {
+		this.update();
+		
+		Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+		
+		// The vertical extents are only needed for the open intervals, but
+		// reading them once per volume keeps the sweep free of interface calls:
+		for (int handle = 0; handle < this.handleCount; handle++) {
+			BoundingVolume volume = this.volumes[handle];
+			
+			if (volume != null) {
+				this.extents[handle * 2] = volume.getBottom();
+				this.extents[(handle * 2) + 1] = volume.getTop();
+			}
+		}
+		
+		this.pairCount = 0;
+		int activeCount = 0;
+		
+		for (int i = 0; i < this.endpointCount; i++) {
+			int key = this.endpointKeys[i];
+			int handle = key >>> 1;
+			
+			if ((key & 1) != 0) {
+				// The interval closes; move the last open interval into its slot:
+				int index = this.activeIndices[handle];
+				int last = this.active[--activeCount];
+				
+				this.active[index] = last;
+				this.activeIndices[last] = index;
+				continue;
+			}
+			
+			float bottom = this.extents[handle * 2];
+			float top = this.extents[(handle * 2) + 1];
+			
+			for (int j = 0; j < activeCount; j++) {
+				int other = this.active[j];
+				
+				if ((this.extents[other * 2] <= top) && (this.extents[(other * 2) + 1] >= bottom)) {
+					this.addPair(other, handle);
+				}
+			}
+			
+			this.active[activeCount] = handle;
+			this.activeIndices[handle] = activeCount;
+			activeCount++;
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.end(Operation.BOUNDING_VOLUME_PAIRS, sample, this.volumeCount);
+		}
+		
+		return this.pairCount;
+	}
+	
+	/**
+	 * <p>Visits every pair found by the last call to {@link #findPairs()}.</p>
+	 *
+	 * @param visitor The visitor which is given each pair.
+	 * @return <code>false</code> if the visitor stopped early,
+	 * <code>true</code> otherwise.
+	 */
+	public boolean visitPairs(final BoundingVolumePairVisitor visitor) {
+		for (int i = 0; i < this.pairCount; i++) {
+			int handleA = this.pairs[i * 2];
+			int handleB = this.pairs[(i * 2) + 1];
+			
+			if (!visitor.visit(handleA, this.volumes[handleA], handleB, this.volumes[handleB])) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private int volumeCount;
+	
+	/**
+	 * <p>Gets the number of volumes in this broad phase.</p>
+	 *
+	 * @return The number of volumes.
+	 */
+	public final int getVolumeCount() {
+		return this.volumeCount;
+	}
+	
+	/**
+	 * <p>Gets the volume referred to by the specified <code>handle</code>.</p>
+	 *
+	 * @param handle The handle of the volume.
+	 * @return The volume, or <code>null</code> if the handle is not in use.
+	 */
+	public final BoundingVolume getVolume(final int handle) {
+		return ((handle >= 0) && (handle < this.handleCount)) ? this.volumes[handle] : null;
+	}
+	
+	private int pairCount;
+	
+	/**
+	 * <p>Gets the number of pairs found by the last call to
+	 * {@link #findPairs()}.</p>
+	 *
+	 * @return The number of pairs found.
+	 */
+	public final int getPairCount() {
+		return this.pairCount;
+	}
+	
+	/**
+	 * <p>Gets the handle of the first volume of a pair found by the last call
+	 * to {@link #findPairs()}.</p>
+	 *
+	 * @param pair The index of the pair, less than {@link #getPairCount()}.
+	 * @return The handle of the first volume of the pair.
+	 */
+	public final int getFirstHandle(final int pair) {
+		return this.pairs[this.checkPair(pair) * 2];
+	}
+	
+	/**
+	 * <p>Gets the handle of the second volume of a pair found by the last call
+	 * to {@link #findPairs()}.</p>
+	 *
+	 * @param pair The index of the pair, less than {@link #getPairCount()}.
+	 * @return The handle of the second volume of the pair.
+	 */
+	public final int getSecondHandle(final int pair) {
+		return this.pairs[(this.checkPair(pair) * 2) + 1];
+	}
+	
+	/*
+	 * Local Methods
+	 */
+	
+	/**
+	 * <p>Assigns a handle to the <code>volume</code> and appends its endpoints
+	 * without sorting them. The endpoint arrays must have room for both.</p>
+	 */
+	private int append(final BoundingVolume volume) {
+		int handle;
+		
+		if (this.freeHandleCount > 0) {
+			handle = this.freeHandles[--this.freeHandleCount];
+		} else {
+			if (this.handleCount == this.volumes.length) {
+				this.growHandles();
+			}
+			
+			handle = this.handleCount++;
+		}
+		
+		this.volumes[handle] = volume;
+		this.volumeCount++;
+		
+		this.endpointKeys[this.endpointCount] = handle << 1;
+		this.endpointValues[this.endpointCount] = volume.getLeft();
+		this.endpointKeys[this.endpointCount + 1] = (handle << 1) | 1;
+		this.endpointValues[this.endpointCount + 1] = volume.getRight();
+		this.endpointCount += 2;
+		
+		return handle;
+	}
+	
+	/**
+	 * <p>Insertion sorts the endpoints, assuming those before
+	 * <code>start</code> are already in order. Left endpoints go before right
+	 * endpoints of the same value, so touching boxes count as
+	 * overlapping.</p>
+	 */
+	private void sortEndpoints(final int start) {
+		for (int i = Math.max(start, 1); i < this.endpointCount; i++) {
+			float value = this.endpointValues[i];
+			int key = this.endpointKeys[i];
+			int j = i - 1;
+			
+			while ((j >= 0) && SweepAndPrune.isAfter(this.endpointValues[j], this.endpointKeys[j], value, key)) {
+				this.endpointValues[j + 1] = this.endpointValues[j];
+				this.endpointKeys[j + 1] = this.endpointKeys[j];
+				j--;
+			}
+			
+			this.endpointValues[j + 1] = value;
+			this.endpointKeys[j + 1] = key;
+		}
+	}
+	
+	/**
+	 * <p>Sorts all endpoints from scratch, in the same order as
+	 * {@link #sortEndpoints(int)}. Each endpoint is packed into a single
+	 * <code>long</code> which compares the same way, so a primitive sort can be
+	 * used: the value in the upper half, mapped to an <code>int</code> which
+	 * orders like the <code>float</code>, and the key rotated so that its
+	 * right endpoint bit comes first in the lower half.</p>
+	 */
+	private void rebuildEndpoints() {
+		if (this.sortKeys.length < this.endpointCount) {
+			this.sortKeys = new long[this.endpointValues.length];
+		}
+		
+		for (int i = 0; i < this.endpointCount; i++) {
+			// Adding zero turns negative zero into positive zero, which the
+			// comparison in isAfter considers equal:
+			int bits = Float.floatToIntBits(this.endpointValues[i] + 0.0f);
+			int value = bits ^ ((bits >> 31) & 0x7FFFFFFF);
+			
+			this.sortKeys[i] = ((long)value << 32) | (Integer.rotateRight(this.endpointKeys[i], 1) & 0xFFFFFFFFL);
+		}
+		
+		Arrays.sort(this.sortKeys, 0, this.endpointCount);
+		
+		for (int i = 0; i < this.endpointCount; i++) {
+			long sortKey = this.sortKeys[i];
+			int value = (int)(sortKey >> 32);
+			
+			this.endpointValues[i] = Float.intBitsToFloat(value ^ ((value >> 31) & 0x7FFFFFFF));
+			this.endpointKeys[i] = Integer.rotateLeft((int)sortKey, 1);
+		}
+	}
+	
+	private static boolean isAfter(final float value, final int key, final float otherValue, final int otherKey) {
+		return (value > otherValue) || ((value == otherValue) && ((key & 1) > (otherKey & 1)));
+	}
+	
+	private void addPair(final int handleA, final int handleB) {
+		if ((this.pairCount * 2) == this.pairs.length) {
+			this.pairs = Arrays.copyOf(this.pairs, this.pairs.length * 2);
+		}
+		
+		this.pairs[this.pairCount * 2] = handleA;
+		this.pairs[(this.pairCount * 2) + 1] = handleB;
+		this.pairCount++;
+	}
+	
+	private int checkPair(final int pair) throws IndexOutOfBoundsException {
+		if ((pair < 0) || (pair >= this.pairCount)) {
+			throw new IndexOutOfBoundsException("The pair " + pair + " lies outside of the " + this.pairCount + " pairs found.");
+		}
+		
+		return pair;
+	}
+	
+	private static void checkExtents(final BoundingVolume volume) throws IllegalArgumentException {
+		float left = volume.getLeft();
+		float bottom = volume.getBottom();
+		float right = volume.getRight();
+		float top = volume.getTop();
+		
+		// NaN can not be ordered, so the endpoints would not stay sorted:
+		if (!Float.isFinite(left) || !Float.isFinite(bottom) || !Float.isFinite(right) || !Float.isFinite(top)) {
+			throw new IllegalArgumentException("The extents (" + left + ", " + bottom + ") to (" + right + ", " + top + ") are not finite.");
+		}
+		
+		// A right endpoint sorted before its left one would close an interval
+		// which was never opened:
+		if ((left > right) || (bottom > top)) {
+			throw new IllegalArgumentException("The extents (" + left + ", " + bottom + ") to (" + right + ", " + top + ") end before they start.");
+		}
+	}
+	
+	private void ensureEndpointCapacity(final int capacity) {
+		if (capacity > this.endpointValues.length) {
+			int length = Math.max(capacity, this.endpointValues.length * 2);
+			
+			this.endpointValues = Arrays.copyOf(this.endpointValues, length);
+			this.endpointKeys = Arrays.copyOf(this.endpointKeys, length);
+		}
+	}
+	
+	private void growHandles() {
+		int capacity = this.volumes.length * 2;
+		
+		this.volumes = Arrays.copyOf(this.volumes, capacity);
+		this.extents = Arrays.copyOf(this.extents, capacity * 2);
+		this.freeHandles = Arrays.copyOf(this.freeHandles, capacity);
+		this.active = Arrays.copyOf(this.active, capacity);
+		this.activeIndices = Arrays.copyOf(this.activeIndices, capacity);
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private BoundingVolume[] volumes;		// Indexed by handle, null for free handles.
+	private float[] extents;				// Indexed by handle * 2: bottom, top.
+	private int[] freeHandles;
+	private int freeHandleCount;
+	private int handleCount;
+	
+	private float[] endpointValues;			// The sorted x coordinates of all endpoints.
+	private int[] endpointKeys;				// The handle of each endpoint shifted left, plus one for right endpoints.
+	private int endpointCount;
+	private long[] sortKeys;				// Scratch space for rebuilding the endpoints, see rebuildEndpoints.
+	
+	private int[] active;					// The handles of the intervals open during the sweep.
+	private int[] activeIndices;			// Indexed by handle: the position of the handle in active.
+	
+	private int[] pairs;					// Indexed by pair * 2: both handles of a pair.
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int INITIAL_CAPACITY = 64;
+
+}
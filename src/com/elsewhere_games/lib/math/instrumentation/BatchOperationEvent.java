@@ -0,0 +1,32 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>A Flight Recorder event for a sampled batch operation. The event begins
+ * and ends with the operation, so its duration is the time the operation
+ * took.</p>
+ */
+
+@Name("com.elsewhere_games.lib.math.BatchOperation")
+@Label("Batch Operation")
+@Category({ "Elsewhere Games", "Math" })
+@Description("A sampled batch operation of the math library.")
+@StackTrace(false)
+final class BatchOperationEvent extends Event {
+	
+	@Label("Operation")
+	String operation;
+	
+	@Label("Category")
+	String category;
+	
+	@Label("Elements")
+	int elementCount;
+
+}
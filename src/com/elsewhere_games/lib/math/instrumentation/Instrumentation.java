@@ -0,0 +1,328 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>Opt-in counters for the hot paths of the library, enabled by setting
+ * the system property
+ * <code>com.elsewhere_games.lib.math.instrumentation</code> to
+ * <code>true</code>. When it is not set, {@link #ENABLED} is
+ * <code>false</code> and the JIT compiler removes every hook, so the
+ * instrumentation costs nothing.</p>
+ *
+ * <p>When enabled, every instrumented {@link Operation} is counted in
+ * striped {@link LongAdder}s, which threads update without contending.
+ * One in every {@link #SAMPLE_INTERVAL} batch operations is also timed; its
+ * latency is added to a histogram, and the operation is recorded as a Flight
+ * Recorder event named <code>com.elsewhere_games.lib.math.BatchOperation</code>
+ * whose duration is that latency.</p>
+ *
+ * <p>Single operations, such as the containment and intersection tests of
+ * the bounding volumes, are counted but never timed: they take about a
+ * nanosecond, far less than the resolution and cost of
+ * <code>System.nanoTime()</code>. Their latency histograms stay empty, and
+ * they are left out of the latencies reported over JMX. Their cost is best
+ * measured with the benchmarks, or inferred from the batch operations that
+ * call them.</p>
+ *
+ * <p>The counters can be pulled with {@link #snapshot()}, and are registered
+ * over JMX as {@link #OBJECT_NAME} when the class is first used.</p>
+ *
+ * <p>The library calls the hooks like this, so that they disappear when the
+ * instrumentation is disabled:</p>
+ *
+ * <pre>
+ * if (Instrumentation.ENABLED) {
+ *     Instrumentation.count(Operation.BOUNDING_VOLUME_CONTAINS);
+ * }
+ *
+ * Sample sample = Instrumentation.ENABLED ? Instrumentation.begin() : null;
+ * ...
+ * if (Instrumentation.ENABLED) {
+ *     Instrumentation.end(Operation.BUFFER_PUT, sample, count);
+ * }
+ * </pre>
+ */
+
+public final class Instrumentation {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private Instrumentation() {
+		// Only static hooks and queries are provided.
+	}
+	
+	/*
+	 * Hooks
+	 */
+	
+	/**
+	 * <p>Counts a single invocation of the <code>operation</code>, without
+	 * timing it. Called by the library only if {@link #ENABLED} is
+	 * <code>true</code>.</p>
+	 *
+	 * @param operation The performed operation.
+	 */
+	public static void count(final Operation operation) {
+		Counters counters = Instrumentation.COUNTERS[operation.ordinal()];
+		
+		// Single operations process one element each, so only the invocations
+		// are counted:
+		counters.invocations.increment();
+	}
+	
+	/**
+	 * <p>Starts a batch operation, deciding whether it is sampled. Called by
+	 * the library only if {@link #ENABLED} is <code>true</code>.</p>
+	 *
+	 * @return The value to pass to {@link #end(Operation, Sample, int)}, which
+	 * is <code>null</code> if the operation is not timed.
+	 */
+	public static Sample begin() {
+		if (ThreadLocalRandom.current().nextInt(Instrumentation.SAMPLE_INTERVAL) != 0) {
+			return null;
+		}
+		
+		return new Sample();
+	}
+	
+	/**
+	 * <p>Ends a batch operation started with {@link #begin()}, counting it
+	 * and, if it was sampled, recording its latency. Called by the library only
+	 * if {@link #ENABLED} is <code>true</code>.</p>
+	 *
+	 * @param operation The performed operation.
+	 * @param sample The value returned by {@link #begin()}.
+	 * @param elementCount The number of elements processed.
+	 */
+	public static void end(final Operation operation, final Sample sample, final int elementCount) {
+		Counters counters = Instrumentation.COUNTERS[operation.ordinal()];
+		
+		counters.invocations.increment();
+		counters.elements.add(elementCount);
+		
+		if (sample == null) {
+			return;
+		}
+		
+		long latency = System.nanoTime() - sample.start;
+		
+		counters.buckets[LatencyHistogram.bucketOf(latency)].increment();
+		counters.totalLatency.add(latency);
+		
+		// The event has been timing the operation since it began, so the
+		// recording applies its own thresholds to the duration:
+		BatchOperationEvent event = sample.event;
+		event.end();
+		
+		if (event.shouldCommit()) {
+			event.operation = operation.name();
+			event.category = operation.getCategory().name();
+			event.elementCount = elementCount;
+			event.commit();
+		}
+	}
+	
+	/*
+	 * Queries
+	 */
+	
+	/**
+	 * <p>Reads the current values of all counters.</p>
+	 *
+	 * @return A snapshot of the counters.
+	 */
+	public static InstrumentationSnapshot snapshot() {
+		Operation[] operations = Operation.values();
+		OperationStatistics[] statistics = new OperationStatistics[operations.length];
+		
+		for (int i = 0; i < operations.length; i++) {
+			Counters counters = Instrumentation.COUNTERS[i];
+			long[] bucketCounts = new long[LatencyHistogram.BUCKET_COUNT];
+			
+			for (int j = 0; j < bucketCounts.length; j++) {
+				bucketCounts[j] = counters.buckets[j].sum();
+			}
+			
+			long invocationCount = counters.invocations.sum();
+			long elementCount = operations[i].isBatch() ? counters.elements.sum() : invocationCount;
+			LatencyHistogram latency = new LatencyHistogram(bucketCounts, counters.totalLatency.sum());
+			statistics[i] = new OperationStatistics(operations[i], invocationCount, elementCount, latency);
+		}
+		
+		return new InstrumentationSnapshot(System.nanoTime(), statistics);
+	}
+	
+	/**
+	 * <p>Sets all counters back to zero. Operations that run at the same time
+	 * may be partially counted.</p>
+	 */
+	public static void reset() {
+		for (Counters counters : Instrumentation.COUNTERS) {
+			counters.invocations.reset();
+			counters.elements.reset();
+			counters.totalLatency.reset();
+			
+			for (LongAdder bucket : counters.buckets) {
+				bucket.reset();
+			}
+		}
+	}
+	
+	/*
+	 * JMX
+	 */
+	
+	/**
+	 * <p>Registers the counters with the platform MBean server as
+	 * {@link #OBJECT_NAME}, unless they already are. This happens
+	 * automatically when the instrumentation is enabled.</p>
+	 *
+	 * @throws IllegalStateException If the MBean server rejects the
+	 * registration.
+	 */
+	public static void registerMBean() throws IllegalStateException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		
+		try {
+			server.registerMBean(new Bean(), new ObjectName(Instrumentation.OBJECT_NAME));
+		} catch (InstanceAlreadyExistsException exception) {
+			// Registered before, which is fine.
+		} catch (JMException exception) {
+			throw new IllegalStateException("The instrumentation MBean could not be registered.", exception);
+		}
+	}
+	
+	private static final class Bean implements InstrumentationMXBean {
+		
+		@Override
+		public boolean isEnabled() {
+			return Instrumentation.ENABLED;
+		}
+		
+		@Override
+		public int getSampleInterval() {
+			return Instrumentation.SAMPLE_INTERVAL;
+		}
+		
+		@Override
+		public Map<String, Long> getInvocationCounts() {
+			InstrumentationSnapshot snapshot = Instrumentation.snapshot();
+			Map<String, Long> counts = new LinkedHashMap<String, Long>();
+			
+			for (Operation operation : Operation.values()) {
+				counts.put(operation.name(), snapshot.getStatistics(operation).getInvocationCount());
+			}
+			
+			return counts;
+		}
+		
+		@Override
+		public Map<String, Long> getElementCounts() {
+			InstrumentationSnapshot snapshot = Instrumentation.snapshot();
+			Map<String, Long> counts = new LinkedHashMap<String, Long>();
+			
+			for (Operation operation : Operation.values()) {
+				counts.put(operation.name(), snapshot.getStatistics(operation).getElementCount());
+			}
+			
+			return counts;
+		}
+		
+		@Override
+		public Map<String, Long> getMedianLatencies() {
+			return this.getLatencies(0.5);
+		}
+		
+		@Override
+		public Map<String, Long> getTailLatencies() {
+			return this.getLatencies(0.99);
+		}
+		
+		@Override
+		public void reset() {
+			Instrumentation.reset();
+		}
+		
+		private Map<String, Long> getLatencies(final double fraction) {
+			InstrumentationSnapshot snapshot = Instrumentation.snapshot();
+			Map<String, Long> latencies = new LinkedHashMap<String, Long>();
+			
+			for (Operation operation : Operation.values()) {
+				if (operation.isBatch()) {
+					latencies.put(operation.name(), snapshot.getStatistics(operation).getLatency().getPercentile(fraction));
+				}
+			}
+			
+			return latencies;
+		}
+	
+	}
+	
+	/*
+	 * Live Counters
+	 */
+	
+	private static final class Counters {
+		
+		Counters() {
+			for (int i = 0; i < this.buckets.length; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+		
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder elements = new LongAdder();
+		private final LongAdder totalLatency = new LongAdder();
+		private final LongAdder[] buckets = new LongAdder[LatencyHistogram.BUCKET_COUNT];
+	
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>Whether operations are counted. It is read once from the system
+	 * property <code>com.elsewhere_games.lib.math.instrumentation</code>;
+	 * when disabled, the hooks are compiled away.</p>
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("com.elsewhere_games.lib.math.instrumentation");
+	
+	/**
+	 * <p>The number of batch operations per timed one, read from the system
+	 * property
+	 * <code>com.elsewhere_games.lib.math.instrumentation.sampleInterval</code>.
+	 * The default is <code>16</code>; <code>1</code> times every batch.</p>
+	 */
+	public static final int SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("com.elsewhere_games.lib.math.instrumentation.sampleInterval", 16));
+	
+	/**
+	 * <p>The JMX object name under which the counters are registered.</p>
+	 */
+	public static final String OBJECT_NAME = "com.elsewhere_games.lib.math:type=Instrumentation";
+	
+	private static final Counters[] COUNTERS = new Counters[Operation.values().length];
+	
+	static {
+		for (int i = 0; i < Instrumentation.COUNTERS.length; i++) {
+			Instrumentation.COUNTERS[i] = new Counters();
+		}
+		
+		if (Instrumentation.ENABLED) {
+			Instrumentation.registerMBean();
+		}
+	}
+
+}
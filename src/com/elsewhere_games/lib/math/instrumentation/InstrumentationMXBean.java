@@ -0,0 +1,64 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+import java.util.Map;
+
+/**
+ * <p>The management interface through which {@link Instrumentation} is
+ * exposed over JMX, under the name {@link Instrumentation#OBJECT_NAME}. The
+ * maps are keyed by the names of the {@link Operation}s.</p>
+ */
+
+public interface InstrumentationMXBean {
+	
+	/**
+	 * <p>Checks whether the instrumentation is enabled.</p>
+	 *
+	 * @return <code>true</code> if operations are being counted,
+	 * <code>false</code> otherwise.
+	 */
+	public boolean isEnabled();
+	
+	/**
+	 * <p>Gets the number of batch operations per timed one.</p>
+	 *
+	 * @return The sample interval.
+	 */
+	public int getSampleInterval();
+	
+	/**
+	 * <p>Gets the number of invocations of each operation.</p>
+	 *
+	 * @return The invocation counts.
+	 */
+	public Map<String, Long> getInvocationCounts();
+	
+	/**
+	 * <p>Gets the number of elements processed by each operation.</p>
+	 *
+	 * @return The element counts.
+	 */
+	public Map<String, Long> getElementCounts();
+	
+	/**
+	 * <p>Gets the median sampled latency of each batch operation, in
+	 * nanoseconds. Single operations, such as the bounding volume tests, are
+	 * not timed and therefore not included.</p>
+	 *
+	 * @return The median latencies.
+	 */
+	public Map<String, Long> getMedianLatencies();
+	
+	/**
+	 * <p>Gets the 99th percentile of the sampled latency of each batch
+	 * operation, in nanoseconds. Single operations are not included.</p>
+	 *
+	 * @return The 99th percentile latencies.
+	 */
+	public Map<String, Long> getTailLatencies();
+	
+	/**
+	 * <p>Sets all counters back to zero.</p>
+	 */
+	public void reset();
+
+}
@@ -0,0 +1,140 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>The counters of all {@link Operation}s at one point in time, as returned
+ * by {@link Instrumentation#snapshot()}. The counters only ever grow until
+ * they are reset, so the work done during a frame is the difference between
+ * the snapshots taken at its end and at its start:</p>
+ *
+ * <pre>
+ * InstrumentationSnapshot start = Instrumentation.snapshot();
+ * ...
+ * InstrumentationSnapshot frame = Instrumentation.snapshot().minus(start);
+ * long tests = frame.getStatistics(Operation.BOUNDING_VOLUME_CONTAINS).getInvocationCount();
+ * </pre>
+ *
+ * <p>The counters are read one after the other while other threads may
+ * still be updating them, so a snapshot is not an atomic view.</p>
+ */
+
+public final class InstrumentationSnapshot {
+	
+	/*
+	 * Constructors
+	 */
+	
+	InstrumentationSnapshot(final long time, final OperationStatistics[] statistics) {
+		this.time = time;
+		this.statistics = statistics;
+	}
+	
+	/*
+	 * Statistics
+	 */
+	
+	/**
+	 * <p>Gets the statistics of the <code>operation</code>.</p>
+	 *
+	 * @param operation The operation to get the statistics of.
+	 * @return The statistics of the operation.
+	 */
+	public OperationStatistics getStatistics(final Operation operation) {
+		return this.statistics[operation.ordinal()];
+	}
+	
+	/**
+	 * <p>Gets the number of invocations of all operations in the
+	 * <code>category</code>.</p>
+	 *
+	 * @param category The category to sum the invocations of.
+	 * @return The number of invocations.
+	 */
+	public long getInvocationCount(final OperationCategory category) {
+		long count = 0;
+		
+		for (OperationStatistics statistics : this.statistics) {
+			if (statistics.getOperation().getCategory() == category) {
+				count += statistics.getInvocationCount();
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Gets the number of elements processed by all operations in the
+	 * <code>category</code>.</p>
+	 *
+	 * @param category The category to sum the elements of.
+	 * @return The number of elements processed.
+	 */
+	public long getElementCount(final OperationCategory category) {
+		long count = 0;
+		
+		for (OperationStatistics statistics : this.statistics) {
+			if (statistics.getOperation().getCategory() == category) {
+				count += statistics.getElementCount();
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * <p>Gets the difference between this snapshot and an
+	 * <code>earlier</code> one, such as the work done in a single frame. The
+	 * time of the result is the time elapsed between the two.</p>
+	 *
+	 * @param earlier The snapshot to subtract from this one.
+	 * @return The difference between the snapshots.
+	 */
+	public InstrumentationSnapshot minus(final InstrumentationSnapshot earlier) {
+		OperationStatistics[] statistics = new OperationStatistics[this.statistics.length];
+		
+		for (int i = 0; i < statistics.length; i++) {
+			statistics[i] = this.statistics[i].minus(earlier.statistics[i]);
+		}
+		
+		return new InstrumentationSnapshot(this.time - earlier.time, statistics);
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final long time;
+	
+	/**
+	 * <p>Gets the value of <code>System.nanoTime()</code> when this snapshot
+	 * was taken, or the time between two snapshots for a difference.</p>
+	 *
+	 * @return The time of this snapshot in nanoseconds.
+	 */
+	public long getTime() {
+		return this.time;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		
+		for (OperationStatistics statistics : this.statistics) {
+			if (statistics.getInvocationCount() != 0) {
+				result.append(statistics).append('\n');
+			}
+		}
+		
+		return result.toString();
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final OperationStatistics[] statistics;		// Indexed by the ordinal of the operation.
+
+}
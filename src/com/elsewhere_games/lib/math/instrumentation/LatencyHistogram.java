@@ -0,0 +1,159 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>A snapshot of the sampled latencies of one {@link Operation}, in
+ * buckets of powers of two nanoseconds. Bucket <code>0</code> holds
+ * latencies of zero, and bucket <code>i</code> those from
+ * <code>2^(i - 1)</code> up to <code>2^i</code> nanoseconds, so percentiles
+ * are accurate to within a factor of two.</p>
+ */
+
+public final class LatencyHistogram {
+	
+	/*
+	 * Constructors
+	 */
+	
+	LatencyHistogram(final long[] bucketCounts, final long totalLatency) {
+		long sampleCount = 0;
+		
+		for (int i = 0; i < bucketCounts.length; i++) {
+			sampleCount += bucketCounts[i];
+		}
+		
+		this.bucketCounts = bucketCounts;
+		this.sampleCount = sampleCount;
+		this.totalLatency = totalLatency;
+	}
+	
+	/**
+	 * <p>Gets the bucket in which the <code>latency</code> is counted.</p>
+	 */
+	static int bucketOf(final long latency) {
+		return Math.min(64 - Long.numberOfLeadingZeros(Math.max(latency, 0L)), LatencyHistogram.BUCKET_COUNT - 1);
+	}
+	
+	/*
+	 * Statistics
+	 */
+	
+	/**
+	 * <p>Gets the latency below which the <code>fraction</code> of the
+	 * samples lie, rounded up to the upper bound of its bucket.</p>
+	 *
+	 * @param fraction The fraction of the samples, such as <code>0.99</code>
+	 * for the 99th percentile.
+	 * @return The latency in nanoseconds, or <code>0</code> if there are no
+	 * samples.
+	 *
+	 * @throws IllegalArgumentException If the <code>fraction</code> lies
+	 * outside of <code>[0, 1]</code>.
+	 */
+	public long getPercentile(final double fraction) throws IllegalArgumentException {
+		if (!(fraction >= 0.0 && fraction <= 1.0)) {
+			throw new IllegalArgumentException("The specified fraction " + fraction + " lies outside of [0, 1].");
+		}
+		
+		long rank = (long)Math.ceil(fraction * this.sampleCount);
+		long seen = 0;
+		
+		for (int i = 0; i < this.bucketCounts.length; i++) {
+			seen += this.bucketCounts[i];
+			
+			if (seen >= rank && seen > 0) {
+				return LatencyHistogram.getBucketUpperBound(i);
+			}
+		}
+		
+		return 0L;
+	}
+	
+	/**
+	 * <p>Gets the mean of the sampled latencies.</p>
+	 *
+	 * @return The mean latency in nanoseconds, or <code>0.0</code> if there
+	 * are no samples.
+	 */
+	public double getMean() {
+		return (this.sampleCount == 0) ? 0.0 : ((double)this.totalLatency / this.sampleCount);
+	}
+	
+	/**
+	 * <p>Gets the number of samples in the <code>bucket</code>.</p>
+	 *
+	 * @param bucket The index of the bucket, from zero up to
+	 * {@link #BUCKET_COUNT}.
+	 * @return The number of samples in the bucket.
+	 */
+	public long getBucketCount(final int bucket) {
+		return this.bucketCounts[bucket];
+	}
+	
+	/**
+	 * <p>Gets the exclusive upper bound of the latencies in the
+	 * <code>bucket</code>.</p>
+	 *
+	 * @param bucket The index of the bucket, from zero up to
+	 * {@link #BUCKET_COUNT}.
+	 * @return The upper bound in nanoseconds.
+	 */
+	public static long getBucketUpperBound(final int bucket) {
+		return (bucket == LatencyHistogram.BUCKET_COUNT - 1) ? Long.MAX_VALUE : (1L << bucket);
+	}
+	
+	/**
+	 * <p>Gets the difference between this histogram and an
+	 * <code>earlier</code> one of the same operation.</p>
+	 */
+	LatencyHistogram minus(final LatencyHistogram earlier) {
+		long[] bucketCounts = new long[LatencyHistogram.BUCKET_COUNT];
+		
+		for (int i = 0; i < bucketCounts.length; i++) {
+			bucketCounts[i] = this.bucketCounts[i] - earlier.bucketCounts[i];
+		}
+		
+		return new LatencyHistogram(bucketCounts, this.totalLatency - earlier.totalLatency);
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final long sampleCount;
+	
+	/**
+	 * <p>Gets the number of timed operations.</p>
+	 *
+	 * @return The number of samples.
+	 */
+	public long getSampleCount() {
+		return this.sampleCount;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	@Override
+	public String toString() {
+		return this.sampleCount + " samples, mean " + Math.round(this.getMean()) + " ns, median < " + this.getPercentile(0.5) + " ns, 99% < " + this.getPercentile(0.99) + " ns";
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final long[] bucketCounts;
+	private final long totalLatency;
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The number of buckets, the last of which also holds every latency
+	 * beyond it.</p>
+	 */
+	public static final int BUCKET_COUNT = 48;
+
+}
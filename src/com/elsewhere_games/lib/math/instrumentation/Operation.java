@@ -0,0 +1,105 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>The operations counted by {@link Instrumentation}. Single operations,
+ * such as a containment test, are only counted, as they are too short to be
+ * timed individually; batch operations are also counted per element, and a
+ * sample of them is timed.</p>
+ */
+
+public enum Operation {
+	
+	/**
+	 * <p>A single <code>normalize</code> or <code>normalizeFast</code> call on
+	 * a <code>Vector2d</code> or <code>Vector3d</code>.</p>
+	 */
+	VECTOR_NORMALIZE(OperationCategory.VECTOR, false),
+	
+	/**
+	 * <p>A batch operation of <code>VectorKernels</code>, counted per
+	 * vector.</p>
+	 */
+	VECTOR_KERNEL(OperationCategory.VECTOR, true),
+	
+	/**
+	 * <p>A test whether a bounding volume, or a <code>Rectangle</code>,
+	 * contains a point.</p>
+	 */
+	BOUNDING_VOLUME_CONTAINS(OperationCategory.BOUNDING_VOLUME, false),
+	
+	/**
+	 * <p>A test whether two bounding volumes intersect.</p>
+	 */
+	BOUNDING_VOLUME_INTERSECTS(OperationCategory.BOUNDING_VOLUME, false),
+	
+	/**
+	 * <p>A point, rectangle or ray query of a <code>BoundingVolumeTree</code>
+	 * or <code>SpatialHashGrid</code>, counted as one element, or a
+	 * containment query of <code>ParallelBoundingVolumeQueries</code>, counted
+	 * per point.</p>
+	 */
+	BOUNDING_VOLUME_QUERY(OperationCategory.BOUNDING_VOLUME, true),
+	
+	/**
+	 * <p>Finding all overlapping pairs with <code>SweepAndPrune</code>,
+	 * <code>BoundingVolumeTree</code> or
+	 * <code>ParallelBoundingVolumeQueries</code>, counted per volume.</p>
+	 */
+	BOUNDING_VOLUME_PAIRS(OperationCategory.BOUNDING_VOLUME, true),
+	
+	/**
+	 * <p>A batched intersection test or ray cast of
+	 * <code>Intersections</code>, counted per volume tested against.</p>
+	 */
+	BOUNDING_VOLUME_BATCH(OperationCategory.BOUNDING_VOLUME, true),
+	
+	/**
+	 * <p>Packing vectors, vertices or texture coordinates into a buffer with
+	 * <code>BufferUtilities</code>, counted per element.</p>
+	 */
+	BUFFER_PUT(OperationCategory.BUFFER_IO, true),
+	
+	/**
+	 * <p>Unpacking vectors or vertices from a buffer with
+	 * <code>BufferUtilities</code>, counted per element.</p>
+	 */
+	BUFFER_GET(OperationCategory.BUFFER_IO, true);
+	
+	/*
+	 * Constructors
+	 */
+	
+	private Operation(final OperationCategory category, final boolean batch) {
+		this.category = category;
+		this.batch = batch;
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final OperationCategory category;
+	
+	/**
+	 * <p>Gets the category in which this operation is reported.</p>
+	 * 
+	 * @return The category of this operation.
+	 */
+	public OperationCategory getCategory() {
+		return this.category;
+	}
+	
+	private final boolean batch;
+	
+	/**
+	 * <p>Checks whether this operation works on a batch of elements, in which
+	 * case its latency is sampled.</p>
+	 * 
+	 * @return <code>true</code> if this is a batch operation,
+	 * <code>false</code> otherwise.
+	 */
+	public boolean isBatch() {
+		return this.batch;
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>The groups in which the instrumented {@link Operation}s are
+ * reported.</p>
+ */
+
+public enum OperationCategory {
+	
+	/**
+	 * <p>Operations on vectors, single or in batches.</p>
+	 */
+	VECTOR,
+	
+	/**
+	 * <p>Containment and intersection tests between bounding volumes, and
+	 * queries of the structures which hold them.</p>
+	 */
+	BOUNDING_VOLUME,
+	
+	/**
+	 * <p>Packing components into, and unpacking them from, buffers.</p>
+	 */
+	BUFFER_IO
+
+}
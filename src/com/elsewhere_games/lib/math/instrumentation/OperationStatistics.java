@@ -0,0 +1,91 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>A snapshot of the counters of one {@link Operation}, summed over all
+ * threads.</p>
+ */
+
+public final class OperationStatistics {
+	
+	/*
+	 * Constructors
+	 */
+	
+	OperationStatistics(final Operation operation, final long invocationCount, final long elementCount, final LatencyHistogram latency) {
+		this.operation = operation;
+		this.invocationCount = invocationCount;
+		this.elementCount = elementCount;
+		this.latency = latency;
+	}
+	
+	/**
+	 * <p>Gets the difference between these statistics and <code>earlier</code>
+	 * ones of the same operation.</p>
+	 */
+	OperationStatistics minus(final OperationStatistics earlier) {
+		return new OperationStatistics(this.operation, this.invocationCount - earlier.invocationCount, this.elementCount - earlier.elementCount, this.latency.minus(earlier.latency));
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final Operation operation;
+	
+	/**
+	 * <p>Gets the operation these statistics apply to.</p>
+	 *
+	 * @return The counted operation.
+	 */
+	public Operation getOperation() {
+		return this.operation;
+	}
+	
+	private final long invocationCount;
+	
+	/**
+	 * <p>Gets the number of times the operation was performed.</p>
+	 *
+	 * @return The number of invocations.
+	 */
+	public long getInvocationCount() {
+		return this.invocationCount;
+	}
+	
+	private final long elementCount;
+	
+	/**
+	 * <p>Gets the number of elements processed, which for single operations
+	 * equals the number of invocations.</p>
+	 *
+	 * @return The number of elements processed.
+	 */
+	public long getElementCount() {
+		return this.elementCount;
+	}
+	
+	private final LatencyHistogram latency;
+	
+	/**
+	 * <p>Gets the sampled latencies of the operation, which are only recorded
+	 * for batch operations. The histogram of a single operation, such as a
+	 * bounding volume test, is always empty.</p>
+	 *
+	 * @return The latency histogram.
+	 */
+	public LatencyHistogram getLatency() {
+		return this.latency;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	@Override
+	public String toString() {
+		String result = this.operation + ": " + this.invocationCount + " calls, " + this.elementCount + " elements";
+		
+		return this.operation.isBatch() ? (result + ", " + this.latency) : result;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.elsewhere_games.lib.math.instrumentation;
+
+/**
+ * <p>A batch operation which was picked to be timed. It is returned by
+ * {@link Instrumentation#begin()}, which returns <code>null</code> for the
+ * batch operations that are only counted, and passed back to
+ * {@link Instrumentation#end(Operation, Sample, int)}.</p>
+ */
+
+public final class Sample {
+	
+	/*
+	 * Constructors
+	 */
+	
+	Sample() {
+		// The event starts timing first, so that the start time used for the
+		// histogram is not taken before it:
+		this.event.begin();
+		this.start = System.nanoTime();
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	final BatchOperationEvent event = new BatchOperationEvent();
+	final long start;				// The value of System.nanoTime() when the operation started.
+
+}
@@ -0,0 +1,77 @@
+package com.elsewhere_games.lib.math.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * <p>Describes the binary dataset file format shared by
+ * {@link DatasetWriter} and {@link DatasetReader}. A file consists of a fixed
+ * size header followed by the float payload:</p>
+ * 
+ * <pre>
+ * offset  size  field
+ *      0     4  magic number, "EGMD"
+ *      4     4  format version
+ *      8     4  element type identifier, see {@link ElementType}
+ *     12     4  components per element
+ *     16     8  element count
+ *     24     4  payload offset in bytes
+ *     28     4  reserved, zero
+ *     32     -  payload, element count * components per element floats
+ * </pre>
+ * 
+ * <p>All values are little endian. The payload offset is a multiple of
+ * {@link #PAYLOAD_ALIGNMENT}, so that a mapped payload is suitably aligned for
+ * float access.</p>
+ */
+
+public final class DatasetFormat {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private DatasetFormat() {
+		// Only constants are provided.
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>The first four bytes of every dataset file, "EGMD" in ASCII.</p>
+	 */
+	public static final int MAGIC = 0x444D4745;
+	
+	/**
+	 * <p>The version of the format written by {@link DatasetWriter}.</p>
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * <p>The size of the header in bytes.</p>
+	 */
+	public static final int HEADER_SIZE = 32;
+	
+	/**
+	 * <p>The alignment of the payload in bytes.</p>
+	 */
+	public static final int PAYLOAD_ALIGNMENT = 16;
+	
+	/**
+	 * <p>The byte order of all values in a dataset file.</p>
+	 */
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	/*
+	 * Header Offsets
+	 */
+	
+	static final int MAGIC_OFFSET = 0;
+	static final int VERSION_OFFSET = 4;
+	static final int TYPE_OFFSET = 8;
+	static final int COMPONENT_COUNT_OFFSET = 12;
+	static final int ELEMENT_COUNT_OFFSET = 16;
+	static final int PAYLOAD_OFFSET_OFFSET = 24;
+
+}
@@ -0,0 +1,176 @@
+package com.elsewhere_games.lib.math.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Reads a dataset file as described by {@link DatasetFormat} by mapping
+ * it into memory. The header is validated when the reader is created, after
+ * which the payload is exposed as a <code>FloatBuffer</code> directly over
+ * the mapped file; no elements are parsed or copied. Pages are loaded by the
+ * operating system as they are first touched.</p>
+ * 
+ * <p>The payload of a single file is limited to the two gigabytes a single
+ * buffer can address. The mapping stays valid after the reader is closed,
+ * until the buffers returned by it are no longer reachable.</p>
+ */
+
+public class DatasetReader implements Closeable {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Opens and maps the specified <code>file</code>.</p>
+	 * 
+	 * @param file The dataset file to read.
+	 * 
+	 * @throws IOException If the file can not be read, or is not a valid
+	 * dataset file.
+	 */
+	public DatasetReader(final File file) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		
+		try {
+			long size = this.channel.size();
+			
+			if (size < DatasetFormat.HEADER_SIZE) {
+				throw new IOException("The file is too small to be a dataset file.");
+			}
+			
+			ByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, DatasetFormat.HEADER_SIZE).order(DatasetFormat.BYTE_ORDER);
+			
+			if (header.getInt(DatasetFormat.MAGIC_OFFSET) != DatasetFormat.MAGIC) {
+				throw new IOException("The file is not a dataset file.");
+			}
+			
+			int version = header.getInt(DatasetFormat.VERSION_OFFSET);
+			if (version != DatasetFormat.VERSION) {
+				throw new IOException("Dataset format version " + version + " is not supported.");
+			}
+			
+			this.type = ElementType.fromIdentifier(header.getInt(DatasetFormat.TYPE_OFFSET));
+			if ((this.type == null) || (header.getInt(DatasetFormat.COMPONENT_COUNT_OFFSET) != this.type.getComponentCount())) {
+				throw new IOException("The dataset file contains an unknown element type.");
+			}
+			
+			this.count = header.getLong(DatasetFormat.ELEMENT_COUNT_OFFSET);
+			int payloadOffset = header.getInt(DatasetFormat.PAYLOAD_OFFSET_OFFSET);
+			
+			if ((payloadOffset < DatasetFormat.HEADER_SIZE) || ((payloadOffset % DatasetFormat.PAYLOAD_ALIGNMENT) != 0)) {
+				throw new IOException("The dataset file has an invalid payload offset.");
+			}
+			
+			// The count is checked before it is multiplied, so a corrupt count can
+			// not overflow the payload size:
+			if ((this.count < 0) || (this.count > Integer.MAX_VALUE)) {
+				throw new IOException("The dataset file is too large to be mapped.");
+			}
+			
+			long payloadSize = this.count * this.type.getComponentCount() * (Float.SIZE / Byte.SIZE);
+			if (payloadSize > Integer.MAX_VALUE) {
+				throw new IOException("The dataset file is too large to be mapped.");
+			}
+			
+			if (payloadOffset + payloadSize > size) {
+				throw new IOException("The dataset file is truncated.");
+			}
+			
+			MappedByteBuffer payload = this.channel.map(FileChannel.MapMode.READ_ONLY, payloadOffset, payloadSize);
+			this.components = payload.order(DatasetFormat.BYTE_ORDER).asFloatBuffer();
+		} catch (IOException exception) {
+			this.channel.close();
+			throw exception;
+		}
+	}
+	
+	/*
+	 * Data Access
+	 */
+	
+	/**
+	 * <p>Gets a read only view of all components in the file, positioned at
+	 * the first component. Every call returns a new view with its own
+	 * position and limit, so different callers do not interfere.</p>
+	 * 
+	 * @return A read only buffer over the payload of the file.
+	 */
+	public FloatBuffer getComponents() {
+		return this.components.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * <p>Gets a read only view of the components of <code>length</code>
+	 * elements, starting at the element at <code>index</code>.</p>
+	 * 
+	 * @param index The index of the first element.
+	 * @param length The number of elements.
+	 * @return A read only buffer over the components of the elements.
+	 * 
+	 * @throws IllegalArgumentException If the range lies outside of the file.
+	 */
+	public FloatBuffer getComponents(final int index, final int length) throws IllegalArgumentException {
+		if ((index < 0) || (length < 0) || (index > this.count - length)) {
+			throw new IllegalArgumentException("The range lies outside of the dataset.");
+		}
+		
+		int componentCount = this.type.getComponentCount();
+		FloatBuffer view = this.components.asReadOnlyBuffer();
+		
+		view.position(index * componentCount);
+		view.limit((index + length) * componentCount);
+		
+		return view.slice();
+	}
+	
+	/**
+	 * <p>Closes the file. Buffers obtained from this reader stay valid.</p>
+	 * 
+	 * @throws IOException If the file can not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final ElementType type;
+	
+	/**
+	 * <p>Gets the type of the elements stored in the file.</p>
+	 * 
+	 * @return The type of the elements stored in the file.
+	 */
+	public ElementType getElementType() {
+		return this.type;
+	}
+	
+	private final long count;
+	
+	/**
+	 * <p>Gets the number of elements stored in the file.</p>
+	 * 
+	 * @return The number of elements stored in the file.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final FileChannel channel;
+	private final FloatBuffer components;		// A view over the mapped payload.
+
+}
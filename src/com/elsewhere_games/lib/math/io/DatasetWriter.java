@@ -0,0 +1,279 @@
+package com.elsewhere_games.lib.math.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+import com.elsewhere_games.lib.math.boundingvolume.AxisAlignedBoundingBox;
+import com.elsewhere_games.lib.math.boundingvolume.Circle;
+
+/**
+ * <p>Writes a dataset file as described by {@link DatasetFormat}. Elements
+ * are appended one at a time or in bulk, and are buffered so that the file is
+ * written in large blocks. The element count in the header is filled in when
+ * the writer is closed.</p>
+ * 
+ * <p>All elements written must be of the element type the writer was created
+ * for.</p>
+ */
+
+public class DatasetWriter implements Closeable {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates, or truncates, the specified
+	 * <code>file</code> and prepares it for elements of the specified
+	 * <code>type</code>.</p>
+	 * 
+	 * @param file The file to write.
+	 * @param type The type of the elements stored in the file.
+	 * 
+	 * @throws IOException If the file can not be opened for writing.
+	 */
+	public DatasetWriter(final File file, final ElementType type) throws IOException {
+		this.type = type;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(DatasetWriter.BUFFER_SIZE).order(DatasetFormat.BYTE_ORDER);
+		this.count = 0;
+		
+		// The header is written again with the final count on close:
+		try {
+			this.writeHeader();
+			this.channel.position(DatasetFormat.HEADER_SIZE);
+		} catch (IOException exception) {
+			this.channel.close();
+			throw exception;
+		}
+	}
+	
+	/*
+	 * Element Output
+	 */
+	
+	/**
+	 * <p>Appends a two dimensional vertex.</p>
+	 * 
+	 * @param vertex The vertex to append.
+	 * 
+	 * @throws IOException If the file can not be written.
+	 * @throws IllegalArgumentException If this writer is not writing
+	 * {@link ElementType#VERTEX_2D} elements.
+	 */
+	public void write(final Vertex2d vertex) throws IOException, IllegalArgumentException {
+		this.prepare(ElementType.VERTEX_2D);
+		
+		this.buffer.putFloat(vertex.getX());
+		this.buffer.putFloat(vertex.getY());
+	}
+	
+	/**
+	 * <p>Appends a three dimensional vertex.</p>
+	 * 
+	 * @param vertex The vertex to append.
+	 * 
+	 * @throws IOException If the file can not be written.
+	 * @throws IllegalArgumentException If this writer is not writing
+	 * {@link ElementType#VERTEX_3D} elements.
+	 */
+	public void write(final Vertex3d vertex) throws IOException, IllegalArgumentException {
+		this.prepare(ElementType.VERTEX_3D);
+		
+		this.buffer.putFloat(vertex.getXComponent());
+		this.buffer.putFloat(vertex.getYComponent());
+		this.buffer.putFloat(vertex.getZComponent());
+	}
+	
+	/**
+	 * <p>Appends a bounding circle.</p>
+	 * 
+	 * @param circle The circle to append.
+	 * 
+	 * @throws IOException If the file can not be written.
+	 * @throws IllegalArgumentException If this writer is not writing
+	 * {@link ElementType#CIRCLE} elements.
+	 */
+	public void write(final Circle circle) throws IOException, IllegalArgumentException {
+		this.prepare(ElementType.CIRCLE);
+		
+		this.buffer.putFloat(circle.getCenter().getX());
+		this.buffer.putFloat(circle.getCenter().getY());
+		this.buffer.putFloat(circle.getRadius());
+	}
+	
+	/**
+	 * <p>Appends an axis aligned bounding box.</p>
+	 * 
+	 * @param box The bounding box to append.
+	 * 
+	 * @throws IOException If the file can not be written.
+	 * @throws IllegalArgumentException If this writer is not writing
+	 * {@link ElementType#AXIS_ALIGNED_BOUNDING_BOX} elements.
+	 */
+	public void write(final AxisAlignedBoundingBox box) throws IOException, IllegalArgumentException {
+		this.prepare(ElementType.AXIS_ALIGNED_BOUNDING_BOX);
+		
+		this.buffer.putFloat(box.getCenter().getX());
+		this.buffer.putFloat(box.getCenter().getY());
+		this.buffer.putFloat(box.getWidth());
+		this.buffer.putFloat(box.getHeight());
+	}
+	
+	/**
+	 * <p>Appends all remaining components of the <code>source</code> buffer
+	 * as packed elements of the type of this writer. The position of the
+	 * <code>source</code> is advanced past the components written.</p>
+	 * 
+	 * @param source The buffer supplying the components.
+	 * 
+	 * @throws IOException If the file can not be written.
+	 * @throws IllegalArgumentException If the number of remaining components
+	 * is not a multiple of the component count of the element type.
+	 */
+	public void write(final FloatBuffer source) throws IOException, IllegalArgumentException {
+		this.checkOpen();
+		
+		int componentCount = this.type.getComponentCount();
+		
+		if ((source.remaining() % componentCount) != 0) {
+			throw new IllegalArgumentException("The source buffer does not contain a whole number of elements.");
+		}
+		
+		this.count += source.remaining() / componentCount;
+		
+		while (source.hasRemaining()) {
+			if (this.buffer.remaining() < (Float.SIZE / Byte.SIZE)) {
+				this.flush();
+			}
+			
+			// Copy as many floats as fit, using a bulk put on a float view:
+			int length = Math.min(source.remaining(), this.buffer.remaining() / (Float.SIZE / Byte.SIZE));
+			FloatBuffer view = this.buffer.asFloatBuffer();
+			int limit = source.limit();
+			
+			source.limit(source.position() + length);
+			view.put(source);
+			source.limit(limit);
+			
+			this.buffer.position(this.buffer.position() + (length * (Float.SIZE / Byte.SIZE)));
+		}
+	}
+	
+	/**
+	 * <p>Writes any buffered elements and the final header, and closes the
+	 * file.</p>
+	 * 
+	 * @throws IOException If the file can not be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.channel.isOpen()) {
+			return;
+		}
+		
+		try {
+			this.flush();
+			this.writeHeader();
+		} finally {
+			this.channel.close();
+		}
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final ElementType type;
+	
+	/**
+	 * <p>Gets the type of the elements written by this writer.</p>
+	 * 
+	 * @return The type of the elements written by this writer.
+	 */
+	public ElementType getElementType() {
+		return this.type;
+	}
+	
+	private long count;
+	
+	/**
+	 * <p>Gets the number of elements written so far.</p>
+	 * 
+	 * @return The number of elements written so far.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+	
+	/*
+	 * File Output
+	 */
+	
+	private void prepare(final ElementType type) throws IOException, IllegalArgumentException {
+		this.checkOpen();
+		
+		if (type != this.type) {
+			throw new IllegalArgumentException("This writer stores " + this.type + " elements, not " + type + " elements.");
+		}
+		
+		if (this.buffer.remaining() < type.getComponentCount() * (Float.SIZE / Byte.SIZE)) {
+			this.flush();
+		}
+		
+		this.count++;
+	}
+	
+	private void flush() throws IOException {
+		this.buffer.flip();
+		
+		while (this.buffer.hasRemaining()) {
+			this.channel.write(this.buffer);
+		}
+		
+		this.buffer.clear();
+	}
+	
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(DatasetFormat.HEADER_SIZE).order(DatasetFormat.BYTE_ORDER);
+		
+		header.putInt(DatasetFormat.MAGIC_OFFSET, DatasetFormat.MAGIC);
+		header.putInt(DatasetFormat.VERSION_OFFSET, DatasetFormat.VERSION);
+		header.putInt(DatasetFormat.TYPE_OFFSET, this.type.getIdentifier());
+		header.putInt(DatasetFormat.COMPONENT_COUNT_OFFSET, this.type.getComponentCount());
+		header.putLong(DatasetFormat.ELEMENT_COUNT_OFFSET, this.count);
+		header.putInt(DatasetFormat.PAYLOAD_OFFSET_OFFSET, DatasetFormat.HEADER_SIZE);
+		
+		long position = 0;
+		while (header.hasRemaining()) {
+			position += this.channel.write(header, position);
+		}
+	}
+	
+	private void checkOpen() throws IOException {
+		if (!this.channel.isOpen()) {
+			throw new IOException("The dataset writer has been closed.");
+		}
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final FileChannel channel;
+	private final ByteBuffer buffer;		// Collects elements until it is full.
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+}
@@ -0,0 +1,92 @@
+package com.elsewhere_games.lib.math.io;
+
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>The types of elements which can be stored in a dataset file, together
+ * with the number and meaning of the floats stored per element.</p>
+ */
+
+public enum ElementType {
+	
+	/**
+	 * <p>Indicates {@link Vertex2d} elements, stored as x, y.</p>
+	 */
+	VERTEX_2D(1, Vertex2d.COMPONENT_COUNT),
+	
+	/**
+	 * <p>Indicates {@link Vertex3d} elements, stored as x, y, z.</p>
+	 */
+	VERTEX_3D(2, Vertex3d.COMPONENT_COUNT),
+	
+	/**
+	 * <p>Indicates bounding circles, stored as center x, center y, radius.</p>
+	 */
+	CIRCLE(3, 3),
+	
+	/**
+	 * <p>Indicates axis aligned bounding boxes, stored as center x, center y,
+	 * width, height.</p>
+	 */
+	AXIS_ALIGNED_BOUNDING_BOX(4, 4);
+	
+	/*
+	 * Constructors
+	 */
+	
+	private ElementType(final int identifier, final int componentCount) {
+		this.identifier = identifier;
+		this.componentCount = componentCount;
+	}
+	
+	/*
+	 * Lookup
+	 */
+	
+	/**
+	 * <p>Gets the element type stored in a file under the specified
+	 * <code>identifier</code>.</p>
+	 * 
+	 * @param identifier The identifier read from a file header.
+	 * @return The matching element type, or <code>null</code> if there is
+	 * none.
+	 */
+	public static ElementType fromIdentifier(final int identifier) {
+		for (ElementType type : ElementType.values()) {
+			if (type.identifier == identifier) {
+				return type;
+			}
+		}
+		
+		return null;
+	}
+	
+	/*
+	 * Accessors and Modifiers
+	 */
+	
+	private final int identifier;
+	
+	/**
+	 * <p>Gets the value which identifies this element type in a file header.
+	 * Identifiers never change between format versions.</p>
+	 * 
+	 * @return The identifier of this element type.
+	 */
+	public int getIdentifier() {
+		return this.identifier;
+	}
+	
+	private final int componentCount;
+	
+	/**
+	 * <p>Gets the number of floats stored per element.</p>
+	 * 
+	 * @return The number of floats stored per element.
+	 */
+	public int getComponentCount() {
+		return this.componentCount;
+	}
+
+}
@@ -0,0 +1,907 @@
+package com.elsewhere_games.lib.math.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>Explicit binary encoding of vectors and vertices, as a compact and fast
+ * alternative to Java serialization. A single element is encoded as its
+ * components, in x, y(, z) order, with nothing else. A batch of elements is
+ * encoded as an <code>int</code> count followed by the packed components of
+ * every element.</p>
+ * 
+ * <p>The <code>DataOutput</code> and <code>DataInput</code> methods use
+ * big endian values, as the <code>DataOutput</code> contract requires. The
+ * <code>ByteBuffer</code> methods use the byte order of the buffer, so the
+ * two are interchangeable when the buffer is left in its default order.</p>
+ * 
+ * <p>Streaming is done through the single element methods, or through the
+ * batch methods on a stream. The batch methods encode blocks of elements
+ * before handing them to the output, which avoids a call per component.</p>
+ * 
+ * <p>The count read by the batch methods on a stream is not trusted: the
+ * result grows as the components arrive, so a corrupt or hostile count ends
+ * in an <code>EOFException</code> rather than a huge allocation.</p>
+ */
+
+public final class VectorCodec {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private VectorCodec() {
+		// Only static methods are provided.
+	}
+	
+	/*
+	 * Vector2d Encoding
+	 */
+	
+	/**
+	 * <p>Writes the components of a single vector to the <code>output</code>.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param vector The vector to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void write(final DataOutput output, final Vector2d vector) throws IOException {
+		output.writeFloat(vector.getXComponent());
+		output.writeFloat(vector.getYComponent());
+	}
+	
+	/**
+	 * <p>Reads the components of a single vector from the <code>input</code>
+	 * into the <code>destination</code>.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @param destination The vector in which the components are stored.
+	 * 
+	 * @throws IOException If the input can not be read.
+	 */
+	public static void read(final DataInput input, final Vector2d destination) throws IOException {
+		destination.setComponents(input.readFloat(), input.readFloat());
+	}
+	
+	/**
+	 * <p>Puts the components of a single vector into the <code>destination</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the components are stored.
+	 * @param vector The vector to store.
+	 */
+	public static void put(final ByteBuffer destination, final Vector2d vector) {
+		destination.putFloat(vector.getXComponent());
+		destination.putFloat(vector.getYComponent());
+	}
+	
+	/**
+	 * <p>Gets the components of a single vector from the <code>source</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vector in which the components are stored.
+	 */
+	public static void get(final ByteBuffer source, final Vector2d destination) {
+		destination.setComponents(source.getFloat(), source.getFloat());
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vectors of the
+	 * <code>source</code> array to the <code>output</code>. The components are
+	 * encoded in blocks and handed to the output with a single call per
+	 * block.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vectors to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVector2ds(final DataOutput output, final Vector2d[] source) throws IOException {
+		output.writeInt(source.length);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		int done = 0;
+		
+		while (done < source.length) {
+			int chunk = Math.min(chunkCapacity, source.length - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vector2d element = source[done + i];
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vectors of the
+	 * <code>source</code> collection to the <code>output</code>, in iteration
+	 * order. The encoding is the same as that of
+	 * {@link #writeVector2ds(DataOutput, Vector2d[])}.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vectors to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVector2ds(final DataOutput output, final Collection<? extends Vector2d> source) throws IOException {
+		int count = source.size();
+		output.writeInt(count);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Iterator<? extends Vector2d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vector2d element = elements.next();
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Reads vectors written by one of the <code>writeVector2ds</code> methods.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @return The vectors read from the <code>input</code>.
+	 * 
+	 * @throws IOException If the input can not be read, or contains a negative
+	 * count.
+	 */
+	public static Vector2d[] readVector2ds(final DataInput input) throws IOException {
+		int count = VectorCodec.readCount(input);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Vector2d[] destination = new Vector2d[Math.min(count, chunkCapacity)];
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			input.readFully(scratch.array(), 0, chunk * Vector2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+			destination = VectorCodec.ensureCapacity(destination, done + chunk, count);
+			for (int i = 0; i < chunk; i++) {
+				Vector2d element = new Vector2d();
+				element.setComponents(scratch.getFloat(), scratch.getFloat());
+				destination[done + i] = element;
+			}
+			
+			done += chunk;
+		}
+		
+		return destination;
+	}
+	
+	/**
+	 * <p>Puts a count followed by the components of all vectors of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the vectors are stored.
+	 * @param source The vectors to store.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining.
+	 */
+	public static void putVector2ds(final ByteBuffer destination, final Vector2d[] source) throws IllegalArgumentException {
+		VectorCodec.checkRemaining(destination, source.length, Vector2d.COMPONENT_COUNT);
+		
+		destination.putInt(source.length);
+		for (int i = 0; i < source.length; i++) {
+			VectorCodec.put(destination, source[i]);
+		}
+	}
+	
+	/**
+	 * <p>Gets vectors stored by {@link #putVector2ds(ByteBuffer, Vector2d[])}.</p>
+	 * 
+	 * @param source The buffer which supplies the vectors.
+	 * @return The vectors read from the buffer.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain as many
+	 * components as its count specifies.
+	 */
+	public static Vector2d[] getVector2ds(final ByteBuffer source) throws IllegalArgumentException {
+		int count = source.getInt();
+		VectorCodec.checkContains(source, count, Vector2d.COMPONENT_COUNT);
+		
+		Vector2d[] destination = new Vector2d[count];
+		for (int i = 0; i < count; i++) {
+			destination[i] = new Vector2d();
+			VectorCodec.get(source, destination[i]);
+		}
+		
+		return destination;
+	}
+	
+	/*
+	 * Vector3d Encoding
+	 */
+	
+	/**
+	 * <p>Writes the components of a single vector to the <code>output</code>.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param vector The vector to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void write(final DataOutput output, final Vector3d vector) throws IOException {
+		output.writeFloat(vector.getXComponent());
+		output.writeFloat(vector.getYComponent());
+		output.writeFloat(vector.getZComponent());
+	}
+	
+	/**
+	 * <p>Reads the components of a single vector from the <code>input</code>
+	 * into the <code>destination</code>.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @param destination The vector in which the components are stored.
+	 * 
+	 * @throws IOException If the input can not be read.
+	 */
+	public static void read(final DataInput input, final Vector3d destination) throws IOException {
+		destination.setComponents(input.readFloat(), input.readFloat(), input.readFloat());
+	}
+	
+	/**
+	 * <p>Puts the components of a single vector into the <code>destination</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the components are stored.
+	 * @param vector The vector to store.
+	 */
+	public static void put(final ByteBuffer destination, final Vector3d vector) {
+		destination.putFloat(vector.getXComponent());
+		destination.putFloat(vector.getYComponent());
+		destination.putFloat(vector.getZComponent());
+	}
+	
+	/**
+	 * <p>Gets the components of a single vector from the <code>source</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vector in which the components are stored.
+	 */
+	public static void get(final ByteBuffer source, final Vector3d destination) {
+		destination.setComponents(source.getFloat(), source.getFloat(), source.getFloat());
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vectors of the
+	 * <code>source</code> array to the <code>output</code>. The components are
+	 * encoded in blocks and handed to the output with a single call per
+	 * block.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vectors to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVector3ds(final DataOutput output, final Vector3d[] source) throws IOException {
+		output.writeInt(source.length);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		int done = 0;
+		
+		while (done < source.length) {
+			int chunk = Math.min(chunkCapacity, source.length - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vector3d element = source[done + i];
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+				scratch.putFloat(element.getZComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vectors of the
+	 * <code>source</code> collection to the <code>output</code>, in iteration
+	 * order. The encoding is the same as that of
+	 * {@link #writeVector3ds(DataOutput, Vector3d[])}.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vectors to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVector3ds(final DataOutput output, final Collection<? extends Vector3d> source) throws IOException {
+		int count = source.size();
+		output.writeInt(count);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Iterator<? extends Vector3d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vector3d element = elements.next();
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+				scratch.putFloat(element.getZComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Reads vectors written by one of the <code>writeVector3ds</code> methods.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @return The vectors read from the <code>input</code>.
+	 * 
+	 * @throws IOException If the input can not be read, or contains a negative
+	 * count.
+	 */
+	public static Vector3d[] readVector3ds(final DataInput input) throws IOException {
+		int count = VectorCodec.readCount(input);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vector3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Vector3d[] destination = new Vector3d[Math.min(count, chunkCapacity)];
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			input.readFully(scratch.array(), 0, chunk * Vector3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+			destination = VectorCodec.ensureCapacity(destination, done + chunk, count);
+			for (int i = 0; i < chunk; i++) {
+				Vector3d element = new Vector3d();
+				element.setComponents(scratch.getFloat(), scratch.getFloat(), scratch.getFloat());
+				destination[done + i] = element;
+			}
+			
+			done += chunk;
+		}
+		
+		return destination;
+	}
+	
+	/**
+	 * <p>Puts a count followed by the components of all vectors of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the vectors are stored.
+	 * @param source The vectors to store.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining.
+	 */
+	public static void putVector3ds(final ByteBuffer destination, final Vector3d[] source) throws IllegalArgumentException {
+		VectorCodec.checkRemaining(destination, source.length, Vector3d.COMPONENT_COUNT);
+		
+		destination.putInt(source.length);
+		for (int i = 0; i < source.length; i++) {
+			VectorCodec.put(destination, source[i]);
+		}
+	}
+	
+	/**
+	 * <p>Gets vectors stored by {@link #putVector3ds(ByteBuffer, Vector3d[])}.</p>
+	 * 
+	 * @param source The buffer which supplies the vectors.
+	 * @return The vectors read from the buffer.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain as many
+	 * components as its count specifies.
+	 */
+	public static Vector3d[] getVector3ds(final ByteBuffer source) throws IllegalArgumentException {
+		int count = source.getInt();
+		VectorCodec.checkContains(source, count, Vector3d.COMPONENT_COUNT);
+		
+		Vector3d[] destination = new Vector3d[count];
+		for (int i = 0; i < count; i++) {
+			destination[i] = new Vector3d();
+			VectorCodec.get(source, destination[i]);
+		}
+		
+		return destination;
+	}
+	
+	/*
+	 * Vertex2d Encoding
+	 */
+	
+	/**
+	 * <p>Writes the components of a single vertex to the <code>output</code>.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param vertex The vertex to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void write(final DataOutput output, final Vertex2d vertex) throws IOException {
+		output.writeFloat(vertex.getX());
+		output.writeFloat(vertex.getY());
+	}
+	
+	/**
+	 * <p>Reads the components of a single vertex from the <code>input</code>
+	 * into the <code>destination</code>.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @param destination The vertex in which the components are stored.
+	 * 
+	 * @throws IOException If the input can not be read.
+	 */
+	public static void read(final DataInput input, final Vertex2d destination) throws IOException {
+		destination.setComponents(input.readFloat(), input.readFloat());
+	}
+	
+	/**
+	 * <p>Puts the components of a single vertex into the <code>destination</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the components are stored.
+	 * @param vertex The vertex to store.
+	 */
+	public static void put(final ByteBuffer destination, final Vertex2d vertex) {
+		destination.putFloat(vertex.getX());
+		destination.putFloat(vertex.getY());
+	}
+	
+	/**
+	 * <p>Gets the components of a single vertex from the <code>source</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public static void get(final ByteBuffer source, final Vertex2d destination) {
+		destination.setComponents(source.getFloat(), source.getFloat());
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vertices of the
+	 * <code>source</code> array to the <code>output</code>. The components are
+	 * encoded in blocks and handed to the output with a single call per
+	 * block.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vertices to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVertex2ds(final DataOutput output, final Vertex2d[] source) throws IOException {
+		output.writeInt(source.length);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		int done = 0;
+		
+		while (done < source.length) {
+			int chunk = Math.min(chunkCapacity, source.length - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vertex2d element = source[done + i];
+				scratch.putFloat(element.getX());
+				scratch.putFloat(element.getY());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vertices of the
+	 * <code>source</code> collection to the <code>output</code>, in iteration
+	 * order. The encoding is the same as that of
+	 * {@link #writeVertex2ds(DataOutput, Vertex2d[])}.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vertices to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVertex2ds(final DataOutput output, final Collection<? extends Vertex2d> source) throws IOException {
+		int count = source.size();
+		output.writeInt(count);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Iterator<? extends Vertex2d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vertex2d element = elements.next();
+				scratch.putFloat(element.getX());
+				scratch.putFloat(element.getY());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Reads vertices written by one of the <code>writeVertex2ds</code> methods.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @return The vertices read from the <code>input</code>.
+	 * 
+	 * @throws IOException If the input can not be read, or contains a negative
+	 * count.
+	 */
+	public static Vertex2d[] readVertex2ds(final DataInput input) throws IOException {
+		int count = VectorCodec.readCount(input);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Vertex2d[] destination = new Vertex2d[Math.min(count, chunkCapacity)];
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			input.readFully(scratch.array(), 0, chunk * Vertex2d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+			destination = VectorCodec.ensureCapacity(destination, done + chunk, count);
+			for (int i = 0; i < chunk; i++) {
+				Vertex2d element = new Vertex2d();
+				element.setComponents(scratch.getFloat(), scratch.getFloat());
+				destination[done + i] = element;
+			}
+			
+			done += chunk;
+		}
+		
+		return destination;
+	}
+	
+	/**
+	 * <p>Puts a count followed by the components of all vertices of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the vertices are stored.
+	 * @param source The vertices to store.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining.
+	 */
+	public static void putVertex2ds(final ByteBuffer destination, final Vertex2d[] source) throws IllegalArgumentException {
+		VectorCodec.checkRemaining(destination, source.length, Vertex2d.COMPONENT_COUNT);
+		
+		destination.putInt(source.length);
+		for (int i = 0; i < source.length; i++) {
+			VectorCodec.put(destination, source[i]);
+		}
+	}
+	
+	/**
+	 * <p>Gets vertices stored by {@link #putVertex2ds(ByteBuffer, Vertex2d[])}.</p>
+	 * 
+	 * @param source The buffer which supplies the vertices.
+	 * @return The vertices read from the buffer.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain as many
+	 * components as its count specifies.
+	 */
+	public static Vertex2d[] getVertex2ds(final ByteBuffer source) throws IllegalArgumentException {
+		int count = source.getInt();
+		VectorCodec.checkContains(source, count, Vertex2d.COMPONENT_COUNT);
+		
+		Vertex2d[] destination = new Vertex2d[count];
+		for (int i = 0; i < count; i++) {
+			destination[i] = new Vertex2d();
+			VectorCodec.get(source, destination[i]);
+		}
+		
+		return destination;
+	}
+	
+	/*
+	 * Vertex3d Encoding
+	 */
+	
+	/**
+	 * <p>Writes the components of a single vertex to the <code>output</code>.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param vertex The vertex to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void write(final DataOutput output, final Vertex3d vertex) throws IOException {
+		output.writeFloat(vertex.getXComponent());
+		output.writeFloat(vertex.getYComponent());
+		output.writeFloat(vertex.getZComponent());
+	}
+	
+	/**
+	 * <p>Reads the components of a single vertex from the <code>input</code>
+	 * into the <code>destination</code>.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @param destination The vertex in which the components are stored.
+	 * 
+	 * @throws IOException If the input can not be read.
+	 */
+	public static void read(final DataInput input, final Vertex3d destination) throws IOException {
+		destination.setComponents(input.readFloat(), input.readFloat(), input.readFloat());
+	}
+	
+	/**
+	 * <p>Puts the components of a single vertex into the <code>destination</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the components are stored.
+	 * @param vertex The vertex to store.
+	 */
+	public static void put(final ByteBuffer destination, final Vertex3d vertex) {
+		destination.putFloat(vertex.getXComponent());
+		destination.putFloat(vertex.getYComponent());
+		destination.putFloat(vertex.getZComponent());
+	}
+	
+	/**
+	 * <p>Gets the components of a single vertex from the <code>source</code>
+	 * buffer, in the byte order of the buffer.</p>
+	 * 
+	 * @param source The buffer which supplies the components.
+	 * @param destination The vertex in which the components are stored.
+	 */
+	public static void get(final ByteBuffer source, final Vertex3d destination) {
+		destination.setComponents(source.getFloat(), source.getFloat(), source.getFloat());
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vertices of the
+	 * <code>source</code> array to the <code>output</code>. The components are
+	 * encoded in blocks and handed to the output with a single call per
+	 * block.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vertices to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVertex3ds(final DataOutput output, final Vertex3d[] source) throws IOException {
+		output.writeInt(source.length);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		int done = 0;
+		
+		while (done < source.length) {
+			int chunk = Math.min(chunkCapacity, source.length - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vertex3d element = source[done + i];
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+				scratch.putFloat(element.getZComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Writes a count followed by the components of all vertices of the
+	 * <code>source</code> collection to the <code>output</code>, in iteration
+	 * order. The encoding is the same as that of
+	 * {@link #writeVertex3ds(DataOutput, Vertex3d[])}.</p>
+	 * 
+	 * @param output The output to write to.
+	 * @param source The vertices to write.
+	 * 
+	 * @throws IOException If the output can not be written.
+	 */
+	public static void writeVertex3ds(final DataOutput output, final Collection<? extends Vertex3d> source) throws IOException {
+		int count = source.size();
+		output.writeInt(count);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Iterator<? extends Vertex3d> elements = source.iterator();
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			for (int i = 0; i < chunk; i++) {
+				Vertex3d element = elements.next();
+				scratch.putFloat(element.getXComponent());
+				scratch.putFloat(element.getYComponent());
+				scratch.putFloat(element.getZComponent());
+			}
+			
+			output.write(scratch.array(), 0, scratch.position());
+			done += chunk;
+		}
+	}
+	
+	/**
+	 * <p>Reads vertices written by one of the <code>writeVertex3ds</code> methods.</p>
+	 * 
+	 * @param input The input to read from.
+	 * @return The vertices read from the <code>input</code>.
+	 * 
+	 * @throws IOException If the input can not be read, or contains a negative
+	 * count.
+	 */
+	public static Vertex3d[] readVertex3ds(final DataInput input) throws IOException {
+		int count = VectorCodec.readCount(input);
+		
+		ByteBuffer scratch = VectorCodec.SCRATCH.get();
+		int chunkCapacity = scratch.capacity() / (Vertex3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+		Vertex3d[] destination = new Vertex3d[Math.min(count, chunkCapacity)];
+		int done = 0;
+		
+		while (done < count) {
+			int chunk = Math.min(chunkCapacity, count - done);
+			
+			scratch.clear();
+			input.readFully(scratch.array(), 0, chunk * Vertex3d.COMPONENT_COUNT * VectorCodec.FLOAT_SIZE);
+			destination = VectorCodec.ensureCapacity(destination, done + chunk, count);
+			for (int i = 0; i < chunk; i++) {
+				Vertex3d element = new Vertex3d(0.0f, 0.0f, 0.0f);
+				element.setComponents(scratch.getFloat(), scratch.getFloat(), scratch.getFloat());
+				destination[done + i] = element;
+			}
+			
+			done += chunk;
+		}
+		
+		return destination;
+	}
+	
+	/**
+	 * <p>Puts a count followed by the components of all vertices of the
+	 * <code>source</code> array into the <code>destination</code> buffer, in
+	 * the byte order of the buffer.</p>
+	 * 
+	 * @param destination The buffer in which the vertices are stored.
+	 * @param source The vertices to store.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not have enough room
+	 * remaining.
+	 */
+	public static void putVertex3ds(final ByteBuffer destination, final Vertex3d[] source) throws IllegalArgumentException {
+		VectorCodec.checkRemaining(destination, source.length, Vertex3d.COMPONENT_COUNT);
+		
+		destination.putInt(source.length);
+		for (int i = 0; i < source.length; i++) {
+			VectorCodec.put(destination, source[i]);
+		}
+	}
+	
+	/**
+	 * <p>Gets vertices stored by {@link #putVertex3ds(ByteBuffer, Vertex3d[])}.</p>
+	 * 
+	 * @param source The buffer which supplies the vertices.
+	 * @return The vertices read from the buffer.
+	 * 
+	 * @throws IllegalArgumentException If the buffer does not contain as many
+	 * components as its count specifies.
+	 */
+	public static Vertex3d[] getVertex3ds(final ByteBuffer source) throws IllegalArgumentException {
+		int count = source.getInt();
+		VectorCodec.checkContains(source, count, Vertex3d.COMPONENT_COUNT);
+		
+		Vertex3d[] destination = new Vertex3d[count];
+		for (int i = 0; i < count; i++) {
+			destination[i] = new Vertex3d(0.0f, 0.0f, 0.0f);
+			VectorCodec.get(source, destination[i]);
+		}
+		
+		return destination;
+	}
+	
+	/*
+	 * Range Checking
+	 */
+	
+	/**
+	 * <p>Grows the <code>array</code> to hold at least <code>required</code>
+	 * elements, doubling its length up to the <code>count</code> announced by
+	 * the input. Arrays only grow after their components have been read, so a
+	 * corrupt count can not allocate more than twice the size of the
+	 * input.</p>
+	 */
+	private static <T> T[] ensureCapacity(final T[] array, final int required, final int count) {
+		if (array.length >= required) {
+			return array;
+		}
+		
+		return Arrays.copyOf(array, (int)Math.min(count, Math.max(required, 2L * array.length)));
+	}
+	
+	private static int readCount(final DataInput input) throws IOException {
+		int count = input.readInt();
+		
+		if (count < 0) {
+			throw new IOException("The input contains a negative element count.");
+		}
+		
+		return count;
+	}
+	
+	private static void checkRemaining(final ByteBuffer buffer, final int count, final int componentCount) throws IllegalArgumentException {
+		long size = (Integer.SIZE / Byte.SIZE) + ((long)count * componentCount * VectorCodec.FLOAT_SIZE);
+		
+		if (buffer.remaining() < size) {
+			throw new IllegalArgumentException("The specified buffer is not large enough.");
+		}
+	}
+	
+	private static void checkContains(final ByteBuffer buffer, final int count, final int componentCount) throws IllegalArgumentException {
+		if ((count < 0) || (buffer.remaining() < (long)count * componentCount * VectorCodec.FLOAT_SIZE)) {
+			throw new IllegalArgumentException("The specified buffer does not contain enough components.");
+		}
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private static final int FLOAT_SIZE = Float.SIZE / Byte.SIZE;
+	
+	/**
+	 * <p>Holds encoded components between the elements and the stream. The
+	 * size is a multiple of the size of every element type.</p>
+	 */
+	private static final ThreadLocal<ByteBuffer> SCRATCH = new ThreadLocal<ByteBuffer>() {
+		@Override
+		protected ByteBuffer initialValue() {
+			return ByteBuffer.allocate(6 * 1024 * VectorCodec.FLOAT_SIZE);
+		}
+	};
+	
+}
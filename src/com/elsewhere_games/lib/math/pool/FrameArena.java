@@ -0,0 +1,297 @@
+package com.elsewhere_games.lib.math.pool;
+
+import java.util.Arrays;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>A stack of temporary vectors and vertices which are released all at
+ * once. Temporaries are taken with {@link #vector2d()} and friends and never
+ * released one by one; a single {@link #reset()}, typically at the end of a
+ * frame, makes all of them available again. After the first few frames, the
+ * arena holds as many objects as the busiest frame needed and allocates
+ * nothing further.</p>
+ *
+ * <p>Scopes within a frame are marked with {@link #push()} and
+ * {@link #pop()}: popping releases the temporaries taken since the matching
+ * push, so a method that needs temporaries can clean up after itself:</p>
+ *
+ * <pre>
+ * FrameArena arena = FrameArena.forCurrentThread();
+ * arena.push();
+ * try {
+ *     Vector3d normal = arena.vector3d();
+ *     ...
+ * } finally {
+ *     arena.pop();
+ * }
+ * </pre>
+ *
+ * <p>An arena belongs to a single thread. In debug mode (see
+ * {@link Pools#DEBUG}), released temporaries are poisoned with NaN
+ * components, and taking one that was modified after its release throws an
+ * <code>IllegalStateException</code>.</p>
+ */
+
+public final class FrameArena {
+	
+	/*
+	 * Constructors
+	 */
+	
+	/**
+	 * <p>Class constructor. Creates an empty arena.</p>
+	 */
+	public FrameArena() {
+		this.vector2ds = new Stack<Vector2d>(ObjectType.VECTOR_2D);
+		this.vector3ds = new Stack<Vector3d>(ObjectType.VECTOR_3D);
+		this.vertex2ds = new Stack<Vertex2d>(ObjectType.VERTEX_2D);
+		this.vertex3ds = new Stack<Vertex3d>(ObjectType.VERTEX_3D);
+		this.marks = new int[FrameArena.INITIAL_DEPTH * FrameArena.STACK_COUNT];
+	}
+	
+	/**
+	 * <p>Gets the arena of the current thread, creating it on first use.</p>
+	 *
+	 * @return The arena of the current thread.
+	 */
+	public static FrameArena forCurrentThread() {
+		return FrameArena.CURRENT.get();
+	}
+	
+	/*
+	 * Temporaries
+	 */
+	
+	/**
+	 * <p>Takes a zeroed vector, valid until the enclosing scope is popped or
+	 * the arena is reset.</p>
+	 *
+	 * @return A temporary vector.
+	 */
+	public Vector2d vector2d() {
+		return this.vector2ds.take();
+	}
+	
+	/**
+	 * <p>Takes a zeroed vector, valid until the enclosing scope is popped or
+	 * the arena is reset.</p>
+	 *
+	 * @return A temporary vector.
+	 */
+	public Vector3d vector3d() {
+		return this.vector3ds.take();
+	}
+	
+	/**
+	 * <p>Takes a vertex at the origin, valid until the enclosing scope is
+	 * popped or the arena is reset.</p>
+	 *
+	 * @return A temporary vertex.
+	 */
+	public Vertex2d vertex2d() {
+		return this.vertex2ds.take();
+	}
+	
+	/**
+	 * <p>Takes a vertex at the origin, valid until the enclosing scope is
+	 * popped or the arena is reset.</p>
+	 *
+	 * @return A temporary vertex.
+	 */
+	public Vertex3d vertex3d() {
+		return this.vertex3ds.take();
+	}
+	
+	/*
+	 * Scopes
+	 */
+	
+	/**
+	 * <p>Starts a scope; the temporaries taken from now on are released by
+	 * the matching {@link #pop()}.</p>
+	 */
+	public void push() {
+		if (this.depth * FrameArena.STACK_COUNT == this.marks.length) {
+			this.marks = Arrays.copyOf(this.marks, this.marks.length * 2);
+		}
+		
+		int mark = this.depth * FrameArena.STACK_COUNT;
+		
+		this.marks[mark] = this.vector2ds.top;
+		this.marks[mark + 1] = this.vector3ds.top;
+		this.marks[mark + 2] = this.vertex2ds.top;
+		this.marks[mark + 3] = this.vertex3ds.top;
+		this.depth++;
+	}
+	
+	/**
+	 * <p>Ends the innermost scope, releasing the temporaries taken since the
+	 * matching {@link #push()}.</p>
+	 *
+	 * @throws IllegalStateException If there is no scope to end.
+	 */
+	public void pop() throws IllegalStateException {
+		if (this.depth == 0) {
+			throw new IllegalStateException("There is no scope to pop.");
+		}
+		
+		this.depth--;
+		int mark = this.depth * FrameArena.STACK_COUNT;
+		
+		this.vector2ds.releaseTo(this.marks[mark]);
+		this.vector3ds.releaseTo(this.marks[mark + 1]);
+		this.vertex2ds.releaseTo(this.marks[mark + 2]);
+		this.vertex3ds.releaseTo(this.marks[mark + 3]);
+	}
+	
+	/**
+	 * <p>Releases every temporary and ends all scopes.</p>
+	 */
+	public void reset() {
+		this.depth = 0;
+		this.vector2ds.releaseTo(0);
+		this.vector3ds.releaseTo(0);
+		this.vertex2ds.releaseTo(0);
+		this.vertex3ds.releaseTo(0);
+	}
+	
+	/*
+	 * Statistics
+	 */
+	
+	/**
+	 * <p>Gets the counters of this arena, summed over all four types. The
+	 * high-water mark is the largest number of temporaries of all types that
+	 * were out at the same time.</p>
+	 *
+	 * @return A snapshot of the counters.
+	 */
+	public PoolStatistics getStatistics() {
+		return new PoolStatistics(
+				this.vector2ds.borrowCount + this.vector3ds.borrowCount + this.vertex2ds.borrowCount + this.vertex3ds.borrowCount,
+				this.vector2ds.hitCount + this.vector3ds.hitCount + this.vertex2ds.hitCount + this.vertex3ds.hitCount,
+				this.vector2ds.releaseCount + this.vector3ds.releaseCount + this.vertex2ds.releaseCount + this.vertex3ds.releaseCount,
+				this.highWaterMark);
+	}
+	
+	/**
+	 * <p>Sets the counters of this arena back to zero. The high-water mark
+	 * restarts at the number of temporaries currently out.</p>
+	 */
+	public void resetStatistics() {
+		this.vector2ds.resetStatistics();
+		this.vector3ds.resetStatistics();
+		this.vertex2ds.resetStatistics();
+		this.vertex3ds.resetStatistics();
+		this.highWaterMark = this.outstanding;
+	}
+	
+	/*
+	 * Typed Stacks
+	 */
+	
+	private final class Stack<T> {
+		
+		Stack(final ObjectType<T> type) {
+			this.type = type;
+			this.objects = new Object[FrameArena.INITIAL_CAPACITY];
+		}
+		
+		@SuppressWarnings("unchecked")
+		T take() throws IllegalStateException {
+			T object;
+			
+			this.borrowCount++;
+			
+			if (this.top < this.created) {
+				object = (T)this.objects[this.top];
+				
+				if (Pools.DEBUG && !this.type.isPoisoned(object)) {
+					throw new IllegalStateException("A temporary " + this.type.getName() + " was modified after it was released.");
+				}
+				
+				this.type.clear(object);
+				this.hitCount++;
+			} else {
+				object = this.type.create();
+				
+				if (this.created == this.objects.length) {
+					this.objects = Arrays.copyOf(this.objects, this.objects.length * 2);
+				}
+				
+				this.objects[this.created++] = object;
+			}
+			
+			this.top++;
+			
+			if (++FrameArena.this.outstanding > FrameArena.this.highWaterMark) {
+				FrameArena.this.highWaterMark = FrameArena.this.outstanding;
+			}
+			
+			return object;
+		}
+		
+		@SuppressWarnings("unchecked")
+		void releaseTo(final int mark) {
+			if (Pools.DEBUG) {
+				for (int i = mark; i < this.top; i++) {
+					this.type.poison((T)this.objects[i]);
+				}
+			}
+			
+			this.releaseCount += this.top - mark;
+			FrameArena.this.outstanding -= this.top - mark;
+			this.top = mark;
+		}
+		
+		void resetStatistics() {
+			this.borrowCount = 0;
+			this.hitCount = 0;
+			this.releaseCount = 0;
+		}
+		
+		private final ObjectType<T> type;
+		private Object[] objects;		// Every object created; those below top are in use.
+		private int created;
+		private int top;
+		
+		private long borrowCount;
+		private long hitCount;
+		private long releaseCount;
+	
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final Stack<Vector2d> vector2ds;
+	private final Stack<Vector3d> vector3ds;
+	private final Stack<Vertex2d> vertex2ds;
+	private final Stack<Vertex3d> vertex3ds;
+	
+	private int[] marks;				// The tops of the four stacks at each push.
+	private int depth;
+	private int outstanding;
+	private int highWaterMark;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int STACK_COUNT = 4;
+	private static final int INITIAL_DEPTH = 8;
+	private static final int INITIAL_CAPACITY = 32;
+	
+	private static final ThreadLocal<FrameArena> CURRENT = new ThreadLocal<FrameArena>() {
+		@Override
+		protected FrameArena initialValue() {
+			return new FrameArena();
+		}
+	};
+
+}
@@ -0,0 +1,206 @@
+package com.elsewhere_games.lib.math.pool;
+
+import java.util.Arrays;
+
+/**
+ * <p>A pool of reusable objects of one type, with a separate free list for
+ * every thread so that borrowing and releasing never synchronize. The pools
+ * for the vector and vertex types are found in {@link Pools}.</p>
+ *
+ * <p>Borrowed objects are zeroed, just like newly created ones. An object may
+ * be released on another thread than the one that borrowed it; it then joins
+ * the free list of the releasing thread. Each free list holds a limited number
+ * of objects, beyond which released objects are left to the garbage
+ * collector.</p>
+ *
+ * <p>The statistics are counted per thread as well. The high-water mark only
+ * reflects the objects in use when objects are released on the thread that
+ * borrowed them. With producer and consumer threads, it keeps growing on the
+ * borrowing thread, and stays at zero on the releasing thread.</p>
+ *
+ * <p>In debug mode (see {@link Pools#DEBUG}), released objects are poisoned
+ * with NaN components. Releasing an object twice throws an
+ * <code>IllegalArgumentException</code>, and borrowing an object that was
+ * modified after its release throws an <code>IllegalStateException</code>.</p>
+ *
+ * @param <T> The type of the pooled objects.
+ */
+
+public final class ObjectPool<T> {
+	
+	/*
+	 * Constructors
+	 */
+	
+	ObjectPool(final ObjectType<T> type, final int maximumFreeCount) {
+		this.type = type;
+		this.maximumFreeCount = maximumFreeCount;
+		this.state = new ThreadLocal<State>() {
+			@Override
+			protected State initialValue() {
+				return new State();
+			}
+		};
+	}
+	
+	/*
+	 * Borrowing and Releasing
+	 */
+	
+	/**
+	 * <p>Takes a zeroed object from the free list of the current thread, or
+	 * creates one if the list is empty.</p>
+	 *
+	 * @return An object to use until it is released.
+	 *
+	 * @throws IllegalStateException In debug mode, if the reused object was
+	 * modified after it was released.
+	 */
+	public T borrow() throws IllegalStateException {
+		State state = this.state.get();
+		T object;
+		
+		state.borrowCount++;
+		
+		if (state.freeCount > 0) {
+			object = state.pop();
+			
+			if (Pools.DEBUG && !this.type.isPoisoned(object)) {
+				throw new IllegalStateException("A " + this.type.getName() + " was modified after it was released.");
+			}
+			
+			this.type.clear(object);
+			state.hitCount++;
+		} else {
+			object = this.type.create();
+		}
+		
+		if (++state.outstanding > state.highWaterMark) {
+			state.highWaterMark = state.outstanding;
+		}
+		
+		return object;
+	}
+	
+	/**
+	 * <p>Gives the <code>object</code> back to the pool. It must not be used
+	 * afterwards.</p>
+	 *
+	 * @param object The object to release.
+	 *
+	 * @throws IllegalArgumentException If the <code>object</code> is
+	 * <code>null</code>, or, in debug mode, was already released.
+	 */
+	public void release(final T object) throws IllegalArgumentException {
+		if (object == null) {
+			throw new IllegalArgumentException("The specified object is null.");
+		}
+		
+		if (Pools.DEBUG) {
+			if (this.type.isPoisoned(object)) {
+				throw new IllegalArgumentException("The specified " + this.type.getName() + " was already released.");
+			}
+			
+			this.type.poison(object);
+		}
+		
+		State state = this.state.get();
+		
+		state.releaseCount++;
+		
+		// Objects borrowed on another thread were never counted on this one:
+		if (state.outstanding > 0) {
+			state.outstanding--;
+		}
+		
+		if (state.freeCount < this.maximumFreeCount) {
+			state.push(object);
+		}
+	}
+	
+	/*
+	 * Statistics
+	 */
+	
+	/**
+	 * <p>Gets the counters of the current thread. The high-water mark is only
+	 * accurate if this thread releases the objects it borrows.</p>
+	 *
+	 * @return A snapshot of the counters.
+	 */
+	public PoolStatistics getStatistics() {
+		State state = this.state.get();
+		
+		return new PoolStatistics(state.borrowCount, state.hitCount, state.releaseCount, state.highWaterMark);
+	}
+	
+	/**
+	 * <p>Sets the counters of the current thread back to zero. The high-water
+	 * mark restarts at the number of objects currently out.</p>
+	 */
+	public void resetStatistics() {
+		State state = this.state.get();
+		
+		state.borrowCount = 0;
+		state.hitCount = 0;
+		state.releaseCount = 0;
+		state.highWaterMark = state.outstanding;
+	}
+	
+	/**
+	 * <p>Gets the most objects kept in the free list of a single thread.</p>
+	 *
+	 * @return The maximum number of free objects per thread.
+	 */
+	public int getMaximumFreeCount() {
+		return this.maximumFreeCount;
+	}
+	
+	/*
+	 * Thread State
+	 */
+	
+	private final class State {
+		
+		void push(final T object) {
+			if (this.freeCount == this.free.length) {
+				this.free = Arrays.copyOf(this.free, Math.min(this.free.length * 2, ObjectPool.this.maximumFreeCount));
+			}
+			
+			this.free[this.freeCount++] = object;
+		}
+		
+		@SuppressWarnings("unchecked")
+		T pop() {
+			Object object = this.free[--this.freeCount];
+			this.free[this.freeCount] = null;
+			
+			return (T)object;
+		}
+		
+		private Object[] free = new Object[Math.min(ObjectPool.INITIAL_CAPACITY, ObjectPool.this.maximumFreeCount)];
+		private int freeCount;
+		
+		private long borrowCount;
+		private long hitCount;
+		private long releaseCount;
+		private int outstanding;			// Borrowed minus released on this thread, never negative.
+		private int highWaterMark;
+	
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private final ObjectType<T> type;
+	private final int maximumFreeCount;
+	private final ThreadLocal<State> state;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int INITIAL_CAPACITY = 16;
+
+}
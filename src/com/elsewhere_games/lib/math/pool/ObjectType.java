@@ -0,0 +1,154 @@
+package com.elsewhere_games.lib.math.pool;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>The operations the pools and arenas need on the objects they hold:
+ * creating, clearing, and, in debug mode, poisoning released objects so that
+ * later use can be detected.</p>
+ *
+ * <p>Released objects are poisoned by setting every component to a NaN with a
+ * distinctive bit pattern. Reading a poisoned object yields NaN results that
+ * are easy to spot, and writing to it is noticed when the object is handed
+ * out again.</p>
+ */
+
+abstract class ObjectType<T> {
+	
+	/*
+	 * Constructors
+	 */
+	
+	ObjectType(final String name) {
+		this.name = name;
+	}
+	
+	/*
+	 * Object Operations
+	 */
+	
+	abstract T create();
+	
+	abstract void clear(T object);
+	
+	abstract void poison(T object);
+	
+	abstract boolean isPoisoned(T object);
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final String name;
+	
+	String getName() {
+		return this.name;
+	}
+	
+	private static boolean isPoison(final float value) {
+		return Float.floatToRawIntBits(value) == ObjectType.POISON_BITS;
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>A quiet NaN which arithmetic does not produce by itself.</p>
+	 */
+	static final int POISON_BITS = 0x7FC0DEAD;
+	
+	static final float POISON = Float.intBitsToFloat(ObjectType.POISON_BITS);
+	
+	static final ObjectType<Vector2d> VECTOR_2D = new ObjectType<Vector2d>("Vector2d") {
+		@Override
+		Vector2d create() {
+			return new Vector2d();
+		}
+		
+		@Override
+		void clear(final Vector2d vector) {
+			vector.setComponents(0.0f, 0.0f);
+		}
+		
+		@Override
+		void poison(final Vector2d vector) {
+			vector.setComponents(ObjectType.POISON, ObjectType.POISON);
+		}
+		
+		@Override
+		boolean isPoisoned(final Vector2d vector) {
+			return ObjectType.isPoison(vector.getXComponent()) && ObjectType.isPoison(vector.getYComponent());
+		}
+	};
+	
+	static final ObjectType<Vector3d> VECTOR_3D = new ObjectType<Vector3d>("Vector3d") {
+		@Override
+		Vector3d create() {
+			return new Vector3d();
+		}
+		
+		@Override
+		void clear(final Vector3d vector) {
+			vector.setComponents(0.0f, 0.0f, 0.0f);
+		}
+		
+		@Override
+		void poison(final Vector3d vector) {
+			vector.setComponents(ObjectType.POISON, ObjectType.POISON, ObjectType.POISON);
+		}
+		
+		@Override
+		boolean isPoisoned(final Vector3d vector) {
+			return ObjectType.isPoison(vector.getXComponent()) && ObjectType.isPoison(vector.getYComponent()) && ObjectType.isPoison(vector.getZComponent());
+		}
+	};
+	
+	static final ObjectType<Vertex2d> VERTEX_2D = new ObjectType<Vertex2d>("Vertex2d") {
+		@Override
+		Vertex2d create() {
+			return new Vertex2d();
+		}
+		
+		@Override
+		void clear(final Vertex2d vertex) {
+			vertex.setComponents(0.0f, 0.0f);
+		}
+		
+		@Override
+		void poison(final Vertex2d vertex) {
+			vertex.setComponents(ObjectType.POISON, ObjectType.POISON);
+		}
+		
+		@Override
+		boolean isPoisoned(final Vertex2d vertex) {
+			return ObjectType.isPoison(vertex.getX()) && ObjectType.isPoison(vertex.getY());
+		}
+	};
+	
+	static final ObjectType<Vertex3d> VERTEX_3D = new ObjectType<Vertex3d>("Vertex3d") {
+		@Override
+		Vertex3d create() {
+			return new Vertex3d(0.0f, 0.0f, 0.0f);
+		}
+		
+		@Override
+		void clear(final Vertex3d vertex) {
+			vertex.setComponents(0.0f, 0.0f, 0.0f);
+		}
+		
+		@Override
+		void poison(final Vertex3d vertex) {
+			vertex.setComponents(ObjectType.POISON, ObjectType.POISON, ObjectType.POISON);
+		}
+		
+		@Override
+		boolean isPoisoned(final Vertex3d vertex) {
+			return ObjectType.isPoison(vertex.getXComponent()) && ObjectType.isPoison(vertex.getYComponent()) && ObjectType.isPoison(vertex.getZComponent());
+		}
+	};
+
+}
@@ -0,0 +1,90 @@
+package com.elsewhere_games.lib.math.pool;
+
+/**
+ * <p>A snapshot of the counters of an {@link ObjectPool} or a
+ * {@link FrameArena}, for one thread.</p>
+ */
+
+public final class PoolStatistics {
+	
+	/*
+	 * Constructors
+	 */
+	
+	PoolStatistics(final long borrowCount, final long hitCount, final long releaseCount, final int highWaterMark) {
+		this.borrowCount = borrowCount;
+		this.hitCount = hitCount;
+		this.releaseCount = releaseCount;
+		this.highWaterMark = highWaterMark;
+	}
+	
+	/*
+	 * Accessors
+	 */
+	
+	private final long borrowCount;
+	
+	/**
+	 * <p>Gets the number of objects handed out.</p>
+	 *
+	 * @return The number of objects handed out.
+	 */
+	public long getBorrowCount() {
+		return this.borrowCount;
+	}
+	
+	private final long hitCount;
+	
+	/**
+	 * <p>Gets the number of objects handed out that were reused rather than
+	 * allocated.</p>
+	 *
+	 * @return The number of reused objects handed out.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+	
+	/**
+	 * <p>Gets the fraction of the objects handed out that were reused.</p>
+	 *
+	 * @return The hit rate, from <code>0.0</code> to <code>1.0</code>, or
+	 * <code>1.0</code> if nothing was handed out.
+	 */
+	public double getHitRate() {
+		return (this.borrowCount == 0) ? 1.0 : ((double)this.hitCount / this.borrowCount);
+	}
+	
+	private final long releaseCount;
+	
+	/**
+	 * <p>Gets the number of objects given back.</p>
+	 *
+	 * @return The number of objects given back.
+	 */
+	public long getReleaseCount() {
+		return this.releaseCount;
+	}
+	
+	private final int highWaterMark;
+	
+	/**
+	 * <p>Gets the largest number of objects that were out at the same
+	 * time.</p>
+	 *
+	 * @return The high-water mark of objects in use.
+	 */
+	public int getHighWaterMark() {
+		return this.highWaterMark;
+	}
+	
+	/*
+	 * Object Overrides
+	 */
+	
+	@Override
+	public String toString() {
+		return "borrowed " + this.borrowCount + ", reused " + this.hitCount + ", released " + this.releaseCount + ", high-water mark " + this.highWaterMark;
+	}
+
+}
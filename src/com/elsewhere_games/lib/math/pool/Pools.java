@@ -0,0 +1,56 @@
+package com.elsewhere_games.lib.math.pool;
+
+import com.elsewhere_games.lib.math.Vector2d;
+import com.elsewhere_games.lib.math.Vector3d;
+import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.Vertex3d;
+
+/**
+ * <p>The shared pools of the vector and vertex types. Pooling pays off for
+ * objects that live longer than a single method, but are still created and
+ * dropped every frame; temporaries within one frame are cheaper still to take
+ * from a {@link FrameArena}.</p>
+ *
+ * <pre>
+ * Vector2d velocity = Pools.VECTOR_2D.borrow();
+ * ...
+ * Pools.VECTOR_2D.release(velocity);
+ * </pre>
+ */
+
+public final class Pools {
+	
+	/*
+	 * Constructors
+	 */
+	
+	private Pools() {
+		// Only constants are provided.
+	}
+	
+	/*
+	 * Constants
+	 */
+	
+	/**
+	 * <p>Whether released objects are poisoned and checked, to detect use
+	 * after release. It is read once from the system property
+	 * <code>com.elsewhere_games.lib.math.pool.debug</code>; when disabled,
+	 * the checks are compiled away.</p>
+	 */
+	public static final boolean DEBUG = Boolean.getBoolean("com.elsewhere_games.lib.math.pool.debug");
+	
+	/**
+	 * <p>The number of free objects each pool keeps per thread.</p>
+	 */
+	public static final int MAXIMUM_FREE_COUNT = 1024;
+	
+	public static final ObjectPool<Vector2d> VECTOR_2D = new ObjectPool<Vector2d>(ObjectType.VECTOR_2D, Pools.MAXIMUM_FREE_COUNT);
+	
+	public static final ObjectPool<Vector3d> VECTOR_3D = new ObjectPool<Vector3d>(ObjectType.VECTOR_3D, Pools.MAXIMUM_FREE_COUNT);
+	
+	public static final ObjectPool<Vertex2d> VERTEX_2D = new ObjectPool<Vertex2d>(ObjectType.VERTEX_2D, Pools.MAXIMUM_FREE_COUNT);
+	
+	public static final ObjectPool<Vertex3d> VERTEX_3D = new ObjectPool<Vertex3d>(ObjectType.VERTEX_3D, Pools.MAXIMUM_FREE_COUNT);
+
+}
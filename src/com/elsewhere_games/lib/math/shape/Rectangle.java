@@ -1,6 +1,8 @@
 package com.elsewhere_games.lib.math.shape;
 
 import com.elsewhere_games.lib.math.Vertex2d;
+import com.elsewhere_games.lib.math.instrumentation.Instrumentation;
+import com.elsewhere_games.lib.math.instrumentation.Operation;
 
 public class Rectangle {
 
@@ -20,6 +22,33 @@ public class Rectangle {
 		this.center = center;
 		this.width = width;
 		this.height = height;
+		
+		this.halfWidth = width * 0.5f;
+		this.halfHeight = height * 0.5f;
+	}
+	
+	/*
+	 * Shape Operations
+	 */
+	
+	/**
+	 * <p>Check to see if the specified <code>point</code> lies inside of this
+	 * rectangle. Points on the edges are considered to lie inside.</p>
+	 * 
+	 * @param point The point to check for containment.
+	 * @return <code>true</code> if the point lies inside of this rectangle,
+	 * <code>false</code> otherwise.
+	 */
+	public boolean contains(final Vertex2d point) {
+		if (Instrumentation.ENABLED) {
+			Instrumentation.count(Operation.BOUNDING_VOLUME_CONTAINS);
+		}
+		
+		float deltaX = Math.abs(point.getX() - this.center.getX());
+		float deltaY = Math.abs(point.getY() - this.center.getY());
+		
+		// Both comparisons are always made, which avoids a branch:
+		return (deltaX <= this.halfWidth) & (deltaY <= this.halfHeight);
 	}
 	
 	/*
@@ -44,6 +73,7 @@ public class Rectangle {
 	
 	public void setWidth(final float width) {
 		this.width = width;
+		this.halfWidth = width * 0.5f;
 	}
 	
 	private float height;
@@ -54,21 +84,28 @@ public class Rectangle {
 	
 	public void setHeight(final float height) {
 		this.height = height;
+		this.halfHeight = height * 0.5f;
 	}
 	
+	// Half of the width and height, updated by their modifiers. The edges can
+	// not be cached, as the center may be moved without this rectangle
+	// knowing about it:
+	private float halfWidth;
+	private float halfHeight;
+	
 	public float getLeft() {
-		return this.center.getX() - (this.width * 0.5f);
+		return this.center.getX() - this.halfWidth;
 	}
 	
 	public float getRight() {
-		return this.center.getX() + (this.width * 0.5f);
+		return this.center.getX() + this.halfWidth;
 	}
 	
 	public float getBottom() {
-		return this.center.getY() - (this.height * 0.5f);
+		return this.center.getY() - this.halfHeight;
 	}
 	
 	public float getTop() {
-		return this.center.getY() + (this.height * 0.5f);
+		return this.center.getY() + this.halfHeight;
 	}
 }
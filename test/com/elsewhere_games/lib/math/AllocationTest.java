@@ -0,0 +1,144 @@
+package com.elsewhere_games.lib.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * <p>Checks that the destination overloads of the vector and vertex types
+ * allocate nothing. Every operation is warmed up until it has been compiled,
+ * then repeated while the bytes allocated by the current thread are
+ * counted.</p>
+ */
+
+public class AllocationTest {
+	
+	/*
+	 * Set Up
+	 */
+	
+	@BeforeAll
+	public static void setUpThreadBean() {
+		AllocationTest.threads = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+		
+		assumeTrue(AllocationTest.threads.isThreadAllocatedMemorySupported(), "The virtual machine does not count allocated bytes.");
+		AllocationTest.threads.setThreadAllocatedMemoryEnabled(true);
+	}
+	
+	/*
+	 * Tests
+	 */
+	
+	@Test
+	public void vector2dOperationsAllocateNothing() {
+		Vector2d a = new Vector2d(3.0f, 4.0f);
+		Vector2d b = new Vector2d(-1.0f, 2.0f);
+		Vector2d destination = new Vector2d();
+		
+		AllocationTest.assertAllocationFree("Vector2d.add", () -> a.add(b, destination));
+		AllocationTest.assertAllocationFree("Vector2d.subtract", () -> a.subtract(b, destination));
+		AllocationTest.assertAllocationFree("Vector2d.multiply", () -> a.multiply(2.0f, destination));
+		AllocationTest.assertAllocationFree("Vector2d.divide", () -> a.divide(2.0f, destination));
+		AllocationTest.assertAllocationFree("Vector2d.normalize", () -> a.normalize(destination));
+		AllocationTest.assertAllocationFree("Vector2d.normalizeFast", () -> a.normalizeFast(destination));
+		AllocationTest.assertAllocationFree("Vector2d.getComponents", () -> a.getComponents(destination));
+		AllocationTest.assertAllocationFree("Vector2d.setComponents", () -> destination.setComponents(b));
+	}
+	
+	@Test
+	public void vector3dOperationsAllocateNothing() {
+		Vector3d a = new Vector3d(3.0f, 4.0f, 5.0f);
+		Vector3d b = new Vector3d(-1.0f, 2.0f, -3.0f);
+		Vector3d destination = new Vector3d();
+		
+		AllocationTest.assertAllocationFree("Vector3d.add", () -> a.add(b, destination));
+		AllocationTest.assertAllocationFree("Vector3d.subtract", () -> a.subtract(b, destination));
+		AllocationTest.assertAllocationFree("Vector3d.multiply", () -> a.multiply(2.0f, destination));
+		AllocationTest.assertAllocationFree("Vector3d.divide", () -> a.divide(2.0f, destination));
+		AllocationTest.assertAllocationFree("Vector3d.calculateCrossProduct", () -> a.calculateCrossProduct(b, destination));
+		AllocationTest.assertAllocationFree("Vector3d.normalize", () -> a.normalize(destination));
+		AllocationTest.assertAllocationFree("Vector3d.normalizeFast", () -> a.normalizeFast(destination));
+		AllocationTest.assertAllocationFree("Vector3d.getComponents", () -> a.getComponents(destination));
+		AllocationTest.assertAllocationFree("Vector3d.setComponents", () -> destination.setComponents(b));
+	}
+	
+	@Test
+	public void vertex2dOperationsAllocateNothing() {
+		Vertex2d a = new Vertex2d(3.0f, 4.0f);
+		Vertex2d b = new Vertex2d(-1.0f, 2.0f);
+		Vertex2d destination = new Vertex2d();
+		
+		AllocationTest.assertAllocationFree("Vertex2d.add", () -> a.add(b, destination));
+		AllocationTest.assertAllocationFree("Vertex2d.subtract", () -> a.subtract(b, destination));
+		AllocationTest.assertAllocationFree("Vertex2d.getComponents", () -> a.getComponents(destination));
+		AllocationTest.assertAllocationFree("Vertex2d.setComponents", () -> destination.setComponents(b));
+	}
+	
+	@Test
+	public void vertex3dOperationsAllocateNothing() {
+		Vertex3d a = new Vertex3d(3.0f, 4.0f, 5.0f);
+		Vertex3d b = new Vertex3d(-1.0f, 2.0f, -3.0f);
+		Vertex3d destination = new Vertex3d(0.0f, 0.0f, 0.0f);
+		
+		AllocationTest.assertAllocationFree("Vertex3d.add", () -> a.add(b, destination));
+		AllocationTest.assertAllocationFree("Vertex3d.subtract", () -> a.subtract(b, destination));
+		AllocationTest.assertAllocationFree("Vertex3d.getComponents", () -> a.getComponents(destination));
+		AllocationTest.assertAllocationFree("Vertex3d.setComponents", () -> destination.setComponents(b));
+	}
+	
+	/*
+	 * Measurement
+	 */
+	
+	/**
+	 * <p>Runs the <code>operation</code> until it has been compiled, then
+	 * asserts that running it again allocates no bytes at all. The smallest
+	 * count of several rounds is used, since compilation and other one-off
+	 * events of the virtual machine occasionally allocate on the measured
+	 * thread, while an operation which allocates does so in every round.</p>
+	 */
+	private static void assertAllocationFree(final String name, final Runnable operation) {
+		for (int i = 0; i < AllocationTest.WARMUP_ITERATIONS; i++) {
+			operation.run();
+		}
+		
+		// Reading the counter once beforehand keeps any allocation of the first
+		// read out of the measurement:
+		AllocationTest.threads.getCurrentThreadAllocatedBytes();
+		
+		long allocated = Long.MAX_VALUE;
+		
+		for (int round = 0; (round < AllocationTest.MEASURED_ROUNDS) && (allocated > 0L); round++) {
+			long before = AllocationTest.threads.getCurrentThreadAllocatedBytes();
+			
+			for (int i = 0; i < AllocationTest.MEASURED_ITERATIONS; i++) {
+				operation.run();
+			}
+			
+			allocated = Math.min(allocated, AllocationTest.threads.getCurrentThreadAllocatedBytes() - before);
+		}
+		
+		assertEquals(0L, allocated, name + " allocated " + allocated + " bytes over " + AllocationTest.MEASURED_ITERATIONS + " calls.");
+	}
+	
+	/*
+	 * Local Fields
+	 */
+	
+	private static ThreadMXBean threads;
+	
+	/*
+	 * Constants
+	 */
+	
+	private static final int WARMUP_ITERATIONS = 20000;
+	private static final int MEASURED_ITERATIONS = 100000;
+	private static final int MEASURED_ROUNDS = 5;
+
+}